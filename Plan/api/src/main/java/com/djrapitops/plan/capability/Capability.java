@@ -94,7 +94,16 @@ enum Capability {
     /**
      * {@link  com.djrapitops.plan.delivery.web.ResolverService#registerPermissions(String...)}
      */
-    PAGE_EXTENSION_USER_PERMISSIONS;
+    PAGE_EXTENSION_USER_PERMISSIONS,
+    /**
+     * {@link com.djrapitops.plan.delivery.web.resolver.ResponseBuilder#setGzippedContent(byte[], java.nio.charset.Charset)}
+     */
+    PAGE_EXTENSION_GZIPPED_RESPONSES,
+    /**
+     * {@link com.djrapitops.plan.delivery.web.resolver.ResponseBuilder#setStreamedContent(com.djrapitops.plan.delivery.web.resolver.StreamedContent)}
+     * {@link com.djrapitops.plan.delivery.web.resolver.ResponseBuilder#setStreamedJSONContent(Object)}
+     */
+    PAGE_EXTENSION_STREAMED_RESPONSES;
 
     static Optional<Capability> getByName(String name) {
         if (name == null) {
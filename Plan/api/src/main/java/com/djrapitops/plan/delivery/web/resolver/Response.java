@@ -16,11 +16,16 @@
  */
 package com.djrapitops.plan.delivery.web.resolver;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.zip.GZIPInputStream;
 
 /**
  * Represents a response that will be sent over HTTP.
@@ -32,7 +37,9 @@ public final class Response {
 
     final Map<String, String> headers;
     int code = 200;
-    byte[] bytes;
+    byte[] bytes; // can be null (only gzipped bytes given)
+    byte[] gzippedBytes; // can be null (not compressed beforehand)
+    StreamedContent streamedContent; // can be null (content is not streamed)
     Charset charset; // can be null (raw bytes)
 
     Response() {
@@ -44,11 +51,60 @@ public final class Response {
     }
 
     public byte[] getBytes() {
+        if (bytes == null && gzippedBytes != null) {
+            bytes = decompress(gzippedBytes);
+        }
+        if (bytes == null && streamedContent != null) {
+            bytes = writeToBytes(streamedContent);
+        }
         return bytes;
     }
 
+    /**
+     * Get the content that should be written straight to the connection, if it was given as such.
+     *
+     * @return Streamed content, or empty if the content was given as bytes.
+     * @see ResponseBuilder#setStreamedContent(StreamedContent)
+     */
+    public Optional<StreamedContent> getStreamedContent() {
+        return Optional.ofNullable(streamedContent);
+    }
+
+    private static byte[] writeToBytes(StreamedContent content) {
+        try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            content.writeTo(out);
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write streamed content", e);
+        }
+    }
+
+    /**
+     * Get the content compressed with gzip, if it was given compressed.
+     *
+     * @return Gzipped bytes, or empty if the content was not compressed beforehand.
+     * @see ResponseBuilder#setGzippedContent(byte[], Charset)
+     */
+    public Optional<byte[]> getGzippedBytes() {
+        return Optional.ofNullable(gzippedBytes);
+    }
+
+    private static byte[] decompress(byte[] gzipped) {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped));
+             ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            byte[] buffer = new byte[8192];
+            int count;
+            while ((count = in.read(buffer)) != -1) {
+                out.write(buffer, 0, count);
+            }
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not decompress gzipped content", e);
+        }
+    }
+
     public String getAsString() {
-        return new String(bytes, StandardCharsets.UTF_8);
+        return new String(getBytes(), StandardCharsets.UTF_8);
     }
 
     public int getCode() {
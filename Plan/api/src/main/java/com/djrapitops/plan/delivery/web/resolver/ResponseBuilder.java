@@ -19,6 +19,9 @@ package com.djrapitops.plan.delivery.web.resolver;
 import com.djrapitops.plan.delivery.web.resource.WebResource;
 import com.google.gson.Gson;
 
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 
@@ -87,6 +90,8 @@ public class ResponseBuilder {
 
     public ResponseBuilder setContent(byte[] bytes) {
         response.bytes = bytes;
+        response.gzippedBytes = null;
+        response.streamedContent = null;
         return setHeader("Content-Length", bytes.length)
                 .setHeader("Accept-Ranges", "bytes"); // Does not compress
     }
@@ -98,6 +103,13 @@ public class ResponseBuilder {
     public ResponseBuilder setContent(String content, Charset charset) {
         if (content == null) return setContent(new byte[0]);
         if (charset == null) return setContent(content); // UTF-8 used
+        setCharset(charset);
+
+        return setContent(content.getBytes(charset))
+                .removeHeader("Accept-Ranges"); // Can compress
+    }
+
+    private void setCharset(Charset charset) {
         String mimeType = getMimeType();
         response.charset = charset;
 
@@ -107,9 +119,69 @@ public class ResponseBuilder {
                 setMimeType(parts[0] + "; charset=" + charset.name().toLowerCase());
             }
         }
+    }
 
-        return setContent(content.getBytes(charset))
-                .removeHeader("Accept-Ranges"); // Can compress
+    /**
+     * Set content that has already been compressed with gzip.
+     * <p>
+     * The compressed bytes are sent as is to clients that accept gzip encoding, so the content is not compressed
+     * again for every request. Uncompressed content is only created for clients that do not accept gzip.
+     * <p>
+     * Requires PAGE_EXTENSION_GZIPPED_RESPONSES capability
+     *
+     * @param gzippedBytes Content compressed with gzip.
+     * @param charset      Charset of the uncompressed content, null if the content is not text.
+     * @return this builder.
+     */
+    public ResponseBuilder setGzippedContent(byte[] gzippedBytes, Charset charset) {
+        if (charset != null) setCharset(charset);
+        response.bytes = null;
+        response.gzippedBytes = gzippedBytes;
+        response.streamedContent = null;
+        return removeHeader("Content-Length") // Depends on the encoding
+                .removeHeader("Accept-Ranges");
+    }
+
+    /**
+     * Set content that is written straight to the connection when the response is sent.
+     * <p>
+     * Use this for large content so that it does not need to be held in memory as a whole.
+     * Length of the content is not known beforehand, so Content-Length header is not sent.
+     * <p>
+     * Requires PAGE_EXTENSION_STREAMED_RESPONSES capability
+     *
+     * @param content Content that writes itself to the connection.
+     * @return this builder.
+     */
+    public ResponseBuilder setStreamedContent(StreamedContent content) {
+        response.bytes = null;
+        response.gzippedBytes = null;
+        response.streamedContent = content;
+        return removeHeader("Content-Length")
+                .removeHeader("Accept-Ranges");
+    }
+
+    /**
+     * Set content as JSON object that is serialized straight to the connection when the response is sent.
+     * <p>
+     * Requires PAGE_EXTENSION_STREAMED_RESPONSES capability
+     *
+     * @param objectToSerialize Object to serialize into JSON with Gson. If the object is a String it is assumed to be valid JSON.
+     * @return this builder.
+     * @see #setStreamedContent(StreamedContent)
+     */
+    public ResponseBuilder setStreamedJSONContent(Object objectToSerialize) {
+        setMimeType(MimeType.JSON);
+        setCharset(StandardCharsets.UTF_8);
+        return setStreamedContent(out -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            if (objectToSerialize instanceof String) {
+                writer.write((String) objectToSerialize);
+            } else {
+                new Gson().toJson(objectToSerialize, writer);
+            }
+            writer.flush();
+        });
     }
 
     /**
@@ -137,15 +209,17 @@ public class ResponseBuilder {
      * @see #setMimeType(String) to set MIME-type.
      */
     public Response build() {
-        byte[] content = response.bytes;
-        if(content == null && response.code == 204) {
+        byte[] content = response.bytes != null ? response.bytes : response.gzippedBytes;
+        boolean hasContent = content != null || response.streamedContent != null;
+        if(!hasContent && response.code == 204) {
             // HTTP Code 204 requires no response, so there is no need to validate it.
             return response;
         }
-        exceptionIf(content == null, "Content not defined for Response");
+        exceptionIf(!hasContent, "Content not defined for Response");
         String mimeType = getMimeType();
-        exceptionIf(content.length > 0 && mimeType == null, "MIME Type not defined for Response");
-        exceptionIf(content.length > 0 && mimeType.isEmpty(), "MIME Type empty for Response");
+        boolean notEmpty = content == null || content.length > 0; // Streamed content is assumed not to be empty
+        exceptionIf(notEmpty && mimeType == null, "MIME Type not defined for Response");
+        exceptionIf(notEmpty && mimeType.isEmpty(), "MIME Type empty for Response");
         exceptionIf(response.code < 100 || response.code >= 600, "HTTP Status code out of bounds (" + response.code + ")");
         return response;
     }
@@ -0,0 +1,43 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.web.resolver;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Content of a {@link Response} that is written straight to the connection instead of being held in memory.
+ * <p>
+ * Requires PAGE_EXTENSION_STREAMED_RESPONSES capability
+ *
+ * @author AuroraLS3
+ * @see ResponseBuilder#setStreamedContent(StreamedContent)
+ * @see com.djrapitops.plan.capability.CapabilityService for Capability checks
+ */
+@FunctionalInterface
+public interface StreamedContent {
+
+    /**
+     * Write the content.
+     * <p>
+     * Content may be written more than once if the Response is used for something else than sending it, eg. exporting.
+     *
+     * @param out Stream to write to, the content may be compressed on the way. Do not close the stream.
+     * @throws IOException If writing fails, eg. the connection was closed.
+     */
+    void writeTo(OutputStream out) throws IOException;
+}
@@ -117,7 +117,7 @@ public final class Table {
             Object[] values1 = rows1.get(i);
             Object[] values2 = rows2.get(i);
             for (int j = 0; j < getMaxColumnSize(); j++) {
-                if (!Objects.equals(Objects.toString(values1[0]), Objects.toString(values2[0]))) {
+                if (!Objects.equals(Objects.toString(values1[j]), Objects.toString(values2[j]))) {
                     return false;
                 }
             }
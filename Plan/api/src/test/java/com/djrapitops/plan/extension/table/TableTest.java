@@ -24,6 +24,7 @@ import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 
 class TableTest {
 
@@ -58,4 +59,20 @@ class TableTest {
         assertEquals(expected.size(), result.size());
     }
 
+    @Test
+    void tablesWithDifferentValueInLaterColumnAreNotEqual() {
+        Table one = Table.builder()
+                .columnOne("", Icon.called("").build())
+                .columnTwo("", Icon.called("").build())
+                .addRow("a", "b")
+                .build();
+        Table two = Table.builder()
+                .columnOne("", Icon.called("").build())
+                .columnTwo("", Icon.called("").build())
+                .addRow("a", "c")
+                .build();
+
+        assertNotEquals(one, two);
+    }
+
 }
\ No newline at end of file
@@ -31,6 +31,9 @@ import com.djrapitops.plan.processing.Processing;
 import com.djrapitops.plan.settings.ConfigSystem;
 import com.djrapitops.plan.settings.locale.LocaleSystem;
 import com.djrapitops.plan.storage.database.DBSystem;
+import com.djrapitops.plan.storage.database.Database;
+import com.djrapitops.plan.storage.database.transactions.events.StoreServerStartTransaction;
+import com.djrapitops.plan.storage.database.transactions.events.StoreServerStopTransaction;
 import com.djrapitops.plan.storage.file.PlanFiles;
 import com.djrapitops.plan.utilities.logging.ErrorContext;
 import com.djrapitops.plan.utilities.logging.ErrorLogger;
@@ -41,6 +44,7 @@ import net.playeranalytics.plugin.server.PluginLogger;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.io.IOException;
+import java.lang.management.ManagementFactory;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
@@ -169,6 +173,9 @@ public class PlanSystem implements SubSystem {
         }
 
         apiServices.registerExtensions();
+        // JVM start time stays the same over plugin reloads, so reloads are not recorded as restarts
+        long serverStartTime = ManagementFactory.getRuntimeMXBean().getStartTime();
+        databaseSystem.getDatabase().executeTransaction(new StoreServerStartTransaction(serverInfo.getServerUUID(), serverStartTime));
         enabled = true;
 
         String javaVersion = System.getProperty("java.specification.version");
@@ -195,6 +202,7 @@ public class PlanSystem implements SubSystem {
 
     @Override
     public void disable() {
+        if (enabled) storeServerStop();
         enabled = false;
         Formatters.clearSingleton();
 
@@ -223,6 +231,17 @@ public class PlanSystem implements SubSystem {
         );
     }
 
+    private void storeServerStop() {
+        try {
+            Database database = databaseSystem.getDatabase();
+            if (database.getState() == Database.State.OPEN) {
+                database.executeTransaction(new StoreServerStopTransaction(serverInfo.getServerUUID(), System.currentTimeMillis()));
+            }
+        } catch (Exception e) {
+            errorLogger.warn(e, ErrorContext.builder().related("Storing server stop").build());
+        }
+    }
+
     // Accessor methods.
 
     private void disableSystems(SubSystem... systems) {
@@ -355,6 +355,7 @@ public class PlanCommand {
                 .subcommand(uninstalledCommand())
                 .subcommand(removeJoinAddressesCommand())
                 .subcommand(onlineUuidMigration())
+                .subcommand(repairCommand())
                 .requirePermission(Permissions.DATA_BASE)
                 .description(locale.getString(HelpLang.DB))
                 .inDepthDescription(locale.getString(DeepHelpLang.DB))
@@ -372,6 +373,16 @@ public class PlanCommand {
                 .build();
     }
 
+    private Subcommand repairCommand() {
+        return Subcommand.builder()
+                .aliases("repair")
+                .requirePermission(Permissions.DATA_BASE)
+                .description(locale.getString(HelpLang.DB_REPAIR))
+                .inDepthDescription(locale.getString(DeepHelpLang.DB_REPAIR))
+                .onCommand(databaseCommands::onRepair)
+                .build();
+    }
+
     private Subcommand removeJoinAddressesCommand() {
         return Subcommand.builder()
                 .aliases("remove_join_addresses", "removejoinaddresses")
@@ -402,6 +413,7 @@ public class PlanCommand {
                 .requirePermission(Permissions.DATA_RESTORE)
                 .requiredArgument(locale.getString(HelpLang.ARG_BACKUP_FILE), locale.getString(HelpLang.DESC_ARG_BACKUP_FILE))
                 .optionalArgument(DB_ARG_OPTIONS, locale.getString(HelpLang.DESC_ARG_DB_RESTORE))
+                .optionalArgument("--fresh", locale.getString(HelpLang.DESC_ARG_DB_COPY_FRESH))
                 .description(locale.getString(HelpLang.DB_RESTORE))
                 .inDepthDescription(locale.getString(DeepHelpLang.DB_RESTORE))
                 .onCommand(databaseCommands::onRestore)
@@ -430,6 +442,7 @@ public class PlanCommand {
                 .requirePermission(Permissions.DATA_MOVE)
                 .requiredArgument(DB_ARG_OPTIONS, locale.getString(HelpLang.DESC_ARG_DB_MOVE_FROM))
                 .requiredArgument(DB_ARG_OPTIONS, locale.getString(HelpLang.DESC_ARG_DB_MOVE_TO))
+                .optionalArgument("--fresh", locale.getString(HelpLang.DESC_ARG_DB_COPY_FRESH))
                 .description(locale.getString(HelpLang.DB_MOVE))
                 .inDepthDescription(locale.getString(DeepHelpLang.DB_MOVE))
                 .onCommand(databaseCommands::onMove)
@@ -44,6 +44,8 @@ import com.djrapitops.plan.storage.database.queries.objects.BaseUserQueries;
 import com.djrapitops.plan.storage.database.queries.objects.ServerQueries;
 import com.djrapitops.plan.storage.database.transactions.Transaction;
 import com.djrapitops.plan.storage.database.transactions.commands.*;
+import com.djrapitops.plan.storage.database.transactions.init.RebuildPlayerTotalsTransaction;
+import com.djrapitops.plan.storage.database.transactions.init.RebuildSessionBucketsTransaction;
 import com.djrapitops.plan.storage.database.transactions.patches.BadFabricJoinAddressValuePatch;
 import com.djrapitops.plan.storage.file.PlanFiles;
 import com.djrapitops.plan.utilities.dev.Untrusted;
@@ -58,6 +60,7 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.util.*;
 import java.util.concurrent.ExecutionException;
 import java.util.function.Consumer;
@@ -158,16 +161,43 @@ public class DatabaseCommands {
             String timeStamp = timestamp.apply(System.currentTimeMillis());
             String fileName = dbName + "-backup-" + timeStamp;
             sender.send(locale.getString(CommandLang.DB_BACKUP_CREATE, fileName, dbName));
-            Database toDB = sqliteFactory.usingFileCalled(fileName);
-            toDB.init();
-
-            DatabaseCopyProcessor databaseCopyProcessor = new DatabaseCopyProcessor(locale, errorLogger, fromDB, toDB, getFeedbackFor(sender), toDB::close, DatabaseCopyProcessor.Strategy.CLEAR_DESTINATION_DATABASE);
-            processing.submit(databaseCopyProcessor);
+            if (fromDB instanceof SQLiteDB) {
+                processing.submitCritical(() -> performSQLiteBackup(sender, arguments, (SQLiteDB) fromDB, fileName));
+            } else {
+                copyToBackup(sender, fromDB, fileName);
+            }
         } catch (DBOpException e) {
             errorLogger.error(e, ErrorContext.builder().related(sender, arguments).build());
         }
     }
 
+    private void performSQLiteBackup(CMDSender sender, @Untrusted Arguments arguments, SQLiteDB fromDB, String fileName) {
+        File backupFile = files.getFileFromPluginFolder(fileName + ".db");
+        try {
+            fromDB.backupTo(backupFile);
+            sender.send(locale.getString(CommandLang.PROGRESS_SUCCESS));
+        } catch (DBOpException e) {
+            // VACUUM INTO is not supported by old SQLite versions, copy the data row by row instead.
+            errorLogger.warn(e, ErrorContext.builder().related(sender, arguments)
+                    .whatToDo("Backup was created by copying data instead, which is slower.").build());
+            try {
+                Files.deleteIfExists(backupFile.toPath());
+                copyToBackup(sender, fromDB, fileName);
+            } catch (IOException | DBOpException copyFailure) {
+                errorLogger.error(copyFailure, ErrorContext.builder().related(sender, arguments).build());
+                sender.send(locale.getString(CommandLang.PROGRESS_FAIL, copyFailure.getMessage()));
+            }
+        }
+    }
+
+    private void copyToBackup(CMDSender sender, Database fromDB, String fileName) {
+        Database toDB = sqliteFactory.usingFileCalled(fileName);
+        toDB.init();
+
+        DatabaseCopyProcessor databaseCopyProcessor = new DatabaseCopyProcessor(locale, errorLogger, fromDB, toDB, getFeedbackFor(sender), toDB::close, DatabaseCopyProcessor.Strategy.CLEAR_DESTINATION_DATABASE);
+        processing.submit(databaseCopyProcessor);
+    }
+
     public void onRestore(CMDSender sender, @Untrusted Arguments arguments) {
         @Untrusted String backupDbName = arguments.get(0)
                 .orElseThrow(() -> new IllegalArgumentException(locale.getString(CommandLang.FAIL_REQ_ARGS, 1, "<" + locale.getString(HelpLang.ARG_BACKUP_FILE) + ">")));
@@ -180,6 +210,7 @@ public class DatabaseCommands {
         }
 
         String dbName = arguments.get(1)
+                .filter(argument -> !argument.startsWith("--"))
                 .orElse(dbSystem.getDatabase().getType().getName())
                 .toLowerCase();
         if (!DBType.exists(dbName)) {
@@ -199,22 +230,30 @@ public class DatabaseCommands {
                 toDB.getType().getName(),
                 backupDBFile.toPath().toString());
 
+        DatabaseCopyProcessor.Strategy[] strategies = copyStrategies(arguments);
         confirmation.confirm(sender, prompt, choice -> {
             if (Boolean.TRUE.equals(choice)) {
-                performRestore(sender, backupDBFile, toDB);
+                performRestore(sender, backupDBFile, toDB, strategies);
             } else {
                 sender.send(colors.getMainColor() + locale.getString(CommandLang.CONFIRM_CANCELLED_DATA));
             }
         });
     }
 
-    public void performRestore(CMDSender sender, File backupDBFile, Database toDB) {
+    private DatabaseCopyProcessor.Strategy[] copyStrategies(@Untrusted Arguments arguments) {
+        if (arguments.contains("--fresh")) {
+            return new DatabaseCopyProcessor.Strategy[]{DatabaseCopyProcessor.Strategy.CLEAR_DESTINATION_DATABASE, DatabaseCopyProcessor.Strategy.START_FRESH};
+        }
+        return new DatabaseCopyProcessor.Strategy[]{DatabaseCopyProcessor.Strategy.CLEAR_DESTINATION_DATABASE};
+    }
+
+    public void performRestore(CMDSender sender, File backupDBFile, Database toDB, DatabaseCopyProcessor.Strategy[] strategies) {
         try {
             SQLiteDB fromDB = sqliteFactory.usingFile(backupDBFile);
             fromDB.init();
 
             sender.send(locale.getString(CommandLang.DB_WRITE, toDB.getType().getName()));
-            DatabaseCopyProcessor databaseCopyProcessor = new DatabaseCopyProcessor(locale, errorLogger, fromDB, toDB, getFeedbackFor(sender), fromDB::close, DatabaseCopyProcessor.Strategy.CLEAR_DESTINATION_DATABASE);
+            DatabaseCopyProcessor databaseCopyProcessor = new DatabaseCopyProcessor(locale, errorLogger, fromDB, toDB, getFeedbackFor(sender), fromDB::close, strategies);
             processing.submit(databaseCopyProcessor);
         } catch (DBOpException e) {
             errorLogger.error(e, ErrorContext.builder().related(backupDBFile, toDB.getType(), toDB.getState()).build());
@@ -237,9 +276,10 @@ public class DatabaseCommands {
                 toDB.getName(),
                 fromDB.getName());
 
+        DatabaseCopyProcessor.Strategy[] strategies = copyStrategies(arguments);
         confirmation.confirm(sender, prompt, choice -> {
             if (Boolean.TRUE.equals(choice)) {
-                performMove(sender, fromDB, toDB, DatabaseCopyProcessor.Strategy.CLEAR_DESTINATION_DATABASE);
+                performMove(sender, fromDB, toDB, strategies);
             } else {
                 sender.send(colors.getMainColor() + locale.getString(CommandLang.CONFIRM_CANCELLED_DATA));
             }
@@ -446,6 +486,24 @@ public class DatabaseCommands {
         });
     }
 
+    public void onRepair(CMDSender sender, @Untrusted Arguments arguments) {
+        ensureDatabaseIsOpen();
+        Database database = dbSystem.getDatabase();
+
+        processing.submitNonCritical(() -> {
+            try {
+                sender.send(locale.getString(CommandLang.DB_WRITE, database.getType().getName()));
+                database.executeTransaction(new RebuildPlayerTotalsTransaction()).join();
+                database.executeTransaction(new RebuildSessionBucketsTransaction()).join();
+                sender.send(locale.getString(CommandLang.PROGRESS_SUCCESS));
+            } catch (DBOpException e) {
+                sender.send(locale.getString(CommandLang.PROGRESS_FAIL, e.getMessage()));
+                errorLogger.error(e, ErrorContext.builder()
+                        .related(sender, database.getType().getName()).build());
+            }
+        });
+    }
+
     public void onHotswap(CMDSender sender, @Untrusted Arguments arguments) {
         DBType toDB = arguments.get(0).flatMap(DBType::getForName)
                 .orElseThrow(() -> new IllegalArgumentException(locale.getString(CommandLang.FAIL_INCORRECT_DB, arguments.get(0).orElse(SUPPORTED_DB_OPTIONS))));
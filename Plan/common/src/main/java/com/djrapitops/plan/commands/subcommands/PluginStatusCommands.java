@@ -19,6 +19,8 @@ package com.djrapitops.plan.commands.subcommands;
 import com.djrapitops.plan.PlanPlugin;
 import com.djrapitops.plan.commands.use.Arguments;
 import com.djrapitops.plan.commands.use.CMDSender;
+import com.djrapitops.plan.extension.ExtensionSvc;
+import com.djrapitops.plan.extension.implementation.providers.gathering.GatheringStatistics;
 import com.djrapitops.plan.gathering.listeners.Status;
 import com.djrapitops.plan.identification.ServerInfo;
 import com.djrapitops.plan.settings.locale.Locale;
@@ -26,6 +28,7 @@ import com.djrapitops.plan.settings.locale.lang.CommandLang;
 import com.djrapitops.plan.settings.locale.lang.GenericLang;
 import com.djrapitops.plan.storage.database.DBSystem;
 import com.djrapitops.plan.storage.database.Database;
+import com.djrapitops.plan.storage.database.TransactionLaneStatistics;
 import com.djrapitops.plan.storage.database.queries.objects.ServerQueries;
 import com.djrapitops.plan.utilities.dev.Untrusted;
 import com.djrapitops.plan.utilities.logging.ErrorContext;
@@ -35,6 +38,8 @@ import net.playeranalytics.plugin.PluginInformation;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import java.util.ArrayList;
+import java.util.List;
 
 @Singleton
 public class PluginStatusCommands {
@@ -46,6 +51,7 @@ public class PluginStatusCommands {
     private final DBSystem dbSystem;
     private final Status status;
     private final VersionChecker versionChecker;
+    private final ExtensionSvc extensionService;
     private final ErrorLogger errorLogger;
 
     @Inject
@@ -57,6 +63,7 @@ public class PluginStatusCommands {
             DBSystem dbSystem,
             Status status,
             VersionChecker versionChecker,
+            ExtensionSvc extensionService,
             ErrorLogger errorLogger
     ) {
         this.plugin = plugin;
@@ -66,6 +73,7 @@ public class PluginStatusCommands {
         this.dbSystem = dbSystem;
         this.status = status;
         this.versionChecker = versionChecker;
+        this.extensionService = extensionService;
         this.errorLogger = errorLogger;
     }
 
@@ -110,18 +118,25 @@ public class PluginStatusCommands {
         String proxyAvailable = database.query(ServerQueries.fetchProxyServers()).isEmpty() ? no : yes;
 
 
-        String[] messages = {
-                locale.getString(CommandLang.HEADER_INFO),
-                "",
-                locale.getString(CommandLang.INFO_VERSION, pluginInformation.getVersion()),
-                locale.getString(CommandLang.INFO_UPDATE, updateAvailable),
-                locale.getString(CommandLang.INFO_DATABASE, database.getType().getName() + " (" + database.getState().name() + ")"),
-                locale.getString(CommandLang.INFO_DATABASE_QUEUE, database.getTransactionQueueSize()),
-                locale.getString(CommandLang.INFO_PROXY_CONNECTION, proxyAvailable),
-                locale.getString(CommandLang.INFO_SERVER_UUID, serverInfo.getServerUUID()),
-                "",
-                ">"
-        };
-        sender.send(messages);
+        List<String> messages = new ArrayList<>();
+        messages.add(locale.getString(CommandLang.HEADER_INFO));
+        messages.add("");
+        messages.add(locale.getString(CommandLang.INFO_VERSION, pluginInformation.getVersion()));
+        messages.add(locale.getString(CommandLang.INFO_UPDATE, updateAvailable));
+        messages.add(locale.getString(CommandLang.INFO_DATABASE, database.getType().getName() + " (" + database.getState().name() + ")"));
+        messages.add(locale.getString(CommandLang.INFO_DATABASE_QUEUE, database.getTransactionQueueSize()));
+        for (TransactionLaneStatistics lane : database.getTransactionLaneStatistics()) {
+            if (lane.getExecutedCount() > 0) messages.add("    §7" + lane);
+        }
+        List<GatheringStatistics> extensionStatistics = extensionService.getGatheringStatistics();
+        messages.add(locale.getString(CommandLang.INFO_EXTENSIONS, extensionStatistics.size()));
+        for (GatheringStatistics extension : extensionStatistics) {
+            if (extension.getGatherCount() > 0 || extension.getSkippedCount() > 0 || extension.getNotStartedCount() > 0) messages.add("    §7" + extension);
+        }
+        messages.add(locale.getString(CommandLang.INFO_PROXY_CONNECTION, proxyAvailable));
+        messages.add(locale.getString(CommandLang.INFO_SERVER_UUID, serverInfo.getServerUUID()));
+        messages.add("");
+        messages.add(">");
+        sender.send(messages.toArray(new String[0]));
     }
 }
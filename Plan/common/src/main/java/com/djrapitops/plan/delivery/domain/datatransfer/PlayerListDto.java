@@ -27,10 +27,19 @@ public class PlayerListDto {
 
     private final List<TablePlayerDto> players;
     private final List<ExtensionDescriptionDto> extensionDescriptors;
+    // Only present when a single page of the players was requested
+    private final String nextCursor;
+    private final Integer playerCount;
 
     public PlayerListDto(List<TablePlayerDto> players, List<ExtensionDescriptionDto> extensionDescriptors) {
+        this(players, extensionDescriptors, null, null);
+    }
+
+    public PlayerListDto(List<TablePlayerDto> players, List<ExtensionDescriptionDto> extensionDescriptors, String nextCursor, Integer playerCount) {
         this.players = players;
         this.extensionDescriptors = extensionDescriptors;
+        this.nextCursor = nextCursor;
+        this.playerCount = playerCount;
     }
 
     public List<TablePlayerDto> getPlayers() {
@@ -41,11 +50,21 @@ public class PlayerListDto {
         return extensionDescriptors;
     }
 
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public Integer getPlayerCount() {
+        return playerCount;
+    }
+
     @Override
     public String toString() {
         return "PlayerListDto{" +
                 "players=" + players +
                 ", extensionDescriptors=" + extensionDescriptors +
+                ", nextCursor='" + nextCursor + '\'' +
+                ", playerCount=" + playerCount +
                 '}';
     }
 }
@@ -20,8 +20,10 @@ import com.djrapitops.plan.delivery.domain.DateObj;
 import com.djrapitops.plan.delivery.domain.PlayerIdentifier;
 import com.djrapitops.plan.delivery.domain.PlayerName;
 import com.djrapitops.plan.delivery.domain.RetentionData;
+import com.djrapitops.plan.delivery.domain.TablePlayer;
 import com.djrapitops.plan.delivery.domain.datatransfer.GenericFilter;
 import com.djrapitops.plan.delivery.domain.datatransfer.PlayerJoinAddresses;
+import com.djrapitops.plan.delivery.domain.datatransfer.PlayerListDto;
 import com.djrapitops.plan.delivery.domain.datatransfer.ServerDto;
 import com.djrapitops.plan.delivery.domain.mutators.PlayerKillMutator;
 import com.djrapitops.plan.delivery.domain.mutators.SessionsMutator;
@@ -31,6 +33,7 @@ import com.djrapitops.plan.delivery.formatting.Formatters;
 import com.djrapitops.plan.delivery.rendering.json.graphs.Graphs;
 import com.djrapitops.plan.delivery.web.resolver.exception.BadRequestException;
 import com.djrapitops.plan.extension.implementation.results.ExtensionTabData;
+import com.djrapitops.plan.extension.implementation.storage.queries.ExtensionQueryResultTableDataQuery;
 import com.djrapitops.plan.extension.implementation.storage.queries.ExtensionServerTableDataQuery;
 import com.djrapitops.plan.gathering.ServerUptimeCalculator;
 import com.djrapitops.plan.gathering.cache.SessionCache;
@@ -48,10 +51,12 @@ import com.djrapitops.plan.settings.locale.lang.HtmlLang;
 import com.djrapitops.plan.settings.locale.lang.PluginLang;
 import com.djrapitops.plan.storage.database.DBSystem;
 import com.djrapitops.plan.storage.database.Database;
+import com.djrapitops.plan.storage.database.queries.Query;
 import com.djrapitops.plan.storage.database.queries.analysis.PlayerCountQueries;
 import com.djrapitops.plan.storage.database.queries.analysis.PlayerRetentionQueries;
 import com.djrapitops.plan.storage.database.queries.objects.*;
 import com.djrapitops.plan.storage.database.queries.objects.playertable.NetworkTablePlayersQuery;
+import com.djrapitops.plan.storage.database.queries.objects.playertable.PlayersTablePageQuery;
 import com.djrapitops.plan.storage.database.queries.objects.playertable.ServerTablePlayersQuery;
 import com.djrapitops.plan.storage.database.sql.tables.JoinAddressTable;
 import com.djrapitops.plan.utilities.comparators.SessionStartComparator;
@@ -64,6 +69,7 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -151,6 +157,22 @@ public class JSONFactory {
 
         Database database = dbSystem.getDatabase();
 
+        Map<UUID, ExtensionTabData> allPluginData = networkExtensionTableData(
+                serverUUID -> new ExtensionServerTableDataQuery(serverUUID, xMostRecentPlayers)
+        );
+
+        return new PlayersTableJSONCreator(
+                database.query(new NetworkTablePlayersQuery(System.currentTimeMillis(), playtimeThreshold, xMostRecentPlayers)),
+                allPluginData,
+                openPlayerLinksInNewTab,
+                formatters, locale,
+                true // players page
+        );
+    }
+
+    private Map<UUID, ExtensionTabData> networkExtensionTableData(Function<ServerUUID, Query<Map<UUID, ExtensionTabData>>> queryForServer) {
+        Database database = dbSystem.getDatabase();
+
         List<ServerUUID> mainServerUUIDs = database.query(ServerQueries.fetchProxyServers())
                 .stream()
                 .map(Server::getUuid)
@@ -160,7 +182,7 @@ public class JSONFactory {
         Map<UUID, ExtensionTabData> allPluginData = new HashMap<>();
 
         for (ServerUUID serverUUID : mainServerUUIDs) {
-            Map<UUID, ExtensionTabData> pluginData = database.query(new ExtensionServerTableDataQuery(serverUUID, xMostRecentPlayers));
+            Map<UUID, ExtensionTabData> pluginData = database.query(queryForServer.apply(serverUUID));
             for (Map.Entry<UUID, ExtensionTabData> entry : pluginData.entrySet()) {
                 UUID playerUUID = entry.getKey();
                 ExtensionTabData dataFromServer = entry.getValue();
@@ -172,15 +194,63 @@ public class JSONFactory {
                 }
             }
         }
+        return allPluginData;
+    }
 
+    public PlayerListDto serverPlayersTablePage(ServerUUID serverUUID, PlayersTablePageQuery pageQuery) {
+        Long playtimeThreshold = config.get(TimeSettings.ACTIVE_PLAY_THRESHOLD);
+        boolean openPlayerLinksInNewTab = config.isTrue(DisplaySettings.OPEN_PLAYER_LINKS_IN_NEW_TAB);
 
-        return new PlayersTableJSONCreator(
-                database.query(new NetworkTablePlayersQuery(System.currentTimeMillis(), playtimeThreshold, xMostRecentPlayers)),
-                allPluginData,
+        Database database = dbSystem.getDatabase();
+
+        PlayersTablePageQuery.Page page = database.query(pageQuery);
+        List<TablePlayer> players = page.getUserIds().isEmpty() ? new ArrayList<>()
+                : database.query(new ServerTablePlayersQuery(serverUUID, System.currentTimeMillis(), playtimeThreshold, page.getUserIds()));
+        Map<UUID, ExtensionTabData> extensionData = page.getUserIds().isEmpty() ? new HashMap<>()
+                : database.query(new ExtensionQueryResultTableDataQuery(serverUUID, page.getUserIds()));
+
+        PlayerListDto playerList = new PlayersTableJSONCreator(
+                inPageOrder(page, players), extensionData,
+                openPlayerLinksInNewTab,
+                formatters, locale
+        ).toPlayerList();
+        return new PlayerListDto(playerList.getPlayers(), playerList.getExtensionDescriptors(),
+                page.getNextCursor().orElse(null), page.getPlayerCount());
+    }
+
+    public PlayerListDto networkPlayersTablePage(PlayersTablePageQuery pageQuery) {
+        Long playtimeThreshold = config.get(TimeSettings.ACTIVE_PLAY_THRESHOLD);
+        boolean openPlayerLinksInNewTab = config.isTrue(DisplaySettings.OPEN_PLAYER_LINKS_IN_NEW_TAB);
+
+        Database database = dbSystem.getDatabase();
+
+        PlayersTablePageQuery.Page page = database.query(pageQuery);
+        List<TablePlayer> players = page.getUserIds().isEmpty() ? new ArrayList<>()
+                : database.query(new NetworkTablePlayersQuery(System.currentTimeMillis(), playtimeThreshold, page.getUserIds()));
+        Map<UUID, ExtensionTabData> extensionData = page.getUserIds().isEmpty() ? new HashMap<>()
+                : networkExtensionTableData(serverUUID -> new ExtensionQueryResultTableDataQuery(serverUUID, page.getUserIds()));
+
+        PlayerListDto playerList = new PlayersTableJSONCreator(
+                inPageOrder(page, players), extensionData,
                 openPlayerLinksInNewTab,
                 formatters, locale,
                 true // players page
-        );
+        ).toPlayerList();
+        return new PlayerListDto(playerList.getPlayers(), playerList.getExtensionDescriptors(),
+                page.getNextCursor().orElse(null), page.getPlayerCount());
+    }
+
+    private List<TablePlayer> inPageOrder(PlayersTablePageQuery.Page page, List<TablePlayer> players) {
+        Map<UUID, TablePlayer> byUUID = new HashMap<>();
+        for (TablePlayer player : players) {
+            byUUID.put(player.getPlayerUUID(), player);
+        }
+        List<TablePlayer> ordered = new ArrayList<>();
+        for (UUID playerUUID : page.getPlayerUUIDs()) {
+            TablePlayer player = byUUID.get(playerUUID);
+            if (player != null) ordered.add(player);
+        }
+        return ordered;
     }
 
     public List<RetentionData> playerRetentionAsJSONMap(ServerUUID serverUUID) {
@@ -22,6 +22,8 @@ package com.djrapitops.plan.delivery.rendering.json.datapoint;
 public enum DatapointCacheKey {
 
     SESSION,
-    TPS
+    TPS,
+    EXTENSION,
+    USER_INFO
 
 }
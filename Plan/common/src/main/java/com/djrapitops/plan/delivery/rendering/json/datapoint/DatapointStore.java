@@ -36,6 +36,10 @@ import java.util.stream.Collectors;
 @SuppressWarnings("java:S1452")
 public class DatapointStore {
 
+    private static final long TPS_INTERVAL = TimeUnit.SECONDS.toMillis(30);
+    // Changes on other servers of the network are not seen, so keys are refreshed regardless after this
+    private static final long MAX_UNCHANGED = TimeUnit.MINUTES.toMillis(5);
+
     private final Map<DatapointType, Datapoint<?>> dataPointsByType;
 
     private final Map<DatapointCacheKey, Long> lastModified = new ConcurrentHashMap<>();
@@ -76,9 +80,8 @@ public class DatapointStore {
 
         Set<DatapointCacheKey> cacheKeys = datapointType.getCacheKeys();
         if (cacheKeys.contains(DatapointCacheKey.TPS)) {
-            long diff = TimeUnit.SECONDS.toMillis(30);
-            boolean hasNewData = now - etag >= diff;
-            boolean nearLiveEdge = filter.getBefore() >= now - diff;
+            boolean hasNewData = now - etag >= TPS_INTERVAL;
+            boolean nearLiveEdge = filter.getBefore() >= now - TPS_INTERVAL;
             return nearLiveEdge && hasNewData ? now : etag;
         } else if (cacheKeys.contains(DatapointCacheKey.SESSION)) {
             Long lastChange = lastModified.computeIfAbsent(DatapointCacheKey.SESSION, key -> now);
@@ -89,6 +92,28 @@ public class DatapointStore {
         return now;
     }
 
+    /**
+     * Get the time the data behind given cache keys last changed, as far as this server knows.
+     * <p>
+     * Cheap to call, so it can be compared to ETag or If-Modified-Since of a request before any data is queried.
+     * TPS data is assumed to change every 30 seconds. Session data is assumed to change when sessions
+     * start or end on this server, or at least every 5 minutes.
+     *
+     * @param cacheKeys Data that the response is created from.
+     * @return Epoch ms, newer data has not been stored before this.
+     */
+    public long getLastModified(Set<DatapointCacheKey> cacheKeys) {
+        long now = System.currentTimeMillis();
+        long lastChange = 0L;
+        for (DatapointCacheKey cacheKey : cacheKeys) {
+            long maxUnchanged = cacheKey == DatapointCacheKey.TPS ? TPS_INTERVAL : MAX_UNCHANGED;
+            Long keyLastChange = lastModified.compute(cacheKey, (key, previous) ->
+                    previous == null || now - previous >= maxUnchanged ? now : previous);
+            lastChange = Math.max(lastChange, keyLastChange);
+        }
+        return lastChange;
+    }
+
     public Optional<WebPermission> getPermission(DatapointType datapointType, GenericFilter filter) {
         return Optional.ofNullable(dataPointsByType.get(datapointType))
                 .map(datapoint -> datapoint.getPermission(filter));
@@ -48,11 +48,16 @@ import com.djrapitops.plan.settings.locale.lang.GenericLang;
 import com.djrapitops.plan.settings.theme.Theme;
 import com.djrapitops.plan.storage.database.DBSystem;
 import com.djrapitops.plan.storage.database.Database;
+import com.djrapitops.plan.storage.database.queries.Query;
 import com.djrapitops.plan.storage.database.queries.analysis.ActivityIndexQueries;
+import com.djrapitops.plan.storage.database.queries.analysis.ActivitySnapshotQueries;
 import com.djrapitops.plan.storage.database.queries.analysis.NetworkActivityIndexQueries;
 import com.djrapitops.plan.storage.database.queries.analysis.PlayerCountQueries;
 import com.djrapitops.plan.storage.database.queries.objects.*;
+import com.djrapitops.plan.storage.database.sql.tables.ActivitySnapshotTable;
 import com.djrapitops.plan.storage.database.sql.tables.JoinAddressTable;
+import com.djrapitops.plan.storage.database.sql.tables.TPSRollupTable;
+import com.djrapitops.plan.storage.database.transactions.events.StoreActivitySnapshotTransaction;
 import com.djrapitops.plan.utilities.comparators.DateHolderOldestComparator;
 import com.djrapitops.plan.utilities.dev.Untrusted;
 import com.djrapitops.plan.utilities.java.Lists;
@@ -63,6 +68,7 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
+import java.util.function.LongFunction;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -155,13 +161,22 @@ public class GraphJSONCreator {
 
     public Map<String, Object> optimizedPerformanceGraphJSON(ServerUUID serverUUID) {
         long now = System.currentTimeMillis();
+        long yearAgo = now - TimeUnit.DAYS.toMillis(365);
         long twoMonthsAgo = now - TimeUnit.DAYS.toMillis(60);
         long monthAgo = now - TimeUnit.DAYS.toMillis(30);
 
         long lowestResolution = TimeUnit.MINUTES.toMillis(20);
         long lowResolution = TimeUnit.MINUTES.toMillis(5);
         Database db = dbSystem.getDatabase();
-        TPSMutator lowestResolutionData = new TPSMutator(db.query(TPSQueries.fetchTPSDataOfServerInResolution(0, twoMonthsAgo, lowestResolution, serverUUID)));
+        // Data older than two months is read from rollups, samples that have not been rolled up yet in lowest resolution.
+        long rolledUpUntil = db.query(TPSQueries.fetchLastRollupDate(TPSRollupTable.HOURLY_TABLE_NAME, serverUUID))
+                .map(lastRollup -> lastRollup + TPSRollupTable.HOUR)
+                .orElse(0L);
+        TPSMutator dailyData = new TPSMutator(db.query(TPSQueries.fetchTPSRollupsOfServer(TPSRollupTable.DAILY_TABLE_NAME, 0, yearAgo, serverUUID)));
+        TPSMutator hourlyData = new TPSMutator(db.query(TPSQueries.fetchTPSRollupsOfServer(TPSRollupTable.HOURLY_TABLE_NAME, yearAgo, twoMonthsAgo, serverUUID)));
+        TPSMutator lowestResolutionData = new TPSMutator(rolledUpUntil < twoMonthsAgo
+                ? db.query(TPSQueries.fetchTPSDataOfServerInResolution(rolledUpUntil, twoMonthsAgo, lowestResolution, serverUUID))
+                : Collections.emptyList());
         TPSMutator lowResolutionData = new TPSMutator(db.query(TPSQueries.fetchTPSDataOfServerInResolution(twoMonthsAgo, monthAgo, lowResolution, serverUUID)));
         TPSMutator highResolutionData = new TPSMutator(db.query(TPSQueries.fetchTPSDataOfServer(monthAgo, now, serverUUID)));
 
@@ -169,13 +184,27 @@ public class GraphJSONCreator {
                 .map(Server::getIdentifiableName)
                 .orElse(serverUUID.toString());
 
-        List<Number[]> values = lowestResolutionData.toArrays(new LineGraph.GapStrategy(
+        List<Number[]> values = dailyData.toArrays(new LineGraph.GapStrategy(
                 config.isTrue(DisplaySettings.GAPS_IN_GRAPH_DATA),
-                lowestResolution + TimeUnit.MINUTES.toMillis(1),
+                TPSRollupTable.DAY + TimeUnit.MINUTES.toMillis(1),
                 TimeUnit.MINUTES.toMillis(1),
                 TimeUnit.MINUTES.toMillis(30),
                 null
         ));
+        values.addAll(hourlyData.toArrays(new LineGraph.GapStrategy(
+                config.isTrue(DisplaySettings.GAPS_IN_GRAPH_DATA),
+                TPSRollupTable.HOUR + TimeUnit.MINUTES.toMillis(1),
+                TimeUnit.MINUTES.toMillis(1),
+                TimeUnit.MINUTES.toMillis(30),
+                null
+        )));
+        values.addAll(lowestResolutionData.toArrays(new LineGraph.GapStrategy(
+                config.isTrue(DisplaySettings.GAPS_IN_GRAPH_DATA),
+                lowestResolution + TimeUnit.MINUTES.toMillis(1),
+                TimeUnit.MINUTES.toMillis(1),
+                TimeUnit.MINUTES.toMillis(30),
+                null
+        )));
         values.addAll(lowResolutionData.toArrays(new LineGraph.GapStrategy(
                 config.isTrue(DisplaySettings.GAPS_IN_GRAPH_DATA),
                 lowResolution + TimeUnit.MINUTES.toMillis(1),
@@ -374,16 +403,41 @@ public class GraphJSONCreator {
     }
 
     public Map<String, Object> activityGraphsJSONAsMap(ServerUUID serverUUID) {
-        Database db = dbSystem.getDatabase();
-        long date = System.currentTimeMillis();
         Long threshold = config.get(TimeSettings.ACTIVE_PLAY_THRESHOLD);
+        return createActivityGraphJSON(activityGroupsPerWeek(serverUUID, threshold,
+                date -> ActivityIndexQueries.fetchActivityIndexGroupingsOn(date, serverUUID, threshold)));
+    }
+
+    /**
+     * Get activity group counts for the last two months, one per week and one for now.
+     * <p>
+     * Past weeks are read from weekly snapshots. Weeks missing a snapshot are calculated once and stored.
+     *
+     * @param serverUUID       UUID of the server, null for the whole network.
+     * @param threshold        Active playtime threshold.
+     * @param activityGroupsOn Query for calculating the activity group counts on a date.
+     * @return Map - Epoch ms : Map of activity group : player count
+     */
+    private DateMap<Map<String, Integer>> activityGroupsPerWeek(ServerUUID serverUUID, long threshold, LongFunction<Query<Map<String, Integer>>> activityGroupsOn) {
+        Database db = dbSystem.getDatabase();
+        long now = System.currentTimeMillis();
+        long twoMonthsAgo = now - TimeAmount.MONTH.toMillis(2L);
+        // Sessions are stored when they end, so the latest week might still change.
+        long lastCompleteWeek = now - TimeUnit.DAYS.toMillis(1L);
 
         DateMap<Map<String, Integer>> activityData = new DateMap<>();
-        for (long time = date; time >= date - TimeAmount.MONTH.toMillis(2L); time -= TimeAmount.WEEK.toMillis(1L)) {
-            activityData.put(time, db.query(ActivityIndexQueries.fetchActivityIndexGroupingsOn(time, serverUUID, threshold)));
+        activityData.putAll(db.query(ActivitySnapshotQueries.fetchActivityGroupSnapshots(twoMonthsAgo, now, serverUUID, threshold)));
+        for (long week = ActivitySnapshotTable.weekOf(now); week >= twoMonthsAgo; week -= ActivitySnapshotTable.WEEK) {
+            if (activityData.containsKey(week)) continue;
+
+            Map<String, Integer> activityGroups = db.query(activityGroupsOn.apply(week));
+            activityData.put(week, activityGroups);
+            if (week <= lastCompleteWeek) {
+                db.executeTransaction(new StoreActivitySnapshotTransaction(serverUUID, week, threshold, activityGroups));
+            }
         }
-
-        return createActivityGraphJSON(activityData);
+        activityData.put(now, db.query(activityGroupsOn.apply(now)));
+        return activityData;
     }
 
     public Map<String, Object> createActivityGraphJSON(DateMap<Map<String, Integer>> activityData) {
@@ -399,16 +453,9 @@ public class GraphJSONCreator {
     }
 
     public Map<String, Object> activityGraphsJSONAsMap() {
-        Database db = dbSystem.getDatabase();
-        long date = System.currentTimeMillis();
         Long threshold = config.get(TimeSettings.ACTIVE_PLAY_THRESHOLD);
-
-        DateMap<Map<String, Integer>> activityData = new DateMap<>();
-        for (long time = date; time >= date - TimeAmount.MONTH.toMillis(2L); time -= TimeAmount.WEEK.toMillis(1L)) {
-            activityData.put(time, db.query(NetworkActivityIndexQueries.fetchActivityIndexGroupingsOn(time, threshold)));
-        }
-
-        return createActivityGraphJSON(activityData);
+        return createActivityGraphJSON(activityGroupsPerWeek(null, threshold,
+                date -> NetworkActivityIndexQueries.fetchActivityIndexGroupingsOn(date, threshold)));
     }
 
     public Map<String, Object> geolocationGraphsJSONAsMap(ServerUUID serverUUID) {
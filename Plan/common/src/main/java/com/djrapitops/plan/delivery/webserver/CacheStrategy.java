@@ -24,6 +24,8 @@ public class CacheStrategy {
     public static final String CACHE_IN_BROWSER = "max-age: 2592000";
     public static final String CHECK_ETAG = "no-cache";
     public static final String CHECK_ETAG_USER_SPECIFIC = "no-cache, private";
+    // For files that have a hash of their content in the name
+    public static final String CACHE_IMMUTABLE = "max-age=31536000, immutable";
 
     private CacheStrategy() {
         // Static variable class
@@ -0,0 +1,168 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver;
+
+import com.djrapitops.plan.PlanSystem;
+import com.djrapitops.plan.delivery.web.resource.WebResource;
+import com.djrapitops.plan.settings.upkeep.FileWatcher;
+import com.djrapitops.plan.settings.upkeep.WatchedFile;
+import com.djrapitops.plan.storage.file.PublicHtmlFiles;
+import com.djrapitops.plan.utilities.GzipUtil;
+import com.djrapitops.plan.utilities.dev.Untrusted;
+import com.djrapitops.plan.utilities.logging.ErrorLogger;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * In-memory cache for static text resources (javascript and css bundles) compressed with gzip.
+ * <p>
+ * Resources are compressed once and sent as is to browsers after that. The content may depend on the webserver
+ * address, so entries are replaced when the config is reloaded or the file on disk has been modified.
+ * Files customized in public_html are watched with a {@link FileWatcher}, so they are dropped from memory as soon as
+ * they are changed.
+ *
+ * @author AuroraLS3
+ */
+@Singleton
+public class CompressedResourceCache {
+
+    // Weight of an entry is the size of the compressed resource in bytes
+    private static final long MAX_WEIGHT = 32L * 1024L * 1024L;
+
+    private final PublicHtmlFiles publicHtmlFiles;
+    private final ErrorLogger errorLogger;
+
+    private final Cache<String, CompressedResource> cache;
+    private final Map<Path, FileWatcher> watchers;
+    private final Set<Path> watchedFiles;
+
+    @Inject
+    public CompressedResourceCache(
+            PublicHtmlFiles publicHtmlFiles,
+            ErrorLogger errorLogger
+    ) {
+        this.publicHtmlFiles = publicHtmlFiles;
+        this.errorLogger = errorLogger;
+
+        cache = Caffeine.newBuilder()
+                .maximumWeight(MAX_WEIGHT)
+                .weigher((String fileName, CompressedResource resource) -> resource.getGzippedContent().length)
+                .build();
+        watchers = new ConcurrentHashMap<>();
+        watchedFiles = ConcurrentHashMap.newKeySet();
+    }
+
+    /**
+     * Get a compressed resource, compressing it if it is not in memory or is out of date.
+     * <p>
+     * Concurrent requests for the same resource wait for one compression instead of compressing it again.
+     *
+     * @param fileName      Name of the resource.
+     * @param resource      Resource to compress.
+     * @param modifyContent Changes to make to the content of the resource before it is compressed, eg. address corrections.
+     * @return Compressed resource.
+     * @throws java.io.UncheckedIOException If reading the resource fails.
+     */
+    public CompressedResource getOrCompress(@Untrusted String fileName, WebResource resource, UnaryOperator<String> modifyContent) {
+        Long lastModified = resource.getLastModified().orElse(null);
+        long lastReload = PlanSystem.LAST_RELOAD.get();
+
+        CompressedResource cached = cache.getIfPresent(fileName);
+        if (cached != null && cached.isUpToDate(lastModified, lastReload)) return cached;
+
+        CompressedResource compressed = cache.asMap().compute(fileName, (key, previous) -> {
+            if (previous != null && previous.isUpToDate(lastModified, lastReload)) return previous;
+            return compress(resource, modifyContent, lastModified, lastReload);
+        });
+        watchIfCustomized(fileName);
+        return compressed;
+    }
+
+    private static CompressedResource compress(WebResource resource, UnaryOperator<String> modifyContent, Long lastModified, long lastReload) {
+        String original = resource.asString();
+        String content = modifyContent.apply(original);
+        return new CompressedResource(
+                GzipUtil.compress(content.getBytes(StandardCharsets.UTF_8)),
+                !content.equals(original),
+                lastModified, lastReload
+        );
+    }
+
+    private void watchIfCustomized(@Untrusted String fileName) {
+        publicHtmlFiles.findPublicHtmlFile(fileName)
+                .filter(watchedFiles::add) // Watched files stay on the watchlist, so each is added once
+                .ifPresent(file -> {
+                    // FileWatcher only watches files directly inside its folder
+                    FileWatcher watcher = watchers.computeIfAbsent(file.getParent(), this::startWatcher);
+                    watcher.addToWatchlist(new WatchedFile(file, () -> cache.invalidate(fileName)));
+                });
+    }
+
+    private FileWatcher startWatcher(Path folder) {
+        FileWatcher watcher = new FileWatcher(folder, errorLogger);
+        watcher.start();
+        return watcher;
+    }
+
+    public void disable() {
+        watchers.values().forEach(FileWatcher::interrupt);
+        watchers.clear();
+        watchedFiles.clear();
+        cache.invalidateAll();
+    }
+
+    public static class CompressedResource {
+        private final byte[] gzippedContent;
+        private final boolean contentModified;
+        private final Long lastModified;
+        private final long lastReload;
+
+        CompressedResource(byte[] gzippedContent, boolean contentModified, Long lastModified, long lastReload) {
+            this.gzippedContent = gzippedContent;
+            this.contentModified = contentModified;
+            this.lastModified = lastModified;
+            this.lastReload = lastReload;
+        }
+
+        boolean isUpToDate(Long lastModified, long lastReload) {
+            return Objects.equals(this.lastModified, lastModified) && this.lastReload == lastReload;
+        }
+
+        public byte[] getGzippedContent() {
+            return gzippedContent;
+        }
+
+        /**
+         * Check if the content was changed before compression, so it is no longer the same as the file.
+         *
+         * @return true if the content depends on settings, such as the webserver address.
+         */
+        public boolean isContentModified() {
+            return contentModified;
+        }
+    }
+}
@@ -57,10 +57,11 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.util.*;
-import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
+import java.util.regex.Pattern;
 
 /**
  * Factory for creating different {@link Response} objects.
@@ -71,9 +72,12 @@ import java.util.function.Function;
 public class ResponseFactory {
 
     private static final String STATIC_BUNDLE_FOLDER = "static";
+    // Bundle files are named name-hash.extension, hash is 8 characters
+    private static final Pattern HASHED_FILE_NAME = Pattern.compile(".*-[\\w-]{8}\\.\\w+$");
 
     private final PlanFiles files;
     private final PublicHtmlFiles publicHtmlFiles;
+    private final CompressedResourceCache compressedResourceCache;
     private final PageFactory pageFactory;
     private final Locale locale;
     private final DBSystem dbSystem;
@@ -85,6 +89,7 @@ public class ResponseFactory {
     public ResponseFactory(
             PlanFiles files,
             PlanConfig config, PublicHtmlFiles publicHtmlFiles,
+            CompressedResourceCache compressedResourceCache,
             PageFactory pageFactory,
             Locale locale,
             DBSystem dbSystem,
@@ -94,6 +99,7 @@ public class ResponseFactory {
     ) {
         this.files = files;
         this.publicHtmlFiles = publicHtmlFiles;
+        this.compressedResourceCache = compressedResourceCache;
         this.pageFactory = pageFactory;
         this.locale = locale;
         this.dbSystem = dbSystem;
@@ -202,7 +208,7 @@ public class ResponseFactory {
         PlayerContainer player = dbSystem.getDatabase().query(ContainerFetchQueries.fetchPlayerContainer(playerUUID));
         return Response.builder()
                 .setMimeType(MimeType.JSON)
-                .setJSONContent(player.mapToNormalMap())
+                .setStreamedJSONContent(player.mapToNormalMap())
                 .build();
     }
 
@@ -213,27 +219,21 @@ public class ResponseFactory {
     public Response javaScriptResponse(@Untrusted String fileName) {
         try {
             WebResource resource = getPublicOrJarResource(fileName);
-            AtomicBoolean containsPlaceholders = new AtomicBoolean(false);
-            String content = UnaryChain.of(resource.asString())
-                    .chain(contents -> {
-                        String replacement = replaceMainAddressPlaceholder(contents);
-                        containsPlaceholders.set(
-                                replacement.hashCode() != contents.hashCode() || contents.length() != replacement.length()
-                        );
-                        return replacement;
-                    })
-                    .chain(contents -> bundleAddressCorrection.get().correctAddressForWebserver(contents, fileName))
-                    .apply();
+            CompressedResourceCache.CompressedResource compressed = compressedResourceCache.getOrCompress(fileName, resource,
+                    contents -> UnaryChain.of(contents)
+                            .chain(this::replaceMainAddressPlaceholder)
+                            .chain(replaced -> bundleAddressCorrection.get().correctAddressForWebserver(replaced, fileName))
+                            .apply());
             ResponseBuilder responseBuilder = Response.builder()
                     .setMimeType(MimeType.JS)
-                    .setContent(content)
+                    .setGzippedContent(compressed.getGzippedContent(), StandardCharsets.UTF_8)
                     .setStatus(200);
 
             if (fileName.contains(STATIC_BUNDLE_FOLDER)) {
                 // Can't cache main bundle in browser since base path might change
-                boolean alwaysCheckRefetch = fileName.contains("index") || containsPlaceholders.get();
+                boolean alwaysCheckRefetch = fileName.contains("index") || compressed.isContentModified();
                 resource.getLastModified().ifPresent(lastModified -> responseBuilder
-                        .setHeader(HttpHeader.CACHE_CONTROL.asString(), alwaysCheckRefetch ? CacheStrategy.CHECK_ETAG : CacheStrategy.CACHE_IN_BROWSER)
+                        .setHeader(HttpHeader.CACHE_CONTROL.asString(), alwaysCheckRefetch ? CacheStrategy.CHECK_ETAG : getBrowserCacheStrategy(fileName, CacheStrategy.CACHE_IN_BROWSER))
                         .setHeader(HttpHeader.LAST_MODIFIED.asString(), httpLastModifiedFormatter.apply(lastModified))
                         .setHeader(HttpHeader.ETAG.asString(), alwaysCheckRefetch ? "config-" + PlanSystem.LAST_RELOAD.get() : lastModified));
             }
@@ -243,6 +243,24 @@ public class ResponseFactory {
         }
     }
 
+    /**
+     * Bundled files that have a hash of their content in their name can be cached by browsers until the name changes.
+     * <p>
+     * Only files served from the jar are immutable, files in public_html can be edited without changing the name.
+     * Caveat: if a customized file with the same hashed name is added to public_html later, browsers that already
+     * cached the jar version keep using it until their cache expires. Customized files should be given a new name, or
+     * browser cache cleared.
+     *
+     * @param fileName  Name of the file, content of the file must not have been modified.
+     * @param otherwise Cache strategy to use if the file is not immutable.
+     * @return Cache-Control header value.
+     */
+    private String getBrowserCacheStrategy(@Untrusted String fileName, String otherwise) {
+        boolean immutable = HASHED_FILE_NAME.matcher(fileName).matches()
+                && publicHtmlFiles.findPublicHtmlFile(fileName).isEmpty();
+        return immutable ? CacheStrategy.CACHE_IMMUTABLE : otherwise;
+    }
+
     private String replaceMainAddressPlaceholder(String resource) {
         String address = addresses.get().getAccessAddress()
                 .orElseGet(addresses.get()::getFallbackLocalhostAddress);
@@ -256,13 +274,12 @@ public class ResponseFactory {
     public Response cssResponse(@Untrusted String fileName) {
         try {
             WebResource resource = getPublicOrJarResource(fileName);
-            String content = UnaryChain.of(resource.asString())
-                    .chain(contents -> bundleAddressCorrection.get().correctAddressForWebserver(contents, fileName))
-                    .apply();
+            CompressedResourceCache.CompressedResource compressed = compressedResourceCache.getOrCompress(fileName, resource,
+                    contents -> bundleAddressCorrection.get().correctAddressForWebserver(contents, fileName));
 
             ResponseBuilder responseBuilder = Response.builder()
                     .setMimeType(MimeType.CSS)
-                    .setContent(content)
+                    .setGzippedContent(compressed.getGzippedContent(), StandardCharsets.UTF_8)
                     .setStatus(200);
 
             if (fileName.contains(STATIC_BUNDLE_FOLDER)) {
@@ -292,7 +309,7 @@ public class ResponseFactory {
 
             if (fileName.contains(STATIC_BUNDLE_FOLDER)) {
                 resource.getLastModified().ifPresent(lastModified -> responseBuilder
-                        .setHeader(HttpHeader.CACHE_CONTROL.asString(), CacheStrategy.CACHE_IN_BROWSER)
+                        .setHeader(HttpHeader.CACHE_CONTROL.asString(), getBrowserCacheStrategy(fileName, CacheStrategy.CACHE_IN_BROWSER))
                         .setHeader(HttpHeader.LAST_MODIFIED.asString(), httpLastModifiedFormatter.apply(lastModified))
                         .setHeader(HttpHeader.ETAG.asString(), lastModified));
             }
@@ -327,7 +344,7 @@ public class ResponseFactory {
 
             if (fileName.contains(STATIC_BUNDLE_FOLDER)) {
                 resource.getLastModified().ifPresent(lastModified -> responseBuilder
-                        .setHeader(HttpHeader.CACHE_CONTROL.asString(), CacheStrategy.CACHE_IN_BROWSER)
+                        .setHeader(HttpHeader.CACHE_CONTROL.asString(), getBrowserCacheStrategy(fileName, CacheStrategy.CACHE_IN_BROWSER))
                         .setHeader(HttpHeader.LAST_MODIFIED.asString(), httpLastModifiedFormatter.apply(lastModified))
                         .setHeader(HttpHeader.ETAG.asString(), lastModified));
             }
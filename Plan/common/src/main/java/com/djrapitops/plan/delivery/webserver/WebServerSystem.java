@@ -38,6 +38,7 @@ public class WebServerSystem implements SubSystem {
     private final ActiveCookieStore activeCookieStore;
     private final RegistrationBin registrationBin;
     private final PublicHtmlFiles publicHtmlFiles;
+    private final CompressedResourceCache compressedResourceCache;
     private final WebServer webServer;
     private final PluginLogger logger;
 
@@ -46,12 +47,14 @@ public class WebServerSystem implements SubSystem {
             Addresses addresses,
             ActiveCookieStore activeCookieStore, RegistrationBin registrationBin,
             PublicHtmlFiles publicHtmlFiles,
+            CompressedResourceCache compressedResourceCache,
             WebServer webServer,
             PluginLogger logger) {
         this.addresses = addresses;
         this.activeCookieStore = activeCookieStore;
         this.registrationBin = registrationBin;
         this.publicHtmlFiles = publicHtmlFiles;
+        this.compressedResourceCache = compressedResourceCache;
         this.webServer = webServer;
         this.logger = logger;
     }
@@ -70,6 +73,7 @@ public class WebServerSystem implements SubSystem {
     public void disable() {
         webServer.disable();
         activeCookieStore.disable();
+        compressedResourceCache.disable();
     }
 
     public WebServer getWebServer() {
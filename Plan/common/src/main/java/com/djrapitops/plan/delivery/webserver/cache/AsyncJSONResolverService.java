@@ -18,6 +18,8 @@ package com.djrapitops.plan.delivery.webserver.cache;
 
 import com.djrapitops.plan.delivery.formatting.Formatter;
 import com.djrapitops.plan.delivery.formatting.Formatters;
+import com.djrapitops.plan.delivery.rendering.json.datapoint.DatapointCacheKey;
+import com.djrapitops.plan.delivery.rendering.json.datapoint.DatapointStore;
 import com.djrapitops.plan.identification.ServerUUID;
 import com.djrapitops.plan.processing.Processing;
 import com.djrapitops.plan.settings.config.PlanConfig;
@@ -27,6 +29,7 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
@@ -45,6 +48,7 @@ public class AsyncJSONResolverService {
     private final PlanConfig config;
     private final Processing processing;
     private final JSONStorage jsonStorage;
+    private final DatapointStore datapointStore;
     private final Map<String, Future<JSONStorage.StoredJSON>> currentlyProcessing;
     private final Map<String, Long> previousUpdates;
     private final ReentrantLock accessLock; // Access lock prevents double processing same resource
@@ -55,11 +59,13 @@ public class AsyncJSONResolverService {
             PlanConfig config,
             Formatters formatters,
             Processing processing,
-            JSONStorage jsonStorage
+            JSONStorage jsonStorage,
+            DatapointStore datapointStore
     ) {
         this.config = config;
         this.processing = processing;
         this.jsonStorage = jsonStorage;
+        this.datapointStore = datapointStore;
 
         currentlyProcessing = new ConcurrentHashMap<>();
         previousUpdates = new ConcurrentHashMap<>();
@@ -73,7 +79,7 @@ public class AsyncJSONResolverService {
     ) {
         String identifier = dataID.of(serverUUID);
         Supplier<T> jsonCreator = () -> creator.apply(serverUUID);
-        return getStoredOrCreateJSON(newerThanTimestamp, identifier, jsonCreator);
+        return getStoredOrCreateJSON(newerThanTimestamp, dataID, identifier, jsonCreator);
     }
 
 
@@ -81,11 +87,44 @@ public class AsyncJSONResolverService {
             Optional<Long> newerThanTimestamp, DataID dataID, Supplier<T> jsonCreator
     ) {
         String identifier = dataID.name();
-        return getStoredOrCreateJSON(newerThanTimestamp, identifier, jsonCreator);
+        return getStoredOrCreateJSON(newerThanTimestamp, dataID, identifier, jsonCreator);
+    }
+
+    /**
+     * Get timestamp of the stored json if the data it was created from has not changed since it was created.
+     * <p>
+     * Does not query the database, so requests for unchanged json can be answered before it is fetched.
+     *
+     * @param dataID     Type of the json.
+     * @param serverUUID Server the json is for.
+     * @return Timestamp of the stored json, or empty if there is none or it might be outdated.
+     */
+    public Optional<Long> getUnchangedTimestamp(DataID dataID, ServerUUID serverUUID) {
+        return getUnchangedTimestamp(dataID, dataID.of(serverUUID));
+    }
+
+    /**
+     * Get timestamp of the stored network json if the data it was created from has not changed since it was created.
+     *
+     * @param dataID Type of the json.
+     * @return Timestamp of the stored json, or empty if there is none or it might be outdated.
+     */
+    public Optional<Long> getUnchangedTimestamp(DataID dataID) {
+        return getUnchangedTimestamp(dataID, dataID.name());
+    }
+
+    private Optional<Long> getUnchangedTimestamp(DataID dataID, String identifier) {
+        return jsonStorage.getTimestamp(identifier)
+                .filter(timestamp -> isUnchangedSince(dataID, timestamp));
+    }
+
+    private boolean isUnchangedSince(DataID dataID, long timestamp) {
+        Set<DatapointCacheKey> cacheKeys = dataID.getCacheKeys();
+        return !cacheKeys.isEmpty() && datapointStore.getLastModified(cacheKeys) <= timestamp;
     }
 
     private <T> JSONStorage.StoredJSON getStoredOrCreateJSON(
-            Optional<Long> givenTimestamp, String identifier, Supplier<T> jsonCreator
+            Optional<Long> givenTimestamp, DataID dataID, String identifier, Supplier<T> jsonCreator
     ) {
         JSONStorage.StoredJSON storedJSON = null;
         Future<JSONStorage.StoredJSON> updatedJSON = null;
@@ -94,9 +133,12 @@ public class AsyncJSONResolverService {
             storedJSON = getNewFromCache(timestamp, identifier);
             if (storedJSON != null) return storedJSON;
 
+            storedJSON = getOldFromCache(timestamp, identifier).orElse(null);
+            // No new enough version, but there is nothing to refresh if the data has not changed since
+            if (storedJSON != null && isUnchangedSince(dataID, storedJSON.getTimestamp())) return storedJSON;
+
             // No new enough version, let's refresh and send old version of the file
             updatedJSON = scheduleJSONForUpdate(timestamp, identifier, jsonCreator);
-            storedJSON = getOldFromCache(timestamp, identifier).orElse(null);
         }
 
         if (storedJSON != null) {
@@ -154,7 +196,9 @@ public class AsyncJSONResolverService {
 
     private <T> Future<JSONStorage.StoredJSON> submitToProcessing(String identifier, Supplier<T> jsonCreator) {
         return processing.submitNonCritical(() -> {
-            JSONStorage.StoredJSON created = jsonStorage.storeJson(identifier, jsonCreator.get());
+            // Timestamp from before the queries, so that data stored during them is not seen as older than the json
+            long startedAt = System.currentTimeMillis();
+            JSONStorage.StoredJSON created = jsonStorage.storeJson(identifier, jsonCreator.get(), startedAt);
             currentlyProcessing.remove(identifier);
             jsonStorage.invalidateOlder(identifier, created.timestamp);
             previousUpdates.put(identifier, created.timestamp);
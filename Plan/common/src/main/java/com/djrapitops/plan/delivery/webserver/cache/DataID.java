@@ -16,8 +16,13 @@
  */
 package com.djrapitops.plan.delivery.webserver.cache;
 
+import com.djrapitops.plan.delivery.rendering.json.datapoint.DatapointCacheKey;
 import com.djrapitops.plan.identification.ServerUUID;
 
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
 /**
  * Enum for different JSON data entries that can be stored in cache.
  *
@@ -45,35 +50,46 @@ public enum DataID {
     GRAPH_SERVER_PIE,
     GRAPH_PUNCHCARD,
     SERVER_OVERVIEW,
-    ONLINE_OVERVIEW,
-    SESSIONS_OVERVIEW,
-    PVP_PVE,
-    PLAYERBASE_OVERVIEW,
-    PERFORMANCE_OVERVIEW,
+    ONLINE_OVERVIEW(DatapointCacheKey.SESSION, DatapointCacheKey.TPS),
+    SESSIONS_OVERVIEW(DatapointCacheKey.SESSION, DatapointCacheKey.TPS),
+    PVP_PVE(DatapointCacheKey.SESSION),
+    PLAYERBASE_OVERVIEW(DatapointCacheKey.SESSION),
+    PERFORMANCE_OVERVIEW(DatapointCacheKey.TPS),
     EXTENSION_NAV,
     EXTENSION_TABS,
     EXTENSION_JSON,
     LIST_SERVERS,
     JOIN_ADDRESSES_BY_DAY(false),
-    PLAYER_RETENTION,
-    PLAYER_JOIN_ADDRESSES,
+    PLAYER_RETENTION(DatapointCacheKey.SESSION),
+    PLAYER_JOIN_ADDRESSES(DatapointCacheKey.SESSION),
     PLAYER_ALLOWLIST_BOUNCES,
     ;
 
     private final boolean cacheable;
+    private final DatapointCacheKey[] cacheKeys;
 
-    DataID() {
-        this(true);
+    DataID(DatapointCacheKey... cacheKeys) {
+        this(true, cacheKeys);
     }
 
-    DataID(boolean cacheable) {
+    DataID(boolean cacheable, DatapointCacheKey... cacheKeys) {
         this.cacheable = cacheable;
+        this.cacheKeys = cacheKeys;
     }
 
     public boolean isCacheable() {
         return cacheable;
     }
 
+    /**
+     * Get the data the json is created from, so that it can be checked for changes without creating the json.
+     *
+     * @return Cache keys, empty if changes can not be tracked.
+     */
+    public Set<DatapointCacheKey> getCacheKeys() {
+        return new HashSet<>(Arrays.asList(cacheKeys));
+    }
+
     public String of(ServerUUID serverUUID) {
         if (serverUUID == null) return name();
         return name() + "_" + serverUUID;
@@ -22,7 +22,10 @@ import com.djrapitops.plan.delivery.formatting.Formatters;
 import com.djrapitops.plan.settings.config.PlanConfig;
 import com.djrapitops.plan.settings.config.paths.WebserverSettings;
 import com.djrapitops.plan.storage.file.PlanFiles;
+import com.djrapitops.plan.utilities.GzipUtil;
 import com.djrapitops.plan.utilities.ReentrantLockHelper;
+import com.google.gson.Gson;
+import com.google.gson.JsonIOException;
 import net.playeranalytics.plugin.scheduling.RunnableFactory;
 import net.playeranalytics.plugin.scheduling.TimeAmount;
 import net.playeranalytics.plugin.server.PluginLogger;
@@ -31,23 +34,26 @@ import org.apache.commons.lang3.Strings;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.io.File;
+import java.io.FilterWriter;
 import java.io.IOException;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
-import java.util.function.BiPredicate;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import java.util.stream.Stream;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * In charge of storing json files on disk for later retrieval.
+ * <p>
+ * Stored files are indexed in memory by identifier and timestamp, so lookups do not need to list the directory.
+ * The index is built from the directory on first use.
  *
  * @author AuroraLS3
  */
@@ -58,7 +64,9 @@ public class JSONFileStorage implements JSONStorage {
     private final PluginLogger logger;
     private final Path jsonDirectory;
     private final ReentrantLockHelper readWriteProtectionLock = new ReentrantLockHelper();
-    private final Pattern timestampRegex = Pattern.compile(".*-(\\d*).json");
+    // identifier -> timestamp -> file, kept in sync with the files this storage writes and deletes
+    private final Map<String, NavigableMap<Long, Path>> index = new ConcurrentHashMap<>();
+    private volatile boolean indexed = false;
     private final Formatter<Long> dateFormatter;
 
     @Inject
@@ -84,19 +92,121 @@ public class JSONFileStorage implements JSONStorage {
         jsonDirectory = files.getJSONStorageDirectory();
     }
 
+    @Override
+    public void enable() {
+        getIndex();
+    }
+
+    private Map<String, NavigableMap<Long, Path>> getIndex() {
+        if (!indexed) buildIndex();
+        return index;
+    }
+
+    private synchronized void buildIndex() {
+        if (indexed) return;
+        File[] stored = jsonDirectory.toFile().listFiles();
+        if (stored != null) {
+            for (File file : stored) {
+                indexFile(file.toPath());
+            }
+        }
+        indexed = true;
+    }
+
+    private void indexFile(Path file) {
+        String fileName = file.getFileName().toString();
+        if (!fileName.endsWith(JSON_FILE_EXTENSION)) return;
+
+        // Identifiers can contain '-' (eg. server UUIDs), timestamp is after the last one.
+        String withoutExtension = fileName.substring(0, fileName.length() - JSON_FILE_EXTENSION.length());
+        int timestampStart = withoutExtension.lastIndexOf('-');
+        if (timestampStart <= 0) return;
+        try {
+            long timestamp = Long.parseLong(withoutExtension.substring(timestampStart + 1));
+            addToIndex(withoutExtension.substring(0, timestampStart), timestamp, file);
+        } catch (NumberFormatException e) {
+            // Ignore this file, malformed timestamp
+        }
+    }
+
+    private void addToIndex(String identifier, long timestamp, Path file) {
+        index.compute(identifier, (key, stored) -> {
+            NavigableMap<Long, Path> byTimestamp = stored != null ? stored : new ConcurrentSkipListMap<>();
+            byTimestamp.put(timestamp, file);
+            return byTimestamp;
+        });
+    }
+
+    private void removeFromIndex(String identifier, long timestamp) {
+        index.computeIfPresent(identifier, (key, stored) -> {
+            stored.remove(timestamp);
+            return stored.isEmpty() ? null : stored;
+        });
+    }
+
+    private Optional<NavigableMap<Long, Path>> getIndexed(String identifier) {
+        return Optional.ofNullable(getIndex().get(identifier));
+    }
+
     @Override
     public StoredJSON storeJson(String identifier, String json, long timestamp) {
         Path writingTo = jsonDirectory.resolve(identifier + '-' + timestamp + JSON_FILE_EXTENSION);
         String jsonToWrite = addMissingTimestamp(json, timestamp);
-        write(writingTo, jsonToWrite);
+        write(identifier, timestamp, writingTo, jsonToWrite);
         return new StoredJSON(jsonToWrite, timestamp);
     }
 
-    private void write(Path writingTo, String jsonToWrite) {
+    /**
+     * Serializes the object straight to the file, so that large json does not need to be held in memory as a String.
+     * <p>
+     * Returned StoredJSON holds the json compressed with gzip.
+     */
+    @Override
+    public StoredJSON storeJson(String identifier, Object json, long timestamp) {
+        if (json instanceof String) return storeJson(identifier, (String) json, timestamp);
+
+        Path writingTo = jsonDirectory.resolve(identifier + '-' + timestamp + JSON_FILE_EXTENSION);
+        getIndex(); // Build before writing, so that the new file is indexed only once
+        AtomicReference<byte[]> gzipped = new AtomicReference<>();
+        readWriteProtectionLock.performWriteOperation(() -> {
+            try {
+                if (!Files.isSymbolicLink(jsonDirectory)) Files.createDirectories(jsonDirectory);
+                try (Writer writer = Files.newBufferedWriter(writingTo, StandardCharsets.UTF_8)) {
+                    writeWithTimestamp(json, timestamp, writer);
+                }
+                addToIndex(identifier, timestamp, writingTo);
+                gzipped.set(GzipUtil.compress(writingTo));
+            } catch (IOException | JsonIOException e) {
+                logger.warn("Could not write a file to " + writingTo.toFile().getAbsolutePath() + ": " + e.getMessage());
+            }
+        });
+        if (gzipped.get() == null) return storeJson(identifier, new Gson().toJson(json), timestamp);
+        return StoredJSON.fromGzipped(gzipped.get(), timestamp);
+    }
+
+    private void writeWithTimestamp(Object json, long timestamp, Writer writer) {
+        Gson gson = new Gson();
+        if (json instanceof Map) {
+            Map<Object, Object> withTimestamp = new LinkedHashMap<>();
+            withTimestamp.put("timestamp", timestamp);
+            withTimestamp.put("timestamp_f", dateFormatter.apply(timestamp));
+            withTimestamp.putAll((Map<?, ?>) json);
+            gson.toJson(withTimestamp, writer);
+        } else if (json instanceof Collection || json.getClass().isArray()) {
+            gson.toJson(json, writer);
+        } else {
+            String timestampFields = "\"timestamp\":" + timestamp + ",\"timestamp_f\":" + gson.toJson(dateFormatter.apply(timestamp));
+            gson.toJson(json, new TimestampFieldWriter(writer, timestampFields));
+        }
+    }
+
+    private void write(String identifier, long timestamp, Path writingTo, String jsonToWrite) {
+        getIndex(); // Build before writing, so that the new file is indexed only once
         readWriteProtectionLock.performWriteOperation(() -> {
             try {
                 if (!Files.isSymbolicLink(jsonDirectory)) Files.createDirectories(jsonDirectory);
                 Files.write(writingTo, jsonToWrite.getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+                addToIndex(identifier, timestamp, writingTo);
             } catch (IOException e) {
                 logger.warn("Could not write a file to " + writingTo.toFile().getAbsolutePath() + ": " + e.getMessage());
             }
@@ -124,148 +234,88 @@ public class JSONFileStorage implements JSONStorage {
 
     @Override
     public Optional<StoredJSON> fetchJSON(String identifier) {
-        File[] stored = jsonDirectory.toFile().listFiles();
-        if (stored == null) return Optional.empty();
+        return getIndexed(identifier)
+                .map(NavigableMap::lastEntry)
+                .flatMap(newest -> readStoredJSON(identifier, newest));
+    }
 
-        String lookForStart = identifier + '-';
-        for (File file : stored) {
-            String fileName = file.getName();
-            if (fileName.endsWith(JSON_FILE_EXTENSION) && fileName.startsWith(lookForStart)) {
-                return Optional.ofNullable(readStoredJSON(file));
-            }
-        }
-        return Optional.empty();
+    private Optional<StoredJSON> readStoredJSON(String identifier, Map.Entry<Long, Path> indexed) {
+        return readStoredJSON(identifier, indexed.getKey(), indexed.getValue());
     }
 
-    private StoredJSON readStoredJSON(File from) {
-        return readWriteProtectionLock.performReadOperation(() -> {
-            Matcher timestampMatch = timestampRegex.matcher(from.getName());
-            if (timestampMatch.find()) {
-                try (Stream<String> lines = Files.lines(from.toPath())) {
-                    long timestamp = Long.parseLong(timestampMatch.group(1));
-                    StringBuilder json = new StringBuilder();
-                    lines.forEach(json::append);
-                    return new StoredJSON(json.toString(), timestamp);
-                } catch (IOException e) {
-                    logger.warn(jsonDirectory.toFile().getAbsolutePath() + " file '" + from.getName() + "' could not be read: " + e.getMessage());
-                } catch (NumberFormatException e) {
-                    logger.warn(jsonDirectory.toFile().getAbsolutePath() + " contained a file '" + from.getName() + "' with improperly formatted -timestamp (could not parse number). This file was not placed there by Plan!");
-                }
-            } else {
-                logger.warn(jsonDirectory.toFile().getAbsolutePath() + " contained a file '" + from.getName() + "' that has no -timestamp. This file was not placed there by Plan!");
+    private Optional<StoredJSON> readStoredJSON(String identifier, long timestamp, Path from) {
+        return Optional.ofNullable(readWriteProtectionLock.performReadOperation(() -> {
+            try {
+                byte[] json = Files.readAllBytes(from);
+                return new StoredJSON(new String(json, StandardCharsets.UTF_8), timestamp);
+            } catch (NoSuchFileException e) {
+                // Removed outside of Plan, index is out of date
+                removeFromIndex(identifier, timestamp);
+            } catch (IOException e) {
+                logger.warn(jsonDirectory.toFile().getAbsolutePath() + " file '" + from.getFileName() + "' could not be read: " + e.getMessage());
             }
             return null;
-        });
+        }));
     }
 
     @Override
     public Optional<StoredJSON> fetchExactJson(String identifier, long timestamp) {
-        File found = jsonDirectory.resolve(identifier + "-" + timestamp + JSON_FILE_EXTENSION).toFile();
-        if (!found.exists()) return Optional.empty();
-        return Optional.ofNullable(readStoredJSON(found));
+        return getIndexed(identifier)
+                .map(byTimestamp -> byTimestamp.get(timestamp))
+                .flatMap(found -> readStoredJSON(identifier, timestamp, found));
     }
 
     @Override
     public Optional<StoredJSON> fetchJsonMadeBefore(String identifier, long timestamp) {
-        return fetchJSONWithTimestamp(identifier, timestamp, (timestampMatch, time) -> Long.parseLong(timestampMatch.group(1)) < time);
+        return getIndexed(identifier)
+                .map(byTimestamp -> byTimestamp.lowerEntry(timestamp))
+                .flatMap(found -> readStoredJSON(identifier, found));
     }
 
     @Override
     public Optional<StoredJSON> fetchJsonMadeAfter(String identifier, long timestamp) {
-        return fetchJSONWithTimestamp(identifier, timestamp, (timestampMatch, time) -> Long.parseLong(timestampMatch.group(1)) > time);
-    }
-
-    private Optional<StoredJSON> fetchJSONWithTimestamp(String identifier, long timestamp, BiPredicate<Matcher, Long> timestampComparator) {
-        File[] stored = jsonDirectory.toFile().listFiles();
-        if (stored == null) return Optional.empty();
-
-        String lookForStart = identifier + '-';
-        for (File file : stored) {
-            try {
-                String fileName = file.getName();
-                if (fileName.endsWith(JSON_FILE_EXTENSION) && fileName.startsWith(lookForStart)) {
-                    Matcher timestampMatch = timestampRegex.matcher(fileName);
-                    if (timestampMatch.find() && timestampComparator.test(timestampMatch, timestamp)) {
-                        return Optional.ofNullable(readStoredJSON(file));
-                    }
-                }
-            } catch (NumberFormatException e) {
-                // Ignore this file, malformed timestamp
-            }
-        }
-        return Optional.empty();
+        return getIndexed(identifier)
+                .map(NavigableMap::lastEntry)
+                .filter(newest -> newest.getKey() > timestamp)
+                .flatMap(newest -> readStoredJSON(identifier, newest));
     }
 
     @Override
     public void invalidateOlder(String identifier, long timestamp) {
-        File[] stored = jsonDirectory.toFile().listFiles();
-        if (stored == null) return;
-
-        List<File> toDelete = new ArrayList<>();
-        for (File file : stored) {
-            if (shouldDeleteFile(identifier, timestamp, file)) {
-                toDelete.add(file);
-            }
-        }
+        List<Path> toDelete = new ArrayList<>();
+        removeOlder(identifier, timestamp, toDelete);
         deleteFiles(toDelete);
     }
 
-    private boolean shouldDeleteFile(String identifier, long timestamp, File file) {
-        try {
-            String fileName = file.getName();
-            if (fileName.endsWith(JSON_FILE_EXTENSION) && fileName.startsWith(identifier + '-')) {
-                Matcher timestampMatch = timestampRegex.matcher(fileName);
-                if (timestampMatch.find() && Long.parseLong(timestampMatch.group(1)) < timestamp) {
-                    return true;
-                }
-            }
-        } catch (NumberFormatException e) {
-            // Ignore this file, malformed timestamp
-        }
-        return false;
-    }
-
     private void invalidateOlderButIgnore(long timestamp, String... ignoredIdentifiers) {
-        File[] stored = jsonDirectory.toFile().listFiles();
-        if (stored == null) return;
-
-        List<File> toDelete = new ArrayList<>();
-        for (File file : stored) {
-            if (shouldDeleteFile(timestamp, file, ignoredIdentifiers)) {
-                toDelete.add(file);
+        List<String> ignored = Arrays.asList(ignoredIdentifiers);
+        List<Path> toDelete = new ArrayList<>();
+        for (String identifier : getIndex().keySet()) {
+            if (!ignored.contains(identifier)) {
+                removeOlder(identifier, timestamp, toDelete);
             }
         }
-
         deleteFiles(toDelete);
     }
 
-    private boolean shouldDeleteFile(long timestamp, File file, String[] ignoredIdentifiers) {
-        try {
-            String fileName = file.getName();
-            if (fileName.endsWith(JSON_FILE_EXTENSION)) {
-                Matcher timestampMatch = timestampRegex.matcher(fileName);
-                boolean isOlder = timestampMatch.find() && Long.parseLong(timestampMatch.group(1)) < timestamp;
-                if (isOlder) {
-                    for (String ignoredIdentifier : ignoredIdentifiers) {
-                        if (fileName.startsWith(ignoredIdentifier + "-")) return false;
-                    }
-                    return true;
-                }
-            }
-        } catch (NumberFormatException e) {
-            // Ignore this file, malformed timestamp
-        }
-        return false;
+    private void removeOlder(String identifier, long timestamp, List<Path> removed) {
+        getIndex().computeIfPresent(identifier, (key, stored) -> {
+            Map<Long, Path> older = stored.headMap(timestamp, false);
+            removed.addAll(older.values());
+            older.clear();
+            return stored.isEmpty() ? null : stored;
+        });
     }
 
-    private void deleteFiles(List<File> toDelete) {
+    private void deleteFiles(List<Path> toDelete) {
+        if (toDelete.isEmpty()) return;
         readWriteProtectionLock.performWriteOperation(() -> {
-            for (File fileToDelete : toDelete) {
+            for (Path fileToDelete : toDelete) {
                 try {
-                    Files.delete(fileToDelete.toPath());
+                    Files.deleteIfExists(fileToDelete);
                 } catch (IOException e) {
                     // Failed to delete, set for deletion on next server shutdown.
-                    fileToDelete.deleteOnExit();
+                    fileToDelete.toFile().deleteOnExit();
                 }
             }
         });
@@ -273,24 +323,57 @@ public class JSONFileStorage implements JSONStorage {
 
     @Override
     public Optional<Long> getTimestamp(String identifier) {
-        File[] stored = jsonDirectory.toFile().listFiles();
-        if (stored == null) return Optional.empty();
+        return getIndexed(identifier)
+                .map(NavigableMap::lastEntry)
+                .map(Map.Entry::getKey);
+    }
 
-        String lookForStart = identifier + '-';
-        for (File file : stored) {
-            try {
-                String fileName = file.getName();
-                if (fileName.endsWith(JSON_FILE_EXTENSION) && fileName.startsWith(lookForStart)) {
-                    Matcher timestampMatch = timestampRegex.matcher(fileName);
-                    if (timestampMatch.find()) {
-                        return Optional.of(Long.parseLong(timestampMatch.group(1)));
-                    }
+    /**
+     * Adds timestamp fields to the start of a json object while it is being written.
+     * <p>
+     * Fields of the object with the same name are written after these, so they take precedence when parsed.
+     */
+    private static class TimestampFieldWriter extends FilterWriter {
+        private final String timestampFields;
+        private boolean objectStarted = false;
+        private boolean done = false;
+
+        TimestampFieldWriter(Writer out, String timestampFields) {
+            super(out);
+            this.timestampFields = timestampFields;
+        }
+
+        @Override
+        public void write(int c) throws IOException {
+            if (!done) {
+                if (!objectStarted && c == '{') {
+                    out.write(c);
+                    out.write(timestampFields);
+                    objectStarted = true;
+                    return;
                 }
-            } catch (NumberFormatException e) {
-                // Ignore this file, malformed timestamp
+                // Empty object does not need a separator
+                if (objectStarted && c != '}') out.write(',');
+                done = true;
             }
+            out.write(c);
+        }
+
+        @Override
+        public void write(char[] chars, int offset, int length) throws IOException {
+            int i = offset;
+            int end = offset + length;
+            while (!done && i < end) write(chars[i++]);
+            if (i < end) out.write(chars, i, end - i);
+        }
+
+        @Override
+        public void write(String str, int offset, int length) throws IOException {
+            int i = offset;
+            int end = offset + length;
+            while (!done && i < end) write(str.charAt(i++));
+            if (i < end) out.write(str, i, end - i);
         }
-        return Optional.empty();
     }
 
     @Singleton
@@ -21,15 +21,26 @@ import com.djrapitops.plan.settings.config.paths.WebserverSettings;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 
-import java.util.*;
+import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * Keeps the newest json of each identifier in memory in front of another {@link JSONStorage}.
+ * <p>
+ * The json is compressed with gzip once when it is cached, so it can be sent to browsers without compressing it again.
+ * The cache is bounded by the size of the compressed json.
+ *
+ * @author AuroraLS3
+ */
 public class JSONMemoryStorageShim implements JSONStorage {
 
+    // Weight of an entry is the size of the compressed json in bytes
+    static final long MAX_WEIGHT = 64L * 1024L * 1024L;
+
     private final PlanConfig config;
     private final JSONStorage underlyingStorage;
 
-    private Cache<TimestampedIdentifier, StoredJSON> cache;
+    private Cache<String, StoredJSON> cache;
 
     public JSONMemoryStorageShim(
             PlanConfig config,
@@ -42,114 +53,86 @@ public class JSONMemoryStorageShim implements JSONStorage {
     @Override
     public void enable() {
         cache = Caffeine.newBuilder()
+                .maximumWeight(MAX_WEIGHT)
+                .weigher((String identifier, StoredJSON storedJSON) -> storedJSON.getSize())
                 .expireAfterWrite(config.get(WebserverSettings.INVALIDATE_MEMORY_CACHE), TimeUnit.MILLISECONDS)
                 .build();
     }
 
     @Override
     public StoredJSON storeJson(String identifier, String json, long timestamp) {
-        StoredJSON storedJSON = underlyingStorage.storeJson(identifier, json, timestamp);
-        getCache().put(new TimestampedIdentifier(identifier, timestamp), storedJSON);
+        StoredJSON storedJSON = underlyingStorage.storeJson(identifier, json, timestamp).compress();
+        cacheIfNewest(identifier, storedJSON);
         return storedJSON;
     }
 
-    public Cache<TimestampedIdentifier, StoredJSON> getCache() {
+    @Override
+    public StoredJSON storeJson(String identifier, Object json, long timestamp) {
+        StoredJSON storedJSON = underlyingStorage.storeJson(identifier, json, timestamp).compress();
+        cacheIfNewest(identifier, storedJSON);
+        return storedJSON;
+    }
+
+    public Cache<String, StoredJSON> getCache() {
         if (cache == null) enable();
         return cache;
     }
 
+    private void cacheIfNewest(String identifier, StoredJSON storedJSON) {
+        getCache().asMap().merge(identifier, storedJSON,
+                (cached, stored) -> cached.timestamp > stored.timestamp ? cached : stored);
+    }
+
+    private Optional<StoredJSON> cacheFound(String identifier, Optional<StoredJSON> found) {
+        Optional<StoredJSON> compressed = found.map(StoredJSON::compress);
+        compressed.ifPresent(storedJSON -> cacheIfNewest(identifier, storedJSON));
+        return compressed;
+    }
+
     @Override
     public Optional<StoredJSON> fetchJSON(String identifier) {
-        for (Map.Entry<TimestampedIdentifier, StoredJSON> entry : getCache().asMap().entrySet()) {
-            if (entry.getKey().identifier.equalsIgnoreCase(identifier)) {
-                return Optional.of(entry.getValue());
-            }
-        }
-        Optional<StoredJSON> found = underlyingStorage.fetchJSON(identifier);
-        found.ifPresent(storedJSON -> getCache().put(new TimestampedIdentifier(identifier, storedJSON.timestamp), storedJSON));
-        return found;
+        StoredJSON cached = getCache().getIfPresent(identifier);
+        if (cached != null) return Optional.of(cached);
+
+        return cacheFound(identifier, underlyingStorage.fetchJSON(identifier));
     }
 
     @Override
     public Optional<StoredJSON> fetchExactJson(String identifier, long timestamp) {
-        StoredJSON cached = getCache().getIfPresent(new TimestampedIdentifier(identifier, timestamp));
-        if (cached != null) return Optional.of(cached);
+        StoredJSON cached = getCache().getIfPresent(identifier);
+        if (cached != null && cached.timestamp == timestamp) return Optional.of(cached);
 
-        Optional<StoredJSON> found = underlyingStorage.fetchExactJson(identifier, timestamp);
-        found.ifPresent(storedJSON -> getCache().put(new TimestampedIdentifier(identifier, timestamp), storedJSON));
-        return found;
+        return cacheFound(identifier, underlyingStorage.fetchExactJson(identifier, timestamp));
     }
 
     @Override
     public Optional<StoredJSON> fetchJsonMadeBefore(String identifier, long timestamp) {
-        for (Map.Entry<TimestampedIdentifier, StoredJSON> entry : getCache().asMap().entrySet()) {
-            TimestampedIdentifier key = entry.getKey();
-            if (key.timestamp < timestamp && key.identifier.equalsIgnoreCase(identifier)) {
-                return Optional.of(entry.getValue());
-            }
-        }
-
-        Optional<StoredJSON> found = underlyingStorage.fetchJsonMadeBefore(identifier, timestamp);
-        found.ifPresent(storedJSON -> getCache().put(new TimestampedIdentifier(identifier, storedJSON.timestamp), storedJSON));
-        return found;
+        StoredJSON cached = getCache().getIfPresent(identifier);
+        if (cached != null && cached.timestamp < timestamp) return Optional.of(cached);
+
+        return cacheFound(identifier, underlyingStorage.fetchJsonMadeBefore(identifier, timestamp));
     }
 
     @Override
     public Optional<StoredJSON> fetchJsonMadeAfter(String identifier, long timestamp) {
-        for (Map.Entry<TimestampedIdentifier, StoredJSON> entry : getCache().asMap().entrySet()) {
-            TimestampedIdentifier key = entry.getKey();
-            if (key.timestamp > timestamp && key.identifier.equalsIgnoreCase(identifier)) {
-                return Optional.of(entry.getValue());
-            }
-        }
-        Optional<StoredJSON> found = underlyingStorage.fetchJsonMadeAfter(identifier, timestamp);
-        found.ifPresent(storedJSON -> getCache().put(new TimestampedIdentifier(identifier, storedJSON.timestamp), storedJSON));
-        return found;
+        StoredJSON cached = getCache().getIfPresent(identifier);
+        if (cached != null && cached.timestamp > timestamp) return Optional.of(cached);
+
+        return cacheFound(identifier, underlyingStorage.fetchJsonMadeAfter(identifier, timestamp));
     }
 
     @Override
     public void invalidateOlder(String identifier, long timestamp) {
-        Set<TimestampedIdentifier> toInvalidate = new HashSet<>();
-        for (TimestampedIdentifier key : getCache().asMap().keySet()) {
-            if (key.timestamp < timestamp && key.identifier.equalsIgnoreCase(identifier)) {
-                toInvalidate.add(key);
-            }
-        }
-        toInvalidate.forEach(getCache()::invalidate);
+        getCache().asMap().computeIfPresent(identifier,
+                (key, cached) -> cached.timestamp < timestamp ? null : cached);
 
         underlyingStorage.invalidateOlder(identifier, timestamp);
     }
 
     @Override
     public Optional<Long> getTimestamp(String identifier) {
-        for (TimestampedIdentifier key : getCache().asMap().keySet()) {
-            if (key.identifier.equalsIgnoreCase(identifier)) {
-                return Optional.of(key.timestamp);
-            }
-        }
-        return Optional.empty();
-    }
-
-    static class TimestampedIdentifier {
-        private final String identifier;
-        private final long timestamp;
-
-        public TimestampedIdentifier(String identifier, long timestamp) {
-            this.identifier = identifier;
-            this.timestamp = timestamp;
-        }
-
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) return true;
-            if (o == null || getClass() != o.getClass()) return false;
-            TimestampedIdentifier that = (TimestampedIdentifier) o;
-            return timestamp == that.timestamp && identifier.equals(that.identifier);
-        }
-
-        @Override
-        public int hashCode() {
-            return Objects.hash(identifier, timestamp);
-        }
+        StoredJSON cached = getCache().getIfPresent(identifier);
+        if (cached != null) return Optional.of(cached.timestamp);
+        return underlyingStorage.getTimestamp(identifier);
     }
 }
@@ -17,9 +17,11 @@
 package com.djrapitops.plan.delivery.webserver.cache;
 
 import com.djrapitops.plan.SubSystem;
+import com.djrapitops.plan.utilities.GzipUtil;
 import com.google.gson.Gson;
 
-import java.util.Objects;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Optional;
 
 /**
@@ -42,8 +44,7 @@ public interface JSONStorage extends SubSystem {
     }
 
     default StoredJSON storeJson(String identifier, Object json) {
-        if (json instanceof String) return storeJson(identifier, (String) json);
-        return storeJson(identifier, new Gson().toJson(json));
+        return storeJson(identifier, json, System.currentTimeMillis());
     }
 
     StoredJSON storeJson(String identifier, String json, long timestamp);
@@ -66,20 +67,66 @@ public interface JSONStorage extends SubSystem {
     Optional<Long> getTimestamp(String identifier);
 
     final class StoredJSON {
-        public final String json;
+        private final String json; // null when compressed
+        private final byte[] gzippedJson; // null when not compressed
         public final long timestamp;
 
         public StoredJSON(String json, long timestamp) {
+            this(json, null, timestamp);
+        }
+
+        private StoredJSON(String json, byte[] gzippedJson, long timestamp) {
             this.json = json;
+            this.gzippedJson = gzippedJson;
             this.timestamp = timestamp;
         }
 
+        /**
+         * Create StoredJSON from json that has already been compressed with gzip.
+         *
+         * @param gzippedJson Gzipped json.
+         * @param timestamp   Timestamp of the json.
+         * @return StoredJSON that only holds the compressed json.
+         */
+        public static StoredJSON fromGzipped(byte[] gzippedJson, long timestamp) {
+            return new StoredJSON(null, gzippedJson, timestamp);
+        }
+
         public static StoredJSON fromObject(Object json, long timestamp) {
             return new StoredJSON(new Gson().toJson(json), timestamp);
         }
 
+        /**
+         * Compress the json with gzip.
+         *
+         * @return StoredJSON that only holds the compressed json.
+         */
+        public StoredJSON compress() {
+            if (gzippedJson != null) return this;
+            return new StoredJSON(null, GzipUtil.compress(json.getBytes(StandardCharsets.UTF_8)), timestamp);
+        }
+
         public String getJson() {
-            return json;
+            if (json != null) return json;
+            return new String(GzipUtil.decompress(gzippedJson), StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Get the json compressed with gzip.
+         *
+         * @return Gzipped json, or empty if this has not been compressed.
+         */
+        public Optional<byte[]> getGzippedJson() {
+            return Optional.ofNullable(gzippedJson);
+        }
+
+        /**
+         * Get approximate size of the held json in bytes.
+         *
+         * @return Length of the compressed json, or length of the json if not compressed.
+         */
+        public int getSize() {
+            return gzippedJson != null ? gzippedJson.length : json.length();
         }
 
         public long getTimestamp() {
@@ -91,12 +138,17 @@ public interface JSONStorage extends SubSystem {
             if (this == o) return true;
             if (o == null || getClass() != o.getClass()) return false;
             StoredJSON that = (StoredJSON) o;
-            return timestamp == that.timestamp && Objects.equals(json, that.json);
+            if (timestamp != that.timestamp) return false;
+            // Compare in the form that is held to avoid decompressing
+            if (json != null && that.json != null) return json.equals(that.json);
+            if (gzippedJson != null && that.gzippedJson != null) return Arrays.equals(gzippedJson, that.gzippedJson);
+            return getJson().equals(that.getJson());
         }
 
         @Override
         public int hashCode() {
-            return Objects.hash(json, timestamp);
+            // Same json can be held compressed or not, so only timestamp is used
+            return Long.hashCode(timestamp);
         }
     }
 }
@@ -18,21 +18,24 @@ package com.djrapitops.plan.delivery.webserver.http;
 
 import com.djrapitops.plan.delivery.web.resolver.MimeType;
 import com.djrapitops.plan.delivery.web.resolver.Response;
+import com.djrapitops.plan.delivery.web.resolver.StreamedContent;
 import com.djrapitops.plan.delivery.webserver.Addresses;
+import com.djrapitops.plan.utilities.GzipUtil;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.apache.commons.lang3.Strings;
 import org.eclipse.jetty.http.HttpHeader;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.util.Map;
+import java.util.Optional;
 import java.util.zip.GZIPOutputStream;
 
 public class JettyResponseSender {
 
+    private static final int GZIP_BUFFER_SIZE = 8192;
+
     private final Response response;
     private final HttpServletRequest servletRequest;
     private final HttpServletResponse servletResponse;
@@ -46,9 +49,15 @@ public class JettyResponseSender {
     }
 
     public void send() throws IOException {
+        if (isCompressible()) {
+            // Caches need to know that gzip is only sent to clients that accept it
+            addVaryAcceptEncoding();
+        }
         if ("HEAD".equals(servletRequest.getMethod()) || response.getCode() == 204 || response.getCode() == 304) {
             setResponseHeaders();
             sendHeadResponse();
+        } else if (response.getStreamedContent().isPresent()) {
+            sendStreamed(response.getStreamedContent().get());
         } else if (canGzip()) {
             sendCompressed();
         } else {
@@ -58,9 +67,27 @@ public class JettyResponseSender {
     }
 
     private boolean canGzip() {
-        String method = servletRequest.getMethod();
+        return "GET".equals(servletRequest.getMethod()) && acceptsGzip() && isCompressible();
+    }
+
+    private boolean isCompressible() {
         String mimeType = response.getHeaders().get(HttpHeader.CONTENT_TYPE.asString());
-        return "GET".equals(method) && Strings.CS.containsAny(mimeType, MimeType.HTML, MimeType.CSS, MimeType.JS, MimeType.JSON, "text/plain");
+        return response.getGzippedBytes().isPresent()
+                || Strings.CS.containsAny(mimeType, MimeType.HTML, MimeType.CSS, MimeType.JS, MimeType.JSON, "text/plain");
+    }
+
+    private void addVaryAcceptEncoding() {
+        String vary = response.getHeaders().get(HttpHeader.VARY.asString());
+        if (vary == null || vary.isBlank()) {
+            response.getHeaders().put(HttpHeader.VARY.asString(), HttpHeader.ACCEPT_ENCODING.asString());
+        } else if (!Strings.CI.contains(vary, HttpHeader.ACCEPT_ENCODING.asString())) {
+            response.getHeaders().put(HttpHeader.VARY.asString(), vary + ", " + HttpHeader.ACCEPT_ENCODING.asString());
+        }
+    }
+
+    private boolean acceptsGzip() {
+        String acceptEncoding = servletRequest.getHeader(HttpHeader.ACCEPT_ENCODING.asString());
+        return Strings.CI.contains(acceptEncoding, "gzip");
     }
 
     public void sendHeadResponse() throws IOException {
@@ -93,7 +120,8 @@ public class JettyResponseSender {
         response.getHeaders().remove(HttpHeader.ACCEPT_RANGES.asString());
         response.getHeaders().put(HttpHeader.CONTENT_ENCODING.asString(), "gzip");
 
-        byte[] gzipped = gzip();
+        Optional<byte[]> precompressed = response.getGzippedBytes();
+        byte[] gzipped = precompressed.isPresent() ? precompressed.get() : GzipUtil.compress(response.getBytes());
         try (OutputStream out = servletResponse.getOutputStream()) {
             response.getHeaders().put(HttpHeader.CONTENT_LENGTH.asString(), String.valueOf(gzipped.length));
             setResponseHeaders();
@@ -104,14 +132,20 @@ public class JettyResponseSender {
         }
     }
 
-    private byte[] gzip() throws IOException {
-        try (ByteArrayOutputStream bufferStream = new ByteArrayOutputStream();
-             GZIPOutputStream gzipStream = new GZIPOutputStream(bufferStream)
-        ) {
-            gzipStream.write(response.getBytes());
-            gzipStream.finish();
-            gzipStream.flush();
-            return bufferStream.toByteArray();
+    private void sendStreamed(StreamedContent content) throws IOException {
+        boolean gzip = canGzip();
+        response.getHeaders().remove(HttpHeader.CONTENT_LENGTH.asString());
+        if (gzip) {
+            response.getHeaders().remove(HttpHeader.ACCEPT_RANGES.asString());
+            response.getHeaders().put(HttpHeader.CONTENT_ENCODING.asString(), "gzip");
+        }
+        setResponseHeaders();
+        beginSend();
+
+        OutputStream out = servletResponse.getOutputStream();
+        if (gzip) out = new GZIPOutputStream(out, GZIP_BUFFER_SIZE);
+        try (OutputStream body = out) {
+            content.writeTo(body);
         }
     }
 
@@ -142,14 +176,6 @@ public class JettyResponseSender {
     }
 
     private void send(OutputStream out, byte[] bytes) throws IOException {
-        try (
-                ByteArrayInputStream bis = new ByteArrayInputStream(bytes)
-        ) {
-            byte[] buffer = new byte[2048];
-            int count;
-            while ((count = bis.read(buffer)) != -1) {
-                out.write(buffer, 0, count);
-            }
-        }
+        out.write(bytes);
     }
 }
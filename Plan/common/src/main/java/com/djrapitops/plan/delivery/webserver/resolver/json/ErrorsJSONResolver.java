@@ -77,7 +77,7 @@ public class ErrorsJSONResolver implements Resolver {
     private Response getResponse() {
         return Response.builder()
                 .setMimeType(MimeType.JSON)
-                .setJSONContent(loadErrorLogs())
+                .setStreamedJSONContent(loadErrorLogs())
                 .build();
     }
 
@@ -20,6 +20,7 @@ import com.djrapitops.plan.delivery.formatting.Formatter;
 import com.djrapitops.plan.delivery.web.resolver.MimeType;
 import com.djrapitops.plan.delivery.web.resolver.Resolver;
 import com.djrapitops.plan.delivery.web.resolver.Response;
+import com.djrapitops.plan.delivery.web.resolver.ResponseBuilder;
 import com.djrapitops.plan.delivery.web.resolver.request.Request;
 import com.djrapitops.plan.delivery.webserver.CacheStrategy;
 import com.djrapitops.plan.delivery.webserver.cache.JSONStorage;
@@ -29,6 +30,7 @@ import com.djrapitops.plan.utilities.dev.Untrusted;
 import com.djrapitops.plan.utilities.java.Maps;
 import org.eclipse.jetty.http.HttpHeader;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Optional;
 
 /**
@@ -46,16 +48,37 @@ public abstract class JSONResolver implements Resolver {
                     .build();
         }
 
-        Optional<ETag> browserCached = Identifiers.getEtag(request);
-        if (browserCached.isEmpty() || browserCached.get().isOutdated(storedJSON.getTimestamp())) {
-            return Response.builder()
-                    .setMimeType(MimeType.JSON)
-                    .setJSONContent(storedJSON.getJson())
+        if (!isBrowserCacheFresh(request, storedJSON.getTimestamp())) {
+            return setJSONContent(Response.builder(), storedJSON)
                     .setHeader(HttpHeader.CACHE_CONTROL.asString(), CacheStrategy.CHECK_ETAG_USER_SPECIFIC)
                     .setHeader(HttpHeader.LAST_MODIFIED.asString(), getHttpLastModifiedFormatter().apply(storedJSON.getTimestamp()))
                     .setHeader(HttpHeader.ETAG.asString(), storedJSON.getTimestamp())
                     .build();
         }
+        return notModifiedResponse();
+    }
+
+    /**
+     * Check if the browser already has the response that was last modified at given time.
+     * <p>
+     * If-None-Match takes precedence, If-Modified-Since is only used when the browser did not send an ETag.
+     *
+     * @param request      Request from the browser.
+     * @param lastModified Epoch ms the response was last modified, also used as the ETag of the response.
+     * @return true if 304 can be sent instead.
+     */
+    public static boolean isBrowserCacheFresh(@Untrusted Request request, long lastModified) {
+        Optional<ETag> browserCached = Identifiers.getEtag(request);
+        if (browserCached.isPresent()) {
+            return !browserCached.get().isOutdated(lastModified);
+        }
+        // Last-Modified header only has second precision
+        return Identifiers.getIfModifiedSince(request)
+                .map(modifiedSince -> lastModified - lastModified % 1000 <= modifiedSince)
+                .orElse(false);
+    }
+
+    public static Response notModifiedResponse() {
         return Response.builder()
                 .setStatus(304)
                 .setContent(new byte[0])
@@ -64,4 +87,20 @@ public abstract class JSONResolver implements Resolver {
 
     protected abstract Formatter<Long> getHttpLastModifiedFormatter();
 
+    /**
+     * Set stored json as content, without decompressing it if it has been compressed.
+     *
+     * @param builder    Builder for the response.
+     * @param storedJSON Stored json.
+     * @return the builder.
+     */
+    public static ResponseBuilder setJSONContent(ResponseBuilder builder, JSONStorage.StoredJSON storedJSON) {
+        builder.setMimeType(MimeType.JSON);
+        Optional<byte[]> gzippedJson = storedJSON.getGzippedJson();
+        if (gzippedJson.isPresent()) {
+            return builder.setGzippedContent(gzippedJson.get(), StandardCharsets.UTF_8);
+        }
+        return builder.setJSONContent(storedJSON.getJson());
+    }
+
 }
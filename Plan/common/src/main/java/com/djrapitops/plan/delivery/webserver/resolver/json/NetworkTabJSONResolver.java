@@ -66,6 +66,10 @@ public class NetworkTabJSONResolver<T> extends JSONResolver {
     }
 
     private Response getResponse(Request request) {
+        Optional<Long> unchangedSince = asyncJSONResolverService.getUnchangedTimestamp(dataID);
+        if (unchangedSince.isPresent() && isBrowserCacheFresh(request, unchangedSince.get())) {
+            return notModifiedResponse();
+        }
         JSONStorage.StoredJSON json = asyncJSONResolverService.resolve(Identifiers.getTimestamp(request), dataID, jsonCreator);
         return getCachedOrNewResponse(request, json);
     }
@@ -18,12 +18,16 @@ package com.djrapitops.plan.delivery.webserver.resolver.json;
 
 import com.djrapitops.plan.delivery.domain.auth.WebPermission;
 import com.djrapitops.plan.delivery.rendering.json.PlayerJSONCreator;
+import com.djrapitops.plan.delivery.rendering.json.datapoint.DatapointCacheKey;
+import com.djrapitops.plan.delivery.rendering.json.datapoint.DatapointStore;
 import com.djrapitops.plan.delivery.web.resolver.MimeType;
 import com.djrapitops.plan.delivery.web.resolver.Resolver;
 import com.djrapitops.plan.delivery.web.resolver.Response;
 import com.djrapitops.plan.delivery.web.resolver.exception.BadRequestException;
 import com.djrapitops.plan.delivery.web.resolver.request.Request;
 import com.djrapitops.plan.delivery.web.resolver.request.WebUser;
+import com.djrapitops.plan.delivery.webserver.CacheStrategy;
+import com.djrapitops.plan.gathering.cache.SessionCache;
 import com.djrapitops.plan.identification.Identifiers;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -34,11 +38,15 @@ import io.swagger.v3.oas.annotations.parameters.RequestBody;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.Path;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.eclipse.jetty.http.HttpHeader;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import java.util.EnumSet;
 import java.util.Map;
 import java.util.Optional;
+import java.util.TreeSet;
 import java.util.UUID;
 import java.util.function.Predicate;
 
@@ -48,11 +56,17 @@ public class PlayerJSONResolver implements Resolver {
 
     private final Identifiers identifiers;
     private final PlayerJSONCreator jsonCreator;
+    private final DatapointStore datapointStore;
 
     @Inject
-    public PlayerJSONResolver(Identifiers identifiers, PlayerJSONCreator jsonCreator) {
+    public PlayerJSONResolver(
+            Identifiers identifiers,
+            PlayerJSONCreator jsonCreator,
+            DatapointStore datapointStore
+    ) {
         this.identifiers = identifiers;
         this.jsonCreator = jsonCreator;
+        this.datapointStore = datapointStore;
     }
 
     @Override
@@ -95,10 +109,51 @@ public class PlayerJSONResolver implements Resolver {
         Predicate<WebPermission> hasPermission = request.getUser()
                 .map(user -> (Predicate<WebPermission>) user::hasPermission)
                 .orElse(permission -> true); // No user means auth disabled inside resolve
+
+        if (SessionCache.getCachedSession(playerUUID).isPresent()) {
+            // Data of online players changes all the time
+            Map<String, Object> jsonAsMap = jsonCreator.createJSONAsMap(playerUUID, hasPermission);
+            return Response.builder()
+                    .setMimeType(MimeType.JSON)
+                    .setStreamedJSONContent(jsonAsMap)
+                    .build();
+        }
+
+        // Offline player data changes when sessions, extension data or ban status are stored, checked before creating the json.
+        // Nicknames and join addresses only change while the player is online, and the session is stored after that.
+        // Changes made by other servers of a network are not seen, so those can be stale for up to 5 minutes.
+        // The json also depends on the permissions of the user, so Last-Modified alone can not be trusted.
+        long lastModified = datapointStore.getLastModified(EnumSet.of(
+                DatapointCacheKey.SESSION, DatapointCacheKey.EXTENSION, DatapointCacheKey.USER_INFO
+        ));
+        String etag = getETag(request, lastModified);
+        boolean browserCacheFresh = Identifiers.getEtag(request)
+                .map(browserCached -> etag.equals(browserCached.getEtag()))
+                .orElse(false);
+        if (browserCacheFresh) {
+            return JSONResolver.notModifiedResponse();
+        }
+
         Map<String, Object> jsonAsMap = jsonCreator.createJSONAsMap(playerUUID, hasPermission);
         return Response.builder()
                 .setMimeType(MimeType.JSON)
-                .setJSONContent(jsonAsMap)
+                .setStreamedJSONContent(jsonAsMap)
+                .setHeader(HttpHeader.CACHE_CONTROL.asString(), CacheStrategy.CHECK_ETAG_USER_SPECIFIC)
+                .setHeader(HttpHeader.ETAG.asString(), etag)
                 .build();
     }
+
+    /**
+     * Create ETag from the time player data was last stored and the permissions of the user.
+     *
+     * @param request      Request with the user.
+     * @param lastModified Epoch ms player data was last stored.
+     * @return ETag that changes if either of them change.
+     */
+    private static String getETag(Request request, long lastModified) {
+        String permissions = request.getUser()
+                .map(user -> String.join(",", new TreeSet<>(user.getPermissions())))
+                .orElse("*"); // Auth disabled, everything is visible
+        return lastModified + "-" + DigestUtils.sha256Hex(permissions).substring(0, 16);
+    }
 }
@@ -22,13 +22,16 @@ import com.djrapitops.plan.delivery.formatting.Formatter;
 import com.djrapitops.plan.delivery.rendering.json.JSONFactory;
 import com.djrapitops.plan.delivery.web.resolver.MimeType;
 import com.djrapitops.plan.delivery.web.resolver.Response;
+import com.djrapitops.plan.delivery.web.resolver.exception.BadRequestException;
 import com.djrapitops.plan.delivery.web.resolver.request.Request;
+import com.djrapitops.plan.delivery.web.resolver.request.URIQuery;
 import com.djrapitops.plan.delivery.web.resolver.request.WebUser;
 import com.djrapitops.plan.delivery.webserver.cache.AsyncJSONResolverService;
 import com.djrapitops.plan.delivery.webserver.cache.DataID;
 import com.djrapitops.plan.delivery.webserver.cache.JSONStorage;
 import com.djrapitops.plan.identification.Identifiers;
 import com.djrapitops.plan.identification.ServerUUID;
+import com.djrapitops.plan.storage.database.queries.objects.playertable.PlayersTablePageQuery;
 import com.djrapitops.plan.utilities.dev.Untrusted;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -54,6 +57,9 @@ import java.util.Optional;
 @Path("/v1/playersTable")
 public class PlayersTableJSONResolver extends JSONResolver {
 
+    private static final int DEFAULT_PAGE_SIZE = 25;
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final Identifiers identifiers;
     private final AsyncJSONResolverService jsonResolverService;
     private final JSONFactory jsonFactory;
@@ -89,11 +95,20 @@ public class PlayersTableJSONResolver extends JSONResolver {
             responses = {
                     @ApiResponse(responseCode = "200", content = @Content(mediaType = MimeType.JSON)),
             },
-            parameters = @Parameter(in = ParameterIn.QUERY, name = "server", description = "Server identifier to get data for (optional)", examples = {
-                    @ExampleObject("Server 1"),
-                    @ExampleObject("1"),
-                    @ExampleObject("1fb39d2a-eb82-4868-b245-1fad17d823b3"),
-            }),
+            parameters = {
+                    @Parameter(in = ParameterIn.QUERY, name = "server", description = "Server identifier to get data for (optional)", examples = {
+                            @ExampleObject("Server 1"),
+                            @ExampleObject("1"),
+                            @ExampleObject("1fb39d2a-eb82-4868-b245-1fad17d823b3"),
+                    }),
+                    @Parameter(in = ParameterIn.QUERY, name = "limit", description = "Number of players on a page, returns a single page sorted by the database when given (optional)", examples = @ExampleObject("25")),
+                    @Parameter(in = ParameterIn.QUERY, name = "sort", description = "Sort key of the page: name, registered, lastSeen, sessions or activePlaytime (optional)", examples = @ExampleObject("lastSeen")),
+                    @Parameter(in = ParameterIn.QUERY, name = "order", description = "Sort order of the page, asc or desc (optional)", examples = @ExampleObject("desc")),
+                    @Parameter(in = ParameterIn.QUERY, name = "search", description = "Part of name or nickname of the players on the page (optional)", examples = @ExampleObject("Aurora")),
+                    @Parameter(in = ParameterIn.QUERY, name = "banned", description = "true for only banned players, false for players that are not banned (optional)", examples = @ExampleObject("false")),
+                    @Parameter(in = ParameterIn.QUERY, name = "country", description = "Country the players have been seen from (optional)", examples = @ExampleObject("Finland")),
+                    @Parameter(in = ParameterIn.QUERY, name = "after", description = "'nextCursor' of the previous page (optional)"),
+            },
             requestBody = @RequestBody(content = @Content(schema = @Schema(implementation = PlayerListDto.class)))
     )
     @Override
@@ -102,6 +117,12 @@ public class PlayersTableJSONResolver extends JSONResolver {
     }
 
     private Response getResponse(Request request) {
+        if (request.getQuery().get("limit").isPresent()) {
+            return Response.builder()
+                    .setMimeType(MimeType.JSON)
+                    .setJSONContent(getPage(request))
+                    .build();
+        }
         JSONStorage.StoredJSON storedJSON = getStoredJSON(request);
         return getCachedOrNewResponse(request, storedJSON);
     }
@@ -118,4 +139,62 @@ public class PlayersTableJSONResolver extends JSONResolver {
         }
         return storedJSON;
     }
-}
\ No newline at end of file
+
+    private PlayerListDto getPage(@Untrusted Request request) {
+        @Untrusted URIQuery query = request.getQuery();
+        int limit;
+        try {
+            limit = query.get("limit").map(Integer::parseInt).orElse(DEFAULT_PAGE_SIZE);
+        } catch (@Untrusted NumberFormatException e) {
+            throw new BadRequestException("'limit' is not a number");
+        }
+        if (limit < 1) throw new BadRequestException("'limit' needs to be at least 1");
+        limit = Math.min(limit, MAX_PAGE_SIZE);
+
+        PlayersTablePageQuery.Sort sort = query.get("sort").map(this::getSort).orElse(PlayersTablePageQuery.Sort.LAST_SEEN);
+        @Untrusted String order = query.get("order").orElse("desc");
+        if (!"asc".equals(order) && !"desc".equals(order)) throw new BadRequestException("'order' needs to be 'asc' or 'desc'");
+        boolean descending = "desc".equals(order);
+        @Untrusted String search = query.get("search").orElse(null);
+        Boolean banned = query.get("banned").map(this::getBanned).orElse(null);
+        @Untrusted String country = query.get("country").orElse(null);
+        @Untrusted String cursor = query.get("after").orElse(null);
+
+        // Can throw BadRequestException
+        ServerUUID serverUUID = query.get("server").isPresent() ? identifiers.getServerUUID(request) : null;
+        PlayersTablePageQuery pageQuery;
+        try {
+            pageQuery = new PlayersTablePageQuery(serverUUID, sort, descending, search, banned, country, cursor, limit);
+        } catch (@Untrusted IllegalArgumentException e) {
+            throw new BadRequestException("Invalid 'after', it is not a cursor for this sort: " + e.getMessage());
+        }
+        if (serverUUID != null) {
+            return jsonFactory.serverPlayersTablePage(serverUUID, pageQuery);
+        }
+        // Assume players page
+        return jsonFactory.networkPlayersTablePage(pageQuery);
+    }
+
+    private Boolean getBanned(@Untrusted String banned) {
+        if ("true".equals(banned)) return true;
+        if ("false".equals(banned)) return false;
+        throw new BadRequestException("'banned' needs to be 'true' or 'false'");
+    }
+
+    private PlayersTablePageQuery.Sort getSort(@Untrusted String sort) {
+        switch (sort) {
+            case "name":
+                return PlayersTablePageQuery.Sort.NAME;
+            case "registered":
+                return PlayersTablePageQuery.Sort.REGISTERED;
+            case "lastSeen":
+                return PlayersTablePageQuery.Sort.LAST_SEEN;
+            case "sessions":
+                return PlayersTablePageQuery.Sort.SESSIONS;
+            case "activePlaytime":
+                return PlayersTablePageQuery.Sort.ACTIVE_PLAYTIME;
+            default:
+                throw new BadRequestException("'sort' is not supported: " + sort);
+        }
+    }
+}
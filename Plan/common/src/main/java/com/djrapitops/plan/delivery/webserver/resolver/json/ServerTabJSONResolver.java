@@ -71,6 +71,10 @@ public class ServerTabJSONResolver<T> extends JSONResolver {
 
     private Response getResponse(@Untrusted Request request) {
         ServerUUID serverUUID = identifiers.getServerUUID(request); // Can throw BadRequestException
+        Optional<Long> unchangedSince = asyncJSONResolverService.getUnchangedTimestamp(dataID, serverUUID);
+        if (unchangedSince.isPresent() && isBrowserCacheFresh(request, unchangedSince.get())) {
+            return notModifiedResponse();
+        }
         JSONStorage.StoredJSON storedJson = asyncJSONResolverService.resolve(Identifiers.getTimestamp(request), dataID, serverUUID, jsonCreator);
         return getCachedOrNewResponse(request, storedJson);
     }
@@ -125,7 +125,7 @@ public class SessionsJSONResolver implements Resolver {
         Optional<UUID> playerUUID = filter.getPlayerUUID();
         if (playerUUID.isPresent()) {
             return newResponseBuilder()
-                    .setJSONContent(jsonFactory.playerSessions(filter))
+                    .setStreamedJSONContent(jsonFactory.playerSessions(filter))
                     .setHeader(HttpHeader.CACHE_CONTROL.asString(), CacheStrategy.CHECK_ETAG)
                     .setHeader(HttpHeader.LAST_MODIFIED.asString(), httpLastModifiedFormatter.apply(lastModified))
                     .setHeader(HttpHeader.ETAG.asString(), lastModified)
@@ -133,14 +133,14 @@ public class SessionsJSONResolver implements Resolver {
         }
         if (!filter.getServerUUIDs().isEmpty()) {
             return newResponseBuilder()
-                    .setJSONContent(jsonFactory.serverSessions(filter))
+                    .setStreamedJSONContent(jsonFactory.serverSessions(filter))
                     .setHeader(HttpHeader.CACHE_CONTROL.asString(), CacheStrategy.CHECK_ETAG)
                     .setHeader(HttpHeader.LAST_MODIFIED.asString(), httpLastModifiedFormatter.apply(lastModified))
                     .setHeader(HttpHeader.ETAG.asString(), lastModified)
                     .build();
         } else {
             return newResponseBuilder()
-                    .setJSONContent(jsonFactory.networkSessions(filter))
+                    .setStreamedJSONContent(jsonFactory.networkSessions(filter))
                     .setHeader(HttpHeader.CACHE_CONTROL.asString(), CacheStrategy.CHECK_ETAG)
                     .setHeader(HttpHeader.LAST_MODIFIED.asString(), httpLastModifiedFormatter.apply(lastModified))
                     .setHeader(HttpHeader.ETAG.asString(), lastModified)
@@ -34,6 +34,7 @@ import com.djrapitops.plan.delivery.web.resolver.request.Request;
 import com.djrapitops.plan.delivery.web.resolver.request.WebUser;
 import com.djrapitops.plan.delivery.webserver.RequestBodyConverter;
 import com.djrapitops.plan.delivery.webserver.cache.JSONStorage;
+import com.djrapitops.plan.delivery.webserver.resolver.json.JSONResolver;
 import com.djrapitops.plan.extension.implementation.storage.queries.ExtensionQueryResultTableDataQuery;
 import com.djrapitops.plan.identification.ServerInfo;
 import com.djrapitops.plan.identification.ServerUUID;
@@ -230,9 +231,7 @@ public class QueryJSONResolver implements Resolver {
             return request.getQuery().get("timestamp")
                     .map(Long::parseLong)
                     .flatMap(queryTimestamp -> jsonStorage.fetchExactJson("query", queryTimestamp))
-                    .map(results -> Response.builder()
-                            .setMimeType(MimeType.JSON)
-                            .setJSONContent(results.json)
+                    .map(results -> JSONResolver.setJSONContent(Response.builder(), results)
                             .build());
         } catch (@Untrusted NumberFormatException e) {
             throw new BadRequestException("Could not parse 'timestamp' into a number. Remove parameter or fix it.");
@@ -254,9 +253,7 @@ public class QueryJSONResolver implements Resolver {
 
             JSONStorage.StoredJSON stored = jsonStorage.storeJson("query", json, timestamp);
 
-            return Response.builder()
-                    .setMimeType(MimeType.JSON)
-                    .setJSONContent(stored.json)
+            return JSONResolver.setJSONContent(Response.builder(), stored)
                     .build();
         } catch (ParseException e) {
             throw new BadRequestException("'view' date format was incorrect (expecting afterDate dd/mm/yyyy, afterTime hh:mm, beforeDate dd/mm/yyyy, beforeTime hh:mm})");
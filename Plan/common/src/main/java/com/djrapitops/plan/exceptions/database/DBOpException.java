@@ -174,6 +174,13 @@ public class DBOpException extends IllegalStateException implements ExceptionWit
                 && getCause().getMessage().contains("user_id");
     }
 
+    public boolean isServerIdConstraintViolation() {
+        return context != null
+                && context.getRelated().contains(DBOpException.CONSTRAINT_VIOLATION)
+                && getCause() != null
+                && getCause().getMessage().contains("server_id");
+    }
+
     public boolean isDuplicateKeyViolation() {
         return context != null
                 && context.getRelated().contains(DBOpException.DUPLICATE_KEY);
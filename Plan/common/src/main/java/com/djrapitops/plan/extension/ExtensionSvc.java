@@ -17,12 +17,14 @@
 package com.djrapitops.plan.extension;
 
 import com.djrapitops.plan.component.ComponentSvc;
+import com.djrapitops.plan.delivery.rendering.json.datapoint.DatapointStore;
 import com.djrapitops.plan.extension.builder.ExtensionDataBuilder;
 import com.djrapitops.plan.extension.implementation.CallerImplementation;
 import com.djrapitops.plan.extension.implementation.ExtensionRegister;
 import com.djrapitops.plan.extension.implementation.ExtensionWrapper;
 import com.djrapitops.plan.extension.implementation.builder.ExtDataBuilder;
 import com.djrapitops.plan.extension.implementation.providers.gathering.DataValueGatherer;
+import com.djrapitops.plan.extension.implementation.providers.gathering.GatheringStatistics;
 import com.djrapitops.plan.identification.ServerInfo;
 import com.djrapitops.plan.identification.UUIDUtility;
 import com.djrapitops.plan.processing.Processing;
@@ -38,11 +40,11 @@ import net.playeranalytics.plugin.server.PluginLogger;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Optional;
-import java.util.UUID;
+import java.util.*;
+import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToIntFunction;
 
 /**
  * Implementation for {@link ExtensionService}.
@@ -62,8 +64,12 @@ public class ExtensionSvc implements ExtensionService {
     private final UUIDUtility uuidUtility;
     private final PluginLogger logger;
     private final ErrorLogger errorLogger;
+    private final DatapointStore datapointStore;
+
+    private static final long GATHERING_TIME_BUDGET_MS = TimeUnit.SECONDS.toMillis(10);
 
     private final Map<String, DataValueGatherer> extensionGatherers;
+    private final Set<String> runningPasses;
     private final AtomicBoolean enabled;
 
     @Inject
@@ -76,7 +82,8 @@ public class ExtensionSvc implements ExtensionService {
             ExtensionRegister extensionRegister,
             UUIDUtility uuidUtility,
             PluginLogger logger,
-            ErrorLogger errorLogger
+            ErrorLogger errorLogger,
+            DatapointStore datapointStore
     ) {
         this.config = config;
         this.locale = locale;
@@ -88,8 +95,10 @@ public class ExtensionSvc implements ExtensionService {
         this.uuidUtility = uuidUtility;
         this.logger = logger;
         this.errorLogger = errorLogger;
+        this.datapointStore = datapointStore;
 
         extensionGatherers = new HashMap<>();
+        runningPasses = ConcurrentHashMap.newKeySet();
         enabled = new AtomicBoolean(true);
     }
 
@@ -124,7 +133,7 @@ public class ExtensionSvc implements ExtensionService {
             logger.warn("DataExtension API implementation mistake for " + pluginName + ": " + warning);
         }
 
-        DataValueGatherer gatherer = new DataValueGatherer(extension, dbSystem, componentService, serverInfo, errorLogger);
+        DataValueGatherer gatherer = new DataValueGatherer(extension, dbSystem, componentService, serverInfo, errorLogger, datapointStore);
         gatherer.storeExtensionInformation();
         extensionGatherers.put(pluginName, gatherer);
 
@@ -164,15 +173,15 @@ public class ExtensionSvc implements ExtensionService {
     }
 
     public void updatePlayerValues(UUID playerUUID, String playerName, CallEvents event) {
-        if (!enabled.get()) return; // Plugin is disabling
-        for (DataValueGatherer gatherer : extensionGatherers.values()) {
-            updatePlayerValues(gatherer, playerUUID, playerName, event);
-        }
+        updatePlayerValues(extensionGatherers.values(), playerUUID, playerName, event);
     }
 
     public void updatePlayerValues(DataValueGatherer gatherer, UUID playerUUID, String playerName, CallEvents event) {
+        updatePlayerValues(Collections.singletonList(gatherer), playerUUID, playerName, event);
+    }
+
+    private void updatePlayerValues(Collection<DataValueGatherer> gatherers, UUID playerUUID, String playerName, CallEvents event) {
         if (!enabled.get()) return; // Plugin is disabling
-        if (gatherer.shouldSkipEvent(event)) return;
         if (playerUUID == null && playerName == null) return;
 
         UUID realUUID = playerUUID != null ? playerUUID : uuidUtility.getUUIDOf(playerName);
@@ -182,24 +191,167 @@ public class ExtensionSvc implements ExtensionService {
                 playerName :
                 uuidUtility.getNameOf(realUUID).orElse(null);
 
-        gatherer.updateValues(realUUID, realPlayerName);
+        gatherWithinBudget(gatherers, event, realUUID.toString(), gatherer -> gatherer.updateValues(realUUID, realPlayerName));
     }
 
     public void updateServerValues(CallEvents event) {
-        if (!enabled.get()) return; // Plugin is disabling
-        for (DataValueGatherer gatherer : extensionGatherers.values()) {
-            updateServerValues(gatherer, event);
-        }
+        updateServerValues(extensionGatherers.values(), event);
     }
 
     public void updateServerValues(DataValueGatherer gatherer, CallEvents event) {
+        updateServerValues(Collections.singletonList(gatherer), event);
+    }
+
+    private void updateServerValues(Collection<DataValueGatherer> gatherers, CallEvents event) {
         if (!enabled.get()) return; // Plugin is disabling
-        if (gatherer.shouldSkipEvent(event)) return;
 
-        gatherer.updateValues();
+        gatherWithinBudget(gatherers, event, "server", DataValueGatherer::updateValues);
+    }
+
+    /**
+     * Gather values of extensions in parallel and wait for them to finish.
+     * <p>
+     * Each extension has {@link #GATHERING_TIME_BUDGET_MS} to finish after it starts, and is interrupted if it does not,
+     * so that a hanging extension does not stall the calling thread. Extensions that keep failing or have not returned
+     * from a timed out pass are skipped, see {@link GatheringStatistics}. A pass is also skipped if the same values of
+     * the extension are still being gathered by an earlier pass.
+     *
+     * @param gatherers Gatherers of the extensions to gather.
+     * @param event     Event that caused the gathering.
+     * @param target    What values are gathered, UUID of the player or "server".
+     * @param gathering Function that gathers values of one extension, returns number of values that failed.
+     */
+    private void gatherWithinBudget(Collection<DataValueGatherer> gatherers, CallEvents event, String target, ToIntFunction<DataValueGatherer> gathering) {
+        long now = System.currentTimeMillis();
+        List<GatheringTask> tasks = new ArrayList<>();
+        for (DataValueGatherer gatherer : gatherers) {
+            if (gatherer.shouldSkipEvent(event)) continue;
+            GatheringStatistics statistics = gatherer.getStatistics();
+            if (statistics.isBackingOff(now)) continue;
+
+            String pass = gatherer.getPluginName() + ':' + target;
+            if (!runningPasses.add(pass)) {
+                statistics.skipped();
+                continue;
+            }
+            GatheringTask task = new GatheringTask(gatherer, pass);
+            Future<?> future = processing.submitExtensionGathering(() -> task.run(gathering));
+            if (future == null) {
+                runningPasses.remove(pass);
+                break; // Processing has shut down
+            }
+            task.future = future;
+            tasks.add(task);
+        }
+        for (GatheringTask task : tasks) {
+            task.await();
+        }
+    }
+
+    public List<GatheringStatistics> getGatheringStatistics() {
+        List<GatheringStatistics> statistics = new ArrayList<>();
+        for (DataValueGatherer gatherer : extensionGatherers.values()) {
+            statistics.add(gatherer.getStatistics());
+        }
+        statistics.sort(Comparator.comparing(GatheringStatistics::getPluginName));
+        return statistics;
     }
 
     public void disableUpdates() {
         enabled.set(false);
     }
+
+    private class GatheringTask {
+        private static final int WAITING = 0;
+        private static final int RUNNING = 1;
+        private static final int FINISHED = 2;
+        private static final int NOT_STARTED = 3;
+        private static final int TIMED_OUT = 4;
+
+        private final DataValueGatherer gatherer;
+        private final GatheringStatistics statistics;
+        private final String pass;
+        private final AtomicInteger state;
+        private volatile long startNanos;
+        private Future<?> future;
+
+        GatheringTask(DataValueGatherer gatherer, String pass) {
+            this.gatherer = gatherer;
+            this.statistics = gatherer.getStatistics();
+            this.pass = pass;
+            this.state = new AtomicInteger(WAITING);
+        }
+
+        void run(ToIntFunction<DataValueGatherer> gathering) {
+            startNanos = System.nanoTime();
+            if (!state.compareAndSet(WAITING, RUNNING)) return; // Was skipped before it got a turn
+
+            boolean failed = true;
+            try {
+                failed = gathering.applyAsInt(gatherer) > 0;
+            } finally {
+                if (state.compareAndSet(RUNNING, FINISHED)) {
+                    statistics.finished(System.nanoTime() - startNanos, failed, System.currentTimeMillis());
+                } else {
+                    statistics.timedOutPassReturned();
+                }
+                runningPasses.remove(pass);
+            }
+        }
+
+        void await() {
+            long budgetNanos = TimeUnit.MILLISECONDS.toNanos(GATHERING_TIME_BUDGET_MS);
+            if (waitFor(budgetNanos)) return;
+            if (skipIfNotStarted()) {
+                // Did not get a turn within the budget because other extensions are slow.
+                statistics.notStarted();
+                logger.warn("Skipped gathering " + gatherer.getPluginName() + " extension values, it did not start within "
+                        + TimeUnit.MILLISECONDS.toSeconds(GATHERING_TIME_BUDGET_MS) + "s because other extensions are slow. See /plan info for gathering times.");
+                return;
+            }
+            if (waitFor(budgetNanos - (System.nanoTime() - startNanos))) return;
+
+            if (state.compareAndSet(RUNNING, TIMED_OUT)) {
+                statistics.timedOut(System.nanoTime() - startNanos, System.currentTimeMillis());
+                future.cancel(true);
+                logger.warn(gatherer.getPluginName() + " extension did not gather values within "
+                        + TimeUnit.MILLISECONDS.toSeconds(GATHERING_TIME_BUDGET_MS) + "s and was interrupted. It is not called again until it returns.");
+            }
+        }
+
+        private boolean skipIfNotStarted() {
+            if (!state.compareAndSet(WAITING, NOT_STARTED)) return false;
+            future.cancel(false);
+            runningPasses.remove(pass);
+            return true;
+        }
+
+        /**
+         * Wait for the gathering to finish.
+         *
+         * @param nanos How long to wait at most.
+         * @return true if there is no need to wait any longer.
+         */
+        private boolean waitFor(long nanos) {
+            try {
+                future.get(Math.max(nanos, 0L), TimeUnit.NANOSECONDS);
+                return true;
+            } catch (TimeoutException stillRunning) {
+                return false;
+            } catch (CancellationException cancelled) {
+                return true;
+            } catch (ExecutionException e) {
+                errorLogger.warn(e.getCause(), ErrorContext.builder()
+                        .whatToDo("Report and/or disable " + gatherer.getPluginName() + " extension in the Plan config.")
+                        .related(gatherer.getPluginName())
+                        .build());
+                return true;
+            } catch (InterruptedException e) {
+                skipIfNotStarted();
+                future.cancel(true);
+                Thread.currentThread().interrupt();
+                return true;
+            }
+        }
+    }
 }
\ No newline at end of file
@@ -21,13 +21,15 @@ import com.djrapitops.plan.extension.DataExtension;
 import com.djrapitops.plan.extension.NotReadyException;
 import com.djrapitops.plan.extension.implementation.MethodType;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Method;
 import java.util.Objects;
-import java.util.Optional;
 
 /**
  * Wrap a Method so that it is easier to call.
+ * <p>
+ * The method is resolved into a {@link MethodHandle} once, so calls do not go through reflection.
  *
  * @author AuroraLS3
  */
@@ -36,33 +38,58 @@ public class MethodWrapper<T> {
     private final Method method;
     private final Class<T> returnType;
     private final MethodType methodType;
+    private final MethodHandle handle;
+    private final IllegalAccessException accessFailure;
     private boolean disabled = false;
 
     public MethodWrapper(Method method, Class<T> returnType) {
         this.method = method;
         this.returnType = returnType;
         methodType = MethodType.forMethod(this.method);
+
+        MethodHandle resolved = null;
+        IllegalAccessException failure = null;
+        try {
+            resolved = resolveHandle(method);
+        } catch (IllegalAccessException e) {
+            failure = e;
+        }
+        handle = resolved;
+        accessFailure = failure;
+    }
+
+    /**
+     * Resolve a handle of type (DataExtension, parameter) -> Object for the method.
+     *
+     * @param method Method to resolve.
+     * @return Handle that can be called with {@link MethodHandle#invokeExact(Object...)}.
+     * @throws IllegalAccessException If the method is not accessible.
+     */
+    private static MethodHandle resolveHandle(Method method) throws IllegalAccessException {
+        MethodHandle unreflected = MethodHandles.lookup().unreflect(method);
+        return unreflected.asType(unreflected.type()
+                .changeParameterType(0, DataExtension.class)
+                .changeReturnType(Object.class));
     }
 
     public T callMethod(DataExtension extension, Parameters with) {
         if (disabled) return null;
+        if (handle == null) {
+            throw new DataExtensionMethodCallException(extension.getPluginName() + '.' + getMethodName() + " could not be accessed: " + accessFailure.getMessage(), accessFailure, extension.getPluginName(), getMethodName());
+        }
+        Object result;
         try {
-            return returnType.cast(with.usingOn(extension, method));
-        } catch (InvocationTargetException notReadyToBeCalled) {
-            Throwable cause = notReadyToBeCalled.getCause();
-            if (cause instanceof NotReadyException || cause instanceof UnsupportedOperationException) {
-                return null; // Data or API not available to make the call.
-            } else {
-                throw new DataExtensionMethodCallException(getErrorMessage(extension, notReadyToBeCalled), notReadyToBeCalled, extension.getPluginName(), getMethodName());
-            }
-        } catch (IllegalAccessException e) {
-            throw new DataExtensionMethodCallException(extension.getPluginName() + '.' + getMethodName() + " could not be accessed: " + e.getMessage(), e, extension.getPluginName(), getMethodName());
+            result = with.usingOn(extension, handle);
+        } catch (NotReadyException | UnsupportedOperationException notReadyToBeCalled) {
+            return null; // Data or API not available to make the call.
+        } catch (Throwable e) {
+            throw new DataExtensionMethodCallException(getErrorMessage(extension, e), e, extension.getPluginName(), getMethodName());
         }
+        return returnType.cast(result);
     }
 
-    private String getErrorMessage(DataExtension extension, InvocationTargetException e) {
-        Optional<Throwable> actualCause = Optional.ofNullable(e.getCause()); // InvocationTargetException
-        return extension.getPluginName() + '.' + getMethodName() + " errored: " + actualCause.orElse(e).toString();
+    private String getErrorMessage(DataExtension extension, Throwable e) {
+        return extension.getPluginName() + '.' + getMethodName() + " errored: " + e.toString();
     }
 
     public String getMethodName() {
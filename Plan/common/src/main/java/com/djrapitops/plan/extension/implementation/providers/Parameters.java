@@ -21,8 +21,7 @@ import com.djrapitops.plan.extension.Group;
 import com.djrapitops.plan.extension.implementation.MethodType;
 import com.djrapitops.plan.identification.ServerUUID;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
+import java.lang.invoke.MethodHandle;
 import java.util.UUID;
 
 public interface Parameters {
@@ -38,7 +37,15 @@ public interface Parameters {
         return new GroupParameters(serverUUID, groupName);
     }
 
-    Object usingOn(DataExtension extension, Method method) throws InvocationTargetException, IllegalAccessException;
+    /**
+     * Call a provider method with these parameters.
+     *
+     * @param extension Extension the method belongs to.
+     * @param method    Handle of type (DataExtension) -> Object, or (DataExtension, parameter) -> Object.
+     * @return Value returned by the method.
+     * @throws Throwable Anything thrown by the method.
+     */
+    Object usingOn(DataExtension extension, MethodHandle method) throws Throwable;
 
     MethodType getMethodType();
 
@@ -60,8 +67,8 @@ public interface Parameters {
         }
 
         @Override
-        public Object usingOn(DataExtension extension, Method method) throws InvocationTargetException, IllegalAccessException {
-            return method.invoke(extension);
+        public Object usingOn(DataExtension extension, MethodHandle method) throws Throwable {
+            return (Object) method.invokeExact(extension);
         }
 
         @Override
@@ -95,12 +102,12 @@ public interface Parameters {
         }
 
         @Override
-        public Object usingOn(DataExtension extension, Method method) throws InvocationTargetException, IllegalAccessException {
-            Class<?> parameterType = method.getParameterTypes()[0];
+        public Object usingOn(DataExtension extension, MethodHandle method) throws Throwable {
+            Class<?> parameterType = method.type().parameterType(1);
             if (UUID.class.equals(parameterType)) {
-                return method.invoke(extension, playerUUID);
+                return (Object) method.invokeExact(extension, playerUUID);
             } else {
-                return method.invoke(extension, playerName);
+                return (Object) method.invokeExact(extension, playerName);
             }
         }
 
@@ -124,9 +131,9 @@ public interface Parameters {
         }
 
         @Override
-        public Object usingOn(DataExtension extension, Method method) throws InvocationTargetException, IllegalAccessException {
+        public Object usingOn(DataExtension extension, MethodHandle method) throws Throwable {
             Group group = this::getGroupName;
-            return method.invoke(extension, group);
+            return (Object) method.invokeExact(extension, group);
         }
 
         public String getGroupName() {
@@ -19,7 +19,10 @@ package com.djrapitops.plan.extension.implementation.providers.gathering;
 import com.djrapitops.plan.component.Component;
 import com.djrapitops.plan.component.ComponentOperation;
 import com.djrapitops.plan.component.ComponentSvc;
+import com.djrapitops.plan.delivery.rendering.json.datapoint.DatapointCacheKey;
+import com.djrapitops.plan.delivery.rendering.json.datapoint.DatapointStore;
 import com.djrapitops.plan.exceptions.DataExtensionMethodCallException;
+import com.djrapitops.plan.exceptions.database.DBOpException;
 import com.djrapitops.plan.extension.CallEvents;
 import com.djrapitops.plan.extension.annotation.*;
 import com.djrapitops.plan.extension.builder.DataValue;
@@ -45,14 +48,13 @@ import com.djrapitops.plan.identification.ServerInfo;
 import com.djrapitops.plan.identification.ServerUUID;
 import com.djrapitops.plan.storage.database.DBSystem;
 import com.djrapitops.plan.storage.database.Database;
+import com.djrapitops.plan.storage.database.transactions.Transaction;
 import com.djrapitops.plan.utilities.logging.ErrorContext;
 import com.djrapitops.plan.utilities.logging.ErrorLogger;
 import org.apache.commons.lang3.Strings;
 
-import java.util.HashSet;
-import java.util.Optional;
-import java.util.Set;
-import java.util.UUID;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.RejectedExecutionException;
 
 /**
@@ -68,15 +70,20 @@ public class DataValueGatherer {
     private final ComponentSvc componentService;
     private final ServerInfo serverInfo;
     private final ErrorLogger errorLogger;
+    private final DatapointStore datapointStore;
 
     private final Set<ExtensionMethod> brokenMethods;
+    private final Map<ExtensionMethod, MethodWrapper<?>> methodWrappers;
+    private final GatheringStatistics statistics;
+    private final StoredValueCache storedValues;
 
     public DataValueGatherer(
             ExtensionWrapper extension,
             DBSystem dbSystem,
             ComponentSvc componentService,
             ServerInfo serverInfo,
-            ErrorLogger errorLogger
+            ErrorLogger errorLogger,
+            DatapointStore datapointStore
     ) {
         this.callEvents = extension.getCallEvents();
         this.extension = extension;
@@ -84,8 +91,12 @@ public class DataValueGatherer {
         this.componentService = componentService;
         this.serverInfo = serverInfo;
         this.errorLogger = errorLogger;
+        this.datapointStore = datapointStore;
 
         this.brokenMethods = new HashSet<>();
+        this.methodWrappers = new ConcurrentHashMap<>();
+        this.statistics = new GatheringStatistics(extension.getPluginName());
+        this.storedValues = new StoredValueCache();
     }
 
     public boolean shouldSkipEvent(CallEvents event) {
@@ -104,6 +115,10 @@ public class DataValueGatherer {
         return extension.getPluginName();
     }
 
+    public GatheringStatistics getStatistics() {
+        return statistics;
+    }
+
     public void storeExtensionInformation() {
         String pluginName = extension.getPluginName();
         Icon pluginIcon = extension.getPluginIcon();
@@ -122,51 +137,51 @@ public class DataValueGatherer {
         database.executeTransaction(new RemoveInvalidResultsTransaction(pluginName, serverUUID, extension.getInvalidatedMethods()));
     }
 
-    private void addValuesToBuilder(ExtensionDataBuilder dataBuilder, ExtensionMethods methods, Parameters parameters) {
+    private void addValuesToBuilder(ExtensionDataBuilder dataBuilder, ExtensionMethods methods, Parameters parameters, GatheredResults results) {
         for (ExtensionMethod provider : methods.getBooleanProviders()) {
             if (brokenMethods.contains(provider)) continue;
-            dataBuilder.addValue(Boolean.class, tryToBuildBoolean(dataBuilder, parameters, provider));
+            dataBuilder.addValue(Boolean.class, tryToBuildBoolean(dataBuilder, parameters, provider, results));
         }
         for (ExtensionMethod provider : methods.getDoubleProviders()) {
             if (brokenMethods.contains(provider)) continue;
-            dataBuilder.addValue(Double.class, tryToBuildDouble(dataBuilder, parameters, provider));
+            dataBuilder.addValue(Double.class, tryToBuildDouble(dataBuilder, parameters, provider, results));
         }
         for (ExtensionMethod provider : methods.getPercentageProviders()) {
             if (brokenMethods.contains(provider)) continue;
-            dataBuilder.addValue(Double.class, tryToBuildPercentage(dataBuilder, parameters, provider));
+            dataBuilder.addValue(Double.class, tryToBuildPercentage(dataBuilder, parameters, provider, results));
         }
         for (ExtensionMethod provider : methods.getNumberProviders()) {
             if (brokenMethods.contains(provider)) continue;
-            dataBuilder.addValue(Long.class, tryToBuildNumber(dataBuilder, parameters, provider));
+            dataBuilder.addValue(Long.class, tryToBuildNumber(dataBuilder, parameters, provider, results));
         }
         for (ExtensionMethod provider : methods.getStringProviders()) {
             if (brokenMethods.contains(provider)) continue;
-            dataBuilder.addValue(String.class, tryToBuildString(dataBuilder, parameters, provider));
+            dataBuilder.addValue(String.class, tryToBuildString(dataBuilder, parameters, provider, results));
         }
         for (ExtensionMethod provider : methods.getComponentProviders()) {
             if (brokenMethods.contains(provider)) continue;
-            dataBuilder.addValue(Component.class, tryToBuildComponent(dataBuilder, parameters, provider));
+            dataBuilder.addValue(Component.class, tryToBuildComponent(dataBuilder, parameters, provider, results));
         }
         for (ExtensionMethod provider : methods.getGroupProviders()) {
             if (brokenMethods.contains(provider)) continue;
-            dataBuilder.addValue(String[].class, tryToBuildGroups(dataBuilder, parameters, provider));
+            dataBuilder.addValue(String[].class, tryToBuildGroups(dataBuilder, parameters, provider, results));
         }
         for (ExtensionMethod provider : methods.getTableProviders()) {
             if (brokenMethods.contains(provider)) continue;
-            dataBuilder.addValue(Table.class, tryToBuildTable(dataBuilder, parameters, provider));
+            dataBuilder.addValue(Table.class, tryToBuildTable(dataBuilder, parameters, provider, results));
         }
-        addValuesToBuilder2(dataBuilder, methods, parameters);
+        addValuesToBuilder2(dataBuilder, methods, parameters, results);
     }
 
     // TODO refactor to reduce cyclomatic complexity of the calling method
-    private void addValuesToBuilder2(ExtensionDataBuilder dataBuilder, ExtensionMethods methods, Parameters parameters) {
+    private void addValuesToBuilder2(ExtensionDataBuilder dataBuilder, ExtensionMethods methods, Parameters parameters, GatheredResults results) {
         for (ExtensionMethod provider : methods.getDataBuilderProviders()) {
             if (brokenMethods.contains(provider)) continue;
-            addDataFromAnotherBuilder(dataBuilder, parameters, provider);
+            addDataFromAnotherBuilder(dataBuilder, parameters, provider, results);
         }
     }
 
-    private DataValue<Table> tryToBuildTable(ExtensionDataBuilder dataBuilder, Parameters parameters, ExtensionMethod provider) {
+    private DataValue<Table> tryToBuildTable(ExtensionDataBuilder dataBuilder, Parameters parameters, ExtensionMethod provider, GatheredResults results) {
         TableProvider annotation = provider.getExistingAnnotation(TableProvider.class);
         try {
             return dataBuilder.valueBuilder(provider.getMethodName())
@@ -175,12 +190,12 @@ public class DataValueGatherer {
                     .showOnTab(provider.getAnnotationOrNull(Tab.class))
                     .buildTable(() -> callMethod(provider, parameters, Table.class), annotation.tableColor());
         } catch (IllegalArgumentException e) {
-            logFailure(e, getPluginName(), provider.getMethodName());
+            logFailure(e, getPluginName(), provider.getMethodName(), results);
             return null;
         }
     }
 
-    private DataValue<String[]> tryToBuildGroups(ExtensionDataBuilder dataBuilder, Parameters parameters, ExtensionMethod provider) {
+    private DataValue<String[]> tryToBuildGroups(ExtensionDataBuilder dataBuilder, Parameters parameters, ExtensionMethod provider, GatheredResults results) {
         GroupProvider annotation = provider.getExistingAnnotation(GroupProvider.class);
         try {
             return dataBuilder.valueBuilder(annotation.text())
@@ -190,12 +205,12 @@ public class DataValueGatherer {
                     .showOnTab(provider.getAnnotationOrNull(Tab.class))
                     .buildGroup(() -> callMethod(provider, parameters, String[].class));
         } catch (IllegalArgumentException e) {
-            logFailure(e, getPluginName(), provider.getMethodName());
+            logFailure(e, getPluginName(), provider.getMethodName(), results);
             return null;
         }
     }
 
-    private DataValue<String> tryToBuildString(ExtensionDataBuilder dataBuilder, Parameters parameters, ExtensionMethod provider) {
+    private DataValue<String> tryToBuildString(ExtensionDataBuilder dataBuilder, Parameters parameters, ExtensionMethod provider, GatheredResults results) {
         StringProvider annotation = provider.getExistingAnnotation(StringProvider.class);
         try {
             return dataBuilder.valueBuilder(annotation.text())
@@ -209,12 +224,12 @@ public class DataValueGatherer {
                     .showOnTab(provider.getAnnotationOrNull(Tab.class))
                     .buildString(() -> callMethod(provider, parameters, String.class));
         } catch (IllegalArgumentException e) {
-            logFailure(e, getPluginName(), provider.getMethodName());
+            logFailure(e, getPluginName(), provider.getMethodName(), results);
             return null;
         }
     }
 
-    private DataValue<Component> tryToBuildComponent(ExtensionDataBuilder dataBuilder, Parameters parameters, ExtensionMethod provider) {
+    private DataValue<Component> tryToBuildComponent(ExtensionDataBuilder dataBuilder, Parameters parameters, ExtensionMethod provider, GatheredResults results) {
         ComponentProvider annotation = provider.getExistingAnnotation(ComponentProvider.class);
         try {
             return dataBuilder.valueBuilder(annotation.text())
@@ -227,12 +242,12 @@ public class DataValueGatherer {
                     .showOnTab(provider.getAnnotationOrNull(Tab.class))
                     .buildComponent(() -> callMethod(provider, parameters, Component.class));
         } catch (IllegalArgumentException e) {
-            logFailure(e, getPluginName(), provider.getMethodName());
+            logFailure(e, getPluginName(), provider.getMethodName(), results);
             return null;
         }
     }
 
-    private DataValue<Long> tryToBuildNumber(ExtensionDataBuilder dataBuilder, Parameters parameters, ExtensionMethod provider) {
+    private DataValue<Long> tryToBuildNumber(ExtensionDataBuilder dataBuilder, Parameters parameters, ExtensionMethod provider, GatheredResults results) {
         NumberProvider annotation = provider.getExistingAnnotation(NumberProvider.class);
         try {
             return dataBuilder.valueBuilder(annotation.text())
@@ -246,12 +261,12 @@ public class DataValueGatherer {
                     .showOnTab(provider.getAnnotationOrNull(Tab.class))
                     .buildNumber(() -> callMethod(provider, parameters, Long.class));
         } catch (IllegalArgumentException e) {
-            logFailure(e, getPluginName(), provider.getMethodName());
+            logFailure(e, getPluginName(), provider.getMethodName(), results);
             return null;
         }
     }
 
-    private DataValue<Double> tryToBuildPercentage(ExtensionDataBuilder dataBuilder, Parameters parameters, ExtensionMethod provider) {
+    private DataValue<Double> tryToBuildPercentage(ExtensionDataBuilder dataBuilder, Parameters parameters, ExtensionMethod provider, GatheredResults results) {
         PercentageProvider annotation = provider.getExistingAnnotation(PercentageProvider.class);
         try {
             return dataBuilder.valueBuilder(annotation.text())
@@ -264,12 +279,12 @@ public class DataValueGatherer {
                     .showOnTab(provider.getAnnotationOrNull(Tab.class))
                     .buildPercentage(() -> callMethod(provider, parameters, Double.class));
         } catch (IllegalArgumentException e) {
-            logFailure(e, getPluginName(), provider.getMethodName());
+            logFailure(e, getPluginName(), provider.getMethodName(), results);
             return null;
         }
     }
 
-    private DataValue<Double> tryToBuildDouble(ExtensionDataBuilder dataBuilder, Parameters parameters, ExtensionMethod provider) {
+    private DataValue<Double> tryToBuildDouble(ExtensionDataBuilder dataBuilder, Parameters parameters, ExtensionMethod provider, GatheredResults results) {
         DoubleProvider annotation = provider.getExistingAnnotation(DoubleProvider.class);
         try {
             return dataBuilder.valueBuilder(annotation.text())
@@ -282,12 +297,12 @@ public class DataValueGatherer {
                     .showOnTab(provider.getAnnotationOrNull(Tab.class))
                     .buildDouble(() -> callMethod(provider, parameters, Double.class));
         } catch (IllegalArgumentException e) {
-            logFailure(e, getPluginName(), provider.getMethodName());
+            logFailure(e, getPluginName(), provider.getMethodName(), results);
             return null;
         }
     }
 
-    private DataValue<Boolean> tryToBuildBoolean(ExtensionDataBuilder dataBuilder, Parameters parameters, ExtensionMethod provider) {
+    private DataValue<Boolean> tryToBuildBoolean(ExtensionDataBuilder dataBuilder, Parameters parameters, ExtensionMethod provider, GatheredResults results) {
         BooleanProvider annotation = provider.getExistingAnnotation(BooleanProvider.class);
         try {
             return dataBuilder.valueBuilder(annotation.text())
@@ -301,25 +316,25 @@ public class DataValueGatherer {
                     .showOnTab(provider.getAnnotationOrNull(Tab.class))
                     .buildBooleanProvidingCondition(() -> callMethod(provider, parameters, Boolean.class), annotation.conditionName());
         } catch (IllegalArgumentException e) {
-            logFailure(e, getPluginName(), provider.getMethodName());
+            logFailure(e, getPluginName(), provider.getMethodName(), results);
             return null;
         }
     }
 
-    private void addDataFromAnotherBuilder(ExtensionDataBuilder dataBuilder, Parameters parameters, ExtensionMethod provider) {
+    private void addDataFromAnotherBuilder(ExtensionDataBuilder dataBuilder, Parameters parameters, ExtensionMethod provider, GatheredResults results) {
         try {
             ExtensionDataBuilder providedBuilder = callMethod(provider, parameters, ExtensionDataBuilder.class);
             dataBuilder.addAll(providedBuilder);
         } catch (DataExtensionMethodCallException methodError) {
-            logFailure(methodError);
+            logFailure(methodError, results);
         } catch (Exception | NoClassDefFoundError | NoSuchFieldError | NoSuchMethodError unexpectedError) {
-            logFailure(unexpectedError);
+            logFailure(unexpectedError, results);
         }
     }
 
     private <T> T callMethod(ExtensionMethod provider, Parameters params, Class<T> returnType) {
         try {
-            return new MethodWrapper<>(provider.getMethod(), returnType)
+            return getMethodWrapper(provider, returnType)
                     .callMethod(extension.getExtension(), params);
         } catch (DataExtensionMethodCallException e) {
             brokenMethods.add(provider);
@@ -327,98 +342,149 @@ public class DataValueGatherer {
         }
     }
 
-    public void updateValues(UUID playerUUID, String playerName) {
+    @SuppressWarnings("unchecked") // A provider method always has the same return type
+    private <T> MethodWrapper<T> getMethodWrapper(ExtensionMethod provider, Class<T> returnType) {
+        return (MethodWrapper<T>) methodWrappers.computeIfAbsent(provider, method -> new MethodWrapper<>(method.getMethod(), returnType));
+    }
+
+    /**
+     * Gather and store values of a player.
+     *
+     * @param playerUUID UUID of the player.
+     * @param playerName Name of the player.
+     * @return Number of values that failed to be gathered.
+     */
+    public int updateValues(UUID playerUUID, String playerName) {
+        Parameters parameters = Parameters.player(serverInfo.getServerUUID(), playerUUID, playerName);
+        GatheredResults results = new GatheredResults(parameters);
         try {
-            tryToUpdateValues(playerUUID, playerName);
+            tryToUpdatePlayerValues(parameters, results);
         } catch (RejectedExecutionException ignore) {
             // Database has shut down
         }
+        return results.errors;
     }
 
-    private void tryToUpdateValues(UUID playerUUID, String playerName) {
-        Parameters parameters = Parameters.player(serverInfo.getServerUUID(), playerUUID, playerName);
+    private void tryToUpdatePlayerValues(Parameters parameters, GatheredResults results) {
         ExtensionDataBuilder dataBuilder = extension.getExtension().newExtensionDataBuilder();
 
-        addValuesToBuilder(dataBuilder, extension.getMethods().get(ExtensionMethod.ParameterType.PLAYER_STRING), parameters);
-        addValuesToBuilder(dataBuilder, extension.getMethods().get(ExtensionMethod.ParameterType.PLAYER_UUID), parameters);
+        addValuesToBuilder(dataBuilder, extension.getMethods().get(ExtensionMethod.ParameterType.PLAYER_STRING), parameters, results);
+        addValuesToBuilder(dataBuilder, extension.getMethods().get(ExtensionMethod.ParameterType.PLAYER_UUID), parameters, results);
 
-        gatherPlayer(parameters, (ExtDataBuilder) dataBuilder);
+        gatherPlayer(parameters, (ExtDataBuilder) dataBuilder, results);
+        Set<String> invalidatedValues = ((ExtDataBuilder) dataBuilder).getInvalidatedValues();
+        if (!invalidatedValues.isEmpty()) {
+            storedValues.forgetProviders(invalidatedValues);
+            results.add(new RemoveInvalidResultsTransaction(extension.getPluginName(), serverInfo.getServerUUID(), invalidatedValues));
+        }
 
-        dbSystem.getDatabase().executeTransaction(new RemoveInvalidResultsTransaction(extension.getPluginName(), serverInfo.getServerUUID(), ((ExtDataBuilder) dataBuilder).getInvalidatedValues()));
+        store(results);
     }
 
-    public void updateValues() {
+    /**
+     * Gather and store values of the server.
+     *
+     * @return Number of values that failed to be gathered.
+     */
+    public int updateValues() {
+        Parameters parameters = Parameters.server(serverInfo.getServerUUID());
+        GatheredResults results = new GatheredResults(parameters);
         try {
-            tryToUpdateValues();
+            tryToUpdateServerValues(parameters, results);
         } catch (RejectedExecutionException ignore) {
             // Database has shut down
         }
+        return results.errors;
     }
 
-    private void tryToUpdateValues() {
-        Parameters parameters = Parameters.server(serverInfo.getServerUUID());
+    private void tryToUpdateServerValues(Parameters parameters, GatheredResults results) {
         ExtensionDataBuilder dataBuilder = extension.getExtension().newExtensionDataBuilder();
 
-        addValuesToBuilder(dataBuilder, extension.getMethods().get(ExtensionMethod.ParameterType.SERVER_NONE), parameters);
+        addValuesToBuilder(dataBuilder, extension.getMethods().get(ExtensionMethod.ParameterType.SERVER_NONE), parameters, results);
 
-        gather(parameters, (ExtDataBuilder) dataBuilder);
+        gather(parameters, (ExtDataBuilder) dataBuilder, results);
+
+        store(results);
     }
 
+    private void store(GatheredResults results) {
+        if (results.transactions.isEmpty()) return; // Nothing changed
 
-    private void gatherPlayer(Parameters parameters, ExtDataBuilder dataBuilder) {
+        StoreGatheredResultsTransaction transaction = new StoreGatheredResultsTransaction(results.transactions);
+        dbSystem.getDatabase().executeTransaction(transaction)
+                .thenRun(() -> {
+                    // Values of the pass are stored again next time if any of them failed
+                    if (transaction.wereResultsStored()) {
+                        storedValues.remember(results.changedValues);
+                        // Player page is cached by browsers until player data changes
+                        if (results.playerUUID != null) datapointStore.clearLastModified(DatapointCacheKey.EXTENSION);
+                    }
+                    for (DBOpException failure : transaction.getFailures()) {
+                        statistics.errored();
+                        errorLogger.warn(failure, ErrorContext.builder()
+                                .whatToDo(getWhatToDoMessage(extension.getPluginName()))
+                                .related(extension.getPluginName())
+                                .build());
+                    }
+                });
+    }
+
+
+    private void gatherPlayer(Parameters parameters, ExtDataBuilder dataBuilder, GatheredResults results) {
         Conditions conditions = new Conditions();
         for (ExtDataBuilder.ClassValuePair pair : dataBuilder.getValues()) {
             try {
                 pair.getValue(Boolean.class).flatMap(data -> data.getMetadata(BooleanDataValue.class))
-                        .ifPresent(data -> storePlayerBoolean(parameters, conditions, data));
+                        .ifPresent(data -> storePlayerBoolean(parameters, conditions, data, results));
                 pair.getValue(Long.class).flatMap(data -> data.getMetadata(NumberDataValue.class))
-                        .ifPresent(data -> storePlayerNumber(parameters, conditions, data));
+                        .ifPresent(data -> storePlayerNumber(parameters, conditions, data, results));
                 pair.getValue(Double.class).flatMap(data -> data.getMetadata(DoubleDataValue.class))
-                        .ifPresent(data -> storePlayerDouble(parameters, conditions, data));
+                        .ifPresent(data -> storePlayerDouble(parameters, conditions, data, results));
                 pair.getValue(String.class).flatMap(data -> data.getMetadata(StringDataValue.class))
-                        .ifPresent(data -> storePlayerString(parameters, conditions, data));
+                        .ifPresent(data -> storePlayerString(parameters, conditions, data, results));
                 pair.getValue(Component.class).flatMap(data -> data.getMetadata(ComponentDataValue.class))
-                        .ifPresent(data -> storePlayerComponent(parameters, conditions, data));
+                        .ifPresent(data -> storePlayerComponent(parameters, conditions, data, results));
                 pair.getValue(String[].class).flatMap(data -> data.getMetadata(GroupsDataValue.class))
-                        .ifPresent(data -> storePlayerGroups(parameters, conditions, data));
+                        .ifPresent(data -> storePlayerGroups(parameters, conditions, data, results));
                 pair.getValue(Table.class).flatMap(data -> data.getMetadata(TableDataValue.class))
-                        .ifPresent(data -> storePlayerTable(parameters, conditions, data));
+                        .ifPresent(data -> storePlayerTable(parameters, conditions, data, results));
             } catch (DataExtensionMethodCallException methodError) {
-                logFailure(methodError);
+                logFailure(methodError, results);
             } catch (Exception | NoClassDefFoundError | NoSuchFieldError | NoSuchMethodError unexpectedError) {
-                logFailure(unexpectedError);
+                logFailure(unexpectedError, results);
             }
         }
     }
 
-    private void gather(Parameters parameters, ExtDataBuilder dataBuilder) {
+    private void gather(Parameters parameters, ExtDataBuilder dataBuilder, GatheredResults results) {
         Conditions conditions = new Conditions();
         for (ExtDataBuilder.ClassValuePair pair : dataBuilder.getValues()) {
             try {
                 pair.getValue(Boolean.class).flatMap(data -> data.getMetadata(BooleanDataValue.class))
-                        .ifPresent(data -> storeBoolean(parameters, conditions, data));
+                        .ifPresent(data -> storeBoolean(parameters, conditions, data, results));
                 pair.getValue(Long.class).flatMap(data -> data.getMetadata(NumberDataValue.class))
-                        .ifPresent(data -> storeNumber(parameters, conditions, data));
+                        .ifPresent(data -> storeNumber(parameters, conditions, data, results));
                 pair.getValue(Double.class).flatMap(data -> data.getMetadata(DoubleDataValue.class))
-                        .ifPresent(data -> storeDouble(parameters, conditions, data));
+                        .ifPresent(data -> storeDouble(parameters, conditions, data, results));
                 pair.getValue(String.class).flatMap(data -> data.getMetadata(StringDataValue.class))
-                        .ifPresent(data -> storeString(parameters, conditions, data));
+                        .ifPresent(data -> storeString(parameters, conditions, data, results));
                 pair.getValue(Component.class).flatMap(data -> data.getMetadata(ComponentDataValue.class))
-                        .ifPresent(data -> storeComponent(parameters, conditions, data));
+                        .ifPresent(data -> storeComponent(parameters, conditions, data, results));
                 pair.getValue(Table.class).flatMap(data -> data.getMetadata(TableDataValue.class))
-                        .ifPresent(data -> storeTable(parameters, conditions, data));
+                        .ifPresent(data -> storeTable(parameters, conditions, data, results));
             } catch (DataExtensionMethodCallException methodError) {
-                logFailure(methodError);
+                logFailure(methodError, results);
             } catch (RejectedExecutionException ignore) {
                 // Processing or Database has shut down, which can be ignored
             } catch (Exception | ExceptionInInitializerError | NoClassDefFoundError | NoSuchFieldError |
                      NoSuchMethodError unexpectedError) {
-                logFailure(unexpectedError);
+                logFailure(unexpectedError, results);
             }
         }
     }
 
-    private void logFailure(Throwable cause, String pluginName, String methodName) {
+    private void logFailure(Throwable cause, String pluginName, String methodName, GatheredResults results) {
+        results.errored();
         ErrorContext.Builder context = ErrorContext.builder()
                 .whatToDo(getWhatToDoMessage(pluginName))
                 .related(pluginName)
@@ -430,7 +496,8 @@ public class DataValueGatherer {
         return "Report and/or disable " + pluginName + " extension in the Plan config.";
     }
 
-    private void logFailure(DataExtensionMethodCallException methodCallFailed) {
+    private void logFailure(DataExtensionMethodCallException methodCallFailed, GatheredResults results) {
+        results.errored();
         ErrorContext.Builder context = ErrorContext.builder()
                 .whatToDo(getWhatToDoMessage(methodCallFailed.getPluginName()))
                 .related(methodCallFailed.getPluginName())
@@ -438,16 +505,18 @@ public class DataValueGatherer {
         errorLogger.warn(methodCallFailed, context.build());
     }
 
-    private void logFailure(Throwable unexpectedError) {
+    private void logFailure(Throwable unexpectedError, GatheredResults results) {
+        results.errored();
         ErrorContext.Builder context = ErrorContext.builder()
                 .whatToDo(getWhatToDoMessage(extension.getPluginName()))
                 .related(extension.getPluginName());
         errorLogger.warn(unexpectedError, context.build());
     }
 
-    private <T> T getValue(Conditions conditions, DataValue<T> data, ProviderInformation information) {
+    private <T> T getValue(Conditions conditions, DataValue<T> data, ProviderInformation information, GatheredResults results) {
         Optional<String> condition = information.getCondition();
         if (condition.isPresent() && conditions.isNotFulfilled(condition.get())) {
+            results.conditionNotFulfilled(information); // Value is removed from the database with the condition
             return null;
         }
         return data.getValue(); // can be null, can throw
@@ -466,161 +535,199 @@ public class DataValueGatherer {
         return json;
     }
 
-    private void storeBoolean(Parameters parameters, Conditions conditions, BooleanDataValue data) {
+    private void storeBoolean(Parameters parameters, Conditions conditions, BooleanDataValue data, GatheredResults results) {
         ProviderInformation information = data.getInformation();
-        Boolean value = getValue(conditions, data, information);
+        Boolean value = getValue(conditions, data, information, results);
         if (value == null) return;
         if (value) {
             conditions.conditionFulfilled(information.getProvidedCondition());
         } else {
             conditions.conditionFulfilled("not_" + information.getProvidedCondition());
         }
+        if (results.isUnchanged(information, value)) return;
 
-        Database db = dbSystem.getDatabase();
-        db.executeTransaction(new StoreIconTransaction(information.getIcon()));
-        db.executeTransaction(new StoreProviderTransaction(information, parameters));
-        db.executeTransaction(new StoreServerBooleanResultTransaction(information, parameters, value));
+        results.add(new StoreIconTransaction(information.getIcon()));
+        results.add(new StoreProviderTransaction(information, parameters));
+        results.add(new StoreServerBooleanResultTransaction(information, parameters, value));
     }
 
-    private void storeNumber(Parameters parameters, Conditions conditions, NumberDataValue data) {
+    private void storeNumber(Parameters parameters, Conditions conditions, NumberDataValue data, GatheredResults results) {
         ProviderInformation information = data.getInformation();
-        Long value = getValue(conditions, data, information);
+        Long value = getValue(conditions, data, information, results);
         if (value == null) return;
+        if (results.isUnchanged(information, value)) return;
 
-        Database db = dbSystem.getDatabase();
-        db.executeTransaction(new StoreIconTransaction(information.getIcon()));
-        db.executeTransaction(new StoreProviderTransaction(information, parameters));
-        db.executeTransaction(new StoreServerNumberResultTransaction(information, parameters, value));
+        results.add(new StoreIconTransaction(information.getIcon()));
+        results.add(new StoreProviderTransaction(information, parameters));
+        results.add(new StoreServerNumberResultTransaction(information, parameters, value));
     }
 
 
-    private void storeDouble(Parameters parameters, Conditions conditions, DoubleDataValue data) {
+    private void storeDouble(Parameters parameters, Conditions conditions, DoubleDataValue data, GatheredResults results) {
         ProviderInformation information = data.getInformation();
-        Double value = getValue(conditions, data, information);
+        Double value = getValue(conditions, data, information, results);
         if (value == null) return;
+        if (results.isUnchanged(information, value)) return;
 
-        Database db = dbSystem.getDatabase();
-        db.executeTransaction(new StoreIconTransaction(information.getIcon()));
-        db.executeTransaction(new StoreProviderTransaction(information, parameters));
-        db.executeTransaction(new StoreServerDoubleResultTransaction(information, parameters, value));
+        results.add(new StoreIconTransaction(information.getIcon()));
+        results.add(new StoreProviderTransaction(information, parameters));
+        results.add(new StoreServerDoubleResultTransaction(information, parameters, value));
     }
 
-    private void storeString(Parameters parameters, Conditions conditions, StringDataValue data) {
+    private void storeString(Parameters parameters, Conditions conditions, StringDataValue data, GatheredResults results) {
         ProviderInformation information = data.getInformation();
-        String value = getValue(conditions, data, information);
+        String value = getValue(conditions, data, information, results);
         if (value == null) return;
+        if (results.isUnchanged(information, value)) return;
 
-        Database db = dbSystem.getDatabase();
-        db.executeTransaction(new StoreIconTransaction(information.getIcon()));
-        db.executeTransaction(new StoreProviderTransaction(information, parameters));
-        db.executeTransaction(new StoreServerStringResultTransaction(information, parameters, value));
+        results.add(new StoreIconTransaction(information.getIcon()));
+        results.add(new StoreProviderTransaction(information, parameters));
+        results.add(new StoreServerStringResultTransaction(information, parameters, value));
     }
 
-    private void storeComponent(Parameters parameters, Conditions conditions, ComponentDataValue data) {
+    private void storeComponent(Parameters parameters, Conditions conditions, ComponentDataValue data, GatheredResults results) {
         ProviderInformation information = data.getInformation();
-        String value = getComponentAsJson(getValue(conditions, data, information));
+        String value = getComponentAsJson(getValue(conditions, data, information, results));
         if (value == null) return;
+        if (results.isUnchanged(information, value)) return;
 
-        Database db = dbSystem.getDatabase();
-        db.executeTransaction(new StoreIconTransaction(information.getIcon()));
-        db.executeTransaction(new StoreProviderTransaction(information, parameters));
-        db.executeTransaction(new StoreServerStringResultTransaction(information, parameters, value));
+        results.add(new StoreIconTransaction(information.getIcon()));
+        results.add(new StoreProviderTransaction(information, parameters));
+        results.add(new StoreServerStringResultTransaction(information, parameters, value));
     }
 
-    private void storeTable(Parameters parameters, Conditions conditions, TableDataValue data) {
+    private void storeTable(Parameters parameters, Conditions conditions, TableDataValue data, GatheredResults results) {
         ProviderInformation information = data.getInformation();
-        Table value = getValue(conditions, data, information);
+        Table value = getValue(conditions, data, information, results);
         if (value == null) return;
+        if (results.isUnchanged(information, value)) return;
 
-        Database db = dbSystem.getDatabase();
         for (Icon icon : value.getIcons()) {
-            if (icon != null) db.executeTransaction(new StoreIconTransaction(icon));
+            if (icon != null) results.add(new StoreIconTransaction(icon));
         }
-        db.executeTransaction(new StoreTableProviderTransaction(information, parameters, value));
-        db.executeTransaction(new StoreServerTableResultTransaction(information, parameters, value));
+        results.add(new StoreTableProviderTransaction(information, parameters, value));
+        results.add(new StoreServerTableResultTransaction(information, parameters, value));
     }
 
-    private void storePlayerBoolean(Parameters parameters, Conditions conditions, BooleanDataValue data) {
+    private void storePlayerBoolean(Parameters parameters, Conditions conditions, BooleanDataValue data, GatheredResults results) {
         ProviderInformation information = data.getInformation();
-        Boolean value = getValue(conditions, data, information);
+        Boolean value = getValue(conditions, data, information, results);
         if (value == null) return;
         if (value) {
             conditions.conditionFulfilled(information.getProvidedCondition());
         } else {
             conditions.conditionFulfilled("not_" + information.getProvidedCondition());
         }
+        if (results.isUnchanged(information, value)) return;
 
-        Database db = dbSystem.getDatabase();
-        db.executeTransaction(new StoreIconTransaction(information.getIcon()));
-        db.executeTransaction(new StoreProviderTransaction(information, parameters));
-        db.executeTransaction(new StorePlayerBooleanResultTransaction(information, parameters, value));
+        results.add(new StoreIconTransaction(information.getIcon()));
+        results.add(new StoreProviderTransaction(information, parameters));
+        results.add(new StorePlayerBooleanResultTransaction(information, parameters, value));
     }
 
-    private void storePlayerNumber(Parameters parameters, Conditions conditions, NumberDataValue data) {
+    private void storePlayerNumber(Parameters parameters, Conditions conditions, NumberDataValue data, GatheredResults results) {
         ProviderInformation information = data.getInformation();
-        Long value = getValue(conditions, data, information);
+        Long value = getValue(conditions, data, information, results);
         if (value == null) return;
+        if (results.isUnchanged(information, value)) return;
 
-        Database db = dbSystem.getDatabase();
-        db.executeTransaction(new StoreIconTransaction(information.getIcon()));
-        db.executeTransaction(new StoreProviderTransaction(information, parameters));
-        db.executeTransaction(new StorePlayerNumberResultTransaction(information, parameters, value));
+        results.add(new StoreIconTransaction(information.getIcon()));
+        results.add(new StoreProviderTransaction(information, parameters));
+        results.add(new StorePlayerNumberResultTransaction(information, parameters, value));
     }
 
-    private void storePlayerDouble(Parameters parameters, Conditions conditions, DoubleDataValue data) {
+    private void storePlayerDouble(Parameters parameters, Conditions conditions, DoubleDataValue data, GatheredResults results) {
         ProviderInformation information = data.getInformation();
-        Double value = getValue(conditions, data, information);
+        Double value = getValue(conditions, data, information, results);
         if (value == null) return;
+        if (results.isUnchanged(information, value)) return;
 
-        Database db = dbSystem.getDatabase();
-        db.executeTransaction(new StoreIconTransaction(information.getIcon()));
-        db.executeTransaction(new StoreProviderTransaction(information, parameters));
-        db.executeTransaction(new StorePlayerDoubleResultTransaction(information, parameters, value));
+        results.add(new StoreIconTransaction(information.getIcon()));
+        results.add(new StoreProviderTransaction(information, parameters));
+        results.add(new StorePlayerDoubleResultTransaction(information, parameters, value));
     }
 
-    private void storePlayerString(Parameters parameters, Conditions conditions, StringDataValue data) {
+    private void storePlayerString(Parameters parameters, Conditions conditions, StringDataValue data, GatheredResults results) {
         ProviderInformation information = data.getInformation();
-        String value = getValue(conditions, data, information);
+        String value = getValue(conditions, data, information, results);
         if (value == null) return;
+        if (results.isUnchanged(information, value)) return;
 
-        Database db = dbSystem.getDatabase();
-        db.executeTransaction(new StoreIconTransaction(information.getIcon()));
-        db.executeTransaction(new StoreProviderTransaction(information, parameters));
-        db.executeTransaction(new StorePlayerStringResultTransaction(information, parameters, value));
+        results.add(new StoreIconTransaction(information.getIcon()));
+        results.add(new StoreProviderTransaction(information, parameters));
+        results.add(new StorePlayerStringResultTransaction(information, parameters, value));
     }
 
-    private void storePlayerComponent(Parameters parameters, Conditions conditions, ComponentDataValue data) {
+    private void storePlayerComponent(Parameters parameters, Conditions conditions, ComponentDataValue data, GatheredResults results) {
         ProviderInformation information = data.getInformation();
-        String value = getComponentAsJson(getValue(conditions, data, information));
+        String value = getComponentAsJson(getValue(conditions, data, information, results));
         if (value == null) return;
+        if (results.isUnchanged(information, value)) return;
 
-        Database db = dbSystem.getDatabase();
-        db.executeTransaction(new StoreIconTransaction(information.getIcon()));
-        db.executeTransaction(new StoreProviderTransaction(information, parameters));
-        db.executeTransaction(new StorePlayerStringResultTransaction(information, parameters, value));
+        results.add(new StoreIconTransaction(information.getIcon()));
+        results.add(new StoreProviderTransaction(information, parameters));
+        results.add(new StorePlayerStringResultTransaction(information, parameters, value));
     }
 
-    private void storePlayerGroups(Parameters parameters, Conditions conditions, GroupsDataValue data) {
+    private void storePlayerGroups(Parameters parameters, Conditions conditions, GroupsDataValue data, GatheredResults results) {
         ProviderInformation information = data.getInformation();
-        String[] value = getValue(conditions, data, information);
+        String[] value = getValue(conditions, data, information, results);
         if (value == null) return;
+        if (results.isUnchanged(information, value)) return;
 
-        Database db = dbSystem.getDatabase();
-        db.executeTransaction(new StoreIconTransaction(information.getIcon()));
-        db.executeTransaction(new StoreProviderTransaction(information, parameters));
-        db.executeTransaction(new StorePlayerGroupsResultTransaction(information, parameters, value));
+        results.add(new StoreIconTransaction(information.getIcon()));
+        results.add(new StoreProviderTransaction(information, parameters));
+        results.add(new StorePlayerGroupsResultTransaction(information, parameters, value));
     }
 
-    private void storePlayerTable(Parameters parameters, Conditions conditions, TableDataValue data) {
+    private void storePlayerTable(Parameters parameters, Conditions conditions, TableDataValue data, GatheredResults results) {
         ProviderInformation information = data.getInformation();
-        Table value = getValue(conditions, data, information);
+        Table value = getValue(conditions, data, information, results);
         if (value == null) return;
+        if (results.isUnchanged(information, value)) return;
 
-        Database db = dbSystem.getDatabase();
         for (Icon icon : value.getIcons()) {
-            if (icon != null) db.executeTransaction(new StoreIconTransaction(icon));
+            if (icon != null) results.add(new StoreIconTransaction(icon));
+        }
+        results.add(new StoreTableProviderTransaction(information, parameters, value));
+        results.add(new StorePlayerTableResultTransaction(information, parameters, value));
+    }
+
+    /**
+     * Transactions to store the values gathered in a single pass, and the values that changed.
+     */
+    private class GatheredResults {
+        private final UUID playerUUID; // null for server values
+        private final List<Transaction> transactions;
+        private final Map<StoredValueCache.Key, StoredValueCache.StoredValue> changedValues;
+
+        private int errors; // Only modified by the thread gathering the values
+
+        GatheredResults(Parameters parameters) {
+            this.playerUUID = parameters.getPlayerUUID();
+            this.transactions = new ArrayList<>();
+            this.changedValues = new HashMap<>();
+        }
+
+        void errored() {
+            errors++;
+            statistics.errored();
+        }
+
+        void add(Transaction transaction) {
+            transactions.add(transaction);
+        }
+
+        boolean isUnchanged(ProviderInformation information, Object value) {
+            StoredValueCache.Key key = new StoredValueCache.Key(playerUUID, information.getName());
+            if (storedValues.isStored(key, information, value)) return true;
+
+            changedValues.put(key, new StoredValueCache.StoredValue(information, value));
+            return false;
+        }
+
+        void conditionNotFulfilled(ProviderInformation information) {
+            storedValues.forget(new StoredValueCache.Key(playerUUID, information.getName()));
         }
-        db.executeTransaction(new StoreTableProviderTransaction(information, parameters, value));
-        db.executeTransaction(new StorePlayerTableResultTransaction(information, parameters, value));
     }
-}
\ No newline at end of file
+}
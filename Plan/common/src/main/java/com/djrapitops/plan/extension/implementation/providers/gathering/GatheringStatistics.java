@@ -0,0 +1,197 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.extension.implementation.providers.gathering;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps track of how long gathering values of a single extension takes, and backs off from extensions that keep failing.
+ * <p>
+ * A gathering pass fails if it times out or if any value errors. After {@link #FAILURES_BEFORE_BACKING_OFF} failed passes
+ * in a row the extension is skipped for a while. The wait doubles on every failed pass after that, until a pass succeeds.
+ * <p>
+ * A pass that timed out and ignored the interrupt keeps running on its thread. No new passes are started for the
+ * extension until it returns, so that one hanging extension can only hold one gathering thread.
+ *
+ * @author AuroraLS3
+ */
+public class GatheringStatistics {
+
+    static final int FAILURES_BEFORE_BACKING_OFF = 3;
+    static final long INITIAL_BACKOFF_MS = TimeUnit.MINUTES.toMillis(1);
+    static final long MAX_BACKOFF_MS = TimeUnit.MINUTES.toMillis(30);
+
+    private final String pluginName;
+    private final LongAdder gatherCount = new LongAdder();
+    private final LongAdder totalGatherNanos = new LongAdder();
+    private final AtomicLong longestGatherNanos = new AtomicLong(0L);
+    private final LongAdder errorCount = new LongAdder();
+    private final LongAdder timeoutCount = new LongAdder();
+    private final LongAdder skippedCount = new LongAdder();
+    private final LongAdder notStartedCount = new LongAdder();
+    private final AtomicInteger hungPasses = new AtomicInteger(0);
+
+    private int consecutiveFailures = 0;
+    private long backoffMs = 0L;
+    private long backingOffUntil = 0L;
+
+    public GatheringStatistics(String pluginName) {
+        this.pluginName = pluginName;
+    }
+
+    void errored() {
+        errorCount.increment();
+    }
+
+    /**
+     * Check if gathering should be skipped because the extension has failed too many times, or a pass that timed out
+     * has not returned yet.
+     *
+     * @param now Current epoch ms.
+     * @return true if the extension should not be called right now.
+     */
+    public synchronized boolean isBackingOff(long now) {
+        if (now < backingOffUntil || hungPasses.get() > 0) {
+            skippedCount.increment();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Record a gathering pass that was skipped because the same values are already being gathered.
+     */
+    public void skipped() {
+        skippedCount.increment();
+    }
+
+    /**
+     * Record a gathering pass that was skipped because it did not get a thread within the time budget.
+     */
+    public void notStarted() {
+        notStartedCount.increment();
+    }
+
+    /**
+     * Record a gathering pass that finished within the time budget.
+     *
+     * @param durationNanos How long the pass took.
+     * @param failed        Did any value of the pass error.
+     * @param now           Current epoch ms.
+     */
+    public void finished(long durationNanos, boolean failed, long now) {
+        gatherCount.increment();
+        totalGatherNanos.add(durationNanos);
+        longestGatherNanos.accumulateAndGet(durationNanos, Math::max);
+        recordResult(failed, now);
+    }
+
+    /**
+     * Record a gathering pass that did not finish within the time budget.
+     *
+     * @param durationNanos How long was waited for the pass.
+     * @param now           Current epoch ms.
+     */
+    public void timedOut(long durationNanos, long now) {
+        gatherCount.increment();
+        timeoutCount.increment();
+        hungPasses.incrementAndGet();
+        totalGatherNanos.add(durationNanos);
+        longestGatherNanos.accumulateAndGet(durationNanos, Math::max);
+        recordResult(true, now);
+    }
+
+    /**
+     * Record that a gathering pass that timed out has returned, and its thread is free again.
+     */
+    public void timedOutPassReturned() {
+        hungPasses.decrementAndGet();
+    }
+
+    private synchronized void recordResult(boolean failed, long now) {
+        if (!failed) {
+            consecutiveFailures = 0;
+            backoffMs = 0L;
+            return;
+        }
+        consecutiveFailures++;
+        if (consecutiveFailures >= FAILURES_BEFORE_BACKING_OFF) {
+            backoffMs = backoffMs == 0L ? INITIAL_BACKOFF_MS : Math.min(backoffMs * 2, MAX_BACKOFF_MS);
+            backingOffUntil = now + backoffMs;
+        }
+    }
+
+    public String getPluginName() {
+        return pluginName;
+    }
+
+    public long getGatherCount() {
+        return gatherCount.sum();
+    }
+
+    public long getAverageGatherMs() {
+        long gathered = gatherCount.sum();
+        return gathered > 0 ? TimeUnit.NANOSECONDS.toMillis(totalGatherNanos.sum() / gathered) : 0L;
+    }
+
+    public long getLongestGatherMs() {
+        return TimeUnit.NANOSECONDS.toMillis(longestGatherNanos.get());
+    }
+
+    public long getErrorCount() {
+        return errorCount.sum();
+    }
+
+    public long getTimeoutCount() {
+        return timeoutCount.sum();
+    }
+
+    public long getSkippedCount() {
+        return skippedCount.sum();
+    }
+
+    public long getNotStartedCount() {
+        return notStartedCount.sum();
+    }
+
+    public int getHungPassCount() {
+        return hungPasses.get();
+    }
+
+    public synchronized long getBackingOffUntil() {
+        return backingOffUntil;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(pluginName).append(": ").append(getGatherCount())
+                .append(" (avg ").append(getAverageGatherMs()).append("ms, max ").append(getLongestGatherMs()).append("ms)");
+        if (getTimeoutCount() > 0) builder.append(", ").append(getTimeoutCount()).append(" timed out");
+        if (getErrorCount() > 0) builder.append(", ").append(getErrorCount()).append(" errors");
+        if (getSkippedCount() > 0) builder.append(", ").append(getSkippedCount()).append(" skipped");
+        if (getNotStartedCount() > 0) builder.append(", ").append(getNotStartedCount()).append(" did not start in time");
+        if (getHungPassCount() > 0) builder.append(", ").append(getHungPassCount()).append(" still running after timeout");
+        long backingOffMs = getBackingOffUntil() - System.currentTimeMillis();
+        if (backingOffMs > 0) {
+            builder.append(", paused for ").append(TimeUnit.MILLISECONDS.toSeconds(backingOffMs)).append('s');
+        }
+        return builder.toString();
+    }
+}
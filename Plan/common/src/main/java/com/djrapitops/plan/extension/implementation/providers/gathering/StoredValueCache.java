@@ -0,0 +1,137 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.extension.implementation.providers.gathering;
+
+import com.djrapitops.plan.extension.implementation.ProviderInformation;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory cache for the values of an extension that were last stored in the database.
+ * <p>
+ * Values that have not changed since they were stored are not stored again.
+ * Entries expire after a while, so values removed from the database by something else are eventually stored again.
+ *
+ * @author AuroraLS3
+ */
+public class StoredValueCache {
+
+    private static final long MAX_SIZE = 10_000;
+
+    private final Cache<Key, StoredValue> cache;
+
+    public StoredValueCache() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(MAX_SIZE)
+                .expireAfterWrite(30, TimeUnit.MINUTES)
+                .build();
+    }
+
+    /**
+     * Check if a value is the same as the one last stored.
+     *
+     * @param key         Key for the value.
+     * @param information Information about the provider, the value is stored again if it changes.
+     * @param value       Value to check.
+     * @return true if the value and provider are already in the database.
+     */
+    public boolean isStored(Key key, ProviderInformation information, Object value) {
+        return new StoredValue(information, value).equals(cache.getIfPresent(key));
+    }
+
+    /**
+     * Remember values after they have been stored in the database.
+     *
+     * @param storedValues Stored values by their keys.
+     */
+    public void remember(Map<Key, StoredValue> storedValues) {
+        cache.putAll(storedValues);
+    }
+
+    /**
+     * Forget a value, when it might have been removed from the database.
+     *
+     * @param key Key for the value.
+     */
+    public void forget(Key key) {
+        cache.invalidate(key);
+    }
+
+    /**
+     * Forget values of all players and the server for providers that are removed from the database.
+     *
+     * @param providerNames Names of the removed providers.
+     */
+    public void forgetProviders(Collection<String> providerNames) {
+        if (providerNames.isEmpty()) return;
+        cache.asMap().keySet().removeIf(key -> providerNames.contains(key.providerName));
+    }
+
+    public static class Key {
+        private final UUID playerUUID; // null for server values
+        private final String providerName;
+
+        public Key(UUID playerUUID, String providerName) {
+            this.playerUUID = playerUUID;
+            this.providerName = providerName;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return Objects.equals(playerUUID, key.playerUUID) && Objects.equals(providerName, key.providerName);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(playerUUID, providerName);
+        }
+    }
+
+    public static class StoredValue {
+        private final ProviderInformation information;
+        private final Object value;
+
+        public StoredValue(ProviderInformation information, Object value) {
+            this.information = information;
+            // Arrays (groups) are compared by their contents
+            this.value = value instanceof Object[] ? Arrays.asList(((Object[]) value).clone()) : value;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            StoredValue that = (StoredValue) o;
+            return Objects.equals(information, that.information) && Objects.equals(value, that.value);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(information, value);
+        }
+    }
+}
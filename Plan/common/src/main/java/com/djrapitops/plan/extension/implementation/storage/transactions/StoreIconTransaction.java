@@ -23,6 +23,7 @@ import com.djrapitops.plan.storage.database.queries.QueryStatement;
 import com.djrapitops.plan.storage.database.sql.tables.extension.ExtensionIconTable;
 import com.djrapitops.plan.storage.database.transactions.ExecStatement;
 import com.djrapitops.plan.storage.database.transactions.ThrowawayTransaction;
+import com.djrapitops.plan.storage.database.transactions.TransactionLane;
 
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -44,6 +45,11 @@ public class StoreIconTransaction extends ThrowawayTransaction {
         this.icon = icon;
     }
 
+    @Override
+    public TransactionLane getLane() {
+        return TransactionLane.EXTENSIONS;
+    }
+
     @Override
     protected void performOperations() {
         Optional<Integer> iconId = query(getIconId());
@@ -23,6 +23,7 @@ import com.djrapitops.plan.storage.database.sql.tables.extension.ExtensionPlugin
 import com.djrapitops.plan.storage.database.transactions.ExecStatement;
 import com.djrapitops.plan.storage.database.transactions.Executable;
 import com.djrapitops.plan.storage.database.transactions.ThrowawayTransaction;
+import com.djrapitops.plan.storage.database.transactions.TransactionLane;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
@@ -48,6 +49,11 @@ public class StorePluginTransaction extends ThrowawayTransaction {
         this.icon = icon;
     }
 
+    @Override
+    public TransactionLane getLane() {
+        return TransactionLane.EXTENSIONS;
+    }
+
     @Override
     protected void performOperations() {
         execute(storePlugin());
@@ -24,6 +24,7 @@ import com.djrapitops.plan.storage.database.sql.tables.extension.ExtensionTabTab
 import com.djrapitops.plan.storage.database.transactions.ExecStatement;
 import com.djrapitops.plan.storage.database.transactions.Executable;
 import com.djrapitops.plan.storage.database.transactions.ThrowawayTransaction;
+import com.djrapitops.plan.storage.database.transactions.TransactionLane;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
@@ -47,6 +48,11 @@ public class StoreTabInformationTransaction extends ThrowawayTransaction {
         this.tabInformation = tabInformation;
     }
 
+    @Override
+    public TransactionLane getLane() {
+        return TransactionLane.EXTENSIONS;
+    }
+
     @Override
     protected void performOperations() {
         execute(storeTab());
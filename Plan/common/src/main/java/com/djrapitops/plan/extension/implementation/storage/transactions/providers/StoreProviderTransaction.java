@@ -28,6 +28,7 @@ import com.djrapitops.plan.storage.database.sql.tables.extension.ExtensionTabTab
 import com.djrapitops.plan.storage.database.transactions.ExecStatement;
 import com.djrapitops.plan.storage.database.transactions.Executable;
 import com.djrapitops.plan.storage.database.transactions.ThrowawayTransaction;
+import com.djrapitops.plan.storage.database.transactions.TransactionLane;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
@@ -59,6 +60,11 @@ public class StoreProviderTransaction extends ThrowawayTransaction {
         this.info = info;
     }
 
+    @Override
+    public TransactionLane getLane() {
+        return TransactionLane.EXTENSIONS;
+    }
+
     @Override
     protected void performOperations() {
         execute(storeProvider());
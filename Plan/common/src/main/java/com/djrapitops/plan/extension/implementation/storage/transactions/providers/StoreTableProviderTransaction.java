@@ -29,6 +29,7 @@ import com.djrapitops.plan.storage.database.sql.tables.extension.ExtensionTabTab
 import com.djrapitops.plan.storage.database.transactions.ExecStatement;
 import com.djrapitops.plan.storage.database.transactions.Executable;
 import com.djrapitops.plan.storage.database.transactions.ThrowawayTransaction;
+import com.djrapitops.plan.storage.database.transactions.TransactionLane;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
@@ -60,6 +61,11 @@ public class StoreTableProviderTransaction extends ThrowawayTransaction {
         this.forPlayer = forPlayer;
     }
 
+    @Override
+    public TransactionLane getLane() {
+        return TransactionLane.EXTENSIONS;
+    }
+
     @Override
     protected void performOperations() {
         execute(storeProvider());
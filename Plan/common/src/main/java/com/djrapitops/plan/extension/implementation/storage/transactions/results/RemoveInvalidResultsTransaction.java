@@ -21,6 +21,7 @@ import com.djrapitops.plan.storage.database.sql.tables.extension.*;
 import com.djrapitops.plan.storage.database.transactions.ExecStatement;
 import com.djrapitops.plan.storage.database.transactions.Executable;
 import com.djrapitops.plan.storage.database.transactions.ThrowawayTransaction;
+import com.djrapitops.plan.storage.database.transactions.TransactionLane;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
@@ -45,6 +46,11 @@ public class RemoveInvalidResultsTransaction extends ThrowawayTransaction {
         this.invalidatedMethods = invalidatedMethods;
     }
 
+    @Override
+    public TransactionLane getLane() {
+        return TransactionLane.EXTENSIONS;
+    }
+
     @Override
     protected void performOperations() {
         for (String invalidatedMethod : invalidatedMethods) {
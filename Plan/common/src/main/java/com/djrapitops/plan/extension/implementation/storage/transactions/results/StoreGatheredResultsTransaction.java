@@ -0,0 +1,88 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.extension.implementation.storage.transactions.results;
+
+import com.djrapitops.plan.exceptions.database.DBOpException;
+import com.djrapitops.plan.storage.database.transactions.ThrowawayTransaction;
+import com.djrapitops.plan.storage.database.transactions.Transaction;
+import com.djrapitops.plan.storage.database.transactions.TransactionLane;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Transaction to store icons, providers and results gathered from an extension in a single pass.
+ * <p>
+ * The transactions are executed in the order they were gathered, so icons are stored before the providers that use
+ * them and providers before their results. A value that fails to be stored is rolled back on its own, so that the
+ * other values of the pass are still stored.
+ *
+ * @author AuroraLS3
+ */
+public class StoreGatheredResultsTransaction extends ThrowawayTransaction {
+
+    private final List<Transaction> transactions;
+    private final List<DBOpException> failures;
+    private volatile boolean resultsStored;
+
+    public StoreGatheredResultsTransaction(List<Transaction> transactions) {
+        this.transactions = transactions;
+        this.failures = new ArrayList<>();
+    }
+
+    @Override
+    public TransactionLane getLane() {
+        return TransactionLane.EXTENSIONS;
+    }
+
+    @Override
+    protected boolean shouldBeExecuted() {
+        resultsStored = false;
+        failures.clear();
+        return !transactions.isEmpty() && super.shouldBeExecuted();
+    }
+
+    @Override
+    protected void performOperations() {
+        for (Transaction transaction : transactions) {
+            executeOtherIsolated(transaction).ifPresent(failures::add);
+        }
+        // Values are only remembered as stored if they were committed
+        runAfterCommit(() -> resultsStored = true);
+    }
+
+    /**
+     * Check if the results were stored.
+     * <p>
+     * {@link #wasSuccessful()} is also true when the transaction was skipped, for example when the database is under
+     * heavy load.
+     *
+     * @return true if the transactions were committed and none of them failed.
+     */
+    public boolean wereResultsStored() {
+        return resultsStored && failures.isEmpty();
+    }
+
+    /**
+     * Get failures of values that were rolled back while the rest were stored.
+     *
+     * @return List of failures, empty if everything was stored.
+     */
+    public List<DBOpException> getFailures() {
+        return failures;
+    }
+}
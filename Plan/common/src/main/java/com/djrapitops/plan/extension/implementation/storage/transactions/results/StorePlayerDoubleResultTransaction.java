@@ -23,6 +23,7 @@ import com.djrapitops.plan.storage.database.sql.tables.extension.ExtensionProvid
 import com.djrapitops.plan.storage.database.transactions.ExecStatement;
 import com.djrapitops.plan.storage.database.transactions.Executable;
 import com.djrapitops.plan.storage.database.transactions.ThrowawayTransaction;
+import com.djrapitops.plan.storage.database.transactions.TransactionLane;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
@@ -59,6 +60,11 @@ public class StorePlayerDoubleResultTransaction extends ThrowawayTransaction {
         this.percentage = information.isPercentage();
     }
 
+    @Override
+    public TransactionLane getLane() {
+        return TransactionLane.EXTENSIONS;
+    }
+
     @Override
     protected void performOperations() {
         execute(storeValue());
@@ -24,6 +24,7 @@ import com.djrapitops.plan.storage.database.sql.tables.extension.ExtensionProvid
 import com.djrapitops.plan.storage.database.transactions.ExecStatement;
 import com.djrapitops.plan.storage.database.transactions.Executable;
 import com.djrapitops.plan.storage.database.transactions.ThrowawayTransaction;
+import com.djrapitops.plan.storage.database.transactions.TransactionLane;
 import org.apache.commons.lang3.StringUtils;
 
 import java.sql.PreparedStatement;
@@ -54,6 +55,11 @@ public class StorePlayerGroupsResultTransaction extends ThrowawayTransaction {
         this.value = value;
     }
 
+    @Override
+    public TransactionLane getLane() {
+        return TransactionLane.EXTENSIONS;
+    }
+
     @Override
     protected void performOperations() {
         execute(deleteOldValues());
@@ -23,6 +23,7 @@ import com.djrapitops.plan.storage.database.sql.tables.extension.ExtensionProvid
 import com.djrapitops.plan.storage.database.transactions.ExecStatement;
 import com.djrapitops.plan.storage.database.transactions.Executable;
 import com.djrapitops.plan.storage.database.transactions.ThrowawayTransaction;
+import com.djrapitops.plan.storage.database.transactions.TransactionLane;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
@@ -53,6 +54,11 @@ public class StorePlayerNumberResultTransaction extends ThrowawayTransaction {
         this.value = value;
     }
 
+    @Override
+    public TransactionLane getLane() {
+        return TransactionLane.EXTENSIONS;
+    }
+
     @Override
     protected void performOperations() {
         execute(storeValue());
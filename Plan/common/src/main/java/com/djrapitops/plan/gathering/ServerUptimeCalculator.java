@@ -23,6 +23,7 @@ import com.djrapitops.plan.identification.ServerInfo;
 import com.djrapitops.plan.identification.ServerUUID;
 import com.djrapitops.plan.storage.database.DBSystem;
 import com.djrapitops.plan.storage.database.Database;
+import com.djrapitops.plan.storage.database.queries.objects.ServerQueries;
 import com.djrapitops.plan.storage.database.queries.objects.TPSQueries;
 
 import javax.inject.Inject;
@@ -54,7 +55,7 @@ public class ServerUptimeCalculator {
     private Optional<Long> getServerUptimeMillisFromDatabase(ServerUUID serverUUID) {
         try {
             return tryToGetServerUptimeMillisFromDatabase(serverUUID);
-        } catch (DBOpException windowFunctionsNotSupported) {
+        } catch (DBOpException e) {
             return Optional.empty();
         }
     }
@@ -69,7 +70,7 @@ public class ServerUptimeCalculator {
             return Optional.empty();
         }
 
-        Optional<Long> serverStartDate = database.query(TPSQueries.fetchLatestServerStartTime(serverUUID, dataGapThreshold));
+        Optional<Long> serverStartDate = database.query(ServerQueries.fetchLatestServerStartTime(serverUUID));
         return serverStartDate
                 .map(serverStarted -> System.currentTimeMillis() - serverStarted);
     }
@@ -28,6 +28,7 @@ import com.djrapitops.plan.gathering.cache.SessionCache;
 import com.djrapitops.plan.gathering.domain.ActiveSession;
 import com.djrapitops.plan.gathering.domain.FinishedSession;
 import com.djrapitops.plan.gathering.domain.event.PlayerLeave;
+import com.djrapitops.plan.placeholder.TopListCache;
 import com.djrapitops.plan.processing.Processing;
 import com.djrapitops.plan.settings.config.PlanConfig;
 import com.djrapitops.plan.settings.config.paths.ExportSettings;
@@ -51,13 +52,14 @@ public class PlayerLeaveEventConsumer {
     private final NicknameCache nicknameCache;
     private final SessionCache sessionCache;
     private final DatapointStore datapointStore;
+    private final TopListCache topListCache;
 
     private final ExtensionSvc extensionService;
     private final Exporter exporter;
     private final PlayerGatheringTasks playerGatheringTasks;
 
     @Inject
-    public PlayerLeaveEventConsumer(Processing processing, PlanConfig config, DBSystem dbSystem, JoinAddressCache joinAddressCache, NicknameCache nicknameCache, SessionCache sessionCache, DatapointStore datapointStore, ExtensionSvc extensionService, Exporter exporter, PlayerGatheringTasks playerGatheringTasks) {
+    public PlayerLeaveEventConsumer(Processing processing, PlanConfig config, DBSystem dbSystem, JoinAddressCache joinAddressCache, NicknameCache nicknameCache, SessionCache sessionCache, DatapointStore datapointStore, TopListCache topListCache, ExtensionSvc extensionService, Exporter exporter, PlayerGatheringTasks playerGatheringTasks) {
         this.processing = processing;
         this.config = config;
         this.dbSystem = dbSystem;
@@ -65,6 +67,7 @@ public class PlayerLeaveEventConsumer {
         this.nicknameCache = nicknameCache;
         this.sessionCache = sessionCache;
         this.datapointStore = datapointStore;
+        this.topListCache = topListCache;
         this.extensionService = extensionService;
         this.exporter = exporter;
         this.playerGatheringTasks = playerGatheringTasks;
@@ -103,7 +106,12 @@ public class PlayerLeaveEventConsumer {
     }
 
     private void storeFinishedSession(FinishedSession finishedSession) {
-        dbSystem.getDatabase().executeTransaction(new StoreSessionTransaction(finishedSession));
+        dbSystem.getDatabase().executeTransaction(new StoreSessionTransaction(finishedSession))
+                .thenRun(() -> {
+                    topListCache.clear();
+                    // Json created between leave and the session being stored is outdated
+                    datapointStore.clearLastModified(DatapointCacheKey.SESSION);
+                });
     }
 
     private void storeBanStatus(PlayerLeave leave) {
@@ -17,6 +17,8 @@
 package com.djrapitops.plan.gathering.timed;
 
 import com.djrapitops.plan.TaskSystem;
+import com.djrapitops.plan.delivery.rendering.json.datapoint.DatapointCacheKey;
+import com.djrapitops.plan.delivery.rendering.json.datapoint.DatapointStore;
 import com.djrapitops.plan.gathering.ServerSensor;
 import com.djrapitops.plan.identification.ServerInfo;
 import com.djrapitops.plan.identification.ServerUUID;
@@ -44,13 +46,15 @@ public class BanStatusUpkeepTask extends TaskSystem.Task {
     private final DBSystem dbSystem;
     private final ServerInfo serverInfo;
     private final ServerSensor<?> serverSensor;
+    private final DatapointStore datapointStore;
     private Integer currentId;
 
     @Inject
-    public BanStatusUpkeepTask(DBSystem dbSystem, ServerInfo serverInfo, ServerSensor<?> serverSensor) {
+    public BanStatusUpkeepTask(DBSystem dbSystem, ServerInfo serverInfo, ServerSensor<?> serverSensor, DatapointStore datapointStore) {
         this.dbSystem = dbSystem;
         this.serverInfo = serverInfo;
         this.serverSensor = serverSensor;
+        this.datapointStore = datapointStore;
     }
 
     @Override
@@ -103,6 +107,7 @@ public class BanStatusUpkeepTask extends TaskSystem.Task {
         }
 
         if (bannedPlayers.isEmpty() && unbannedPlayers.isEmpty()) return null;
-        return database.executeTransaction(new BatchBanStatusTransaction(bannedPlayers, unbannedPlayers, serverUUID));
+        return database.executeTransaction(new BatchBanStatusTransaction(bannedPlayers, unbannedPlayers, serverUUID))
+                .thenRun(() -> datapointStore.clearLastModified(DatapointCacheKey.USER_INFO));
     }
 }
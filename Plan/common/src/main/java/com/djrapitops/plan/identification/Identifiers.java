@@ -30,6 +30,9 @@ import org.jetbrains.annotations.Nullable;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -79,6 +82,22 @@ public class Identifiers {
         return request.getHeader(HttpHeader.IF_NONE_MATCH.asString());
     }
 
+    /**
+     * Get If-Modified-Since header of the request.
+     *
+     * @param request Request that might have the header.
+     * @return Epoch ms of the header, or empty if the header is missing or not a valid http date.
+     */
+    public static Optional<Long> getIfModifiedSince(@Untrusted Request request) {
+        try {
+            return request.getHeader(HttpHeader.IF_MODIFIED_SINCE.asString())
+                    .map(date -> ZonedDateTime.parse(date, DateTimeFormatter.RFC_1123_DATE_TIME))
+                    .map(date -> date.toInstant().toEpochMilli());
+        } catch (@Untrusted DateTimeParseException invalidDate) {
+            return Optional.empty(); // Invalid dates are ignored as per RFC 9110
+        }
+    }
+
     /**
      * Obtain UUID of the server.
      *
@@ -59,19 +59,22 @@ public class ServerPlaceHolders implements Placeholders {
     private final ServerInfo serverInfo;
     private final Formatters formatters;
     private final ServerUptimeCalculator serverUptimeCalculator;
+    private final TopListCache topListCache;
 
     @Inject
     public ServerPlaceHolders(
             PlanConfig config,
             DBSystem dbSystem,
             ServerInfo serverInfo,
-            Formatters formatters, ServerUptimeCalculator serverUptimeCalculator
+            Formatters formatters, ServerUptimeCalculator serverUptimeCalculator,
+            TopListCache topListCache
     ) {
         this.config = config;
         this.dbSystem = dbSystem;
         this.serverInfo = serverInfo;
         this.formatters = formatters;
         this.serverUptimeCalculator = serverUptimeCalculator;
+        this.topListCache = topListCache;
     }
 
     @Override
@@ -245,7 +248,7 @@ public class ServerPlaceHolders implements Placeholders {
         placeholders.registerStatic("network_regular_players",
                 () -> database.query(NetworkActivityIndexQueries.fetchRegularPlayerCount(System.currentTimeMillis(), config.get(TimeSettings.ACTIVE_PLAY_THRESHOLD))));
 
-        registerDynamicCategoryPlaceholders(placeholders, database);
+        registerDynamicCategoryPlaceholders(placeholders);
     }
 
     private ServerUUID getServerUUID(@Untrusted Arguments parameters) {
@@ -257,28 +260,28 @@ public class ServerPlaceHolders implements Placeholders {
                 .map(Server::getUuid);
     }
 
-    private void registerDynamicCategoryPlaceholders(PlanPlaceholders placeholders, Database database) {
+    private void registerDynamicCategoryPlaceholders(PlanPlaceholders placeholders) {
         List<TopCategoryQuery<Long>> queries = new ArrayList<>();
-        queries.addAll(createCategoryQueriesForAllTimespans("playtime", (index, timespan, parameters) -> TopListQueries.fetchNthTop10PlaytimePlayerOn(getServerUUID(parameters), index, System.currentTimeMillis() - timespan, System.currentTimeMillis())));
-        queries.addAll(createCategoryQueriesForAllTimespans("network_playtime", (index, timespan, parameters) -> TopListQueries.fetchNthTop10PlaytimePlayerOn(null, index, System.currentTimeMillis() - timespan, System.currentTimeMillis())));
-        queries.addAll(createCategoryQueriesForAllTimespans("active_playtime", (index, timespan, parameters) -> TopListQueries.fetchNthTop10ActivePlaytimePlayerOn(getServerUUID(parameters), index, System.currentTimeMillis() - timespan, System.currentTimeMillis())));
-        queries.addAll(createCategoryQueriesForAllTimespans("network_active_playtime", (index, timespan, parameters) -> TopListQueries.fetchNthTop10ActivePlaytimePlayerOn(null, index, System.currentTimeMillis() - timespan, System.currentTimeMillis())));
-        queries.addAll(createCategoryQueriesForAllTimespans("player_kills", (index, timespan, parameters) -> TopListQueries.fetchNthTop10PlayerKillCountOn(getServerUUID(parameters), index, System.currentTimeMillis() - timespan, System.currentTimeMillis())));
+        queries.addAll(createCategoryQueriesForAllTimespans("playtime", this::getServerUUID, TopListQueries::fetchTop10PlaytimePlayersOn));
+        queries.addAll(createCategoryQueriesForAllTimespans("network_playtime", parameters -> null, TopListQueries::fetchTop10PlaytimePlayersOn));
+        queries.addAll(createCategoryQueriesForAllTimespans("active_playtime", this::getServerUUID, TopListQueries::fetchTop10ActivePlaytimePlayersOn));
+        queries.addAll(createCategoryQueriesForAllTimespans("network_active_playtime", parameters -> null, TopListQueries::fetchTop10ActivePlaytimePlayersOn));
+        queries.addAll(createCategoryQueriesForAllTimespans("player_kills", this::getServerUUID, TopListQueries::fetchTop10PlayerKillCountsOn));
 
         for (int i = 0; i < 10; i++) {
             for (TopCategoryQuery<Long> query : queries) {
                 final int nth = i;
                 placeholders.registerStatic(String.format("top_%s_%s_%s", query.getCategory(), query.getTimeSpan(), nth + 1),
-                        parameters -> database.query(query.getQuery(nth, parameters))
+                        parameters -> query.getEntry(nth, parameters, topListCache)
                                 .map(TopListQueries.TopListEntry::getPlayerName)
                                 .orElse("-"));
                 placeholders.registerStatic(String.format("top_%s_%s_%s_value", query.getCategory(), query.getTimeSpan(), nth + 1),
-                        parameters -> database.query(query.getQuery(nth, parameters))
+                        parameters -> query.getEntry(nth, parameters, topListCache)
                                 .map(TopListQueries.TopListEntry::getValue)
                                 .map(query.getCategory().equals("player_kills") ? Function.identity() : formatters.timeAmount())
                                 .orElse("-"));
                 placeholders.registerStatic(String.format("top_%s_%s_%s_value_raw", query.getCategory(), query.getTimeSpan(), nth + 1),
-                        parameters -> database.query(query.getQuery(nth, parameters))
+                        parameters -> query.getEntry(nth, parameters, topListCache)
                                 .map(TopListQueries.TopListEntry::getValue)
                                 .map(String::valueOf)
                                 .orElse("-"));
@@ -286,27 +289,33 @@ public class ServerPlaceHolders implements Placeholders {
         }
     }
 
-    private <T> List<TopCategoryQuery<T>> createCategoryQueriesForAllTimespans(String category, QueryCreator<T> queryCreator) {
+    private <T> List<TopCategoryQuery<T>> createCategoryQueriesForAllTimespans(String category, ServerResolver serverResolver, QueryCreator<T> queryCreator) {
         return Arrays.asList(
-                new TopCategoryQuery<>(category, queryCreator, "month", TimeUnit.DAYS.toMillis(30)),
-                new TopCategoryQuery<>(category, queryCreator, "week", TimeUnit.DAYS.toMillis(7)),
-                new TopCategoryQuery<>(category, queryCreator, "day", TimeUnit.DAYS.toMillis(1)),
-                new TopCategoryQuery<>(category, queryCreator, "total", System.currentTimeMillis())
+                new TopCategoryQuery<>(category, serverResolver, queryCreator, "month", TimeUnit.DAYS.toMillis(30)),
+                new TopCategoryQuery<>(category, serverResolver, queryCreator, "week", TimeUnit.DAYS.toMillis(7)),
+                new TopCategoryQuery<>(category, serverResolver, queryCreator, "day", TimeUnit.DAYS.toMillis(1)),
+                new TopCategoryQuery<>(category, serverResolver, queryCreator, "total", System.currentTimeMillis())
         );
     }
 
     public interface QueryCreator<T> {
-        Query<Optional<TopListQueries.TopListEntry<T>>> apply(Integer number, Long timespan, @Untrusted Arguments parameters);
+        Query<List<TopListQueries.TopListEntry<T>>> apply(ServerUUID serverUUID, long after, long before);
+    }
+
+    public interface ServerResolver {
+        ServerUUID resolve(@Untrusted Arguments parameters);
     }
 
     public static class TopCategoryQuery<T> {
         private final String category;
+        private final ServerResolver serverResolver;
         private final QueryCreator<T> queryCreator;
         private final String timeSpan;
         private final long timeSpanMillis;
 
-        public TopCategoryQuery(String category, QueryCreator<T> queryCreator, String timeSpan, long timespan) {
+        public TopCategoryQuery(String category, ServerResolver serverResolver, QueryCreator<T> queryCreator, String timeSpan, long timespan) {
             this.category = category;
+            this.serverResolver = serverResolver;
             this.queryCreator = queryCreator;
             this.timeSpan = timeSpan;
             this.timeSpanMillis = timespan;
@@ -320,8 +329,13 @@ public class ServerPlaceHolders implements Placeholders {
             return timeSpan;
         }
 
-        public Query<Optional<TopListQueries.TopListEntry<T>>> getQuery(int i, @Untrusted Arguments parameters) {
-            return queryCreator.apply(i, timeSpanMillis, parameters);
+        public Optional<TopListQueries.TopListEntry<T>> getEntry(int i, @Untrusted Arguments parameters, TopListCache topListCache) {
+            ServerUUID serverUUID = serverResolver.resolve(parameters);
+            List<TopListQueries.TopListEntry<T>> topList = topListCache.getTopList(category, serverUUID, timeSpan, () -> {
+                long now = System.currentTimeMillis();
+                return queryCreator.apply(serverUUID, now - timeSpanMillis, now);
+            });
+            return i < topList.size() ? Optional.of(topList.get(i)) : Optional.empty();
         }
     }
 }
@@ -0,0 +1,99 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.placeholder;
+
+import com.djrapitops.plan.identification.ServerUUID;
+import com.djrapitops.plan.storage.database.DBSystem;
+import com.djrapitops.plan.storage.database.queries.Query;
+import com.djrapitops.plan.storage.database.queries.analysis.TopListQueries;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * In-memory cache for top 10 lists used by placeholders.
+ * <p>
+ * All ranks of a list are fetched with a single query, so that rendering each rank of a leaderboard does not query
+ * the database again. Lists are refreshed a minute after they were fetched, or when sessions are stored.
+ *
+ * @author AuroraLS3
+ */
+@Singleton
+public class TopListCache {
+
+    private final DBSystem dbSystem;
+    private final Cache<Key, List<? extends TopListQueries.TopListEntry<?>>> cache;
+
+    @Inject
+    public TopListCache(DBSystem dbSystem) {
+        this.dbSystem = dbSystem;
+        cache = Caffeine.newBuilder()
+                .expireAfterWrite(1, TimeUnit.MINUTES)
+                .build();
+    }
+
+    /**
+     * Get the top 10 list of a category.
+     *
+     * @param category   Name of the category, eg. playtime.
+     * @param serverUUID UUID of the server the list is about, null for the whole network.
+     * @param timeSpan   Name of the time span the list is about, eg. week.
+     * @param query      Supplier for the query to use if the list is not cached.
+     * @param <T>        Type of the values in the list.
+     * @return List of up to 10 entries, highest first.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<TopListQueries.TopListEntry<T>> getTopList(String category, ServerUUID serverUUID, String timeSpan, Supplier<Query<List<TopListQueries.TopListEntry<T>>>> query) {
+        return (List<TopListQueries.TopListEntry<T>>) cache.get(new Key(category, serverUUID, timeSpan),
+                key -> dbSystem.getDatabase().query(query.get()));
+    }
+
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    private static class Key {
+        private final String category;
+        private final ServerUUID serverUUID;
+        private final String timeSpan;
+
+        Key(String category, ServerUUID serverUUID, String timeSpan) {
+            this.category = category;
+            this.serverUUID = serverUUID;
+            this.timeSpan = timeSpan;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return Objects.equals(category, key.category) && Objects.equals(serverUUID, key.serverUUID) && Objects.equals(timeSpan, key.timeSpan);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(category, serverUUID, timeSpan);
+        }
+    }
+}
@@ -33,6 +33,8 @@ import java.util.concurrent.*;
 @Singleton
 public class Processing implements SubSystem {
 
+    private static final int EXTENSION_THREADS = 4;
+
     private final Lazy<Locale> locale;
     private final PluginLogger logger;
     private final ErrorLogger errorLogger;
@@ -40,6 +42,7 @@ public class Processing implements SubSystem {
     private ExecutorService nonCriticalExecutor;
     private ExecutorService nonCriticalSingleThreadExecutor;
     private ExecutorService criticalExecutor;
+    private ExecutorService extensionExecutor;
 
     @Inject
     public Processing(
@@ -53,6 +56,7 @@ public class Processing implements SubSystem {
         nonCriticalExecutor = createExecutor(6, "Plan Non critical-pool-%d");
         nonCriticalSingleThreadExecutor = createExecutor(1, "Plan Non critical-pool-single-threaded-%d");
         criticalExecutor = createExecutor(2, "Plan Critical-pool-%d");
+        extensionExecutor = createExecutor(EXTENSION_THREADS, "Plan Extension-pool-%d");
     }
 
     protected ExecutorService createExecutor(int i, String s) {
@@ -151,6 +155,9 @@ public class Processing implements SubSystem {
         if (criticalExecutor.isShutdown()) {
             criticalExecutor = createExecutor(2, "Plan Critical-pool-%d");
         }
+        if (extensionExecutor.isShutdown()) {
+            extensionExecutor = createExecutor(EXTENSION_THREADS, "Plan Extension-pool-%d");
+        }
     }
 
     @Override
@@ -164,6 +171,7 @@ public class Processing implements SubSystem {
     private void shutdownNonCriticalExecutors() {
         nonCriticalExecutor.shutdownNow();
         nonCriticalSingleThreadExecutor.shutdownNow();
+        extensionExecutor.shutdownNow();
     }
 
     private void shutdownCriticalExecutor() {
@@ -198,6 +206,9 @@ public class Processing implements SubSystem {
             if (!nonCriticalSingleThreadExecutor.isTerminated()) {
                 nonCriticalSingleThreadExecutor.shutdownNow();
             }
+            if (!extensionExecutor.isTerminated()) {
+                extensionExecutor.shutdownNow();
+            }
             if (!criticalExecutor.isTerminated() && !criticalExecutor.awaitTermination(1, TimeUnit.SECONDS)) {
                 criticalExecutor.shutdownNow();
             }
@@ -205,11 +216,31 @@ public class Processing implements SubSystem {
             logger.error("Processing shutdown thread interrupted: " + e.getMessage());
             nonCriticalExecutor.shutdownNow();
             nonCriticalSingleThreadExecutor.shutdownNow();
+            extensionExecutor.shutdownNow();
             criticalExecutor.shutdownNow();
             Thread.currentThread().interrupt();
         }
     }
 
+    /**
+     * Submit gathering of DataExtension values.
+     * <p>
+     * Extensions are gathered in their own pool, so that slow or hanging extensions do not delay other processing.
+     *
+     * @param runnable Gathering to run.
+     * @return Future that can be used to wait for the gathering or to cancel it, null if the pool has been shut down.
+     */
+    public Future<?> submitExtensionGathering(Runnable runnable) {
+        if (runnable == null || extensionExecutor.isShutdown()) {
+            return null;
+        }
+        try {
+            return extensionExecutor.submit(runnable);
+        } catch (RejectedExecutionException shutdown) {
+            return null;
+        }
+    }
+
     public Executor getCriticalExecutor() {
         return criticalExecutor;
     }
@@ -25,7 +25,9 @@ import com.djrapitops.plan.settings.locale.Locale;
 import com.djrapitops.plan.settings.locale.lang.CommandLang;
 import com.djrapitops.plan.storage.database.DBType;
 import com.djrapitops.plan.storage.database.Database;
+import com.djrapitops.plan.storage.database.SQLDB;
 import com.djrapitops.plan.storage.database.queries.LargeStoreQueries;
+import com.djrapitops.plan.storage.database.queries.Query;
 import com.djrapitops.plan.storage.database.queries.objects.*;
 import com.djrapitops.plan.storage.database.queries.objects.lookup.IdMapper;
 import com.djrapitops.plan.storage.database.queries.objects.lookup.LookupTable;
@@ -34,32 +36,49 @@ import com.djrapitops.plan.storage.database.queries.objects.lookup.ServerUUIDIde
 import com.djrapitops.plan.storage.database.queries.schema.MySQLSchemaQueries;
 import com.djrapitops.plan.storage.database.sql.tables.*;
 import com.djrapitops.plan.storage.database.sql.tables.webuser.*;
+import com.djrapitops.plan.storage.database.transactions.Executable;
 import com.djrapitops.plan.storage.database.transactions.StoreServerInformationTransaction;
+import com.djrapitops.plan.storage.database.transactions.Transaction;
 import com.djrapitops.plan.storage.database.transactions.commands.RemoveEverythingTransaction;
 import com.djrapitops.plan.storage.database.transactions.commands.RemoveServerTransaction;
 import com.djrapitops.plan.storage.database.transactions.init.CreateTemporarySessionIdLookupTable;
+import com.djrapitops.plan.storage.database.transactions.init.RebuildPlayerTotalsTransaction;
+import com.djrapitops.plan.storage.database.transactions.init.RebuildSessionBucketsTransaction;
+import com.djrapitops.plan.storage.database.transactions.patches.ServerEventsBackfillPatch;
 import com.djrapitops.plan.utilities.logging.ErrorContext;
 import com.djrapitops.plan.utilities.logging.ErrorLogger;
 import com.djrapitops.plan.utilities.logging.ProgressTracker;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.jspecify.annotations.NonNull;
 
 import java.util.*;
-import java.util.concurrent.CompletionException;
+import java.util.concurrent.*;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.IntFunction;
 import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
 
+import static com.djrapitops.plan.storage.database.sql.building.Sql.DELETE_FROM;
+
 /**
  * All the logic for copying or merging two databases into another.
  * <p>
  * Databases given must be in {@link Database.State#OPEN}
+ * <p>
+ * Tables are copied in batches, reading the next batch from the source while the previous one is written. Tables that
+ * don't depend on each other are copied in parallel. When the destination is cleared, the last copied id of each table
+ * is stored in {@link CopyCheckpointTable}, so that running the same copy again continues where it was interrupted.
+ * Checkpoints of a copy from a different source are not continued unless {@link Strategy#START_FRESH} is given.
  *
  * @author AuroraLS3
  */
 public class DatabaseCopyProcessor implements CriticalRunnable {
     private static final int ROW_LIMIT = 100000;
     private static final int DONE_SIGNAL = -1;
+    private static final int PARALLEL_COPIES = 4;
 
     private final Locale locale;
     private final ErrorLogger errorLogger;
@@ -70,9 +89,17 @@ public class DatabaseCopyProcessor implements CriticalRunnable {
     private final Runnable doAfter;
 
     private final Map<ServerUUID, ServerUUID> serverUuidLookupTable = new HashMap<>();
-    private final ProgressTracker progressTracker;
+    private final Map<String, ProgressTracker> progressTrackers = new ConcurrentHashMap<>();
+    private final Map<String, Long> copyStartTimes = new ConcurrentHashMap<>();
+    private final Object destinationLock = new Object();
     private Map<String, Integer> tableCounts;
 
+    private boolean checkpointing;
+    private boolean resuming;
+    private String source;
+    private Map<String, Integer> checkpoints = Collections.emptyMap();
+    private ExecutorService readAheadExecutor;
+
     public DatabaseCopyProcessor(Locale locale, ErrorLogger errorLogger, Database fromDB, Database toDB, Consumer<String> feedback, Strategy... strategies) {
         this(locale, errorLogger, fromDB, toDB, feedback, () -> {}, strategies);
     }
@@ -84,8 +111,12 @@ public class DatabaseCopyProcessor implements CriticalRunnable {
         this.toDB = toDB;
         this.doAfter = doAfter;
         this.strategies.addAll(Arrays.asList(strategies));
-        this.feedback = feedback;
-        this.progressTracker = new ProgressTracker(0);
+        // Tables are copied in parallel, so messages can be sent from multiple threads.
+        this.feedback = message -> {
+            synchronized (this) {
+                feedback.accept(message);
+            }
+        };
     }
 
     public ServerUUID mapServerUUID(ServerUUID serverUUID) {
@@ -121,9 +152,29 @@ public class DatabaseCopyProcessor implements CriticalRunnable {
         feedback.accept(locale.getString(CommandLang.DB_COPY_LIST_TITLE_SOURCE));
         tableCounts.forEach((key, value) -> feedback.accept(locale.getString(CommandLang.DB_COPY_LIST_ROW, key, value)));
 
-        if (strategies.contains(Strategy.CLEAR_DESTINATION_DATABASE)) {
+        checkpointing = strategies.contains(Strategy.CLEAR_DESTINATION_DATABASE);
+        if (checkpointing) {
+            source = getSourceIdentity();
+            writeToDestination(inTransaction(CopyCheckpointTable.createTableSQL(toDB.getType())));
+            if (!strategies.contains(Strategy.START_FRESH)) {
+                // Continuing a copy from another source would mix two datasets
+                Set<String> checkpointSources = toDB.query(CopyCheckpointTable.fetchSources());
+                if (checkpointSources.stream().anyMatch(Predicate.not(source::equals))) {
+                    feedback.accept(locale.getString(CommandLang.DB_COPY_RESUME_MISMATCH));
+                    doAfter.run();
+                    return;
+                }
+                checkpoints = toDB.query(CopyCheckpointTable.fetchCheckpoints(source));
+                resuming = !checkpoints.isEmpty();
+            }
+        }
+
+        if (resuming) {
+            feedback.accept(locale.getString(CommandLang.DB_COPY_RESUME, fromDB.getType().getName()));
+        } else if (strategies.contains(Strategy.CLEAR_DESTINATION_DATABASE)) {
             feedback.accept(locale.getString(CommandLang.DB_COPY_CLEAR_START));
-            toDB.executeTransaction(new RemoveEverythingTransaction()).join();
+            writeToDestination(new RemoveEverythingTransaction());
+            writeToDestination(inTransaction(DELETE_FROM + CopyCheckpointTable.TABLE_NAME));
             feedback.accept(locale.getString(CommandLang.DB_COPY_CLEAR_FINISH));
         } else {
             Map<String, Integer> existing = toDB.query(LookupTableQueries.tableCounts());
@@ -133,31 +184,49 @@ public class DatabaseCopyProcessor implements CriticalRunnable {
 
         feedback.accept(locale.getString(CommandLang.PROGRESS_START));
 
+        readAheadExecutor = createExecutor("Plan DB Copy-read-ahead-%d");
+        boolean finished = false;
         try {
-            removeTemporaryTables();
+            if (!resuming) {
+                // Temporary tables of an interrupted copy are needed for continuing it
+                removeTemporaryTables();
+            }
             LookupTable<Integer> serverIdLookupTable = copyMissingServers();
-
             LookupTable<Integer> userIdLookupTable = copyMissingUsers();
-            copyUserInfo(serverIdLookupTable, userIdLookupTable);
             LookupTable<Integer> joinAddressLookupTable = copyMissingJoinAddresses();
-            copyPing(serverIdLookupTable, userIdLookupTable);
-            copyTps(serverIdLookupTable);
-            copyPluginVersions(serverIdLookupTable);
-            copySessions(serverIdLookupTable, userIdLookupTable, joinAddressLookupTable);
-            LookupTable<Integer> worldIdLookupTable = copyWorlds();
-            copyWorldTimes(serverIdLookupTable, userIdLookupTable, worldIdLookupTable);
-            copyKills();
-            copyGeolocations(userIdLookupTable);
-            copyNicknames();
-            copyAllowlistBounces(serverIdLookupTable);
-            copyAccessLog();
-            LookupTable<Integer> webGroupLookupTable = copyGroups();
-            LookupTable<Integer> webPermissionLookupTable = copyPermissions();
-            copyGroupsToPermissions(webGroupLookupTable, webPermissionLookupTable);
-            LookupTable<Integer> webUserIdLookupTable = copyWebUsers(webGroupLookupTable);
-            copyUserPreferences(webUserIdLookupTable);
+
+            copyInParallel(
+                    () -> {
+                        copySessions(serverIdLookupTable, userIdLookupTable, joinAddressLookupTable);
+                        LookupTable<Integer> worldIdLookupTable = copyWorlds();
+                        copyWorldTimes(serverIdLookupTable, userIdLookupTable, worldIdLookupTable);
+                        copyKills();
+                    },
+                    () -> {
+                        copyUserInfo(serverIdLookupTable, userIdLookupTable);
+                        copyPing(serverIdLookupTable, userIdLookupTable);
+                        copyGeolocations(userIdLookupTable);
+                    },
+                    () -> {
+                        copyTps(serverIdLookupTable);
+                        copyTpsRollups(TPSRollupTable.HOURLY_TABLE_NAME, serverIdLookupTable);
+                        copyTpsRollups(TPSRollupTable.DAILY_TABLE_NAME, serverIdLookupTable);
+                        copyPluginVersions(serverIdLookupTable);
+                        copyAllowlistBounces(serverIdLookupTable);
+                        copyNicknames();
+                    },
+                    () -> {
+                        copyAccessLog();
+                        LookupTable<Integer> webGroupLookupTable = copyGroups();
+                        LookupTable<Integer> webPermissionLookupTable = copyPermissions();
+                        copyGroupsToPermissions(webGroupLookupTable, webPermissionLookupTable);
+                        LookupTable<Integer> webUserIdLookupTable = copyWebUsers(webGroupLookupTable);
+                        copyUserPreferences(webUserIdLookupTable);
+                    }
+            );
             // TODO plan how to copy extension data https://github.com/plan-player-analytics/Plan/wiki/Database-Schema
 
+            finished = true;
             feedback.accept(locale.getString(CommandLang.PROGRESS_SUCCESS));
         } catch (CompletionException e) {
             feedback.accept(locale.getString(CommandLang.DB_COPY_ERROR, e.getMessage()));
@@ -167,16 +236,141 @@ public class DatabaseCopyProcessor implements CriticalRunnable {
         } catch (IllegalStateException e) {
             feedback.accept(locale.getString(CommandLang.DB_COPY_ABORT));
         } finally {
-            removeTemporaryTables();
+            readAheadExecutor.shutdown();
+            if (finished || !checkpointing) {
+                removeTemporaryTables();
+                if (checkpointing) {
+                    writeToDestination(inTransaction(CopyCheckpointTable.DROP_TABLE_STATEMENT));
+                }
+            } else {
+                feedback.accept(locale.getString(CommandLang.DB_COPY_RESUMABLE));
+            }
+            if (toDB instanceof SQLDB) {
+                ((SQLDB) toDB).getIdentityCache().invalidateAll();
+            }
             doAfter.run();
         }
     }
 
+    /**
+     * Identify the source database and the way it is copied, so that checkpoints are only used to continue the same copy.
+     *
+     * @return Hash of the source database type, location and copy strategies.
+     */
+    private String getSourceIdentity() {
+        String location = fromDB instanceof SQLDB ? ((SQLDB) fromDB).getLocation() : "";
+        String copyStrategies = strategies.stream()
+                .filter(strategy -> strategy != Strategy.START_FRESH)
+                .map(Strategy::name)
+                .collect(Collectors.joining(","));
+        return DigestUtils.sha256Hex(fromDB.getType().getName() + '|' + location + '|' + copyStrategies);
+    }
+
     private void removeTemporaryTables() {
-        toDB.executeInTransaction(SessionsTable.TemporaryIdLookupTable.DROP_TABLE_STATEMENT).join();
-        toDB.executeInTransaction("DROP TABLE IF EXISTS plan_world_times_batch").join();
-        toDB.executeInTransaction("DROP TABLE IF EXISTS plan_kills_batch").join();
-        toDB.executeTransaction(SessionsTable.Row.removeOldIdPatch()).join();
+        writeToDestination(inTransaction(SessionsTable.TemporaryIdLookupTable.DROP_TABLE_STATEMENT));
+        writeToDestination(inTransaction("DROP TABLE IF EXISTS plan_world_times_batch"));
+        writeToDestination(inTransaction("DROP TABLE IF EXISTS plan_kills_batch"));
+        writeToDestination(SessionsTable.Row.removeOldIdPatch());
+    }
+
+    private ExecutorService createExecutor(String namingPattern) {
+        return Executors.newFixedThreadPool(PARALLEL_COPIES, BasicThreadFactory.builder()
+                .namingPattern(namingPattern)
+                .build());
+    }
+
+    private void copyInParallel(Runnable... copies) {
+        ExecutorService copyExecutor = createExecutor("Plan DB Copy-pool-%d");
+        try {
+            CompletableFuture.allOf(Arrays.stream(copies)
+                    .map(copy -> CompletableFuture.runAsync(copy, copyExecutor))
+                    .toArray(CompletableFuture[]::new)
+            ).join();
+        } finally {
+            copyExecutor.shutdown();
+        }
+    }
+
+    /**
+     * Copy a table in batches of {@link #ROW_LIMIT} rows, continuing after the checkpoint of an interrupted copy.
+     * <p>
+     * Next batch is read from the source database while the previous one is being written to the destination.
+     *
+     * @param tableName Name of the table, used for progress and checkpoints.
+     * @param fetchRows Query for the rows after an id.
+     * @param getId     Id of a row in the source database.
+     * @param write     Maps the rows to destination ids and returns the transaction that stores them.
+     * @param <T>       Type of the row.
+     */
+    private <T> void copyInBatches(String tableName, IntFunction<Query<List<T>>> fetchRows, ToIntFunction<T> getId, Function<List<T>, Transaction> write) {
+        int lastId = checkpoints.getOrDefault(tableName, 0);
+        if (lastId == DONE_SIGNAL) return;
+
+        logCopyMessage(tableName);
+        List<T> rows = readAhead(fetchRows.apply(lastId)).join();
+        while (!rows.isEmpty()) {
+            lastId = getId.applyAsInt(rows.get(rows.size() - 1));
+            CompletableFuture<List<T>> nextBatch = rows.size() < ROW_LIMIT
+                    ? CompletableFuture.completedFuture(Collections.emptyList())
+                    : readAhead(fetchRows.apply(lastId));
+
+            int count = rows.size();
+            writeBatch(tableName, lastId, write.apply(rows));
+            logProgress(count, tableName);
+            rows = nextBatch.join();
+        }
+        logCopyFinished(tableName);
+    }
+
+    private <T> CompletableFuture<T> readAhead(Query<T> query) {
+        return CompletableFuture.supplyAsync(() -> fromDB.query(query), readAheadExecutor);
+    }
+
+    /**
+     * Write a batch to the destination database, checkpointing the last copied id in the same transaction.
+     *
+     * @param tableName Name of the copied table.
+     * @param lastId    Last copied id in the source database, or {@link #DONE_SIGNAL} if the table was copied.
+     * @param batch     Transaction that stores the batch.
+     */
+    private void writeBatch(String tableName, int lastId, Transaction batch) {
+        writeToDestination(new Transaction() {
+            @Override
+            protected void performOperations() {
+                executeOther(batch);
+                if (checkpointing) {
+                    execute(CopyCheckpointTable.removeCheckpoint(tableName));
+                    execute(CopyCheckpointTable.storeCheckpoint(source, tableName, lastId));
+                }
+            }
+        });
+    }
+
+    private void writeToDestination(Transaction transaction) {
+        // Destination database might execute transactions on the calling thread, so parallel copies write one at a time.
+        synchronized (destinationLock) {
+            toDB.executeTransaction(transaction).join();
+        }
+    }
+
+    private static Transaction inTransaction(String sql) {
+        return new Transaction() {
+            @Override
+            protected void performOperations() {
+                execute(sql);
+            }
+        };
+    }
+
+    private static Transaction inTransaction(Executable... executables) {
+        return new Transaction() {
+            @Override
+            protected void performOperations() {
+                for (Executable executable : executables) {
+                    execute(executable);
+                }
+            }
+        };
     }
 
     private LookupTable<Integer> copyGroups() {
@@ -185,8 +379,9 @@ public class DatabaseCopyProcessor implements CriticalRunnable {
                 .stream().filter(Predicate.not(lookupTable::contains))
                 .collect(Collectors.toList());
         logCopyMessage(WebGroupTable.TABLE_NAME);
-        toDB.executeInTransaction(LargeStoreQueries.storeGroupNames(groups)).join();
-        logProgress(tableCounts.get(WebGroupTable.TABLE_NAME), WebGroupTable.TABLE_NAME, false);
+        writeToDestination(inTransaction(LargeStoreQueries.storeGroupNames(groups)));
+        logProgress(tableCounts.get(WebGroupTable.TABLE_NAME), WebGroupTable.TABLE_NAME);
+        logCopyFinished(WebGroupTable.TABLE_NAME);
         return toDB.query(LookupTableQueries.webGroupLookupTable())
                 .constructIdToIdLookupTable(fromDB.query(LookupTableQueries.webGroupLookupTable()));
     }
@@ -197,8 +392,9 @@ public class DatabaseCopyProcessor implements CriticalRunnable {
                 .stream().filter(Predicate.not(lookupTable::contains))
                 .collect(Collectors.toList());
         logCopyMessage(WebPermissionTable.TABLE_NAME);
-        toDB.executeInTransaction(LargeStoreQueries.storePermissions(permissions)).join();
-        logProgress(tableCounts.get(WebPermissionTable.TABLE_NAME), WebPermissionTable.TABLE_NAME, false);
+        writeToDestination(inTransaction(LargeStoreQueries.storePermissions(permissions)));
+        logProgress(tableCounts.get(WebPermissionTable.TABLE_NAME), WebPermissionTable.TABLE_NAME);
+        logCopyFinished(WebPermissionTable.TABLE_NAME);
         return toDB.query(LookupTableQueries.webPermissionLookupTable())
                 .constructIdToIdLookupTable(fromDB.query(LookupTableQueries.webPermissionLookupTable()));
     }
@@ -210,17 +406,20 @@ public class DatabaseCopyProcessor implements CriticalRunnable {
         logCopyMessage(ServerTable.TABLE_NAME);
         for (Server server : servers) {
             if (serverLookupTable.find(server.getUuid()).isEmpty()) {
-                toDB.executeTransaction(new StoreServerInformationTransaction(server)).join();
+                writeToDestination(new StoreServerInformationTransaction(server));
+            } else if (resuming) {
+                // Server was copied before the copy was interrupted.
+                continue;
             } else if (strategies.contains(Strategy.SERVER_UUID_CONFLICT_SWAP_UUID)) {
                 ServerUUID newUUID = ServerUUID.randomUUID();
                 serverUuidLookupTable.put(server.getUuid(), newUUID);
                 feedback.accept(locale.getString(CommandLang.DB_COPY_CONFLICT_SWAP, server.getUuid(), newUUID));
-                toDB.executeTransaction(new StoreServerInformationTransaction(
+                writeToDestination(new StoreServerInformationTransaction(
                         new Server(server.getId().orElse(null), newUUID, server.getName(), server.getWebAddress(), server.isProxy(), server.getPlanVersion())
-                )).join();
+                ));
             } else if (strategies.contains(Strategy.SERVER_UUID_CONFLICT_DELETE_SERVER)) {
                 feedback.accept(locale.getString(CommandLang.DB_COPY_CONFLICT_DELETE, server.getUuid()));
-                toDB.executeTransaction(new RemoveServerTransaction(server.getUuid())).join();
+                writeToDestination(new RemoveServerTransaction(server.getUuid()));
             } else {
                 // No strategy to deal with uuid conflict selected.
                 feedback.accept(locale.getString(CommandLang.DB_COPY_CONFLICT_INFO_1, server.getUuid()));
@@ -230,7 +429,8 @@ public class DatabaseCopyProcessor implements CriticalRunnable {
             }
         }
         if (!servers.isEmpty()) {
-            logProgress(servers.size(), ServerTable.TABLE_NAME, false);
+            logProgress(servers.size(), ServerTable.TABLE_NAME);
+            logCopyFinished(ServerTable.TABLE_NAME);
         }
 
         // Replaces Server UUID with the new ones
@@ -239,59 +439,53 @@ public class DatabaseCopyProcessor implements CriticalRunnable {
                 .constructIdToIdLookupTable(oldIds);
     }
 
-    private boolean logProgress(int count, String tableName, boolean empty) {
-        if (!empty) {
-            Integer of = tableCounts.get(tableName);
-            int total = progressTracker.getTotal();
-            if (of != total || progressTracker.isDone()) {
-                progressTracker.reset(of);
-            }
-            progressTracker.add(count);
-            if (progressTracker.shouldShowPercentage() || of != total) {
-                feedback.accept(locale.getString(CommandLang.DB_COPY_PROGRESS, tableName, progressTracker.getCount(), progressTracker.getTotal(), progressTracker.getPercentage()));
-                progressTracker.percentageShown();
-            }
-            return progressTracker.getCount() == of;
+    private void logCopyMessage(String tableName) {
+        progressTrackers.put(tableName, new ProgressTracker(tableCounts.getOrDefault(tableName, 0)));
+        copyStartTimes.put(tableName, System.nanoTime());
+        feedback.accept(locale.getString(CommandLang.DB_COPY_TABLE, tableName));
+    }
+
+    private void logProgress(int count, String tableName) {
+        ProgressTracker progressTracker = progressTrackers.get(tableName);
+        progressTracker.add(count);
+        if (progressTracker.shouldShowPercentage()) {
+            feedback.accept(locale.getString(CommandLang.DB_COPY_PROGRESS, tableName, progressTracker.getCount(), progressTracker.getTotal(), progressTracker.getPercentage()));
+            progressTracker.percentageShown();
         }
-        return progressTracker.isDone();
+    }
+
+    private void logCopyFinished(String tableName) {
+        int copied = progressTrackers.get(tableName).getCount();
+        if (copied == 0) return;
+
+        long tookMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - copyStartTimes.get(tableName));
+        long rowsPerSecond = tookMs > 0 ? copied * 1000L / tookMs : copied;
+        feedback.accept(locale.getString(CommandLang.DB_COPY_TABLE_DONE, tableName, copied, tookMs / 100 / 10.0, rowsPerSecond));
     }
 
     private LookupTable<Integer> copyMissingUsers() {
         LookupTable<UUID> playerLookupTable = toDB.query(LookupTableQueries.playerLookupTable());
 
-        logCopyMessage(UsersTable.TABLE_NAME);
-        batching(currentId -> {
-            List<BaseUser> found = fromDB.query(BaseUserQueries.fetchBaseUsers(currentId, ROW_LIMIT));
+        copyInBatches(UsersTable.TABLE_NAME, currentId -> BaseUserQueries.fetchBaseUsers(currentId, ROW_LIMIT), BaseUser::getId, found -> {
             Map<Boolean, List<BaseUser>> copied = found.stream()
                     .collect(Collectors.partitioningBy(user -> playerLookupTable.find(user.getUuid()).isPresent()));
             List<BaseUser> newUsers = copied.get(false);
-            toDB.executeInTransaction(LargeStoreQueries.insertBaseUsers(newUsers)).join();
             List<BaseUser> existingUsers = copied.get(true);
-            toDB.executeInTransaction(LargeStoreQueries.mergeBaseUsers(existingUsers, playerLookupTable)).join();
-            logProgress(found.size(), UsersTable.TABLE_NAME, found.isEmpty());
-            return progressTracker.isDone() ? DONE_SIGNAL : found.get(found.size() - 1).getId();
+            return inTransaction(
+                    LargeStoreQueries.insertBaseUsers(newUsers),
+                    LargeStoreQueries.mergeBaseUsers(existingUsers, playerLookupTable)
+            );
         });
 
         return toDB.query(LookupTableQueries.playerLookupTable())
                 .constructIdToIdLookupTable(fromDB.query(LookupTableQueries.playerLookupTable()));
     }
 
-    private void batching(IntFunction<Integer> batch) {
-        int currentId = 0;
-        while (currentId >= 0) {
-            currentId = batch.apply(currentId);
-        }
-    }
-
     private void copyUserInfo(LookupTable<Integer> serverIdLookupTable, LookupTable<Integer> userIdLookupTable) {
-        logCopyMessage(UserInfoTable.TABLE_NAME);
-        batching(currentId -> {
-            List<UserInfoTable.Row> rows = fromDB.query(UserInfoQueries.fetchRows(currentId, ROW_LIMIT));
+        copyInBatches(UserInfoTable.TABLE_NAME, currentId -> UserInfoQueries.fetchRows(currentId, ROW_LIMIT), UserInfoTable.Row::getId, rows -> {
             IdMapper.mapUserIds(rows, userIdLookupTable);
             IdMapper.mapServerIds(rows, serverIdLookupTable);
-            toDB.executeInTransaction(LargeStoreQueries.insertUserInfo(rows)).join();
-            logProgress(rows.size(), UserInfoTable.TABLE_NAME, rows.isEmpty());
-            return progressTracker.isDone() ? DONE_SIGNAL : rows.get(rows.size() - 1).getId();
+            return inTransaction(LargeStoreQueries.insertUserInfo(rows));
         });
     }
 
@@ -302,89 +496,87 @@ public class DatabaseCopyProcessor implements CriticalRunnable {
         List<JoinAddressTable.Row> newRows = rows.stream()
                 .filter(address -> joinAddressLookupTable.find(address.getJoinAddress()).isEmpty())
                 .collect(Collectors.toList());
-        toDB.executeInTransaction(LargeStoreQueries.insertJoinAddresses(newRows)).join();
+        writeToDestination(inTransaction(LargeStoreQueries.insertJoinAddresses(newRows)));
 
         LookupTable<String> oldLookupTable = new LookupTable<>();
         for (JoinAddressTable.Row row : rows) {
             oldLookupTable.put(row.getJoinAddress(), row.getId());
         }
         if (!rows.isEmpty()) {
-            logProgress(rows.size(), JoinAddressTable.TABLE_NAME, false);
+            logProgress(rows.size(), JoinAddressTable.TABLE_NAME);
+            logCopyFinished(JoinAddressTable.TABLE_NAME);
         }
 
         return toDB.query(LookupTableQueries.joinAddressLookupTable())
                 .constructIdToIdLookupTable(oldLookupTable);
     }
 
-    private void logCopyMessage(String tableName) {
-        feedback.accept(locale.getString(CommandLang.DB_COPY_TABLE, tableName));
-    }
-
     private void copyPing(LookupTable<Integer> serverIdLookupTable, LookupTable<Integer> userIdLookupTable) {
-        logCopyMessage(PingTable.TABLE_NAME);
-        batching(currentId -> {
-            List<PingTable.Row> rows = fromDB.query(PingQueries.fetchRows(currentId, ROW_LIMIT));
+        copyInBatches(PingTable.TABLE_NAME, currentId -> PingQueries.fetchRows(currentId, ROW_LIMIT), PingTable.Row::getId, rows -> {
             IdMapper.mapUserIds(rows, userIdLookupTable);
             IdMapper.mapServerIds(rows, serverIdLookupTable);
-            toDB.executeInTransaction(LargeStoreQueries.insertPing(rows)).join();
-            logProgress(rows.size(), PingTable.TABLE_NAME, rows.isEmpty());
-            return progressTracker.isDone() ? DONE_SIGNAL : rows.get(rows.size() - 1).getId();
+            return inTransaction(LargeStoreQueries.insertPing(rows));
         });
     }
 
     private void copyTps(LookupTable<Integer> serverIdLookupTable) {
-        logCopyMessage(TPSTable.TABLE_NAME);
-        batching(currentId -> {
-            List<TPSTable.Row> rows = fromDB.query(TPSQueries.fetchRows(currentId, ROW_LIMIT));
+        copyInBatches(TPSTable.TABLE_NAME, currentId -> TPSQueries.fetchRows(currentId, ROW_LIMIT), TPSTable.Row::getId, rows -> {
             IdMapper.mapServerIds(rows, serverIdLookupTable);
-            toDB.executeInTransaction(LargeStoreQueries.insertTps(rows)).join();
-            logProgress(rows.size(), TPSTable.TABLE_NAME, rows.isEmpty());
-            return progressTracker.isDone() ? DONE_SIGNAL : rows.get(rows.size() - 1).getId();
+            return inTransaction(LargeStoreQueries.insertTps(rows));
+        });
+
+        writeToDestination(new ServerEventsBackfillPatch());
+    }
+
+    private void copyTpsRollups(String rollupTable, LookupTable<Integer> serverIdLookupTable) {
+        // Rollups are copied instead of rebuilt, as they keep history of samples that have been removed from the source
+        copyInBatches(rollupTable, currentId -> TPSQueries.fetchRollupRows(rollupTable, currentId, ROW_LIMIT), TPSRollupTable.Row::getId, rows -> {
+            IdMapper.mapServerIds(rows, serverIdLookupTable);
+            return inTransaction(LargeStoreQueries.insertTpsRollups(rollupTable, rows));
         });
     }
 
     private void copyPluginVersions(LookupTable<Integer> serverIdLookupTable) {
-        logCopyMessage(PluginVersionTable.TABLE_NAME);
-        batching(currentId -> {
-            List<PluginVersionTable.Row> rows = fromDB.query(PluginMetadataQueries.fetchRows(currentId, ROW_LIMIT));
+        copyInBatches(PluginVersionTable.TABLE_NAME, currentId -> PluginMetadataQueries.fetchRows(currentId, ROW_LIMIT), PluginVersionTable.Row::getId, rows -> {
             IdMapper.mapServerIds(rows, serverIdLookupTable);
-            toDB.executeInTransaction(LargeStoreQueries.insertPluginVersions(rows)).join();
-            logProgress(rows.size(), PluginVersionTable.TABLE_NAME, rows.isEmpty());
-            return progressTracker.isDone() ? DONE_SIGNAL : rows.get(rows.size() - 1).getId();
+            return inTransaction(LargeStoreQueries.insertPluginVersions(rows));
         });
     }
 
     private void copySessions(LookupTable<Integer> serverIdLookupTable, LookupTable<Integer> userIdLookupTable, LookupTable<Integer> joinAddressLookupTable) {
-        toDB.executeTransaction(new CreateTemporarySessionIdLookupTable()).join();
-        toDB.executeTransaction(SessionsTable.Row.addOldIdPatch()).join();
+        if (checkpoints.getOrDefault(SessionsTable.TABLE_NAME, 0) == DONE_SIGNAL) return;
 
-        logCopyMessage(SessionsTable.TABLE_NAME);
-        batching(currentId -> {
-            List<SessionsTable.Row> rows = fromDB.query(SessionQueries.fetchRows(currentId, ROW_LIMIT));
+        writeToDestination(new CreateTemporarySessionIdLookupTable());
+        writeToDestination(SessionsTable.Row.addOldIdPatch());
+
+        copyInBatches(SessionsTable.TABLE_NAME, currentId -> SessionQueries.fetchRows(currentId, ROW_LIMIT), SessionsTable.Row::getId, rows -> {
             IdMapper.mapUserIds(rows, userIdLookupTable);
             IdMapper.mapServerIds(rows, serverIdLookupTable);
             IdMapper.mapJoinAddressIds(rows, joinAddressLookupTable);
-            toDB.executeInTransaction(LargeStoreQueries.insertSessionsWithOldIds(rows)).join();
-            logProgress(rows.size(), SessionsTable.TABLE_NAME, rows.isEmpty());
-            return progressTracker.isDone() ? DONE_SIGNAL : rows.get(rows.size() - 1).getId();
+            return inTransaction(LargeStoreQueries.insertSessionsWithOldIds(rows));
         });
 
-        toDB.executeInTransaction(SessionsTable.TemporaryIdLookupTable.INSERT_ALL_STATEMENT).join();
+        // Old ids can only be inserted to the lookup table once, so the table is marked as copied in the same transaction.
+        writeBatch(SessionsTable.TABLE_NAME, DONE_SIGNAL, new Transaction() {
+            @Override
+            protected void performOperations() {
+                execute(SessionsTable.TemporaryIdLookupTable.INSERT_ALL_STATEMENT);
+                executeOther(new RebuildSessionBucketsTransaction());
+                // Copied sessions change activity of past weeks in an existing database.
+                execute(ActivitySnapshotTable.DELETE_ALL_STATEMENT);
+            }
+        });
     }
 
     private LookupTable<Integer> copyWorlds() {
         LookupTable<World> worldLookupTable = toDB.query(LookupTableQueries.worldLookupTable());
-        logCopyMessage(WorldTable.TABLE_NAME);
-        batching(currentId -> {
-            List<WorldTable.Row> rows = fromDB.query(WorldTimesQueries.fetchWorldRows(currentId, ROW_LIMIT))
-                    .stream().filter(row -> !worldLookupTable.contains(world ->
+        copyInBatches(WorldTable.TABLE_NAME, currentId -> WorldTimesQueries.fetchWorldRows(currentId, ROW_LIMIT), WorldTable.Row::getId, found -> {
+            List<WorldTable.Row> rows = found.stream().filter(row -> !worldLookupTable.contains(world ->
                             world.getWorldName().equals(row.getName())
                                     && world.getServerUUID().equals(row.getServerUUID())))
                     .collect(Collectors.toList());
             mapServerUUIDs(rows);
-            toDB.executeInTransaction(LargeStoreQueries.insertWorlds(rows)).join();
-            logProgress(rows.size(), WorldTable.TABLE_NAME, rows.isEmpty());
-            return progressTracker.isDone() ? DONE_SIGNAL : rows.get(rows.size() - 1).getId();
+            return inTransaction(LargeStoreQueries.insertWorlds(rows));
         });
         return toDB.query(LookupTableQueries.worldLookupTable())
                 .constructIdToIdLookupTable(fromDB.query(LookupTableQueries.worldLookupTable()));
@@ -395,72 +587,49 @@ public class DatabaseCopyProcessor implements CriticalRunnable {
     }
 
     private void copyWorldTimes(LookupTable<Integer> serverIdLookupTable, LookupTable<Integer> userIdLookupTable, LookupTable<Integer> worldIdLookupTable) {
-        logCopyMessage(WorldTimesTable.TABLE_NAME);
-        batching(currentId -> {
-            List<WorldTimesTable.Row> rows = fromDB.query(WorldTimesQueries.fetchRows(currentId, ROW_LIMIT));
+        copyInBatches(WorldTimesTable.TABLE_NAME, currentId -> WorldTimesQueries.fetchRows(currentId, ROW_LIMIT), WorldTimesTable.Row::getId, rows -> {
             IdMapper.mapUserIds(rows, userIdLookupTable);
             IdMapper.mapServerIds(rows, serverIdLookupTable);
             IdMapper.mapWorldIds(rows, worldIdLookupTable);
-            toDB.executeTransaction(LargeStoreQueries.insertWorldTimesWithOldSessionIds(rows)).join();
-            logProgress(rows.size(), WorldTimesTable.TABLE_NAME, rows.isEmpty());
-            return progressTracker.isDone() ? DONE_SIGNAL : rows.get(rows.size() - 1).getId();
+            return LargeStoreQueries.insertWorldTimesWithOldSessionIds(rows);
         });
     }
 
     private void copyKills() {
-        logCopyMessage(KillsTable.TABLE_NAME);
-        batching(currentId -> {
-            List<KillsTable.Row> rows = fromDB.query(KillQueries.fetchRows(currentId, ROW_LIMIT));
+        copyInBatches(KillsTable.TABLE_NAME, currentId -> KillQueries.fetchRows(currentId, ROW_LIMIT), KillsTable.Row::getId, rows -> {
             mapServerUUIDs(rows);
-            toDB.executeTransaction(LargeStoreQueries.insertKillsWithOldSessionIds(rows)).join();
-            logProgress(rows.size(), KillsTable.TABLE_NAME, rows.isEmpty());
-            return progressTracker.isDone() ? DONE_SIGNAL : rows.get(rows.size() - 1).getId();
+            return LargeStoreQueries.insertKillsWithOldSessionIds(rows);
         });
+
+        writeToDestination(new RebuildPlayerTotalsTransaction());
     }
 
     private void copyAccessLog() {
-        logCopyMessage(AccessLogTable.TABLE_NAME);
-        batching(currentId -> {
-            List<AccessLogTable.Row> rows = fromDB.query(AccessLogTable.fetchRows(currentId, ROW_LIMIT));
-            toDB.executeInTransaction(LargeStoreQueries.insertAccessLog(rows)).join();
-            logProgress(rows.size(), AccessLogTable.TABLE_NAME, rows.isEmpty());
-            return progressTracker.isDone() ? DONE_SIGNAL : rows.get(rows.size() - 1).getId();
-        });
+        copyInBatches(AccessLogTable.TABLE_NAME, currentId -> AccessLogTable.fetchRows(currentId, ROW_LIMIT), AccessLogTable.Row::getId,
+                rows -> inTransaction(LargeStoreQueries.insertAccessLog(rows)));
     }
 
     private void copyGeolocations(LookupTable<Integer> userIdLookupTable) {
         createUniqueConstraint(GeoInfoTable.TABLE_NAME, GeoInfoTable.USER_ID + ',' + GeoInfoTable.GEOLOCATION);
-        logCopyMessage(GeoInfoTable.TABLE_NAME);
-        batching(currentId -> {
-            List<GeoInfoTable.Row> rows = fromDB.query(GeoInfoTable.fetchRows(currentId, ROW_LIMIT));
+        copyInBatches(GeoInfoTable.TABLE_NAME, currentId -> GeoInfoTable.fetchRows(currentId, ROW_LIMIT), GeoInfoTable.Row::getId, rows -> {
             IdMapper.mapUserIds(rows, userIdLookupTable);
-            toDB.executeInTransaction(LargeStoreQueries.upsertGeoInfo(rows, toDB.getType())).join();
-            logProgress(rows.size(), GeoInfoTable.TABLE_NAME, rows.isEmpty());
-            return progressTracker.isDone() ? DONE_SIGNAL : rows.get(rows.size() - 1).getId();
+            return inTransaction(LargeStoreQueries.upsertGeoInfo(rows, toDB.getType()));
         });
     }
 
     private void copyNicknames() {
         createUniqueConstraint(NicknamesTable.TABLE_NAME, NicknamesTable.SERVER_UUID + ',' + NicknamesTable.USER_UUID + ',' + NicknamesTable.NICKNAME);
-        logCopyMessage(NicknamesTable.TABLE_NAME);
-        batching(currentId -> {
-            List<NicknamesTable.Row> rows = fromDB.query(NicknamesTable.fetchRows(currentId, ROW_LIMIT));
+        copyInBatches(NicknamesTable.TABLE_NAME, currentId -> NicknamesTable.fetchRows(currentId, ROW_LIMIT), NicknamesTable.Row::getId, rows -> {
             mapServerUUIDs(rows);
-            toDB.executeInTransaction(LargeStoreQueries.upsertNicknames(rows, toDB.getType())).join();
-            logProgress(rows.size(), NicknamesTable.TABLE_NAME, rows.isEmpty());
-            return progressTracker.isDone() ? DONE_SIGNAL : rows.get(rows.size() - 1).getId();
+            return inTransaction(LargeStoreQueries.upsertNicknames(rows, toDB.getType()));
         });
     }
 
     private void copyAllowlistBounces(LookupTable<Integer> serverIdLookupTable) {
         createUniqueConstraint(AllowlistBounceTable.TABLE_NAME, AllowlistBounceTable.UUID + ',' + AllowlistBounceTable.SERVER_ID);
-        logCopyMessage(AllowlistBounceTable.TABLE_NAME);
-        batching(currentId -> {
-            List<AllowlistBounceTable.Row> rows = fromDB.query(AllowlistBounceTable.fetchRows(currentId, ROW_LIMIT));
+        copyInBatches(AllowlistBounceTable.TABLE_NAME, currentId -> AllowlistBounceTable.fetchRows(currentId, ROW_LIMIT), AllowlistBounceTable.Row::getId, rows -> {
             IdMapper.mapServerIds(rows, serverIdLookupTable);
-            toDB.executeInTransaction(LargeStoreQueries.upsertAllowlistBounces(rows, toDB.getType())).join();
-            logProgress(rows.size(), AllowlistBounceTable.TABLE_NAME, rows.isEmpty());
-            return progressTracker.isDone() ? DONE_SIGNAL : rows.get(rows.size() - 1).getId();
+            return inTransaction(LargeStoreQueries.upsertAllowlistBounces(rows, toDB.getType()));
         });
     }
 
@@ -478,8 +647,9 @@ public class DatabaseCopyProcessor implements CriticalRunnable {
         });
 
         logCopyMessage(WebGroupToPermissionTable.TABLE_NAME);
-        toDB.executeInTransaction(LargeStoreQueries.storeGroupPermissionIdRelations(idsToCopy)).join();
-        logProgress(tableCounts.get(WebGroupToPermissionTable.TABLE_NAME), WebGroupToPermissionTable.TABLE_NAME, false);
+        writeToDestination(inTransaction(LargeStoreQueries.storeGroupPermissionIdRelations(idsToCopy)));
+        logProgress(tableCounts.get(WebGroupToPermissionTable.TABLE_NAME), WebGroupToPermissionTable.TABLE_NAME);
+        logCopyFinished(WebGroupToPermissionTable.TABLE_NAME);
         if (toCopy == 0) {
             feedback.accept(locale.getString(CommandLang.DB_COPY_ALL_DATA_EXISTED));
         }
@@ -487,30 +657,21 @@ public class DatabaseCopyProcessor implements CriticalRunnable {
 
     private LookupTable<Integer> copyWebUsers(LookupTable<Integer> webGroupLookupTable) {
         LookupTable<String> lookupTable = toDB.query(LookupTableQueries.webUserLookupTable());
-        logCopyMessage(SecurityTable.TABLE_NAME);
-        batching(currentId -> {
-            List<SecurityTable.Row> rows = fromDB.query(WebUserQueries.fetchRows(currentId, ROW_LIMIT));
+        copyInBatches(SecurityTable.TABLE_NAME, currentId -> WebUserQueries.fetchRows(currentId, ROW_LIMIT), SecurityTable.Row::getId, rows -> {
             IdMapper.mapGroupIds(rows, webGroupLookupTable);
             rows.removeIf(row -> lookupTable.contains(row.getUsername()));
-            toDB.executeInTransaction(LargeStoreQueries.storeUsers(rows)).join();
-            logProgress(tableCounts.get(SessionsTable.TABLE_NAME), SecurityTable.TABLE_NAME, false);
-            return progressTracker.isDone() ? DONE_SIGNAL : rows.get(rows.size() - 1).getId();
+            return inTransaction(LargeStoreQueries.storeUsers(rows));
         });
         return toDB.query(LookupTableQueries.webUserLookupTable())
                 .constructIdToIdLookupTable(fromDB.query(LookupTableQueries.webUserLookupTable()));
     }
 
     private void copyUserPreferences(LookupTable<Integer> webUserIdLookupTable) {
-        logCopyMessage(WebUserPreferencesTable.TABLE_NAME);
         Set<Integer> existingIds = toDB.query(WebUserQueries.fetchPreferencesUserIds());
-        batching(currentId -> {
-            List<WebUserPreferencesTable.Row> rows = fromDB.query(WebUserPreferencesTable.fetchRows(currentId, ROW_LIMIT));
-            int toCopy = rows.size();
+        copyInBatches(WebUserPreferencesTable.TABLE_NAME, currentId -> WebUserPreferencesTable.fetchRows(currentId, ROW_LIMIT), WebUserPreferencesTable.Row::getId, rows -> {
             IdMapper.mapUserIds(rows, webUserIdLookupTable);
             rows.removeIf(row -> existingIds.contains(row.getUserId())); // Don't override
-            toDB.executeInTransaction(LargeStoreQueries.insertPreferences(rows)).join();
-            logProgress(toCopy, WebUserPreferencesTable.TABLE_NAME, toCopy != 0);
-            return progressTracker.isDone() ? DONE_SIGNAL : rows.get(rows.size() - 1).getId();
+            return inTransaction(LargeStoreQueries.insertPreferences(rows));
         });
     }
 
@@ -523,9 +684,9 @@ public class DatabaseCopyProcessor implements CriticalRunnable {
         if (isMySQL) {
             boolean indexExists = toDB.query(MySQLSchemaQueries.doesIndexExist(indexName, tableName));
             if (indexExists) return;
-            toDB.executeInTransaction(uniqueConstraintMySQL).join();
+            writeToDestination(inTransaction(uniqueConstraintMySQL));
         } else {
-            toDB.executeInTransaction(uniqueConstraintSQLite).join();
+            writeToDestination(inTransaction(uniqueConstraintSQLite));
         }
     }
 
@@ -536,6 +697,10 @@ public class DatabaseCopyProcessor implements CriticalRunnable {
     public enum Strategy {
         CLEAR_DESTINATION_DATABASE,
         SERVER_UUID_CONFLICT_SWAP_UUID,
-        SERVER_UUID_CONFLICT_DELETE_SERVER
+        SERVER_UUID_CONFLICT_DELETE_SERVER,
+        /**
+         * Discard checkpoints of an interrupted copy instead of continuing it.
+         */
+        START_FRESH
     }
 }
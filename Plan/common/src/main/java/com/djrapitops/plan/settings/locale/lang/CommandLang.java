@@ -89,6 +89,7 @@ public enum CommandLang implements Lang {
     INFO_UPDATE("command.subcommand.info.update", "Cmd Info - Update", "  §2Update Available: §f${0}"),
     INFO_DATABASE("command.subcommand.info.database", "Cmd Info - Database", "  §2Current Database: §f${0}"),
     INFO_DATABASE_QUEUE("command.subcommand.info.databaseQueue", "Cmd Info - Database Queue", "  §2Database Queue size: §f${0}"),
+    INFO_EXTENSIONS("command.subcommand.info.extensions", "Cmd Info - Extensions", "  §2Extensions: §f${0}"),
     INFO_PROXY_CONNECTION("command.subcommand.info.proxy", "Cmd Info - Bungee Connection", "  §2Connected to Proxy: §f${0}"),
     INFO_SERVER_UUID("command.subcommand.info.serverUUID", "Cmd Info - Server UUID", "  §2Server UUID: §f${0}"),
 
@@ -121,6 +122,10 @@ public enum CommandLang implements Lang {
     DB_COPY_CONFLICT_INFO_3("command.database.copy.conflict.info3", "  --on-conflict-delete - deletes the server from destination db (Use when previous merge failed)"),
     DB_COPY_TABLE("command.database.copy.table", "Copying ${0}.."),
     DB_COPY_PROGRESS("command.database.copy.progress", "  ${0}: ${1}/${2} (${3}%) copied."),
+    DB_COPY_TABLE_DONE("command.database.copy.tableDone", "  ${0}: ${1} rows copied in ${2}s (${3} rows/s)."),
+    DB_COPY_RESUME("command.database.copy.resume", "Continuing an earlier copy from ${0} that was interrupted.."),
+    DB_COPY_RESUME_MISMATCH("command.database.copy.resumeMismatch", "Destination has an interrupted copy from a different source, run the command again with --fresh to discard it and start over."),
+    DB_COPY_RESUMABLE("command.database.copy.resumable", "Copied data was kept, run the same command again to continue from where the copy stopped."),
     DB_COPY_ALL_DATA_EXISTED("command.database.copy.allDataExisted", "  all the data already existed."),
     DB_COPY_TRACK_PLAYER_START("command.database.copy.trackPlayerStart", "Database copy started by player ${0} - process identifier: ${1}"),
 
@@ -49,6 +49,7 @@ public enum HelpLang implements Lang {
     DESC_ARG_DB_REMOVE("command.argument.dbTypeRemove.description", "CMD Arg - db type clear", "Type of the database to remove all data from."),
     DESC_ARG_DB_MERGE_DELETE("command.argument.dbMergeStrategyDelete", "DESC_ARG_DB_MERGE_DELETE", "Delete conflicting server from destination database"),
     DESC_ARG_DB_MERGE_SWAP("command.argument.dbMergeStrategySwap", "DESC_ARG_DB_MERGE_SWAP", "Swap UUID of inserted conflicting server in destination database"),
+    DESC_ARG_DB_COPY_FRESH("command.argument.dbCopyFresh", "DESC_ARG_DB_COPY_FRESH", "Discard an interrupted copy instead of continuing it"),
 
     SERVER("command.help.server.description", "Command Help - /plan server", "View the Server Page"),
     SERVERS("command.help.servers.description", "Command Help - /plan servers", "List servers in Database"),
@@ -79,7 +80,8 @@ public enum HelpLang implements Lang {
     GROUPS("command.help.groups.description", "Command Help - /plan groups", "List web permission groups."),
     LOGOUT("command.help.logout.description", "Command Help - /plan logout", "Log out other users from the panel."),
     JOIN_ADDRESS_REMOVAL("command.help.removejoinaddresses.description", "Command Help - /plan db removejoinaddresses", "Remove join addresses of a specified server"),
-    ONLINE_UUID_MIGRATION("command.help.migrateToOnlineUuids.description", "Command Help - /plan db migratetoonlineuuids", "Migrate offline uuid data to online uuids");
+    ONLINE_UUID_MIGRATION("command.help.migrateToOnlineUuids.description", "Command Help - /plan db migratetoonlineuuids", "Migrate offline uuid data to online uuids"),
+    DB_REPAIR("command.help.dbRepair.description", "Command Help - /plan db repair", "Recalculate player totals and session summaries from raw data");
 
     private final String identifier;
     private final String key;
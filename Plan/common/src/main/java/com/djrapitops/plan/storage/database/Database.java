@@ -163,6 +163,13 @@ public interface Database {
 
     int getTransactionQueueSize();
 
+    /**
+     * Get queue depth and wait time statistics of each {@link com.djrapitops.plan.storage.database.transactions.TransactionLane}.
+     *
+     * @return Statistics of each lane.
+     */
+    Collection<TransactionLaneStatistics> getTransactionLaneStatistics();
+
     /**
      * Possible State changes:
      * CLOSED to PATCHING (Database init),
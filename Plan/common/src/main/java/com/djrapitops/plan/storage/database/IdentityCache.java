@@ -0,0 +1,82 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database;
+
+import com.djrapitops.plan.identification.ServerUUID;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory cache for plan_servers and plan_users row ids.
+ * <p>
+ * Allows statements to bind integer ids directly instead of looking the id up with a sub-query on every insert.
+ * Only ids that have been committed to the database should be placed here, see
+ * {@link com.djrapitops.plan.storage.database.transactions.Transaction#getServerId(ServerUUID)}.
+ *
+ * @author AuroraLS3
+ */
+public class IdentityCache {
+
+    private static final int MAX_CACHED_USERS = 10_000;
+
+    private final Map<ServerUUID, Integer> serverIds;
+    private final Cache<UUID, Integer> userIds;
+
+    public IdentityCache() {
+        serverIds = new ConcurrentHashMap<>();
+        // Players might be removed by another server sharing the database, so entries are not kept forever.
+        userIds = Caffeine.newBuilder()
+                .maximumSize(MAX_CACHED_USERS)
+                .expireAfterAccess(30, TimeUnit.MINUTES)
+                .build();
+    }
+
+    public Optional<Integer> getServerId(ServerUUID serverUUID) {
+        return Optional.ofNullable(serverIds.get(serverUUID));
+    }
+
+    public Optional<Integer> getUserId(UUID playerUUID) {
+        return Optional.ofNullable(userIds.getIfPresent(playerUUID));
+    }
+
+    public void cacheServerId(ServerUUID serverUUID, int serverId) {
+        serverIds.put(serverUUID, serverId);
+    }
+
+    public void cacheUserId(UUID playerUUID, int userId) {
+        userIds.put(playerUUID, userId);
+    }
+
+    public void invalidateServer(ServerUUID serverUUID) {
+        serverIds.remove(serverUUID);
+    }
+
+    public void invalidateUser(UUID playerUUID) {
+        userIds.invalidate(playerUUID);
+    }
+
+    public void invalidateAll() {
+        serverIds.clear();
+        userIds.invalidateAll();
+    }
+}
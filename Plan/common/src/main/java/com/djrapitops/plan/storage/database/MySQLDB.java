@@ -90,6 +90,16 @@ public class MySQLDB extends SQLDB {
         return DBType.MYSQL;
     }
 
+    @Override
+    public String getLocation() {
+        return config.get(DatabaseSettings.MYSQL_HOST) + ':' + config.get(DatabaseSettings.MYSQL_PORT) + '/' + config.get(DatabaseSettings.MYSQL_DATABASE);
+    }
+
+    @Override
+    protected boolean supportsConcurrentTransactionLanes() {
+        return true;
+    }
+
     @Override
     protected List<String> getDependencyResource() {
         try {
@@ -154,6 +164,7 @@ public class MySQLDB extends SQLDB {
             hikariConfig.setUsername(username);
             hikariConfig.setPassword(password);
             hikariConfig.addDataSourceProperty("connectionInitSql", "set time_zone = '+00:00'");
+            addPreparedStatementCacheProperties(hikariConfig);
 
             hikariConfig.setPoolName("Plan Connection Pool-" + increment);
             increment();
@@ -178,6 +189,25 @@ public class MySQLDB extends SQLDB {
         }
     }
 
+    /**
+     * Lets the driver reuse prepared statements of the same SQL on each pooled connection.
+     * <p>
+     * The cache belongs to the physical connection, so it is discarded when Hikari retires the connection.
+     *
+     * @param hikariConfig Config to add the properties to.
+     */
+    private void addPreparedStatementCacheProperties(HikariConfig hikariConfig) {
+        hikariConfig.addDataSourceProperty("cachePrepStmts", "true");
+        hikariConfig.addDataSourceProperty("prepStmtCacheSize", "250");
+        hikariConfig.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
+        hikariConfig.addDataSourceProperty("useServerPrepStmts", "true");
+        if (!useMariaDbDriver) {
+            hikariConfig.addDataSourceProperty("useLocalSessionState", "true");
+            hikariConfig.addDataSourceProperty("cacheResultSetMetadata", "true");
+            hikariConfig.addDataSourceProperty("cacheServerConfiguration", "true");
+        }
+    }
+
     private void checkMariaDBVersionIncompatibility() {
         executeTransaction(new OperationCriticalTransaction() {
             @Override
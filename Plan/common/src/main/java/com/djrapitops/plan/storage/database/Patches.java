@@ -92,7 +92,13 @@ public class Patches {
                 new TPSTableIdPatch(),
                 new DeleteUrlOpenEventsFromExtensionComponentsPatch(),
                 new CookieTableIPLengthPatch(),
-                new DropSettingsTablePatch()
+                new DropSettingsTablePatch(),
+                new SessionBucketsPatch(),
+                new UsersLastSeenPatch(),
+                new PlayerTotalsPatch(),
+                new ServerEventsBackfillPatch(),
+                new TPSRollupValidCountsPatch(),
+                new SummaryTablesUniqueIndexPatch()
         };
     }
 }
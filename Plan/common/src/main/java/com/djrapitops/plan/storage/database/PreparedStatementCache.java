@@ -0,0 +1,180 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Wraps a {@link Connection} so that {@link PreparedStatement}s of the same SQL are only prepared once per connection.
+ * <p>
+ * Closing a statement given by the wrapped connection returns it to the cache instead of closing it.
+ * Cached statements are closed when the cache is full or when the connection is closed.
+ * <p>
+ * Used for SQLite, since MySQL drivers do the same with {@code cachePrepStmts}.
+ *
+ * @author AuroraLS3
+ */
+public class PreparedStatementCache implements InvocationHandler {
+
+    static final int MAX_CACHED_STATEMENTS = 128;
+
+    private final Connection connection;
+    private final Map<String, PreparedStatement> idleStatements;
+
+    private PreparedStatementCache(Connection connection) {
+        this.connection = connection;
+        this.idleStatements = new LinkedHashMap<>(32, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                if (size() > MAX_CACHED_STATEMENTS) {
+                    closeQuietly(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public static Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+                PreparedStatementCache.class.getClassLoader(),
+                new Class[]{Connection.class},
+                new PreparedStatementCache(connection)
+        );
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException ignored) {
+            // Statement is being discarded
+        }
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        String methodName = method.getName();
+        if ("prepareStatement".equals(methodName) && args != null && args.length == 1) {
+            return prepareStatement((String) args[0]);
+        }
+        if ("close".equals(methodName)) {
+            closeCachedStatements();
+        }
+        return invokeOn(connection, method, args);
+    }
+
+    private static Object invokeOn(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private PreparedStatement prepareStatement(String sql) throws SQLException {
+        PreparedStatement statement;
+        synchronized (idleStatements) {
+            // Removed while in use, so that nested use of the same SQL gets its own statement.
+            statement = idleStatements.remove(sql);
+        }
+        if (statement != null && !reset(statement)) {
+            statement = null;
+        }
+        if (statement == null) {
+            statement = connection.prepareStatement(sql);
+        }
+        return (PreparedStatement) Proxy.newProxyInstance(
+                PreparedStatementCache.class.getClassLoader(),
+                new Class[]{PreparedStatement.class},
+                new CachedStatement(sql, statement)
+        );
+    }
+
+    /**
+     * Reset state left by the previous user of the statement.
+     *
+     * @param statement Statement taken from the cache.
+     * @return false if the statement can not be reused.
+     */
+    private static boolean reset(PreparedStatement statement) {
+        try {
+            if (statement.isClosed()) return false;
+            // Previous user might have set fewer parameters or left a failed batch behind
+            statement.clearParameters();
+            statement.clearBatch();
+            statement.clearWarnings();
+            return true;
+        } catch (SQLException statementInBadState) {
+            closeQuietly(statement);
+            return false;
+        }
+    }
+
+    private void returnToCache(String sql, PreparedStatement statement) {
+        PreparedStatement previous;
+        synchronized (idleStatements) {
+            previous = idleStatements.put(sql, statement);
+        }
+        if (previous != null) closeQuietly(previous);
+    }
+
+    private void closeCachedStatements() {
+        List<PreparedStatement> statements;
+        synchronized (idleStatements) {
+            statements = new ArrayList<>(idleStatements.values());
+            idleStatements.clear();
+        }
+        statements.forEach(PreparedStatementCache::closeQuietly);
+    }
+
+    private class CachedStatement implements InvocationHandler {
+        private final String sql;
+        private final PreparedStatement statement;
+        private boolean returned = false;
+
+        CachedStatement(String sql, PreparedStatement statement) {
+            this.sql = sql;
+            this.statement = statement;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!returned) {
+                        returned = true;
+                        returnToCache(sql, statement);
+                    }
+                    return null;
+                case "isClosed":
+                    return returned || statement.isClosed();
+                default:
+                    return invokeOn(statement, method, args);
+            }
+        }
+    }
+}
@@ -27,12 +27,17 @@ import com.djrapitops.plan.settings.config.paths.TimeSettings;
 import com.djrapitops.plan.settings.locale.Locale;
 import com.djrapitops.plan.settings.locale.lang.PluginLang;
 import com.djrapitops.plan.storage.database.queries.Query;
+import com.djrapitops.plan.storage.database.queries.schema.SchemaPatchQueries;
+import com.djrapitops.plan.storage.database.transactions.GroupedTransaction;
 import com.djrapitops.plan.storage.database.transactions.ThrowawayTransaction;
 import com.djrapitops.plan.storage.database.transactions.Transaction;
+import com.djrapitops.plan.storage.database.transactions.TransactionLane;
 import com.djrapitops.plan.storage.database.transactions.init.CreateIndexTransaction;
 import com.djrapitops.plan.storage.database.transactions.init.CreateTablesTransaction;
 import com.djrapitops.plan.storage.database.transactions.init.OperationCriticalTransaction;
+import com.djrapitops.plan.storage.database.transactions.init.StorePatchLedgerTransaction;
 import com.djrapitops.plan.storage.database.transactions.patches.Patch;
+import com.djrapitops.plan.storage.database.transactions.patches.PatchLedger;
 import com.djrapitops.plan.storage.file.PlanFiles;
 import com.djrapitops.plan.utilities.java.ThrowableUtils;
 import com.djrapitops.plan.utilities.logging.ErrorContext;
@@ -70,6 +75,10 @@ public abstract class SQLDB extends AbstractDatabase {
             new MavenRepository("https://repo1.maven.org/maven2")
     );
     private static final ThreadLocal<StackTraceElement[]> TRANSACTION_ORIGIN = new ThreadLocal<>();
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+    private static final String DATABASE_PACKAGE = "com.djrapitops.plan.storage.database.";
+    private static final int ORIGIN_FRAME_LIMIT = 3;
+    private static final ThreadLocal<Boolean> QUERY_WITHIN_TRANSACTION = ThreadLocal.withInitial(() -> false);
     private static boolean downloadDriver = true;
     protected final Locale locale;
     protected final PlanConfig config;
@@ -82,9 +91,12 @@ public abstract class SQLDB extends AbstractDatabase {
     private final AtomicInteger transactionQueueSize = new AtomicInteger(0);
     private final AtomicBoolean dropUnimportantTransactions = new AtomicBoolean(false);
     private final AtomicBoolean ranIntoFatalError = new AtomicBoolean(false);
+    private final Map<TransactionLane, TransactionLaneStatistics> transactionLaneStatistics;
+    private final Map<TransactionLane, TransactionGroup> openTransactionGroups = new EnumMap<>(TransactionLane.class);
+    private final IdentityCache identityCache = new IdentityCache();
     protected ClassLoader driverClassLoader;
-    private Supplier<ExecutorService> transactionExecutorServiceProvider;
-    private ExecutorService transactionExecutor;
+    private Function<String, ExecutorService> transactionExecutorServiceProvider;
+    private Map<TransactionLane, ExecutorService> transactionExecutors;
 
     protected SQLDB(
             Supplier<ServerUUID> serverUUIDSupplier,
@@ -105,8 +117,13 @@ public abstract class SQLDB extends AbstractDatabase {
         this.errorLogger = errorLogger;
         this.applicationDependencyManager = applicationDependencyManager;
 
-        this.transactionExecutorServiceProvider = () -> {
-            String nameFormat = "Plan " + getClass().getSimpleName() + "-transaction-thread-%d";
+        this.transactionLaneStatistics = new EnumMap<>(TransactionLane.class);
+        for (TransactionLane lane : TransactionLane.values()) {
+            transactionLaneStatistics.put(lane, new TransactionLaneStatistics(lane));
+        }
+
+        this.transactionExecutorServiceProvider = laneName -> {
+            String nameFormat = "Plan " + getClass().getSimpleName() + laneName + "-transaction-thread-%d";
             return Executors.newSingleThreadExecutor(BasicThreadFactory.builder()
                     .namingPattern(nameFormat)
                     .uncaughtExceptionHandler((thread, throwable) -> {
@@ -129,6 +146,17 @@ public abstract class SQLDB extends AbstractDatabase {
 
     protected abstract List<String> getDependencyResource();
 
+    /**
+     * Can transactions of different {@link TransactionLane}s be executed at the same time.
+     * <p>
+     * Databases with a single connection execute all lanes on the same thread.
+     *
+     * @return true if each lane should get its own transaction thread.
+     */
+    protected boolean supportsConcurrentTransactionLanes() {
+        return false;
+    }
+
     public void downloadDriver() {
         if (downloadDriver) {
             DependencyManager dependencyManager = new DependencyManager(
@@ -160,15 +188,17 @@ public abstract class SQLDB extends AbstractDatabase {
     @Override
     public void init() {
         List<Runnable> unfinishedTransactions = forceCloseTransactionExecutor();
-        this.transactionExecutor = transactionExecutorServiceProvider.get();
+        this.transactionExecutors = createTransactionExecutors();
 
         setState(State.PATCHING);
 
+        identityCache.invalidateAll();
         setupDataSource();
         setupDatabase();
 
+        ExecutorService generalLane = getTransactionExecutor(TransactionLane.GENERAL);
         for (Runnable unfinishedTransaction : unfinishedTransactions) {
-            transactionExecutor.submit(unfinishedTransaction);
+            generalLane.submit(unfinishedTransaction);
         }
 
         // If an OperationCriticalTransaction fails open is set to false.
@@ -178,11 +208,37 @@ public abstract class SQLDB extends AbstractDatabase {
         }
     }
 
+    private Map<TransactionLane, ExecutorService> createTransactionExecutors() {
+        Map<TransactionLane, ExecutorService> executors = new EnumMap<>(TransactionLane.class);
+        if (supportsConcurrentTransactionLanes()) {
+            for (TransactionLane lane : TransactionLane.values()) {
+                executors.put(lane, transactionExecutorServiceProvider.apply("-" + lane.getLowercaseName()));
+            }
+        } else {
+            ExecutorService sharedExecutor = transactionExecutorServiceProvider.apply("");
+            for (TransactionLane lane : TransactionLane.values()) {
+                executors.put(lane, sharedExecutor);
+            }
+        }
+        return executors;
+    }
+
+    private Set<ExecutorService> getRunningTransactionExecutors() {
+        if (transactionExecutors == null) return Collections.emptySet();
+
+        Set<ExecutorService> running = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (ExecutorService executor : transactionExecutors.values()) {
+            if (!executor.isShutdown() && !executor.isTerminated()) running.add(executor);
+        }
+        return running;
+    }
+
     protected boolean attemptToCloseTransactionExecutor() {
-        if (transactionExecutor == null || transactionExecutor.isShutdown() || transactionExecutor.isTerminated()) {
+        Set<ExecutorService> executors = getRunningTransactionExecutors();
+        if (executors.isEmpty()) {
             return true;
         }
-        transactionExecutor.shutdown();
+        executors.forEach(ExecutorService::shutdown);
         try {
             logger.info(locale.getString(PluginLang.DISABLED_WAITING_TRANSACTIONS));
             Long waitMs = config.getOrDefault(TimeSettings.DB_TRANSACTION_FINISH_WAIT_DELAY, TimeUnit.SECONDS.toMillis(20L));
@@ -190,7 +246,14 @@ public abstract class SQLDB extends AbstractDatabase {
                 logger.warn(TimeSettings.DB_TRANSACTION_FINISH_WAIT_DELAY.getPath() + " was set to over 5 minutes, using 5 min instead.");
                 waitMs = TimeUnit.MINUTES.toMillis(5L);
             }
-            return transactionExecutor.awaitTermination(waitMs, TimeUnit.MILLISECONDS);
+            // Lanes finish concurrently, so they all share the same deadline.
+            long deadline = System.currentTimeMillis() + waitMs;
+            boolean allFinished = true;
+            for (ExecutorService executor : executors) {
+                long remainingMs = Math.max(0L, deadline - System.currentTimeMillis());
+                allFinished &= executor.awaitTermination(remainingMs, TimeUnit.MILLISECONDS);
+            }
+            return allFinished;
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
         }
@@ -214,9 +277,20 @@ public abstract class SQLDB extends AbstractDatabase {
             }
         });
         executeTransaction(new CreateTablesTransaction());
-        for (Patch patch : patches()) {
+
+        Patch[] patches = patches();
+        PatchLedger ledger = new PatchLedger(patches);
+        executeTransaction(new OperationCriticalTransaction() {
+            @Override
+            protected void performOperations() {
+                ledger.load(query(SchemaPatchQueries.fetchAppliedPatchNames()));
+            }
+        });
+        for (Patch patch : patches) {
+            patch.useLedger(ledger);
             executeTransaction(patch);
         }
+        executeTransaction(new StorePatchLedgerTransaction(ledger));
         executeTransaction(new OperationCriticalTransaction() {
             @Override
             protected void performOperations() {
@@ -255,12 +329,23 @@ public abstract class SQLDB extends AbstractDatabase {
      */
     public abstract void setupDataSource();
 
+    /**
+     * Get where the database is located, to tell apart databases of the same type.
+     *
+     * @return Absolute path of the database file, or address of the database server.
+     */
+    public abstract String getLocation();
+
     protected List<Runnable> forceCloseTransactionExecutor() {
-        if (transactionExecutor == null || transactionExecutor.isShutdown() || transactionExecutor.isTerminated()) {
+        Set<ExecutorService> executors = getRunningTransactionExecutors();
+        if (executors.isEmpty()) {
             return Collections.emptyList();
         }
         try {
-            List<Runnable> unfinished = transactionExecutor.shutdownNow();
+            List<Runnable> unfinished = new ArrayList<>();
+            for (ExecutorService executor : executors) {
+                unfinished.addAll(executor.shutdownNow());
+            }
             int unfinishedCount = unfinished.size();
             if (unfinishedCount > 0) {
                 logger.warn(unfinishedCount + " unfinished database transactions were not executed.");
@@ -288,13 +373,55 @@ public abstract class SQLDB extends AbstractDatabase {
 
     public abstract void returnToPool(Connection connection);
 
+    /**
+     * Get a connection for executing a query.
+     * <p>
+     * Queries made within a transaction use {@link #getConnection()} so that they can see uncommitted changes of the transaction.
+     *
+     * @return Connection that should be returned with {@link #returnReadConnectionToPool(Connection)}.
+     * @throws SQLException If connection can not be opened.
+     */
+    public Connection getReadConnection() throws SQLException {
+        return QUERY_WITHIN_TRANSACTION.get() ? getConnection() : getReadOnlyConnection();
+    }
+
+    public void returnReadConnectionToPool(Connection connection) {
+        if (QUERY_WITHIN_TRANSACTION.get()) {
+            returnToPool(connection);
+        } else {
+            returnReadOnlyConnectionToPool(connection);
+        }
+    }
+
+    /**
+     * Override to use separate connections for queries that are not part of a transaction.
+     *
+     * @return Connection that is only used for reading.
+     * @throws SQLException If connection can not be opened.
+     */
+    protected Connection getReadOnlyConnection() throws SQLException {
+        return getConnection();
+    }
+
+    protected void returnReadOnlyConnectionToPool(Connection connection) {
+        returnToPool(connection);
+    }
+
     @Override
     public <T> T query(Query<T> query) {
         return accessLock.performDatabaseOperation(() -> query.executeQuery(this));
     }
 
     public <T> T queryWithinTransaction(Query<T> query, Transaction transaction) {
-        return accessLock.performDatabaseOperation(() -> query.executeQuery(this), transaction);
+        return accessLock.performDatabaseOperation(() -> {
+            boolean previous = QUERY_WITHIN_TRANSACTION.get();
+            QUERY_WITHIN_TRANSACTION.set(true);
+            try {
+                return query.executeQuery(this);
+            } finally {
+                QUERY_WITHIN_TRANSACTION.set(previous);
+            }
+        }, transaction);
     }
 
     protected void unloadDriverClassloader() {
@@ -310,15 +437,28 @@ public abstract class SQLDB extends AbstractDatabase {
             throw new DBClosedException("Transaction tried to execute although database is closed.");
         }
 
-        StackTraceElement[] origin = Thread.currentThread().getStackTrace();
+        StackTraceElement[] origin = captureTransactionOrigin();
 
         if (determineIfShouldDropUnimportantTransactions(transactionQueueSize.incrementAndGet())
                 && transaction instanceof ThrowawayTransaction) {
             // Drop throwaway transaction immediately.
+            transactionQueueSize.decrementAndGet();
             return CompletableFuture.completedFuture(null);
         }
 
+        TransactionLane lane = getLane(transaction);
+        TransactionLaneStatistics laneStatistics = transactionLaneStatistics.get(lane);
+        laneStatistics.queued();
+        long queuedAt = System.nanoTime();
+
+        if (getState() == State.OPEN && transaction.canBeGroupCommitted()) {
+            return addToTransactionGroup(lane, new TransactionGroup.Queued(transaction, origin, queuedAt));
+        }
+        // Transactions submitted after this one must not be executed in a group that was queued before it.
+        sealTransactionGroup(lane);
+
         return CompletableFuture.supplyAsync(() -> {
+            laneStatistics.started(System.nanoTime() - queuedAt);
             try {
                 TRANSACTION_ORIGIN.set(origin);
                 if (getState() == State.CLOSED) return CompletableFuture.completedFuture(null);
@@ -329,9 +469,112 @@ public abstract class SQLDB extends AbstractDatabase {
                 return CompletableFuture.completedFuture(null);
             } finally {
                 transactionQueueSize.decrementAndGet();
+                laneStatistics.finished();
                 TRANSACTION_ORIGIN.remove();
             }
-        }, getTransactionExecutor()).exceptionally(errorHandler(transaction, origin));
+        }, getTransactionExecutor(lane)).exceptionally(errorHandler(transaction, origin));
+    }
+
+    private CompletableFuture<?> addToTransactionGroup(TransactionLane lane, TransactionGroup.Queued queued) {
+        synchronized (openTransactionGroups) {
+            TransactionGroup group = openTransactionGroups.get(lane);
+            if (group != null && group.add(queued)) {
+                return queued.future;
+            }
+            TransactionGroup newGroup = new TransactionGroup();
+            newGroup.add(queued);
+            getTransactionExecutor(lane).execute(() -> executeTransactionGroup(lane, newGroup));
+            openTransactionGroups.put(lane, newGroup);
+            return queued.future;
+        }
+    }
+
+    private void sealTransactionGroup(TransactionLane lane) {
+        synchronized (openTransactionGroups) {
+            openTransactionGroups.remove(lane);
+        }
+    }
+
+    private void executeTransactionGroup(TransactionLane lane, TransactionGroup group) {
+        List<TransactionGroup.Queued> queuedTransactions = group.seal();
+        TransactionLaneStatistics laneStatistics = transactionLaneStatistics.get(lane);
+        long startedAt = System.nanoTime();
+        for (TransactionGroup.Queued queued : queuedTransactions) {
+            laneStatistics.started(startedAt - queued.queuedAt);
+        }
+        try {
+            if (queuedTransactions.size() == 1 || !executeAsSingleTransaction(queuedTransactions)) {
+                // Execute one by one so that a failing transaction does not lose the rest of the group.
+                for (TransactionGroup.Queued queued : queuedTransactions) {
+                    executeGroupedTransactionAlone(queued);
+                }
+            }
+        } finally {
+            for (TransactionGroup.Queued queued : queuedTransactions) {
+                transactionQueueSize.decrementAndGet();
+                laneStatistics.finished();
+                queued.future.complete(null);
+            }
+        }
+    }
+
+    private boolean executeAsSingleTransaction(List<TransactionGroup.Queued> queuedTransactions) {
+        if (getState() == State.CLOSED || ranIntoFatalError.get()) return true;
+
+        List<Transaction> transactions = new ArrayList<>(queuedTransactions.size());
+        for (TransactionGroup.Queued queued : queuedTransactions) {
+            transactions.add(queued.transaction);
+        }
+        GroupedTransaction groupedTransaction = new GroupedTransaction(transactions);
+        try {
+            accessLock.performDatabaseOperation(() -> groupedTransaction.executeTransaction(this), groupedTransaction);
+            return true;
+        } catch (RuntimeException groupFailed) {
+            return false;
+        }
+    }
+
+    private void executeGroupedTransactionAlone(TransactionGroup.Queued queued) {
+        Transaction transaction = queued.transaction;
+        try {
+            TRANSACTION_ORIGIN.set(queued.origin);
+            if (getState() == State.CLOSED) return;
+
+            accessLock.performDatabaseOperation(() -> {
+                if (!ranIntoFatalError.get()) {transaction.executeTransaction(this);}
+            }, transaction);
+        } catch (RuntimeException e) {
+            errorHandler(transaction, queued.origin).apply(new CompletionException(e));
+        } finally {
+            TRANSACTION_ORIGIN.remove();
+        }
+    }
+
+    /**
+     * Captures where a transaction was submitted from, so that errors can point to it.
+     * <p>
+     * Full stack trace is only captured in dev mode, since this is called on the submitting thread (often server thread)
+     * for every transaction. Otherwise only the first few frames outside the database package are walked.
+     *
+     * @return Stack trace elements of the call site.
+     */
+    private StackTraceElement[] captureTransactionOrigin() {
+        if (config.isTrue(PluginSettings.DEV_MODE)) {
+            return Thread.currentThread().getStackTrace();
+        }
+        return STACK_WALKER.walk(frames -> frames
+                .dropWhile(frame -> frame.getClassName().startsWith(DATABASE_PACKAGE))
+                .limit(ORIGIN_FRAME_LIMIT)
+                .map(StackWalker.StackFrame::toStackTraceElement)
+                .toArray(StackTraceElement[]::new));
+    }
+
+    private TransactionLane getLane(Transaction transaction) {
+        // Schema patches and anything submitted while patching are executed in order.
+        if (getState() == State.PATCHING || transaction instanceof OperationCriticalTransaction) {
+            return TransactionLane.GENERAL;
+        }
+        return transaction.getLane();
     }
 
     private boolean determineIfShouldDropUnimportantTransactions(int queueSize) {
@@ -381,11 +624,11 @@ public abstract class SQLDB extends AbstractDatabase {
         };
     }
 
-    private ExecutorService getTransactionExecutor() {
-        if (transactionExecutor == null) {
-            transactionExecutor = transactionExecutorServiceProvider.get();
+    private ExecutorService getTransactionExecutor(TransactionLane lane) {
+        if (transactionExecutors == null) {
+            transactionExecutors = createTransactionExecutors();
         }
-        return transactionExecutor;
+        return transactionExecutors.get(lane);
     }
 
     @Override
@@ -405,8 +648,12 @@ public abstract class SQLDB extends AbstractDatabase {
         return serverUUIDSupplier;
     }
 
+    public IdentityCache getIdentityCache() {
+        return identityCache;
+    }
+
     public void setTransactionExecutorServiceProvider(Supplier<ExecutorService> transactionExecutorServiceProvider) {
-        this.transactionExecutorServiceProvider = transactionExecutorServiceProvider;
+        this.transactionExecutorServiceProvider = laneName -> transactionExecutorServiceProvider.get();
     }
 
     public RunnableFactory getRunnableFactory() {
@@ -429,4 +676,9 @@ public abstract class SQLDB extends AbstractDatabase {
     public int getTransactionQueueSize() {
         return transactionQueueSize.get();
     }
+
+    @Override
+    public Collection<TransactionLaneStatistics> getTransactionLaneStatistics() {
+        return Collections.unmodifiableCollection(transactionLaneStatistics.values());
+    }
 }
@@ -17,8 +17,10 @@
 package com.djrapitops.plan.storage.database;
 
 import com.djrapitops.plan.exceptions.database.DBInitException;
+import com.djrapitops.plan.exceptions.database.DBOpException;
 import com.djrapitops.plan.identification.ServerInfo;
 import com.djrapitops.plan.settings.config.PlanConfig;
+import com.djrapitops.plan.settings.config.paths.PluginSettings;
 import com.djrapitops.plan.settings.locale.Locale;
 import com.djrapitops.plan.settings.locale.lang.PluginLang;
 import com.djrapitops.plan.storage.file.PlanFiles;
@@ -39,16 +41,25 @@ import java.io.IOException;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * @author AuroraLS3
  */
 public class SQLiteDB extends SQLDB {
 
+    private static final int MAX_READ_CONNECTIONS = 3;
+    // SQLITE_OPEN_READONLY flag of sqlite3_open_v2
+    private static final int SQLITE_OPEN_READONLY = 0x00000001;
+
     private final File databaseFile;
     private final String dbName;
     /*
@@ -57,7 +68,14 @@ public class SQLiteDB extends SQLDB {
      * that might lead to a SIGSEGV signal JVM crash.
      */
     private final SemaphoreAccessCounter connectionLock;
+    /*
+     * Read-only connections for queries, so that reads do not queue behind writes on the single connection above.
+     * Only used when WAL journal mode is enabled, since otherwise readers would block the writer.
+     */
+    private final BlockingQueue<Connection> readConnections;
+    private final AtomicInteger openReadConnections;
     private Connection connection;
+    private volatile boolean walEnabled;
     private Task connectionPingTask;
     private Constructor<?> connectionConstructor;
 
@@ -84,7 +102,9 @@ public class SQLiteDB extends SQLDB {
         );
         dbName = databaseFile.getName();
         this.databaseFile = databaseFile;
-        connectionLock = new SemaphoreAccessCounter();
+        connectionLock = new SemaphoreAccessCounter(() -> config.isTrue(PluginSettings.DEV_MODE));
+        readConnections = new LinkedBlockingQueue<>();
+        openReadConnections = new AtomicInteger(0);
     }
 
     @Override
@@ -100,6 +120,7 @@ public class SQLiteDB extends SQLDB {
     public void setupDataSource() {
         try {
             if (connection != null) connection.close();
+            closeReadConnections();
 
             connection = getNewConnection(databaseFile);
         } catch (SQLException e) {
@@ -117,7 +138,7 @@ public class SQLiteDB extends SQLDB {
 
         Connection newConnection = getConnectionFor(dbFilePath);
         newConnection.setAutoCommit(false);
-        return newConnection;
+        return PreparedStatementCache.wrap(newConnection);
     }
 
     private Connection getConnectionFor(String dbFilePath) throws SQLException {
@@ -143,7 +164,9 @@ public class SQLiteDB extends SQLDB {
             Properties properties = new Properties();
             if (withWAL) properties.put("journal_mode", "WAL");
 
-            return (Connection) connectionConstructor.newInstance("jdbc:sqlite:" + dbFilePath, dbFilePath, properties);
+            Connection newConnection = (Connection) connectionConstructor.newInstance("jdbc:sqlite:" + dbFilePath, dbFilePath, properties);
+            walEnabled = withWAL;
+            return newConnection;
         } catch (InvocationTargetException e) {
             Throwable cause = e.getCause();
             if (!withWAL && cause instanceof SQLException) {
@@ -160,6 +183,58 @@ public class SQLiteDB extends SQLDB {
         }
     }
 
+    private Connection getNewReadOnlyConnection() throws SQLException {
+        Properties properties = new Properties();
+        properties.put("open_mode", String.valueOf(SQLITE_OPEN_READONLY));
+        return PreparedStatementCache.wrap(openConnection(properties));
+    }
+
+    private Connection openConnection(Properties properties) throws SQLException {
+        ensureConstructorIsAvailable();
+        String dbFilePath = databaseFile.getAbsolutePath();
+        try {
+            return (Connection) connectionConstructor.newInstance("jdbc:sqlite:" + dbFilePath, dbFilePath, properties);
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLException) throw (SQLException) cause;
+            throw new DBInitException("Failed to initialize SQLite Driver", cause);
+        } catch (InstantiationException | IllegalAccessException e) {
+            throw new DBInitException("Failed to initialize SQLite Driver", e);
+        }
+    }
+
+    /**
+     * Write a consistent copy of the database to a new file with {@code VACUUM INTO}.
+     * <p>
+     * The copy is made page by page on a separate connection, so with WAL journal mode it reads a snapshot and
+     * writes can continue during the backup.
+     *
+     * @param backupFile File to write the backup to, must not exist.
+     * @throws DBOpException If the backup fails, eg. if SQLite version of the driver doesn't support VACUUM INTO.
+     */
+    public void backupTo(File backupFile) {
+        String sql = "VACUUM INTO ?";
+        connectionLock.enter();
+        // Auto-commit is left on for the connection, VACUUM can not be run inside a transaction.
+        try (Connection backupConnection = openConnection(new Properties());
+             PreparedStatement statement = backupConnection.prepareStatement(sql)) {
+            statement.setString(1, backupFile.getAbsolutePath());
+            statement.execute();
+        } catch (SQLException e) {
+            throw DBOpException.forCause(sql, e);
+        } finally {
+            connectionLock.exit();
+        }
+    }
+
+    private void closeReadConnections() {
+        Connection readConnection;
+        while ((readConnection = readConnections.poll()) != null) {
+            MiscUtils.close(readConnection);
+            openReadConnections.decrementAndGet();
+        }
+    }
+
     private void startConnectionPingTask() {
         stopConnectionPingTask();
         try {
@@ -188,6 +263,11 @@ public class SQLiteDB extends SQLDB {
         return DBType.SQLITE;
     }
 
+    @Override
+    public String getLocation() {
+        return databaseFile.getAbsolutePath();
+    }
+
     @Override
     public Connection getConnection() throws SQLException {
         if (connection == null) {
@@ -197,6 +277,60 @@ public class SQLiteDB extends SQLDB {
         return connection;
     }
 
+    @Override
+    protected Connection getReadOnlyConnection() throws SQLException {
+        if (connection == null || !walEnabled) {
+            return getConnection();
+        }
+        Connection readConnection = readConnections.poll();
+        if (readConnection == null) {
+            readConnection = openReadConnections.incrementAndGet() <= MAX_READ_CONNECTIONS
+                    ? openReadConnection()
+                    : waitForReadConnection();
+        }
+        connectionLock.enter();
+        return readConnection;
+    }
+
+    private Connection openReadConnection() throws SQLException {
+        try {
+            return getNewReadOnlyConnection();
+        } catch (SQLException | RuntimeException e) {
+            openReadConnections.decrementAndGet();
+            throw e;
+        }
+    }
+
+    private Connection waitForReadConnection() throws SQLException {
+        openReadConnections.decrementAndGet();
+        try {
+            Connection readConnection = readConnections.poll(30, TimeUnit.SECONDS);
+            if (readConnection == null) {
+                throw new SQLException("Timed out waiting for a SQLite read connection");
+            }
+            return readConnection;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a SQLite read connection", e);
+        }
+    }
+
+    @Override
+    protected void returnReadOnlyConnectionToPool(Connection readConnection) {
+        if (readConnection == null) return; // Connection was not handed out.
+        if (readConnection == connection) {
+            returnToPool(readConnection);
+            return;
+        }
+        if (getState() == State.CLOSED) {
+            MiscUtils.close(readConnection);
+            openReadConnections.decrementAndGet();
+        } else {
+            readConnections.offer(readConnection);
+        }
+        connectionLock.exit();
+    }
+
     @Override
     public void close() {
         if (getState() == State.OPEN) setState(State.CLOSING);
@@ -214,6 +348,7 @@ public class SQLiteDB extends SQLDB {
         // Transaction queue can't be force-closed before all connections have terminated.
         if (!transactionQueueClosed) forceCloseTransactionExecutor();
 
+        closeReadConnections();
         if (connection != null) {
             MiscUtils.close(connection);
         }
@@ -0,0 +1,63 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database;
+
+import com.djrapitops.plan.storage.database.transactions.Transaction;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Transactions of a single lane that are waiting to be committed together.
+ * <p>
+ * The group is sealed when it starts executing, transactions submitted after that start a new group.
+ *
+ * @author AuroraLS3
+ */
+class TransactionGroup {
+
+    static final int MAX_SIZE = 100;
+
+    private final List<Queued> transactions = new ArrayList<>();
+    private boolean sealed = false;
+
+    synchronized boolean add(Queued transaction) {
+        if (sealed || transactions.size() >= MAX_SIZE) return false;
+        transactions.add(transaction);
+        return true;
+    }
+
+    synchronized List<Queued> seal() {
+        sealed = true;
+        return new ArrayList<>(transactions);
+    }
+
+    static class Queued {
+        final Transaction transaction;
+        final StackTraceElement[] origin;
+        final long queuedAt;
+        final CompletableFuture<Object> future;
+
+        Queued(Transaction transaction, StackTraceElement[] origin, long queuedAt) {
+            this.transaction = transaction;
+            this.origin = origin;
+            this.queuedAt = queuedAt;
+            this.future = new CompletableFuture<>();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database;
+
+import com.djrapitops.plan.storage.database.transactions.TransactionLane;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps track of queue depth and queue wait time of a single {@link TransactionLane}.
+ *
+ * @author AuroraLS3
+ */
+public class TransactionLaneStatistics {
+
+    private final TransactionLane lane;
+    private final AtomicInteger queueSize = new AtomicInteger(0);
+    private final LongAdder executedCount = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong longestWaitNanos = new AtomicLong(0L);
+
+    public TransactionLaneStatistics(TransactionLane lane) {
+        this.lane = lane;
+    }
+
+    void queued() {
+        queueSize.incrementAndGet();
+    }
+
+    void started(long waitNanos) {
+        executedCount.increment();
+        totalWaitNanos.add(waitNanos);
+        longestWaitNanos.accumulateAndGet(waitNanos, Math::max);
+    }
+
+    void finished() {
+        queueSize.decrementAndGet();
+    }
+
+    public TransactionLane getLane() {
+        return lane;
+    }
+
+    /**
+     * Get amount of transactions that are waiting or executing in the lane.
+     *
+     * @return Amount of transactions.
+     */
+    public int getQueueSize() {
+        return queueSize.get();
+    }
+
+    public long getExecutedCount() {
+        return executedCount.sum();
+    }
+
+    public long getAverageWaitMs() {
+        long executed = executedCount.sum();
+        return executed > 0 ? TimeUnit.NANOSECONDS.toMillis(totalWaitNanos.sum() / executed) : 0L;
+    }
+
+    public long getLongestWaitMs() {
+        return TimeUnit.NANOSECONDS.toMillis(longestWaitNanos.get());
+    }
+
+    @Override
+    public String toString() {
+        return lane.getLowercaseName() + ": " + getQueueSize() +
+                " (avg wait " + getAverageWaitMs() + "ms, max " + getLongestWaitMs() + "ms)";
+    }
+}
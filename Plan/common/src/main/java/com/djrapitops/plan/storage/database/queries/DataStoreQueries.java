@@ -17,6 +17,7 @@
 package com.djrapitops.plan.storage.database.queries;
 
 import com.djrapitops.plan.delivery.domain.Nickname;
+import com.djrapitops.plan.exceptions.database.DBOpException;
 import com.djrapitops.plan.gathering.domain.*;
 import com.djrapitops.plan.gathering.domain.event.JoinAddress;
 import com.djrapitops.plan.identification.ServerUUID;
@@ -27,9 +28,10 @@ import com.djrapitops.plan.storage.database.transactions.ExecStatement;
 import com.djrapitops.plan.storage.database.transactions.Executable;
 import org.apache.commons.lang3.StringUtils;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
-import java.util.UUID;
+import java.util.*;
 
 import static com.djrapitops.plan.storage.database.sql.building.Sql.AND;
 import static com.djrapitops.plan.storage.database.sql.building.Sql.WHERE;
@@ -55,10 +57,47 @@ public class DataStoreQueries {
         return connection -> {
             storeSessionInformation(session).execute(connection);
             storeSessionKills(session).execute(connection);
+            addSessionsToBuckets(List.of(session)).execute(connection);
+            addSessionsToPlayerTotals(List.of(session)).execute(connection);
             return storeSessionWorldTimes(session).execute(connection);
         };
     }
 
+    /**
+     * Store a finished session with already known plan_users and plan_servers ids.
+     *
+     * @param session  Session to store.
+     * @param userId   plan_users id of the player of the session.
+     * @param serverId plan_servers id of the server of the session.
+     * @return Executable, use inside a {@link com.djrapitops.plan.storage.database.transactions.Transaction}
+     */
+    public static Executable storeSession(FinishedSession session, int userId, int serverId) {
+        return connection -> {
+            storeSessionInformation(session, userId, serverId).execute(connection);
+            storeSessionKills(session).execute(connection);
+            addSessionsToBuckets(List.of(session)).execute(connection);
+            addSessionsToPlayerTotals(List.of(session)).execute(connection);
+            return storeSessionWorldTimes(session).execute(connection);
+        };
+    }
+
+    private static Executable storeSessionInformation(FinishedSession session, int userId, int serverId) {
+        return new ExecStatement(SessionsTable.INSERT_STATEMENT_WITH_IDS) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setInt(1, userId);
+                statement.setLong(2, session.getStart());
+                statement.setLong(3, session.getEnd());
+                statement.setInt(4, session.getDeathCount());
+                statement.setInt(5, session.getMobKillCount());
+                statement.setLong(6, session.getAfkTime());
+                statement.setInt(7, serverId);
+                statement.setString(8, session.getExtraData(JoinAddress.class)
+                        .map(JoinAddress::getAddress).orElse(JoinAddressTable.DEFAULT_VALUE_FOR_LOOKUP));
+            }
+        };
+    }
+
     private static Executable storeSessionInformation(FinishedSession session) {
         return new ExecStatement(SessionsTable.INSERT_STATEMENT) {
             @Override
@@ -76,6 +115,136 @@ public class DataStoreQueries {
         };
     }
 
+    /**
+     * Add session counts and playtime of stored sessions to {@link SessionBucketTable}.
+     *
+     * @param sessions Sessions that were stored.
+     * @return Executable, use inside a {@link com.djrapitops.plan.storage.database.transactions.Transaction}
+     */
+    public static Executable addSessionsToBuckets(Collection<FinishedSession> sessions) {
+        return connection -> {
+            Map<ServerUUID, Map<Long, long[]>> buckets = new HashMap<>();
+            for (FinishedSession session : sessions) {
+                long[] bucket = buckets.computeIfAbsent(session.getServerUUID(), k -> new HashMap<>())
+                        .computeIfAbsent(SessionBucketTable.bucketOf(session.getStart()), k -> new long[2]);
+                bucket[0]++;
+                bucket[1] += session.getLength();
+            }
+            for (Map.Entry<ServerUUID, Map<Long, long[]>> perServer : buckets.entrySet()) {
+                String serverUUID = perServer.getKey().toString();
+                for (Map.Entry<Long, long[]> bucket : perServer.getValue().entrySet()) {
+                    long date = bucket.getKey();
+                    long sessionCount = bucket.getValue()[0];
+                    long playtime = bucket.getValue()[1];
+                    addOrInsert(connection, new ExecStatement(SessionBucketTable.ADD_STATEMENT) {
+                        @Override
+                        public void prepare(PreparedStatement statement) throws SQLException {
+                            statement.setLong(1, sessionCount);
+                            statement.setLong(2, playtime);
+                            statement.setString(3, serverUUID);
+                            statement.setLong(4, date);
+                        }
+                    }, new ExecStatement(SessionBucketTable.INSERT_STATEMENT) {
+                        @Override
+                        public void prepare(PreparedStatement statement) throws SQLException {
+                            statement.setString(1, serverUUID);
+                            statement.setLong(2, date);
+                            statement.setLong(3, sessionCount);
+                            statement.setLong(4, playtime);
+                        }
+                    });
+                }
+            }
+            return true;
+        };
+    }
+
+    /**
+     * Add totals of stored sessions to {@link PlayerTotalsTable} and update {@link UsersTable#LAST_SEEN}.
+     *
+     * @param sessions Sessions that were stored.
+     * @return Executable, use inside a {@link com.djrapitops.plan.storage.database.transactions.Transaction}
+     */
+    public static Executable addSessionsToPlayerTotals(Collection<FinishedSession> sessions) {
+        return connection -> {
+            Map<UUID, Map<ServerUUID, long[]>> totals = new HashMap<>();
+            for (FinishedSession session : sessions) {
+                long[] total = totals.computeIfAbsent(session.getPlayerUUID(), k -> new HashMap<>())
+                        .computeIfAbsent(session.getServerUUID(), k -> new long[]{0, 0, 0, 0, 0, 0, Long.MAX_VALUE, Long.MIN_VALUE});
+                total[0]++;
+                total[1] += session.getLength();
+                total[2] += session.getAfkTime();
+                total[3] += session.getMobKillCount();
+                total[4] += session.getExtraData(PlayerKills.class).map(kills -> kills.asList().size()).orElse(0);
+                total[5] += session.getDeathCount();
+                total[6] = Math.min(total[6], session.getStart());
+                total[7] = Math.max(total[7], session.getEnd());
+            }
+            for (Map.Entry<UUID, Map<ServerUUID, long[]>> perPlayer : totals.entrySet()) {
+                String playerUUID = perPlayer.getKey().toString();
+                long lastSeen = Long.MIN_VALUE;
+                for (Map.Entry<ServerUUID, long[]> perServer : perPlayer.getValue().entrySet()) {
+                    String serverUUID = perServer.getKey().toString();
+                    long[] total = perServer.getValue();
+                    lastSeen = Math.max(lastSeen, total[7]);
+                    addOrInsert(connection, new ExecStatement(PlayerTotalsTable.ADD_STATEMENT) {
+                        @Override
+                        public void prepare(PreparedStatement statement) throws SQLException {
+                            for (int i = 0; i < 6; i++) {
+                                statement.setLong(i + 1, total[i]);
+                            }
+                            statement.setLong(7, total[6]);
+                            statement.setLong(8, total[6]);
+                            statement.setLong(9, total[7]);
+                            statement.setLong(10, total[7]);
+                            statement.setString(11, playerUUID);
+                            statement.setString(12, serverUUID);
+                        }
+                    }, new ExecStatement(PlayerTotalsTable.INSERT_STATEMENT) {
+                        @Override
+                        public void prepare(PreparedStatement statement) throws SQLException {
+                            statement.setString(1, playerUUID);
+                            statement.setString(2, serverUUID);
+                            for (int i = 0; i < 8; i++) {
+                                statement.setLong(i + 3, total[i]);
+                            }
+                        }
+                    });
+                }
+                long playerLastSeen = lastSeen;
+                new ExecStatement(UsersTable.UPDATE_LAST_SEEN_STATEMENT) {
+                    @Override
+                    public void prepare(PreparedStatement statement) throws SQLException {
+                        statement.setLong(1, playerLastSeen);
+                        statement.setString(2, playerUUID);
+                        statement.setLong(3, playerLastSeen);
+                    }
+                }.execute(connection);
+            }
+            return true;
+        };
+    }
+
+    /**
+     * Add to an existing row, or insert the row if there is none.
+     * <p>
+     * If another transaction inserts the same row between the update and the insert, the unique index of the table
+     * rejects the insert and the values are added to the row of the other transaction instead.
+     *
+     * @param connection Connection of the transaction.
+     * @param add        Update that adds to the row.
+     * @param insert     Insert of the row.
+     */
+    private static void addOrInsert(Connection connection, ExecStatement add, ExecStatement insert) {
+        if (add.execute(connection)) return;
+        try {
+            insert.execute(connection);
+        } catch (DBOpException failed) {
+            if (!failed.isDuplicateKeyViolation()) throw failed;
+            add.execute(connection);
+        }
+    }
+
     private static Executable storeSessionKills(FinishedSession session) {
         return new ExecBatchStatement(KillsTable.INSERT_STATEMENT) {
             @Override
@@ -238,6 +407,28 @@ public class DataStoreQueries {
         };
     }
 
+    /**
+     * Store ping data of a player with already known plan_users and plan_servers ids.
+     *
+     * @param userId   plan_users id of the player.
+     * @param serverId plan_servers id of the server.
+     * @param ping     Ping data entry
+     * @return Executable, use inside a {@link com.djrapitops.plan.storage.database.transactions.Transaction}
+     */
+    public static Executable storePing(int userId, int serverId, Ping ping) {
+        return new ExecStatement(PingTable.INSERT_STATEMENT_WITH_IDS) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setInt(1, userId);
+                statement.setInt(2, serverId);
+                statement.setLong(3, ping.getDate());
+                statement.setInt(4, ping.getMin());
+                statement.setInt(5, ping.getMax());
+                statement.setDouble(6, ping.getAverage());
+            }
+        };
+    }
+
     /**
      * Store TPS data of a server.
      *
@@ -250,22 +441,43 @@ public class DataStoreQueries {
             @Override
             public void prepare(PreparedStatement statement) throws SQLException {
                 statement.setString(1, serverUUID.toString());
-                statement.setLong(2, tps.getDate());
-                statement.setDouble(3, tps.getTicksPerSecond());
-                statement.setInt(4, tps.getPlayers());
-                statement.setDouble(5, tps.getCPUUsage());
-                statement.setLong(6, tps.getUsedMemory());
-                statement.setDouble(7, tps.getEntityCount());
-                statement.setDouble(8, tps.getChunksLoaded());
-                statement.setLong(9, tps.getFreeDiskSpace());
-                Sql.setDoubleOrNull(statement, 10, tps.getMsptAverage());
-                Sql.setDoubleOrNull(statement, 11, tps.getMspt95thPercentile());
-                Sql.setDoubleOrNull(statement, 12, tps.getMsptJitterAverage());
-                Sql.setDoubleOrNull(statement, 13, tps.getMsptJitterMax());
+                setTPSValues(statement, tps);
+            }
+        };
+    }
+
+    /**
+     * Store TPS data of a server with already known plan_servers id.
+     *
+     * @param serverId plan_servers id of the server.
+     * @param tps      TPS data entry
+     * @return Executable, use inside a {@link com.djrapitops.plan.storage.database.transactions.Transaction}
+     */
+    public static Executable storeTPS(int serverId, TPS tps) {
+        return new ExecStatement(TPSTable.INSERT_STATEMENT_WITH_SERVER_ID) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setInt(1, serverId);
+                setTPSValues(statement, tps);
             }
         };
     }
 
+    private static void setTPSValues(PreparedStatement statement, TPS tps) throws SQLException {
+        statement.setLong(2, tps.getDate());
+        statement.setDouble(3, tps.getTicksPerSecond());
+        statement.setInt(4, tps.getPlayers());
+        statement.setDouble(5, tps.getCPUUsage());
+        statement.setLong(6, tps.getUsedMemory());
+        statement.setDouble(7, tps.getEntityCount());
+        statement.setDouble(8, tps.getChunksLoaded());
+        statement.setLong(9, tps.getFreeDiskSpace());
+        Sql.setDoubleOrNull(statement, 10, tps.getMsptAverage());
+        Sql.setDoubleOrNull(statement, 11, tps.getMspt95thPercentile());
+        Sql.setDoubleOrNull(statement, 12, tps.getMsptJitterAverage());
+        Sql.setDoubleOrNull(statement, 13, tps.getMsptJitterMax());
+    }
+
     /**
      * Store nickname information of a player on a server.
      *
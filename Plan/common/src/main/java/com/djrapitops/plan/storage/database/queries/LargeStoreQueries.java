@@ -293,7 +293,7 @@ public class LargeStoreQueries {
     public static Executable storeAllSessionsWithoutKillOrWorldData(Collection<FinishedSession> sessions) {
         if (sessions == null || sessions.isEmpty()) return Executable.empty();
 
-        return new ExecBatchStatement(SessionsTable.INSERT_STATEMENT) {
+        Executable storeSessions = new ExecBatchStatement(SessionsTable.INSERT_STATEMENT) {
             @Override
             public void prepare(PreparedStatement statement) throws SQLException {
                 for (FinishedSession session : sessions) {
@@ -310,6 +310,12 @@ public class LargeStoreQueries {
                 }
             }
         };
+        return connection -> {
+            boolean stored = storeSessions.execute(connection);
+            DataStoreQueries.addSessionsToBuckets(sessions).execute(connection);
+            DataStoreQueries.addSessionsToPlayerTotals(sessions).execute(connection);
+            return stored;
+        };
     }
 
     public static Executable storeAllSessionsWithKillAndWorldData(Collection<FinishedSession> sessions) {
@@ -602,6 +608,19 @@ public class LargeStoreQueries {
         };
     }
 
+    public static Executable insertTpsRollups(String rollupTable, List<TPSRollupTable.Row> rows) {
+        if (rows.isEmpty()) return Executable.empty();
+        return new ExecBatchStatement(TPSRollupTable.Row.insertStatement(rollupTable)) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                for (TPSRollupTable.Row row : rows) {
+                    row.insert(statement);
+                    statement.addBatch();
+                }
+            }
+        };
+    }
+
     public static Executable insertPluginVersions(List<PluginVersionTable.Row> rows) {
         if (rows.isEmpty()) return Executable.empty();
         return new ExecBatchStatement(PluginVersionTable.Row.INSERT_STATEMENT) {
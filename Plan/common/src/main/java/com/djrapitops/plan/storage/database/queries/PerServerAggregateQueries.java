@@ -17,9 +17,8 @@
 package com.djrapitops.plan.storage.database.queries;
 
 import com.djrapitops.plan.identification.ServerUUID;
-import com.djrapitops.plan.storage.database.sql.tables.KillsTable;
+import com.djrapitops.plan.storage.database.sql.tables.PlayerTotalsTable;
 import com.djrapitops.plan.storage.database.sql.tables.ServerTable;
-import com.djrapitops.plan.storage.database.sql.tables.SessionsTable;
 import com.djrapitops.plan.storage.database.sql.tables.UsersTable;
 
 import java.sql.PreparedStatement;
@@ -52,12 +51,11 @@ public class PerServerAggregateQueries {
      * @return Map: Server UUID - Last seen epoch ms.
      */
     public static Query<Map<ServerUUID, Long>> lastSeenOnServers(UUID playerUUID) {
-        String sql = SELECT + "MAX(" + SessionsTable.SESSION_END + ") as last_seen, " +
+        String sql = SELECT + "t." + PlayerTotalsTable.LAST_SEEN + " as last_seen, " +
                 ServerTable.SERVER_UUID +
-                FROM + SessionsTable.TABLE_NAME +
-                INNER_JOIN + ServerTable.TABLE_NAME + " se on se." + ServerTable.ID + '=' + SessionsTable.TABLE_NAME + '.' + SessionsTable.SERVER_ID +
-                WHERE + SessionsTable.USER_ID + "=" + UsersTable.SELECT_USER_ID +
-                GROUP_BY + ServerTable.SERVER_UUID;
+                FROM + PlayerTotalsTable.TABLE_NAME + " t" +
+                INNER_JOIN + ServerTable.TABLE_NAME + " se on se." + ServerTable.ID + "=t." + PlayerTotalsTable.SERVER_ID +
+                WHERE + "t." + PlayerTotalsTable.USER_ID + "=" + UsersTable.SELECT_USER_ID;
         return new QueryStatement<>(sql) {
             @Override
             public void prepare(PreparedStatement statement) throws SQLException {
@@ -84,10 +82,12 @@ public class PerServerAggregateQueries {
      * @return Map: Server UUID - Player kill count
      */
     public static Query<Map<ServerUUID, Integer>> playerKillCountOnServers(UUID playerUUID) {
-        String sql = SELECT + "COUNT(1) as kill_count, " + KillsTable.SERVER_UUID +
-                FROM + KillsTable.TABLE_NAME +
-                WHERE + KillsTable.KILLER_UUID + "=?" +
-                GROUP_BY + KillsTable.SERVER_UUID;
+        String sql = SELECT + "t." + PlayerTotalsTable.PLAYER_KILLS + " as kill_count, " +
+                ServerTable.SERVER_UUID + " as server_uuid" +
+                FROM + PlayerTotalsTable.TABLE_NAME + " t" +
+                INNER_JOIN + ServerTable.TABLE_NAME + " se on se." + ServerTable.ID + "=t." + PlayerTotalsTable.SERVER_ID +
+                WHERE + "t." + PlayerTotalsTable.USER_ID + "=" + UsersTable.SELECT_USER_ID +
+                AND + "t." + PlayerTotalsTable.PLAYER_KILLS + ">0";
         return getQueryForCountOf(playerUUID, sql, "kill_count");
     }
 
@@ -98,22 +98,20 @@ public class PerServerAggregateQueries {
      * @return Map: Server UUID - Mob kill count
      */
     public static Query<Map<ServerUUID, Integer>> mobKillCountOnServers(UUID playerUUID) {
-        String sql = SELECT + "SUM(" + SessionsTable.MOB_KILLS + ") as kill_count, " +
+        String sql = SELECT + "t." + PlayerTotalsTable.MOB_KILLS + " as kill_count, " +
                 ServerTable.SERVER_UUID + " as server_uuid" +
-                FROM + SessionsTable.TABLE_NAME +
-                INNER_JOIN + ServerTable.TABLE_NAME + " se on se." + ServerTable.ID + '=' + SessionsTable.TABLE_NAME + '.' + SessionsTable.SERVER_ID +
-                WHERE + SessionsTable.USER_ID + "=" + UsersTable.SELECT_USER_ID +
-                GROUP_BY + ServerTable.SERVER_UUID;
+                FROM + PlayerTotalsTable.TABLE_NAME + " t" +
+                INNER_JOIN + ServerTable.TABLE_NAME + " se on se." + ServerTable.ID + "=t." + PlayerTotalsTable.SERVER_ID +
+                WHERE + "t." + PlayerTotalsTable.USER_ID + "=" + UsersTable.SELECT_USER_ID;
         return getQueryForCountOf(playerUUID, sql, "kill_count");
     }
 
     public static Query<Map<ServerUUID, Integer>> totalDeathCountOnServers(UUID playerUUID) {
-        String sql = SELECT + "SUM(" + SessionsTable.DEATHS + ") as death_count, " +
+        String sql = SELECT + "t." + PlayerTotalsTable.DEATHS + " as death_count, " +
                 ServerTable.SERVER_UUID + " as server_uuid" +
-                FROM + SessionsTable.TABLE_NAME +
-                INNER_JOIN + ServerTable.TABLE_NAME + " se on se." + ServerTable.ID + '=' + SessionsTable.TABLE_NAME + '.' + SessionsTable.SERVER_ID +
-                WHERE + SessionsTable.USER_ID + "=" + UsersTable.SELECT_USER_ID +
-                GROUP_BY + ServerTable.SERVER_UUID;
+                FROM + PlayerTotalsTable.TABLE_NAME + " t" +
+                INNER_JOIN + ServerTable.TABLE_NAME + " se on se." + ServerTable.ID + "=t." + PlayerTotalsTable.SERVER_ID +
+                WHERE + "t." + PlayerTotalsTable.USER_ID + "=" + UsersTable.SELECT_USER_ID;
         return getQueryForCountOf(playerUUID, sql, "death_count");
     }
 
@@ -42,12 +42,12 @@ public class QueryAPIQuery<T> implements Query<T> {
     public T executeQuery(SQLDB db) {
         Connection connection = null;
         try {
-            connection = db.getConnection();
+            connection = db.getReadConnection();
             return executeWithConnection(connection);
         } catch (SQLException e) {
             throw DBOpException.forCause(sql, e);
         } finally {
-            db.returnToPool(connection);
+            db.returnReadConnectionToPool(connection);
         }
     }
 
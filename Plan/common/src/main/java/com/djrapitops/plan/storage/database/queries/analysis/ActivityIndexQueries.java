@@ -25,6 +25,7 @@ import com.djrapitops.plan.storage.database.sql.tables.SessionsTable;
 import com.djrapitops.plan.storage.database.sql.tables.UserInfoTable;
 import com.djrapitops.plan.storage.database.sql.tables.UsersTable;
 import com.djrapitops.plan.utilities.dev.Benchmark;
+import org.apache.commons.text.TextStringBuilder;
 
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -82,6 +83,26 @@ public class ActivityIndexQueries {
     }
 
     public static String selectActivityIndexSQL() {
+        return selectActivityIndexSQL("", "");
+    }
+
+    /**
+     * Select activity index of some users, so that sessions of other users don't need to be grouped.
+     * <p>
+     * Uses same parameters as {@link #selectActivityIndexSQL()}.
+     *
+     * @param userIds Ids of the users in plan_users, not empty.
+     * @return SQL for a subquery.
+     */
+    public static String selectActivityIndexOfUsersSQL(Collection<Integer> userIds) {
+        String userIdsInSet = " IN (" + new TextStringBuilder().appendWithSeparators(userIds, ",") + ')';
+        return selectActivityIndexSQL(
+                AND + SessionsTable.USER_ID + userIdsInSet,
+                WHERE + "ax_ux." + UserInfoTable.USER_ID + userIdsInSet
+        );
+    }
+
+    private static String selectActivityIndexSQL(String sessionUserCondition, String userCondition) {
         String selectActivePlaytimeSQL = SELECT +
                 "ax_ux." + UserInfoTable.USER_ID + ",COALESCE(active_playtime,0) AS active_playtime" +
                 FROM + UserInfoTable.TABLE_NAME + " ax_ux" +
@@ -91,8 +112,10 @@ public class ActivityIndexQueries {
                 WHERE + SessionsTable.SERVER_ID + "=" + ServerTable.SELECT_SERVER_ID +
                 AND + SessionsTable.SESSION_END + ">=?" +
                 AND + SessionsTable.SESSION_START + "<=?" +
+                sessionUserCondition +
                 GROUP_BY + SessionsTable.USER_ID +
-                ") ax_sx on ax_sx." + SessionsTable.USER_ID + "=ax_ux." + UserInfoTable.USER_ID;
+                ") ax_sx on ax_sx." + SessionsTable.USER_ID + "=ax_ux." + UserInfoTable.USER_ID +
+                userCondition;
 
         String selectThreeWeeks = selectActivePlaytimeSQL + UNION_ALL + selectActivePlaytimeSQL + UNION_ALL + selectActivePlaytimeSQL;
 
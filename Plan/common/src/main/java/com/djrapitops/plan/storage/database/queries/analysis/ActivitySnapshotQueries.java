@@ -0,0 +1,85 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database.queries.analysis;
+
+import com.djrapitops.plan.identification.ServerUUID;
+import com.djrapitops.plan.storage.database.queries.Query;
+import com.djrapitops.plan.storage.database.queries.QueryStatement;
+import com.djrapitops.plan.storage.database.sql.tables.ActivitySnapshotTable;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import static com.djrapitops.plan.storage.database.sql.building.Sql.*;
+
+/**
+ * Queries for weekly activity group snapshots.
+ *
+ * @author AuroraLS3
+ * @see ActivitySnapshotTable
+ */
+public class ActivitySnapshotQueries {
+
+    private ActivitySnapshotQueries() {
+        // Static method class
+    }
+
+    /**
+     * Fetch stored activity group counts.
+     *
+     * @param after      After epoch ms (inclusive)
+     * @param before     Before epoch ms (inclusive)
+     * @param serverUUID UUID of the Plan server, null for the whole network.
+     * @param threshold  Active playtime threshold the snapshots were calculated with.
+     * @return Map - Start of week (epoch ms) : Map of activity group : player count
+     */
+    public static Query<NavigableMap<Long, Map<String, Integer>>> fetchActivityGroupSnapshots(long after, long before, ServerUUID serverUUID, long threshold) {
+        String sql = SELECT + ActivitySnapshotTable.DATE + ',' +
+                ActivitySnapshotTable.ACTIVITY_GROUP + ',' +
+                ActivitySnapshotTable.GROUP_COUNT +
+                FROM + ActivitySnapshotTable.TABLE_NAME +
+                WHERE + ActivitySnapshotTable.serverCondition(serverUUID == null) +
+                AND + ActivitySnapshotTable.THRESHOLD + "=?" +
+                AND + ActivitySnapshotTable.DATE + ">=?" +
+                AND + ActivitySnapshotTable.DATE + "<=?";
+        return new QueryStatement<>(sql, 100) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                int index = 1;
+                if (serverUUID != null) statement.setString(index++, serverUUID.toString());
+                statement.setLong(index, threshold);
+                statement.setLong(index + 1, after);
+                statement.setLong(index + 2, before);
+            }
+
+            @Override
+            public NavigableMap<Long, Map<String, Integer>> processResults(ResultSet set) throws SQLException {
+                NavigableMap<Long, Map<String, Integer>> snapshots = new TreeMap<>();
+                while (set.next()) {
+                    snapshots.computeIfAbsent(set.getLong(ActivitySnapshotTable.DATE), date -> new HashMap<>())
+                            .put(set.getString(ActivitySnapshotTable.ACTIVITY_GROUP), set.getInt(ActivitySnapshotTable.GROUP_COUNT));
+                }
+                return snapshots;
+            }
+        };
+    }
+}
@@ -81,6 +81,27 @@ public class NetworkActivityIndexQueries {
     }
 
     public static String selectActivityIndexSQL(Collection<ServerUUID> onServers) {
+        return selectActivityIndexSQL(onServers, "", "");
+    }
+
+    /**
+     * Select activity index of some users, so that sessions of other users don't need to be grouped.
+     * <p>
+     * Uses same parameters as {@link #selectActivityIndexSQL()}.
+     *
+     * @param userIds Ids of the users in plan_users, not empty.
+     * @return SQL for a subquery.
+     */
+    public static String selectActivityIndexOfUsersSQL(Collection<Integer> userIds) {
+        String userIdsInSet = " IN (" + new TextStringBuilder().appendWithSeparators(userIds, ",") + ')';
+        return selectActivityIndexSQL(
+                Collections.emptyList(),
+                AND + SessionsTable.USER_ID + userIdsInSet,
+                WHERE + "ax_ux." + UsersTable.ID + userIdsInSet
+        );
+    }
+
+    private static String selectActivityIndexSQL(Collection<ServerUUID> onServers, String sessionUserCondition, String userCondition) {
         String selectServerIds = SELECT + ServerTable.ID +
                 FROM + ServerTable.TABLE_NAME +
                 WHERE + ServerTable.SERVER_UUID + " IN ('" + new TextStringBuilder().appendWithSeparators(onServers, "','") + "')";
@@ -96,8 +117,10 @@ public class NetworkActivityIndexQueries {
                 WHERE + SessionsTable.SESSION_END + ">=?" +
                 AND + SessionsTable.SESSION_START + "<=?" +
                 (onServers.isEmpty() ? "" : AND + SessionsTable.SERVER_ID + " IN (" + selectServerIds + ")") +
+                sessionUserCondition +
                 GROUP_BY + SessionsTable.USER_ID +
-                ") ax_sx on ax_sx." + SessionsTable.USER_ID + "=ax_ux." + UsersTable.ID;
+                ") ax_sx on ax_sx." + SessionsTable.USER_ID + "=ax_ux." + UsersTable.ID +
+                userCondition;
 
         String selectThreeWeeks = selectActivePlaytimeSQL + UNION_ALL + selectActivePlaytimeSQL + UNION_ALL + selectActivePlaytimeSQL;
 
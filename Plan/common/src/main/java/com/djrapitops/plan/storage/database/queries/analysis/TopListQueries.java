@@ -24,6 +24,7 @@ import com.djrapitops.plan.storage.database.sql.tables.SessionsTable;
 import com.djrapitops.plan.storage.database.sql.tables.UsersTable;
 import org.intellij.lang.annotations.Language;
 
+import java.util.List;
 import java.util.Optional;
 
 import static com.djrapitops.plan.storage.database.sql.building.Sql.*;
@@ -35,6 +36,33 @@ public class TopListQueries {
     }
 
     public static Query<Optional<TopListEntry<Long>>> fetchNthTop10PlaytimePlayerOn(ServerUUID serverUUID, int n, long after, long before) {
+        return nth(fetchTop10PlaytimePlayersOn(serverUUID, after, before), n);
+    }
+
+    public static Query<Optional<TopListEntry<Long>>> fetchNthTop10ActivePlaytimePlayerOn(ServerUUID serverUUID, int n, long after, long before) {
+        return nth(fetchTop10ActivePlaytimePlayersOn(serverUUID, after, before), n);
+    }
+
+    public static Query<Optional<TopListEntry<Long>>> fetchNthTop10PlayerKillCountOn(ServerUUID serverUUID, int n, long after, long before) {
+        return nth(fetchTop10PlayerKillCountsOn(serverUUID, after, before), n);
+    }
+
+    private static <T> Query<Optional<TopListEntry<T>>> nth(Query<List<TopListEntry<T>>> top10, int n) {
+        return db -> {
+            List<TopListEntry<T>> entries = db.query(top10);
+            return n >= 0 && n < entries.size() ? Optional.of(entries.get(n)) : Optional.empty();
+        };
+    }
+
+    /**
+     * Fetch top 10 players by playtime.
+     *
+     * @param serverUUID UUID of the Plan server, null for the whole network.
+     * @param after      After epoch ms
+     * @param before     Before epoch ms
+     * @return List of up to 10 entries, highest first.
+     */
+    public static Query<List<TopListEntry<Long>>> fetchTop10PlaytimePlayersOn(ServerUUID serverUUID, long after, long before) {
         @Language("SQL")
         String sql = SELECT + "u." + UsersTable.USER_NAME + ", " +
                 "SUM(" + SessionsTable.SESSION_END + '-' + SessionsTable.SESSION_START + ") as playtime" +
@@ -46,14 +74,21 @@ public class TopListQueries {
                 AND + SessionsTable.SESSION_END + "<?" +
                 GROUP_BY + "u." + UsersTable.USER_NAME +
                 ORDER_BY + "playtime DESC" +
-                LIMIT + "10" +
-                OFFSET + "?";
+                LIMIT + "10";
 
-        return db -> db.queryOptional(sql, set -> new TopListEntry<>(set.getString(UsersTable.USER_NAME), set.getLong("playtime")),
-                serverUUID, serverUUID != null ? serverUUID.toString() : null, after, before, n);
+        return db -> db.queryList(sql, set -> new TopListEntry<>(set.getString(UsersTable.USER_NAME), set.getLong("playtime")),
+                serverUUID, serverUUID != null ? serverUUID.toString() : null, after, before);
     }
 
-    public static Query<Optional<TopListEntry<Long>>> fetchNthTop10ActivePlaytimePlayerOn(ServerUUID serverUUID, int n, long after, long before) {
+    /**
+     * Fetch top 10 players by active playtime.
+     *
+     * @param serverUUID UUID of the Plan server, null for the whole network.
+     * @param after      After epoch ms
+     * @param before     Before epoch ms
+     * @return List of up to 10 entries, highest first.
+     */
+    public static Query<List<TopListEntry<Long>>> fetchTop10ActivePlaytimePlayersOn(ServerUUID serverUUID, long after, long before) {
         @Language("SQL")
         String sql = SELECT + "u." + UsersTable.USER_NAME + ", " +
                 "SUM(" + SessionsTable.SESSION_END + '-' + SessionsTable.SESSION_START + '-' + SessionsTable.AFK_TIME + ") as active_playtime" +
@@ -65,14 +100,21 @@ public class TopListQueries {
                 AND + SessionsTable.SESSION_END + "<?" +
                 GROUP_BY + "u." + UsersTable.USER_NAME +
                 ORDER_BY + "active_playtime DESC" +
-                LIMIT + "10" +
-                OFFSET + "?";
+                LIMIT + "10";
 
-        return db -> db.queryOptional(sql, set -> new TopListEntry<>(set.getString(UsersTable.USER_NAME), set.getLong("active_playtime")),
-                serverUUID, serverUUID != null ? serverUUID.toString() : null, after, before, n);
+        return db -> db.queryList(sql, set -> new TopListEntry<>(set.getString(UsersTable.USER_NAME), set.getLong("active_playtime")),
+                serverUUID, serverUUID != null ? serverUUID.toString() : null, after, before);
     }
 
-    public static Query<Optional<TopListEntry<Long>>> fetchNthTop10PlayerKillCountOn(ServerUUID serverUUID, int n, long after, long before) {
+    /**
+     * Fetch top 10 players by player kills.
+     *
+     * @param serverUUID UUID of the Plan server.
+     * @param after      After epoch ms
+     * @param before     Before epoch ms
+     * @return List of up to 10 entries, highest first.
+     */
+    public static Query<List<TopListEntry<Long>>> fetchTop10PlayerKillCountsOn(ServerUUID serverUUID, long after, long before) {
         @Language("SQL")
         String sql = SELECT + "u." + UsersTable.USER_NAME + ", " +
                 "COUNT(1) as kills" +
@@ -83,11 +125,10 @@ public class TopListQueries {
                 AND + KillsTable.DATE + "<?" +
                 GROUP_BY + "u." + UsersTable.USER_NAME +
                 ORDER_BY + "kills DESC" +
-                LIMIT + "10" +
-                OFFSET + "?";
+                LIMIT + "10";
 
-        return db -> db.queryOptional(sql, set -> new TopListEntry<>(set.getString(UsersTable.USER_NAME), set.getLong("kills")),
-                serverUUID, after, before, n);
+        return db -> db.queryList(sql, set -> new TopListEntry<>(set.getString(UsersTable.USER_NAME), set.getLong("kills")),
+                serverUUID, after, before);
     }
 
     public static class TopListEntry<T> {
@@ -22,6 +22,7 @@ import com.djrapitops.plan.storage.database.queries.Query;
 import com.djrapitops.plan.storage.database.queries.QueryAllStatement;
 import com.djrapitops.plan.storage.database.queries.QueryStatement;
 import com.djrapitops.plan.storage.database.sql.building.Select;
+import com.djrapitops.plan.storage.database.sql.tables.ServerEventTable;
 import com.djrapitops.plan.storage.database.sql.tables.ServerTable;
 import com.djrapitops.plan.utilities.dev.Untrusted;
 import com.djrapitops.plan.utilities.java.Maps;
@@ -270,6 +271,55 @@ public class ServerQueries {
         };
     }
 
+    /**
+     * Fetch the plan_servers id of a server, same as {@link ServerTable#SELECT_SERVER_ID}.
+     *
+     * @param serverUUID UUID of the Plan server.
+     * @return Optional id, empty if the server has not been registered.
+     */
+    public static Query<Optional<Integer>> fetchServerId(ServerUUID serverUUID) {
+        String sql = SELECT + ServerTable.ID + FROM + ServerTable.TABLE_NAME +
+                WHERE + ServerTable.SERVER_UUID + "=?" + LIMIT + '1';
+        return new QueryStatement<>(sql) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setString(1, serverUUID.toString());
+            }
+
+            @Override
+            public Optional<Integer> processResults(ResultSet set) throws SQLException {
+                return set.next() ? Optional.of(set.getInt(ServerTable.ID)) : Optional.empty();
+            }
+        };
+    }
+
+    /**
+     * Find when a server was last started, if it has not been stopped since.
+     *
+     * @param serverUUID UUID of the server.
+     * @return Start date, or empty if the server has no events or the latest event is a stop.
+     */
+    public static Query<Optional<Long>> fetchLatestServerStartTime(ServerUUID serverUUID) {
+        String sql = SELECT + ServerEventTable.DATE + ',' + ServerEventTable.EVENT_TYPE +
+                FROM + ServerEventTable.TABLE_NAME +
+                WHERE + ServerEventTable.SERVER_ID + "=" + ServerTable.SELECT_SERVER_ID +
+                ORDER_BY + ServerEventTable.DATE + " DESC" + LIMIT + '1';
+        return new QueryStatement<>(sql) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setString(1, serverUUID.toString());
+            }
+
+            @Override
+            public Optional<Long> processResults(ResultSet set) throws SQLException {
+                if (set.next() && ServerEventTable.START.equals(set.getString(ServerEventTable.EVENT_TYPE))) {
+                    return Optional.of(set.getLong(ServerEventTable.DATE));
+                }
+                return Optional.empty();
+            }
+        };
+    }
+
     public static Query<Map<String, ServerUUID>> fetchServerNamesToUUIDs() {
         return db -> Maps.reverse(db.query(fetchServerNames()));
     }
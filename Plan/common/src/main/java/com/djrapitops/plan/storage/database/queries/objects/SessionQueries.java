@@ -342,16 +342,12 @@ public class SessionQueries {
 
     public static Query<Long> sessionCount(long after, long before, List<ServerUUID> serverUUIDs) {
         return db -> {
-            String sql = SELECT + "COUNT(1) as count" +
-                    FROM + SessionsTable.TABLE_NAME +
-                    WHERE + (!serverUUIDs.isEmpty() ? SessionsTable.SERVER_ID + " IN " + ServerTable.selectServerIds(serverUUIDs) +
-                                                      AND : "") + SessionsTable.SESSION_START + ">=?" +
-                    AND + SessionsTable.SESSION_START + "<?";
+            String sql = SELECT + "SUM(session_count) as count" +
+                    FROM + selectSessionBuckets(serverUUIDs) + " b";
             return db.query(new QueryStatement<>(sql) {
                 @Override
                 public void prepare(PreparedStatement statement) throws SQLException {
-                    statement.setLong(1, after);
-                    statement.setLong(2, before);
+                    setSessionBucketParameters(statement, after, before, Long.MAX_VALUE, true);
                 }
 
                 @Override
@@ -396,37 +392,7 @@ public class SessionQueries {
      * @return Map - Epoch ms (Start of day at 0 AM, no offset) : Session count of that day
      */
     public static Query<NavigableMap<Long, Integer>> sessionCountPerDay(long after, long before, long timeZoneOffset, ServerUUID serverUUID) {
-        return database -> {
-            Sql sql = database.getSql();
-            String selectSessionsPerDay = SELECT +
-                    sql.dateToEpochSecond(sql.dateToDayStamp(sql.epochSecondToDate('(' + SessionsTable.SESSION_START + "+?)/1000"))) +
-                    "*1000 as date," +
-                    "COUNT(1) as session_count" +
-                    FROM + SessionsTable.TABLE_NAME +
-                    WHERE + SessionsTable.SESSION_START + "<?" +
-                    AND + SessionsTable.SESSION_START + ">=?" +
-                    AND + SessionsTable.SERVER_ID + "=" + ServerTable.SELECT_SERVER_ID +
-                    GROUP_BY + "date";
-
-            return database.query(new QueryStatement<NavigableMap<Long, Integer>>(selectSessionsPerDay, 100) {
-                @Override
-                public void prepare(PreparedStatement statement) throws SQLException {
-                    statement.setLong(1, timeZoneOffset);
-                    statement.setLong(2, before);
-                    statement.setLong(3, after);
-                    statement.setString(4, serverUUID.toString());
-                }
-
-                @Override
-                public NavigableMap<Long, Integer> processResults(ResultSet set) throws SQLException {
-                    NavigableMap<Long, Integer> uniquePerDay = new TreeMap<>();
-                    while (set.next()) {
-                        uniquePerDay.put(set.getLong("date"), set.getInt("session_count"));
-                    }
-                    return uniquePerDay;
-                }
-            });
-        };
+        return sessionCountPerDay(after, before, timeZoneOffset, List.of(serverUUID));
     }
 
     /**
@@ -438,23 +404,24 @@ public class SessionQueries {
      * @return Map - Epoch ms (Start of day at 0 AM, no offset) : Session count of that day
      */
     public static Query<NavigableMap<Long, Integer>> sessionCountPerDay(long after, long before, long timeZoneOffset) {
+        return sessionCountPerDay(after, before, timeZoneOffset, List.of());
+    }
+
+    private static Query<NavigableMap<Long, Integer>> sessionCountPerDay(long after, long before, long timeZoneOffset, List<ServerUUID> serverUUIDs) {
         return database -> {
             Sql sql = database.getSql();
             String selectSessionsPerDay = SELECT +
-                    sql.dateToEpochSecond(sql.dateToDayStamp(sql.epochSecondToDate('(' + SessionsTable.SESSION_START + "+?)/1000"))) +
+                    sql.dateToEpochSecond(sql.dateToDayStamp(sql.epochSecondToDate("(bucket_start+?)/1000"))) +
                     "*1000 as date," +
-                    "COUNT(1) as session_count" +
-                    FROM + SessionsTable.TABLE_NAME +
-                    WHERE + SessionsTable.SESSION_START + "<?" +
-                    AND + SessionsTable.SESSION_START + ">=?" +
+                    "SUM(session_count) as session_count" +
+                    FROM + selectSessionBuckets(serverUUIDs) + " b" +
                     GROUP_BY + "date";
 
             return database.query(new QueryStatement<NavigableMap<Long, Integer>>(selectSessionsPerDay, 100) {
                 @Override
                 public void prepare(PreparedStatement statement) throws SQLException {
                     statement.setLong(1, timeZoneOffset);
-                    statement.setLong(2, before);
-                    statement.setLong(3, after);
+                    setSessionBucketParameters(statement, after, before, Long.MAX_VALUE, canUseSessionBuckets(timeZoneOffset), 2);
                 }
 
                 @Override
@@ -660,38 +627,7 @@ public class SessionQueries {
      * @return Map - Epoch ms (Start of day at 0 AM, no offset) : Playtime of that day
      */
     public static Query<NavigableMap<Long, Long>> playtimePerDay(long after, long before, long timeZoneOffset, ServerUUID serverUUID) {
-        return database -> {
-            Sql sql = database.getSql();
-            String selectPlaytimePerDay = SELECT +
-                    sql.dateToEpochSecond(sql.dateToDayStamp(sql.epochSecondToDate('(' + SessionsTable.SESSION_START + "+?)/1000"))) +
-                    "*1000 as date," +
-                    "SUM(" + SessionsTable.SESSION_END + '-' + SessionsTable.SESSION_START + ") as playtime" +
-                    FROM + SessionsTable.TABLE_NAME + " t" +
-                    INNER_JOIN + ServerTable.TABLE_NAME + " s ON s." + ServerTable.ID + "=t." + SessionsTable.SERVER_ID +
-                    WHERE + SessionsTable.SESSION_END + "<=?" +
-                    AND + SessionsTable.SESSION_START + ">=?" +
-                    AND + "s." + ServerTable.SERVER_UUID + "=?" +
-                    GROUP_BY + "date";
-
-            return database.query(new QueryStatement<NavigableMap<Long, Long>>(selectPlaytimePerDay, 100) {
-                @Override
-                public void prepare(PreparedStatement statement) throws SQLException {
-                    statement.setLong(1, timeZoneOffset);
-                    statement.setLong(2, before);
-                    statement.setLong(3, after);
-                    statement.setString(4, serverUUID.toString());
-                }
-
-                @Override
-                public NavigableMap<Long, Long> processResults(ResultSet set) throws SQLException {
-                    NavigableMap<Long, Long> uniquePerDay = new TreeMap<>();
-                    while (set.next()) {
-                        uniquePerDay.put(set.getLong("date"), set.getLong("playtime"));
-                    }
-                    return uniquePerDay;
-                }
-            });
-        };
+        return playtimePerDay(after, before, timeZoneOffset, List.of(serverUUID));
     }
 
     /**
@@ -703,23 +639,24 @@ public class SessionQueries {
      * @return Map - Epoch ms (Start of day at 0 AM, no offset) : Playtime of that day
      */
     public static Query<NavigableMap<Long, Long>> playtimePerDay(long after, long before, long timeZoneOffset) {
+        return playtimePerDay(after, before, timeZoneOffset, List.of());
+    }
+
+    private static Query<NavigableMap<Long, Long>> playtimePerDay(long after, long before, long timeZoneOffset, List<ServerUUID> serverUUIDs) {
         return database -> {
             Sql sql = database.getSql();
             String selectPlaytimePerDay = SELECT +
-                    sql.dateToEpochSecond(sql.dateToDayStamp(sql.epochSecondToDate('(' + SessionsTable.SESSION_START + "+?)/1000"))) +
+                    sql.dateToEpochSecond(sql.dateToDayStamp(sql.epochSecondToDate("(bucket_start+?)/1000"))) +
                     "*1000 as date," +
-                    "SUM(" + SessionsTable.SESSION_END + '-' + SessionsTable.SESSION_START + ") as playtime" +
-                    FROM + SessionsTable.TABLE_NAME +
-                    WHERE + SessionsTable.SESSION_END + "<=?" +
-                    AND + SessionsTable.SESSION_START + ">=?" +
+                    "SUM(playtime) as playtime" +
+                    FROM + selectSessionBuckets(serverUUIDs) + " b" +
                     GROUP_BY + "date";
 
             return database.query(new QueryStatement<NavigableMap<Long, Long>>(selectPlaytimePerDay, 100) {
                 @Override
                 public void prepare(PreparedStatement statement) throws SQLException {
                     statement.setLong(1, timeZoneOffset);
-                    statement.setLong(2, before);
-                    statement.setLong(3, after);
+                    setSessionBucketParameters(statement, after, before, before, canUseSessionBuckets(timeZoneOffset), 2);
                 }
 
                 @Override
@@ -734,6 +671,61 @@ public class SessionQueries {
         };
     }
 
+    /**
+     * Sql for a derived table of sessions that started within a range.
+     * <p>
+     * Full {@link SessionBucketTable#BUCKET}s within the range are read from {@link SessionBucketTable}, and the
+     * partial buckets at the start and end of the range from plan_sessions. Rows have bucket_start, session_count and
+     * playtime columns. Parameters are set with {@link #setSessionBucketParameters}.
+     *
+     * @param serverUUIDs Servers to include, empty for all servers.
+     * @return Sql, needs an alias.
+     */
+    private static String selectSessionBuckets(List<ServerUUID> serverUUIDs) {
+        String sessionsOfServers = serverUUIDs.isEmpty() ? "" : SessionsTable.SERVER_ID + " IN " + ServerTable.selectServerIds(serverUUIDs) + AND;
+        String bucketsOfServers = serverUUIDs.isEmpty() ? "" : SessionBucketTable.SERVER_ID + " IN " + ServerTable.selectServerIds(serverUUIDs) + AND;
+        return "(" + SELECT + SessionsTable.SESSION_START + " as bucket_start," +
+                "1 as session_count," +
+                SessionsTable.SESSION_END + '-' + SessionsTable.SESSION_START + " as playtime" +
+                FROM + SessionsTable.TABLE_NAME +
+                WHERE + sessionsOfServers + SessionsTable.SESSION_END + "<=?" +
+                AND + "(" + SessionsTable.SESSION_START + ">=?" + AND + SessionsTable.SESSION_START + "<?" +
+                OR + SessionsTable.SESSION_START + ">=?" + AND + SessionsTable.SESSION_START + "<?)" +
+                UNION_ALL +
+                SELECT + SessionBucketTable.DATE + " as bucket_start," +
+                SessionBucketTable.SESSION_COUNT + " as session_count," +
+                SessionBucketTable.PLAYTIME + " as playtime" +
+                FROM + SessionBucketTable.TABLE_NAME +
+                WHERE + bucketsOfServers + SessionBucketTable.DATE + ">=?" +
+                AND + SessionBucketTable.DATE + "<?)";
+    }
+
+    private static void setSessionBucketParameters(PreparedStatement statement, long after, long before, long endedBefore, boolean useBuckets) throws SQLException {
+        setSessionBucketParameters(statement, after, before, endedBefore, useBuckets, 1);
+    }
+
+    private static void setSessionBucketParameters(PreparedStatement statement, long after, long before, long endedBefore, boolean useBuckets, int firstIndex) throws SQLException {
+        long fullStart = SessionBucketTable.bucketOf(after + SessionBucketTable.BUCKET - 1);
+        long fullEnd = SessionBucketTable.bucketOf(before);
+        if (!useBuckets || fullStart >= fullEnd) {
+            // Read everything from plan_sessions
+            fullStart = before;
+            fullEnd = before;
+        }
+        statement.setLong(firstIndex, endedBefore);
+        statement.setLong(firstIndex + 1, after);
+        statement.setLong(firstIndex + 2, fullStart);
+        statement.setLong(firstIndex + 3, fullEnd);
+        statement.setLong(firstIndex + 4, before);
+        statement.setLong(firstIndex + 5, fullStart);
+        statement.setLong(firstIndex + 6, fullEnd);
+    }
+
+    private static boolean canUseSessionBuckets(long timeZoneOffset) {
+        // Buckets can only be grouped into days if the days start at the start of a bucket
+        return timeZoneOffset % SessionBucketTable.BUCKET == 0;
+    }
+
     public static Query<Long> averagePlaytimePerDay(long after, long before, long timeZoneOffset) {
         return averagePlaytimePerDay(after, before, timeZoneOffset, List.of());
     }
@@ -1048,18 +1040,18 @@ public class SessionQueries {
     }
 
     public static Query<Long> lastSeen(UUID playerUUID) {
-        String sql = SELECT + "MAX(" + SessionsTable.SESSION_END + ") as last_seen" +
-                FROM + SessionsTable.TABLE_NAME +
-                WHERE + SessionsTable.USER_ID + "=" + UsersTable.SELECT_USER_ID;
+        String sql = SELECT + "MAX(" + PlayerTotalsTable.LAST_SEEN + ") as last_seen" +
+                FROM + PlayerTotalsTable.TABLE_NAME +
+                WHERE + PlayerTotalsTable.USER_ID + "=" + UsersTable.SELECT_USER_ID;
         return db -> db.queryOptional(sql, set -> set.getLong("last_seen"), playerUUID)
                 .orElse(0L);
     }
 
     public static Query<Long> lastSeen(UUID playerUUID, ServerUUID serverUUID) {
-        String sql = SELECT + "MAX(" + SessionsTable.SESSION_END + ") as last_seen" +
-                FROM + SessionsTable.TABLE_NAME +
-                WHERE + SessionsTable.USER_ID + "=" + UsersTable.SELECT_USER_ID +
-                AND + SessionsTable.SERVER_ID + "=" + ServerTable.SELECT_SERVER_ID;
+        String sql = SELECT + "MAX(" + PlayerTotalsTable.LAST_SEEN + ") as last_seen" +
+                FROM + PlayerTotalsTable.TABLE_NAME +
+                WHERE + PlayerTotalsTable.USER_ID + "=" + UsersTable.SELECT_USER_ID +
+                AND + PlayerTotalsTable.SERVER_ID + "=" + ServerTable.SELECT_SERVER_ID;
         return new QueryStatement<>(sql) {
             @Override
             public void prepare(PreparedStatement statement) throws SQLException {
@@ -1204,11 +1196,10 @@ public class SessionQueries {
     }
 
     public static Query<Map<UUID, Long>> lastSeen(ServerUUID serverUUID) {
-        String sql = SELECT + UsersTable.USER_UUID + ", MAX(" + SessionsTable.SESSION_END + ") as last_seen" +
-                FROM + SessionsTable.TABLE_NAME + " s" +
-                INNER_JOIN + UsersTable.TABLE_NAME + " u ON u." + UsersTable.ID + "=s." + SessionsTable.USER_ID +
-                WHERE + SessionsTable.SERVER_ID + "=" + ServerTable.SELECT_SERVER_ID +
-                GROUP_BY + UsersTable.USER_UUID;
+        String sql = SELECT + UsersTable.USER_UUID + ",t." + PlayerTotalsTable.LAST_SEEN + " as last_seen" +
+                FROM + PlayerTotalsTable.TABLE_NAME + " t" +
+                INNER_JOIN + UsersTable.TABLE_NAME + " u ON u." + UsersTable.ID + "=t." + PlayerTotalsTable.USER_ID +
+                WHERE + "t." + PlayerTotalsTable.SERVER_ID + "=" + ServerTable.SELECT_SERVER_ID;
         return db -> db.queryMap(sql, (set, to) -> to.put(
                 UUID.fromString(set.getString(UsersTable.USER_UUID)),
                 set.getLong("last_seen")
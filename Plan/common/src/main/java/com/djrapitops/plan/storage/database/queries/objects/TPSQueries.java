@@ -27,8 +27,8 @@ import com.djrapitops.plan.storage.database.queries.Query;
 import com.djrapitops.plan.storage.database.queries.QueryStatement;
 import com.djrapitops.plan.storage.database.sql.building.Select;
 import com.djrapitops.plan.storage.database.sql.tables.ServerTable;
+import com.djrapitops.plan.storage.database.sql.tables.TPSRollupTable;
 import com.djrapitops.plan.storage.database.sql.tables.TPSTable;
-import com.djrapitops.plan.utilities.dev.Benchmark;
 import com.djrapitops.plan.utilities.java.Lists;
 import org.intellij.lang.annotations.Language;
 import org.jspecify.annotations.Nullable;
@@ -510,26 +510,7 @@ public class TPSQueries {
         if (serverUUIDs.isEmpty()) {
             return db -> -1.0;
         }
-
-        String sql = SELECT + "AVG(" + TPS + ") as average" + FROM + TABLE_NAME + " t" +
-                INNER_JOIN + ServerTable.TABLE_NAME + " s ON s." + ServerTable.ID + "=t." + SERVER_ID +
-                WHERE + "s." + ServerTable.SERVER_UUID + " IN (" + ServerTable.uuids(serverUUIDs) + ")" +
-                AND + TPS + ">=0" +
-                AND + DATE + "<?" +
-                AND + DATE + ">?";
-        return new QueryStatement<>(sql) {
-            @Override
-            public void prepare(PreparedStatement statement) throws SQLException {
-                statement.setLong(1, before);
-                statement.setLong(2, after);
-            }
-
-            @Override
-            public Double processResults(ResultSet set) throws SQLException {
-                double value = set.next() ? set.getDouble("average") : -1.0;
-                return set.wasNull() ? -1.0 : value;
-            }
-        };
+        return averageWithRollups(after, before, serverUUIDs, TPS);
     }
 
     public static Query<Double> averagePlayersOnline(long after, long before, ServerUUID serverUUID) {
@@ -540,6 +521,9 @@ public class TPSQueries {
         if (serverUUIDs.isEmpty()) {
             return db -> -1.0;
         }
+        if (onlineActivityType == null) {
+            return averageWithRollups(after, before, serverUUIDs, PLAYERS_ONLINE);
+        }
 
         String sql = SELECT + "AVG(" + PLAYERS_ONLINE + ") as average" + FROM + TABLE_NAME + " t" +
                 INNER_JOIN + ServerTable.TABLE_NAME + " s ON s." + ServerTable.ID + "=t." + SERVER_ID +
@@ -567,6 +551,9 @@ public class TPSQueries {
     }
 
     public static Query<Double> averageCPU(long after, long before, List<ServerUUID> serverUUIDs, OnlineActivityType onlineActivityType) {
+        if (onlineActivityType == null) {
+            return averageWithRollups(after, before, serverUUIDs, CPU_USAGE);
+        }
         String sql = SELECT + "AVG(" + CPU_USAGE + ") as average" + FROM + TABLE_NAME + " t" +
                 INNER_JOIN + ServerTable.TABLE_NAME + " s ON s." + ServerTable.ID + "=t." + SERVER_ID +
                 WHERE + (serverUUIDs.isEmpty()
@@ -683,26 +670,7 @@ public class TPSQueries {
         if (serverUUIDs.isEmpty()) {
             return db -> -1L;
         }
-
-        String sql = SELECT + "AVG(" + RAM_USAGE + ") as average" + FROM + TABLE_NAME + " t" +
-                INNER_JOIN + ServerTable.TABLE_NAME + " s ON s." + ServerTable.ID + "=t." + SERVER_ID +
-                WHERE + "s." + ServerTable.SERVER_UUID + " IN (" + ServerTable.uuids(serverUUIDs) + ")" +
-                AND + RAM_USAGE + ">=0" +
-                AND + DATE + "<?" +
-                AND + DATE + ">?";
-        return new QueryStatement<>(sql) {
-            @Override
-            public void prepare(PreparedStatement statement) throws SQLException {
-                statement.setLong(1, before);
-                statement.setLong(2, after);
-            }
-
-            @Override
-            public Long processResults(ResultSet set) throws SQLException {
-                double value = set.next() ? set.getDouble("average") : -1.0;
-                return set.wasNull() ? -1L : (long) value;
-            }
-        };
+        return averageWithRollupsAsLong(after, before, serverUUIDs, RAM_USAGE);
     }
 
     public static Query<Long> averageChunks(long after, long before, ServerUUID serverUUID) {
@@ -710,6 +678,9 @@ public class TPSQueries {
     }
 
     public static Query<Long> averageChunks(long after, long before, List<ServerUUID> serverUUIDs, @Nullable OnlineActivityType onlineActivityType) {
+        if (onlineActivityType == null) {
+            return averageWithRollupsAsLong(after, before, serverUUIDs, CHUNKS);
+        }
         String sql = SELECT + "AVG(" + CHUNKS + ") as average" + FROM + TABLE_NAME + " t" +
                 INNER_JOIN + ServerTable.TABLE_NAME + " s ON s." + ServerTable.ID + "=t." + SERVER_ID +
                 WHERE + (serverUUIDs.isEmpty()
@@ -764,6 +735,9 @@ public class TPSQueries {
     }
 
     public static Query<Long> averageEntities(long after, long before, List<ServerUUID> serverUUIDs, OnlineActivityType onlineActivityType) {
+        if (onlineActivityType == null) {
+            return averageWithRollupsAsLong(after, before, serverUUIDs, ENTITIES);
+        }
         String sql = SELECT + "AVG(" + ENTITIES + ") as average" + FROM + TABLE_NAME + " t" +
                 INNER_JOIN + ServerTable.TABLE_NAME + " s ON s." + ServerTable.ID + "=t." + SERVER_ID +
                 WHERE + (serverUUIDs.isEmpty()
@@ -818,6 +792,9 @@ public class TPSQueries {
     }
 
     public static Query<Double> averageMSPT(long after, long before, List<ServerUUID> serverUUIDs, OnlineActivityType onlineActivityType) {
+        if (onlineActivityType == null) {
+            return averageWithRollups(after, before, serverUUIDs, MSPT_AVERAGE);
+        }
         String sql = SELECT + "AVG(" + MSPT_AVERAGE + ") as average" + FROM + TABLE_NAME + " t" +
                 INNER_JOIN + ServerTable.TABLE_NAME + " s ON s." + ServerTable.ID + "=t." + SERVER_ID +
                 WHERE + (serverUUIDs.isEmpty()
@@ -1085,77 +1062,195 @@ public class TPSQueries {
         };
     }
 
-    @Benchmark.Slow("1s")
-    public static Query<Optional<Long>> fetchLatestServerStartTime(ServerUUID serverUUID, long dataGapThreshold) {
-        String selectPreviousRowNumber = SELECT +
-                "-1+ROW_NUMBER() over (ORDER BY " + DATE + ") AS previous_rn, " +
-                SERVER_ID + ',' +
-                DATE + " AS d1" +
-                FROM + TABLE_NAME + " t1_in" +
-                INNER_JOIN + ServerTable.TABLE_NAME + " s1_in ON s1_in." + ServerTable.ID + "=t1_in." + SERVER_ID +
-                WHERE + "s1_in." + ServerTable.SERVER_UUID + "=?" +
-                GROUP_BY + SERVER_ID + ',' + DATE +
-                ORDER_BY + "d1 DESC";
-        String selectRowNumber = SELECT +
-                "ROW_NUMBER() over (ORDER BY " + DATE + ") AS rn, " +
-                SERVER_ID + ',' +
-                DATE + " AS previous_date" +
-                FROM + TABLE_NAME + " t2_in" +
-                INNER_JOIN + ServerTable.TABLE_NAME + " s2_in ON s2_in." + ServerTable.ID + "=t2_in." + SERVER_ID +
-                WHERE + "s2_in." + ServerTable.SERVER_UUID + "=?" +
-                GROUP_BY + SERVER_ID + ',' + DATE +
-                ORDER_BY + "previous_date DESC";
-
-        String selectFirstEntryDate = SELECT +
-                "MIN(" + DATE + ") as start_time," +
-                SERVER_ID + " as server_id" +
-                FROM + TABLE_NAME + " t3_in" +
-                INNER_JOIN + ServerTable.TABLE_NAME + " s3_in ON s3_in." + ServerTable.ID + "=t3_in." + SERVER_ID +
-                WHERE + "s3_in." + ServerTable.SERVER_UUID + "=?" +
-                GROUP_BY + SERVER_ID;
-
-        // Finds the start time since difference between d1 and previous date is a gap,
-        // so d1 is always first entry after a gap in the data. MAX finds the latest.
-        // Union ensures if there are no gaps to use the first date recorded.
-        String selectStartTime = SELECT +
-                "MAX(d1) AS start_time," +
-                "t1." + SERVER_ID + " as server_id" +
-                FROM + "(" + selectPreviousRowNumber + ") t1" +
-                INNER_JOIN +
-                "(" + selectRowNumber + ") t2 ON t1.previous_rn=t2.rn AND t2." + SERVER_ID + "=t1." + SERVER_ID +
-                WHERE + "d1 - previous_date > ?" +
-                GROUP_BY + "t1." + SERVER_ID +
-                UNION + selectFirstEntryDate;
-
-        return new QueryStatement<>(selectStartTime) {
+    public static Query<List<Row>> fetchRows(int currentId, int rowLimit) {
+        String sql = Select.all(TABLE_NAME)
+                .where(TPSTable.ID + '>' + currentId)
+                .orderBy(TPSTable.ID)
+                .limit(rowLimit)
+                .toString();
+        return db -> db.queryList(sql, Row::extract);
+    }
+
+    /**
+     * Fetch rollup rows for copying them to another database.
+     *
+     * @param rollupTable {@link TPSRollupTable#HOURLY_TABLE_NAME} or {@link TPSRollupTable#DAILY_TABLE_NAME}
+     * @param currentId   Rows after this id are fetched.
+     * @param rowLimit    Maximum number of rows.
+     * @return List of rows in id order.
+     */
+    public static Query<List<TPSRollupTable.Row>> fetchRollupRows(String rollupTable, int currentId, int rowLimit) {
+        String sql = Select.all(rollupTable)
+                .where(TPSRollupTable.ID + '>' + currentId)
+                .orderBy(TPSRollupTable.ID)
+                .limit(rowLimit)
+                .toString();
+        return db -> db.queryList(sql, TPSRollupTable.Row::extract);
+    }
+
+    /**
+     * Fetch the date of the last rolled up bucket of a server.
+     *
+     * @param rollupTable {@link TPSRollupTable#HOURLY_TABLE_NAME} or {@link TPSRollupTable#DAILY_TABLE_NAME}
+     * @param serverUUID  UUID of the server.
+     * @return Start date of the last bucket, empty if nothing has been rolled up yet.
+     */
+    public static Query<Optional<Long>> fetchLastRollupDate(String rollupTable, ServerUUID serverUUID) {
+        String sql = SELECT + max("r." + TPSRollupTable.DATE) + " as last_rollup" +
+                FROM + rollupTable + " r" +
+                INNER_JOIN + ServerTable.TABLE_NAME + " s ON s." + ServerTable.ID + "=r." + TPSRollupTable.SERVER_ID +
+                WHERE + "s." + ServerTable.SERVER_UUID + "=?";
+        return new QueryStatement<>(sql) {
             @Override
             public void prepare(PreparedStatement statement) throws SQLException {
                 statement.setString(1, serverUUID.toString());
-                statement.setString(2, serverUUID.toString());
-                statement.setLong(3, dataGapThreshold);
-                statement.setString(4, serverUUID.toString());
             }
 
             @Override
             public Optional<Long> processResults(ResultSet set) throws SQLException {
-                long startTime = 0;
+                if (!set.next()) return Optional.empty();
+                long lastRollup = set.getLong("last_rollup");
+                return set.wasNull() ? Optional.empty() : Optional.of(lastRollup);
+            }
+        };
+    }
+
+    /**
+     * Fetch rolled up TPS data of a server as {@link TPS} objects for graphs.
+     * <p>
+     * Each bucket is represented like in {@link #fetchTPSDataOfServerInResolution(long, long, long, ServerUUID)}:
+     * lowest tps, highest values for the rest and lowest free disk space.
+     *
+     * @param rollupTable {@link TPSRollupTable#HOURLY_TABLE_NAME} or {@link TPSRollupTable#DAILY_TABLE_NAME}
+     * @param after       Buckets starting at or after this date are included.
+     * @param before      Buckets starting before this date are included.
+     * @param serverUUID  UUID of the server.
+     * @return List of TPS objects ordered by date.
+     */
+    public static Query<List<TPS>> fetchTPSRollupsOfServer(String rollupTable, long after, long before, ServerUUID serverUUID) {
+        String sql = SELECT + "r.*" +
+                FROM + rollupTable + " r" +
+                INNER_JOIN + ServerTable.TABLE_NAME + " s ON s." + ServerTable.ID + "=r." + TPSRollupTable.SERVER_ID +
+                WHERE + "s." + ServerTable.SERVER_UUID + "=?" +
+                AND + "r." + TPSRollupTable.DATE + ">=?" +
+                AND + "r." + TPSRollupTable.DATE + "<?" +
+                ORDER_BY + "r." + TPSRollupTable.DATE;
+        return new QueryStatement<>(sql, 10000) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setString(1, serverUUID.toString());
+                statement.setLong(2, after);
+                statement.setLong(3, before);
+            }
+
+            @Override
+            public List<TPS> processResults(ResultSet set) throws SQLException {
+                List<TPS> data = new ArrayList<>();
                 while (set.next()) {
-                    long gotStartTime = set.getLong("start_time");
-                    if (!set.wasNull()) {
-                        startTime = Math.max(startTime, gotStartTime);
-                    }
+                    data.add(extractRollupTPS(set));
                 }
-                return startTime != 0 ? Optional.of(startTime) : Optional.empty();
+                return data;
             }
         };
     }
 
-    public static Query<List<Row>> fetchRows(int currentId, int rowLimit) {
-        String sql = Select.all(TABLE_NAME)
-                .where(TPSTable.ID + '>' + currentId)
-                .orderBy(TPSTable.ID)
-                .limit(rowLimit)
-                .toString();
-        return db -> db.queryList(sql, Row::extract);
+    private static TPS extractRollupTPS(ResultSet set) throws SQLException {
+        return TPSBuilder.get()
+                .date(set.getLong(TPSRollupTable.DATE))
+                .tps(getOrInvalid(set, TPSRollupTable.minOf(TPS)))
+                .playersOnline((int) getOrInvalid(set, TPSRollupTable.maxOf(PLAYERS_ONLINE)))
+                .usedCPU(getOrInvalid(set, TPSRollupTable.maxOf(CPU_USAGE)))
+                .usedMemory((long) getOrInvalid(set, TPSRollupTable.maxOf(RAM_USAGE)))
+                .entities((int) getOrInvalid(set, TPSRollupTable.maxOf(ENTITIES)))
+                .chunksLoaded((int) getOrInvalid(set, TPSRollupTable.maxOf(CHUNKS)))
+                .freeDiskSpace((long) getOrInvalid(set, TPSRollupTable.minOf(FREE_DISK)))
+                .msptAverage(getDoubleOrNull(set, TPSRollupTable.avgOf(MSPT_AVERAGE)))
+                .toTPS();
+    }
+
+    private static double getOrInvalid(ResultSet set, String column) throws SQLException {
+        double value = set.getDouble(column);
+        return set.wasNull() ? -1 : value;
+    }
+
+    /**
+     * Calculate average of a value using hourly rollups for the full hours that have been rolled up and raw samples
+     * for the rest of the range.
+     * <p>
+     * Matches the raw average queries: hourly averages are weighted by the number of valid samples of the value in the
+     * hour, so the result is the same as the average of the valid raw samples.
+     *
+     * @param after       Samples after this date are included.
+     * @param before      Samples before this date are included.
+     * @param serverUUIDs Servers to include, empty list for all servers.
+     * @param column      {@link TPSTable} column that is rolled up in {@link TPSRollupTable}.
+     * @return Average or -1.0 if there is no data.
+     */
+    private static Query<Double> averageWithRollups(long after, long before, List<ServerUUID> serverUUIDs, String column) {
+        String serverFilter = serverUUIDs.isEmpty() ? ""
+                : AND + "s." + ServerTable.SERVER_UUID + " IN (" + ServerTable.uuids(serverUUIDs) + ")";
+        String selectLastRollups = SELECT + TPSRollupTable.SERVER_ID + ',' +
+                max(TPSRollupTable.DATE) + " as last_rollup" +
+                FROM + TPSRollupTable.HOURLY_TABLE_NAME +
+                GROUP_BY + TPSRollupTable.SERVER_ID;
+        String selectRawSamples = SELECT + sum("t." + column + "*1.0") + " as total," +
+                "COUNT(1) as samples" +
+                FROM + TABLE_NAME + " t" +
+                INNER_JOIN + ServerTable.TABLE_NAME + " s ON s." + ServerTable.ID + "=t." + SERVER_ID +
+                LEFT_JOIN + '(' + selectLastRollups + ") r ON r." + TPSRollupTable.SERVER_ID + "=t." + SERVER_ID +
+                WHERE + TPSRollupTable.validValue("t." + column) +
+                AND + "t." + DATE + "<?" +
+                AND + "t." + DATE + ">?" +
+                // Samples of hours that were rolled up are read from the rollup instead
+                AND + "(r.last_rollup" + IS_NULL +
+                OR + "t." + DATE + ">=r.last_rollup+" + TPSRollupTable.HOUR +
+                OR + "t." + DATE + "<?" +
+                OR + "t." + DATE + ">=?)" +
+                serverFilter;
+        // Averages of the hours are weighted by the number of valid samples they were calculated from
+        String selectRollups = SELECT + sum("h." + TPSRollupTable.avgOf(column) + "*h." + TPSRollupTable.countOf(column)) + " as total," +
+                sum("h." + TPSRollupTable.countOf(column)) + " as samples" +
+                FROM + TPSRollupTable.HOURLY_TABLE_NAME + " h" +
+                INNER_JOIN + ServerTable.TABLE_NAME + " s ON s." + ServerTable.ID + "=h." + TPSRollupTable.SERVER_ID +
+                WHERE + "h." + TPSRollupTable.avgOf(column) + IS_NOT_NULL +
+                AND + "h." + TPSRollupTable.DATE + ">=?" +
+                AND + "h." + TPSRollupTable.DATE + "<?" +
+                serverFilter;
+        String sql = SELECT + sum("total") + '/' + sum("samples") + " as average" +
+                FROM + '(' + selectRawSamples + UNION_ALL + selectRollups + ") q";
+
+        long firstFullHour = firstFullHourAfter(after);
+        long lastFullHourEnd = before - Math.floorMod(before, TPSRollupTable.HOUR);
+        return new QueryStatement<>(sql) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setLong(1, before);
+                statement.setLong(2, after);
+                statement.setLong(3, firstFullHour);
+                statement.setLong(4, lastFullHourEnd);
+                statement.setLong(5, firstFullHour);
+                statement.setLong(6, lastFullHourEnd);
+            }
+
+            @Override
+            public Double processResults(ResultSet set) throws SQLException {
+                double value = set.next() ? set.getDouble("average") : -1.0;
+                return set.wasNull() ? -1.0 : value;
+            }
+        };
+    }
+
+    private static long firstFullHourAfter(long after) {
+        if (after >= Long.MAX_VALUE - TPSRollupTable.HOUR) return Long.MAX_VALUE;
+        long start = after + 1;
+        long intoHour = Math.floorMod(start, TPSRollupTable.HOUR);
+        return intoHour == 0 ? start : start - intoHour + TPSRollupTable.HOUR;
+    }
+
+    private static Query<Long> averageWithRollupsAsLong(long after, long before, List<ServerUUID> serverUUIDs, String column) {
+        return db -> {
+            double average = db.query(averageWithRollups(after, before, serverUUIDs, column));
+            return average < 0 ? -1L : (long) average;
+        };
     }
 }
\ No newline at end of file
@@ -0,0 +1,367 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database.queries.objects.playertable;
+
+import com.djrapitops.plan.identification.ServerUUID;
+import com.djrapitops.plan.storage.database.SQLDB;
+import com.djrapitops.plan.storage.database.queries.Query;
+import com.djrapitops.plan.storage.database.queries.QueryStatement;
+import com.djrapitops.plan.storage.database.sql.tables.*;
+import com.djrapitops.plan.utilities.dev.Untrusted;
+import org.jetbrains.annotations.Nullable;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static com.djrapitops.plan.storage.database.sql.building.Sql.*;
+
+/**
+ * Query for a page of players on /players page or /server page players tab.
+ * <p>
+ * Only ids of the players on the page are fetched, in order of the sort key. The rest of the table data is fetched for
+ * them with {@link ServerTablePlayersQuery} or {@link NetworkTablePlayersQuery}.
+ * <p>
+ * Uses keyset pagination: next page is fetched with the cursor of the previous page, which contains the sort key and
+ * id of the last player on that page. This way the database does not need to go through the players on previous pages.
+ * <p>
+ * Players can be filtered by name, ban status and country. Filtering by activity group is not supported, since activity
+ * index is calculated for each player from their sessions and can not be compared in SQL, the /query page is meant for
+ * that.
+ *
+ * @author AuroraLS3
+ */
+public class PlayersTablePageQuery implements Query<PlayersTablePageQuery.Page> {
+
+    private static final String LIKE_ESCAPE = " ESCAPE '!'";
+
+    private final ServerUUID serverUUID; // null for whole network
+    private final Sort sort;
+    private final boolean descending;
+    private final String search;
+    private final Boolean banned;
+    private final String country;
+    private final Cursor cursor;
+    private final int limit;
+
+    /**
+     * Create a new query.
+     *
+     * @param serverUUID UUID of the Plan server, or null for players of the whole network.
+     * @param sort       Key to sort the players with.
+     * @param descending Should the biggest key come first.
+     * @param search     Part of name or nickname that the players should have, or null for all players.
+     * @param cursor     Cursor from the previous page, or null for the first page.
+     * @param limit      Number of players on the page.
+     * @throws IllegalArgumentException If the cursor is not a valid cursor for the sort key.
+     */
+    public PlayersTablePageQuery(
+            @Nullable ServerUUID serverUUID, Sort sort, boolean descending,
+            @Untrusted @Nullable String search, @Untrusted @Nullable String cursor, int limit
+    ) {
+        this(serverUUID, sort, descending, search, null, null, cursor, limit);
+    }
+
+    /**
+     * Create a new query with filters.
+     *
+     * @param serverUUID UUID of the Plan server, or null for players of the whole network.
+     * @param sort       Key to sort the players with.
+     * @param descending Should the biggest key come first.
+     * @param search     Part of name or nickname that the players should have, or null for all players.
+     * @param banned     true for banned players, false for players that are not banned, null for both. On the network
+     *                   players banned on any server count as banned.
+     * @param country    Geolocation that the players have been seen from, or null for all players.
+     * @param cursor     Cursor from the previous page, or null for the first page.
+     * @param limit      Number of players on the page.
+     * @throws IllegalArgumentException If the cursor is not a valid cursor for the sort key.
+     */
+    public PlayersTablePageQuery(
+            @Nullable ServerUUID serverUUID, Sort sort, boolean descending,
+            @Untrusted @Nullable String search, @Nullable Boolean banned, @Untrusted @Nullable String country,
+            @Untrusted @Nullable String cursor, int limit
+    ) {
+        this.serverUUID = serverUUID;
+        this.sort = sort;
+        this.descending = descending;
+        this.search = search == null || search.isBlank() ? null : search.trim();
+        this.banned = banned;
+        this.country = country == null || country.isBlank() ? null : country.trim();
+        this.cursor = cursor == null || cursor.isBlank() ? null : Cursor.parse(sort, cursor);
+        this.limit = limit;
+    }
+
+    @Override
+    public Page executeQuery(SQLDB db) {
+        int playerCount = db.query(countPlayers());
+        if (playerCount == 0) return new Page(new ArrayList<>(), new ArrayList<>(), null, 0);
+        return db.query(fetchPage(playerCount));
+    }
+
+    private String selectPlayers(String selectColumns, boolean joinTotals, String... conditions) {
+        String selectTotals;
+        if (serverUUID != null) {
+            selectTotals = PlayerTotalsTable.TABLE_NAME + " t ON t." + PlayerTotalsTable.USER_ID + "=u." + UsersTable.ID +
+                    AND + "t." + PlayerTotalsTable.SERVER_ID + "=ui." + UserInfoTable.SERVER_ID;
+        } else {
+            selectTotals = '(' + SELECT + PlayerTotalsTable.USER_ID + ',' +
+                    max(PlayerTotalsTable.LAST_SEEN) + " as " + PlayerTotalsTable.LAST_SEEN + ',' +
+                    sum(PlayerTotalsTable.SESSION_COUNT) + " as " + PlayerTotalsTable.SESSION_COUNT + ',' +
+                    sum(PlayerTotalsTable.PLAYTIME) + " as " + PlayerTotalsTable.PLAYTIME + ',' +
+                    sum(PlayerTotalsTable.AFK_TIME) + " as " + PlayerTotalsTable.AFK_TIME +
+                    FROM + PlayerTotalsTable.TABLE_NAME +
+                    GROUP_BY + PlayerTotalsTable.USER_ID +
+                    ") t ON t." + PlayerTotalsTable.USER_ID + "=u." + UsersTable.ID;
+        }
+        return SELECT + selectColumns +
+                FROM + UsersTable.TABLE_NAME + " u" +
+                (serverUUID != null ? INNER_JOIN + UserInfoTable.TABLE_NAME + " ui ON ui." + UserInfoTable.USER_ID + "=u." + UsersTable.ID +
+                        AND + "ui." + UserInfoTable.SERVER_ID + "=" + ServerTable.SELECT_SERVER_ID : "") +
+                (joinTotals ? LEFT_JOIN + selectTotals : "") +
+                whereAll(conditions);
+    }
+
+    private String whereAll(String... conditions) {
+        List<String> where = new ArrayList<>();
+        if (search != null) {
+            where.add("(LOWER(u." + UsersTable.USER_NAME + ") LIKE LOWER(?)" + LIKE_ESCAPE +
+                    OR + "EXISTS (" + SELECT + "1" + FROM + NicknamesTable.TABLE_NAME + " n" +
+                    WHERE + "n." + NicknamesTable.USER_UUID + "=u." + UsersTable.USER_UUID +
+                    AND + "LOWER(n." + NicknamesTable.NICKNAME + ") LIKE LOWER(?)" + LIKE_ESCAPE + "))");
+        }
+        if (banned != null) {
+            if (serverUUID != null) {
+                where.add("ui." + UserInfoTable.BANNED + "=?");
+            } else {
+                where.add((banned ? "" : "NOT ") + "EXISTS (" + SELECT + "1" + FROM + UserInfoTable.TABLE_NAME + " b" +
+                        WHERE + "b." + UserInfoTable.USER_ID + "=u." + UsersTable.ID +
+                        AND + "b." + UserInfoTable.BANNED + "=?)");
+            }
+        }
+        if (country != null) {
+            where.add("EXISTS (" + SELECT + "1" + FROM + GeoInfoTable.TABLE_NAME + " g" +
+                    WHERE + "g." + GeoInfoTable.USER_ID + "=u." + UsersTable.ID +
+                    AND + "LOWER(g." + GeoInfoTable.GEOLOCATION + ")=LOWER(?))");
+        }
+        where.addAll(Arrays.asList(conditions));
+        return where.isEmpty() ? "" : WHERE + String.join(AND, where);
+    }
+
+    private int setSelectPlayersParameters(PreparedStatement statement) throws SQLException {
+        int index = 1;
+        if (serverUUID != null) statement.setString(index++, serverUUID.toString());
+        if (search != null) {
+            String pattern = '%' + escapeLike(search) + '%';
+            statement.setString(index++, pattern);
+            statement.setString(index++, pattern);
+        }
+        if (banned != null) {
+            // On the network the condition is NOT EXISTS when looking for players that are not banned
+            statement.setBoolean(index++, serverUUID != null ? banned : true);
+        }
+        if (country != null) statement.setString(index++, country);
+        return index;
+    }
+
+    private static String escapeLike(@Untrusted String value) {
+        // Escape character itself first so that the added escapes are not escaped again
+        return value.replace("!", "!!")
+                .replace("%", "!%")
+                .replace("_", "!_");
+    }
+
+    private Query<Integer> countPlayers() {
+        String sql = selectPlayers("COUNT(1) as count", false);
+        return new QueryStatement<>(sql) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                setSelectPlayersParameters(statement);
+            }
+
+            @Override
+            public Integer processResults(ResultSet set) throws SQLException {
+                return set.next() ? set.getInt("count") : 0;
+            }
+        };
+    }
+
+    private Query<Page> fetchPage(int playerCount) {
+        boolean network = serverUUID == null;
+        String sortKey = sort.getSortKeySql(network);
+        String comparison = descending ? "<" : ">";
+        String direction = descending ? " DESC" : " ASC";
+
+        String[] afterCursor = cursor != null ? new String[]{
+                '(' + sortKey + comparison + '?' + OR + '(' + sortKey + "=?" + AND + "u." + UsersTable.ID + comparison + "?))"
+        } : new String[0];
+        String sql = selectPlayers("u." + UsersTable.ID + ",u." + UsersTable.USER_UUID + ',' + sortKey + " as sort_key", sort.usesTotals(network), afterCursor) +
+                ORDER_BY + sortKey + direction + ",u." + UsersTable.ID + direction +
+                LIMIT + "?";
+
+        return new QueryStatement<>(sql, limit + 1) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                int index = setSelectPlayersParameters(statement);
+                if (cursor != null) {
+                    sort.setSortKey(statement, index++, cursor.sortKey);
+                    sort.setSortKey(statement, index++, cursor.sortKey);
+                    statement.setInt(index++, cursor.userId);
+                }
+                statement.setInt(index, limit + 1); // One extra to know if there is a next page
+            }
+
+            @Override
+            public Page processResults(ResultSet set) throws SQLException {
+                List<Integer> userIds = new ArrayList<>();
+                List<UUID> playerUUIDs = new ArrayList<>();
+                String lastSortKey = null;
+                boolean hasNextPage = false;
+                while (set.next()) {
+                    if (userIds.size() == limit) {
+                        hasNextPage = true;
+                        break;
+                    }
+                    userIds.add(set.getInt(UsersTable.ID));
+                    playerUUIDs.add(UUID.fromString(set.getString(UsersTable.USER_UUID)));
+                    lastSortKey = set.getString("sort_key");
+                }
+                String nextCursor = hasNextPage ? new Cursor(lastSortKey, userIds.get(userIds.size() - 1)).toString() : null;
+                return new Page(userIds, playerUUIDs, nextCursor, playerCount);
+            }
+        };
+    }
+
+    /**
+     * Keys that the players can be sorted with in SQL.
+     * <p>
+     * Columns that are calculated for each player, like activity index, ping and extension data, can not be used as
+     * keys, since the whole table would need to be calculated for each page.
+     * <p>
+     * Last seen of the network is read from {@link UsersTable#LAST_SEEN} so that the sort can use an index instead of
+     * grouping the totals of every player for each page.
+     */
+    public enum Sort {
+        NAME("u." + UsersTable.USER_NAME, false),
+        REGISTERED("u." + UsersTable.REGISTERED, false),
+        LAST_SEEN("COALESCE(t." + PlayerTotalsTable.LAST_SEEN + ",0)", true, "u." + UsersTable.LAST_SEEN, false),
+        SESSIONS("COALESCE(t." + PlayerTotalsTable.SESSION_COUNT + ",0)", true),
+        ACTIVE_PLAYTIME("COALESCE(t." + PlayerTotalsTable.PLAYTIME + "-t." + PlayerTotalsTable.AFK_TIME + ",0)", true);
+
+        private final String sortKeySql;
+        private final boolean usesTotals;
+        private final String networkSortKeySql;
+        private final boolean networkUsesTotals;
+
+        Sort(String sortKeySql, boolean usesTotals) {
+            this(sortKeySql, usesTotals, sortKeySql, usesTotals);
+        }
+
+        Sort(String sortKeySql, boolean usesTotals, String networkSortKeySql, boolean networkUsesTotals) {
+            this.sortKeySql = sortKeySql;
+            this.usesTotals = usesTotals;
+            this.networkSortKeySql = networkSortKeySql;
+            this.networkUsesTotals = networkUsesTotals;
+        }
+
+        String getSortKeySql(boolean network) {
+            return network ? networkSortKeySql : sortKeySql;
+        }
+
+        boolean usesTotals(boolean network) {
+            return network ? networkUsesTotals : usesTotals;
+        }
+
+        void setSortKey(PreparedStatement statement, int index, @Untrusted String sortKey) throws SQLException {
+            if (this == NAME) {
+                statement.setString(index, sortKey);
+            } else {
+                statement.setLong(index, Long.parseLong(sortKey));
+            }
+        }
+    }
+
+    private static class Cursor {
+        private final String sortKey;
+        private final int userId;
+
+        Cursor(String sortKey, int userId) {
+            this.sortKey = sortKey;
+            this.userId = userId;
+        }
+
+        static Cursor parse(Sort sort, @Untrusted String cursor) {
+            // Id is after the last ':' since names might contain one
+            int split = cursor.lastIndexOf(':');
+            if (split == -1) throw new IllegalArgumentException("Cursor is missing ':'");
+            String sortKey = cursor.substring(0, split);
+            if (sort != Sort.NAME) Long.parseLong(sortKey); // Throws NumberFormatException
+            return new Cursor(sortKey, Integer.parseInt(cursor.substring(split + 1)));
+        }
+
+        @Override
+        public String toString() {
+            return sortKey + ':' + userId;
+        }
+    }
+
+    public static final class Page {
+        private final List<Integer> userIds;
+        private final List<UUID> playerUUIDs;
+        private final String nextCursor;
+        private final int playerCount;
+
+        public Page(List<Integer> userIds, List<UUID> playerUUIDs, String nextCursor, int playerCount) {
+            this.userIds = userIds;
+            this.playerUUIDs = playerUUIDs;
+            this.nextCursor = nextCursor;
+            this.playerCount = playerCount;
+        }
+
+        /**
+         * @return Ids of the players on the page in plan_users, in order.
+         */
+        public List<Integer> getUserIds() {
+            return userIds;
+        }
+
+        /**
+         * @return UUIDs of the players on the page, in order.
+         */
+        public List<UUID> getPlayerUUIDs() {
+            return playerUUIDs;
+        }
+
+        /**
+         * @return Cursor for fetching the next page, empty if this is the last page.
+         */
+        public Optional<String> getNextCursor() {
+            return Optional.ofNullable(nextCursor);
+        }
+
+        /**
+         * @return Number of players matching the search, on all pages.
+         */
+        public int getPlayerCount() {
+            return playerCount;
+        }
+    }
+}
@@ -25,11 +25,13 @@ import com.djrapitops.plan.storage.database.queries.Query;
 import com.djrapitops.plan.storage.database.queries.QueryStatement;
 import com.djrapitops.plan.storage.database.queries.analysis.ActivityIndexQueries;
 import com.djrapitops.plan.storage.database.sql.tables.*;
+import org.apache.commons.text.TextStringBuilder;
 
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -46,6 +48,7 @@ public class ServerTablePlayersQuery implements Query<List<TablePlayer>> {
     private final long date;
     private final long activeMsThreshold;
     private final int xMostRecentPlayers;
+    private final Collection<Integer> userIds; // null for all players
 
     /**
      * Create a new query.
@@ -60,6 +63,23 @@ public class ServerTablePlayersQuery implements Query<List<TablePlayer>> {
         this.date = date;
         this.activeMsThreshold = activeMsThreshold;
         this.xMostRecentPlayers = xMostRecentPlayers;
+        this.userIds = null;
+    }
+
+    /**
+     * Create a new query for some players, like a page of the players table.
+     *
+     * @param serverUUID        UUID of the Plan server.
+     * @param date              Date used for Activity Index calculation
+     * @param activeMsThreshold Playtime threshold for Activity Index calculation
+     * @param userIds           Ids of the players in plan_users, not empty.
+     */
+    public ServerTablePlayersQuery(ServerUUID serverUUID, long date, long activeMsThreshold, Collection<Integer> userIds) {
+        this.serverUUID = serverUUID;
+        this.date = date;
+        this.activeMsThreshold = activeMsThreshold;
+        this.xMostRecentPlayers = userIds.size();
+        this.userIds = userIds;
     }
 
     @Override
@@ -72,16 +92,16 @@ public class ServerTablePlayersQuery implements Query<List<TablePlayer>> {
                 // Join the last_used column, but only if there's a bigger one.
                 // That way the biggest a.last_used value will have NULL on the b.last_used column and MAX doesn't need to be used.
                 LEFT_JOIN + GeoInfoTable.TABLE_NAME + " b ON a." + GeoInfoTable.USER_ID + "=b." + GeoInfoTable.USER_ID + AND + "a." + GeoInfoTable.LAST_USED + "<b." + GeoInfoTable.LAST_USED +
-                WHERE + "b." + GeoInfoTable.LAST_USED + IS_NULL;
+                WHERE + "b." + GeoInfoTable.LAST_USED + IS_NULL +
+                userIdsInSet("a." + GeoInfoTable.USER_ID);
 
-        String selectSessionData = SELECT + "s." + SessionsTable.USER_ID + ',' +
-                "MAX(" + SessionsTable.SESSION_END + ") as last_seen," +
-                "COUNT(1) as count," +
-                "SUM(" + SessionsTable.SESSION_END + '-' + SessionsTable.SESSION_START + '-' + SessionsTable.AFK_TIME + ") as active_playtime" +
-                FROM + SessionsTable.TABLE_NAME + " s" +
-                INNER_JOIN + ServerTable.TABLE_NAME + " s_se ON s_se." + ServerTable.ID + "=s." + SessionsTable.SERVER_ID +
-                WHERE + "s_se." + ServerTable.SERVER_UUID + "=?" +
-                GROUP_BY + "s." + SessionsTable.USER_ID;
+        String selectSessionData = SELECT + "t." + PlayerTotalsTable.USER_ID + ',' +
+                "t." + PlayerTotalsTable.LAST_SEEN + " as last_seen," +
+                "t." + PlayerTotalsTable.SESSION_COUNT + " as count," +
+                "t." + PlayerTotalsTable.PLAYTIME + "-t." + PlayerTotalsTable.AFK_TIME + " as active_playtime" +
+                FROM + PlayerTotalsTable.TABLE_NAME + " t" +
+                WHERE + "t." + PlayerTotalsTable.SERVER_ID + '=' + ServerTable.SELECT_SERVER_ID +
+                userIdsInSet("t." + PlayerTotalsTable.USER_ID);
 
         String selectPingData = SELECT +
                 "p." + PingTable.USER_ID + ',' +
@@ -91,6 +111,7 @@ public class ServerTablePlayersQuery implements Query<List<TablePlayer>> {
                 FROM + PingTable.TABLE_NAME + " p" +
                 INNER_JOIN + ServerTable.TABLE_NAME + " p_se ON p_se." + ServerTable.ID + "=p." + PingTable.SERVER_ID +
                 WHERE + "p_se." + ServerTable.SERVER_UUID + "=?" +
+                userIdsInSet("p." + PingTable.USER_ID) +
                 GROUP_BY + "p." + PingTable.USER_ID;
 
         String selectNicknames = SELECT +
@@ -98,8 +119,12 @@ public class ServerTablePlayersQuery implements Query<List<TablePlayer>> {
                 "GROUP_CONCAT(DISTINCT " + "n." + NicknamesTable.NICKNAME + ") as nicknames" +
                 FROM + NicknamesTable.TABLE_NAME + " n" +
                 INNER_JOIN + UsersTable.TABLE_NAME + " un ON n." + NicknamesTable.USER_UUID + "=un." + UsersTable.USER_UUID +
+                whereUserIdsInSet("un." + UsersTable.ID) +
                 GROUP_BY + "un." + UsersTable.ID;
 
+        String selectActivityIndex = userIds == null ? ActivityIndexQueries.selectActivityIndexSQL()
+                : ActivityIndexQueries.selectActivityIndexOfUsersSQL(userIds);
+
         String selectBaseUsers = SELECT +
                 "u." + UsersTable.USER_UUID + ',' +
                 "u." + UsersTable.USER_NAME + ',' +
@@ -117,12 +142,13 @@ public class ServerTablePlayersQuery implements Query<List<TablePlayer>> {
                 FROM + UsersTable.TABLE_NAME + " u" +
                 INNER_JOIN + UserInfoTable.TABLE_NAME + " ui on u." + UsersTable.ID + "=ui." + UserInfoTable.USER_ID +
                 LEFT_JOIN + '(' + selectLatestGeolocations + ") geo on geo." + GeoInfoTable.USER_ID + "=u." + UsersTable.ID +
-                LEFT_JOIN + '(' + selectSessionData + ") ses on ses." + SessionsTable.USER_ID + "=u." + UsersTable.ID +
-                LEFT_JOIN + '(' + ActivityIndexQueries.selectActivityIndexSQL() + ") act on u." + UsersTable.ID + "=act." + UserInfoTable.USER_ID +
+                LEFT_JOIN + '(' + selectSessionData + ") ses on ses." + PlayerTotalsTable.USER_ID + "=u." + UsersTable.ID +
+                LEFT_JOIN + '(' + selectActivityIndex + ") act on u." + UsersTable.ID + "=act." + UserInfoTable.USER_ID +
                 LEFT_JOIN + '(' + selectPingData + ") pi on pi." + PingTable.USER_ID + "=u." + UsersTable.ID +
                 LEFT_JOIN + '(' + selectNicknames + ") ni on ni." + UsersTable.ID + "=u." + UsersTable.ID +
                 INNER_JOIN + ServerTable.TABLE_NAME + " s_out ON s_out." + ServerTable.ID + "=ui." + UserInfoTable.SERVER_ID +
                 WHERE + "s_out." + ServerTable.SERVER_UUID + "=?" +
+                userIdsInSet("u." + UsersTable.ID) +
                 ORDER_BY + "ses.last_seen DESC LIMIT ?";
 
         return db.query(new QueryStatement<>(selectBaseUsers, 1000) {
@@ -162,4 +188,14 @@ public class ServerTablePlayersQuery implements Query<List<TablePlayer>> {
             }
         });
     }
-}
\ No newline at end of file
+
+    private String userIdsInSet(String column) {
+        if (userIds == null) return "";
+        return AND + column + " IN (" + new TextStringBuilder().appendWithSeparators(userIds, ",") + ')';
+    }
+
+    private String whereUserIdsInSet(String column) {
+        if (userIds == null) return "";
+        return WHERE + column + " IN (" + new TextStringBuilder().appendWithSeparators(userIds, ",") + ')';
+    }
+}
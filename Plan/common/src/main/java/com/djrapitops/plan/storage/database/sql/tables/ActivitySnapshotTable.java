@@ -0,0 +1,97 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database.sql.tables;
+
+import com.djrapitops.plan.storage.database.DBType;
+import com.djrapitops.plan.storage.database.sql.building.CreateTableBuilder;
+import com.djrapitops.plan.storage.database.sql.building.Sql;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.djrapitops.plan.storage.database.sql.building.Sql.*;
+
+/**
+ * Table information about 'plan_activity_snapshots'.
+ * <p>
+ * Contains the number of players in each activity group at the start of each {@link #WEEK} (UTC), so that activity
+ * graphs don't need to calculate activity index of every player for past weeks. Rows with null {@link #SERVER_ID}
+ * are about the whole network. Activity index depends on the active playtime threshold, so the {@link #THRESHOLD}
+ * the snapshot was calculated with is stored as well.
+ *
+ * @author AuroraLS3
+ */
+public class ActivitySnapshotTable {
+
+    public static final String TABLE_NAME = "plan_activity_snapshots";
+
+    public static final long WEEK = TimeUnit.DAYS.toMillis(7L);
+
+    public static final String ID = "id";
+    public static final String SERVER_ID = "server_id";
+    public static final String DATE = "date";
+    public static final String THRESHOLD = "threshold";
+    public static final String ACTIVITY_GROUP = "activity_group";
+    public static final String GROUP_COUNT = "group_count";
+
+    public static final String INSERT_STATEMENT = INSERT_INTO + TABLE_NAME + " ("
+            + SERVER_ID + ','
+            + DATE + ','
+            + THRESHOLD + ','
+            + ACTIVITY_GROUP + ','
+            + GROUP_COUNT
+            + ") VALUES (" + ServerTable.SELECT_SERVER_ID + ", ?, ?, ?, ?)";
+
+    // Snapshots are recalculated when they are missing, so changes to past data only need to remove them.
+    public static final String DELETE_ALL_STATEMENT = DELETE_FROM + TABLE_NAME;
+    public static final String DELETE_NETWORK_STATEMENT = DELETE_FROM + TABLE_NAME + WHERE + serverCondition(true);
+
+    private ActivitySnapshotTable() {
+        /* Static information class */
+    }
+
+    /**
+     * Get the start of the week an epoch ms falls in.
+     *
+     * @param epochMs Epoch ms.
+     * @return Start of the week (UTC).
+     */
+    public static long weekOf(long epochMs) {
+        return epochMs - Math.floorMod(epochMs, WEEK);
+    }
+
+    /**
+     * Get sql condition for rows of a server or the network.
+     *
+     * @param network true if the condition should match network rows, false if it should match the server in a parameter.
+     * @return Sql condition with one parameter if network is false.
+     */
+    public static String serverCondition(boolean network) {
+        return network ? SERVER_ID + IS_NULL : SERVER_ID + '=' + ServerTable.SELECT_SERVER_ID;
+    }
+
+    public static String createTableSQL(DBType dbType) {
+        return CreateTableBuilder.create(TABLE_NAME, dbType)
+                .column(ID, Sql.INT).primaryKey()
+                .column(SERVER_ID, Sql.INT) // Null for network
+                .column(DATE, Sql.LONG).notNull()
+                .column(THRESHOLD, Sql.LONG).notNull()
+                .column(ACTIVITY_GROUP, Sql.varchar(20)).notNull()
+                .column(GROUP_COUNT, Sql.INT).notNull()
+                .foreignKey(SERVER_ID, ServerTable.TABLE_NAME, ServerTable.ID)
+                .toString();
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database.sql.tables;
+
+import com.djrapitops.plan.storage.database.DBType;
+import com.djrapitops.plan.storage.database.queries.Query;
+import com.djrapitops.plan.storage.database.sql.building.CreateTableBuilder;
+import com.djrapitops.plan.storage.database.sql.building.Insert;
+import com.djrapitops.plan.storage.database.sql.building.Sql;
+import com.djrapitops.plan.storage.database.transactions.ExecStatement;
+import com.djrapitops.plan.storage.database.transactions.Executable;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static com.djrapitops.plan.storage.database.sql.building.Sql.*;
+
+/**
+ * Represents plan_copy_checkpoints table.
+ * <p>
+ * Created in the destination database by
+ * {@link com.djrapitops.plan.processing.processors.move.DatabaseCopyProcessor} to keep track of the last row id copied
+ * from each table, so that an interrupted copy can continue where it stopped. The table is dropped when the copy
+ * finishes, so it is not part of the schema.
+ *
+ * @author AuroraLS3
+ */
+public class CopyCheckpointTable {
+
+    public static final String TABLE_NAME = "plan_copy_checkpoints";
+
+    public static final String ID = "id";
+    public static final String SOURCE = "source";
+    public static final String COPIED_TABLE = "copied_table";
+    public static final String LAST_ID = "last_id";
+
+    public static final String INSERT_STATEMENT = Insert.values(TABLE_NAME, SOURCE, COPIED_TABLE, LAST_ID);
+    public static final String DROP_TABLE_STATEMENT = "DROP TABLE IF EXISTS " + TABLE_NAME;
+
+    private CopyCheckpointTable() {
+        /* Static information class */
+    }
+
+    public static String createTableSQL(DBType dbType) {
+        return CreateTableBuilder.create(TABLE_NAME, dbType)
+                .column(ID, Sql.INT).primaryKey()
+                .column(SOURCE, Sql.varchar(64)).notNull()
+                .column(COPIED_TABLE, Sql.varchar(100)).notNull()
+                .column(LAST_ID, Sql.INT).notNull()
+                .toString();
+    }
+
+    /**
+     * Fetch the sources that have checkpoints stored.
+     *
+     * @return Set of source identities, empty if there is no interrupted copy.
+     */
+    public static Query<Set<String>> fetchSources() {
+        String sql = SELECT + DISTINCT + SOURCE + FROM + TABLE_NAME;
+        return db -> db.querySet(sql, set -> set.getString(SOURCE));
+    }
+
+    /**
+     * Fetch the last copied row ids of an earlier copy from the same source.
+     *
+     * @param source Identity of the source database and the copy strategies.
+     * @return Map: table name - last copied id
+     */
+    public static Query<Map<String, Integer>> fetchCheckpoints(String source) {
+        String sql = SELECT + COPIED_TABLE + ',' + LAST_ID + FROM + TABLE_NAME + WHERE + SOURCE + "=?";
+        return db -> db.queryMap(sql, (set, checkpoints) -> checkpoints.put(set.getString(COPIED_TABLE), set.getInt(LAST_ID)),
+                HashMap::new, source);
+    }
+
+    public static Executable removeCheckpoint(String copiedTable) {
+        return new ExecStatement(DELETE_FROM + TABLE_NAME + WHERE + COPIED_TABLE + "=?") {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setString(1, copiedTable);
+            }
+        };
+    }
+
+    public static Executable storeCheckpoint(String source, String copiedTable, int lastId) {
+        return new ExecStatement(INSERT_STATEMENT) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setString(1, source);
+                statement.setString(2, copiedTable);
+                statement.setInt(3, lastId);
+            }
+        };
+    }
+}
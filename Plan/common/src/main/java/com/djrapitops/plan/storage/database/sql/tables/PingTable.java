@@ -59,6 +59,8 @@ public class PingTable {
             AVG_PING +
             ") VALUES (" + UsersTable.SELECT_USER_ID + ',' + ServerTable.SELECT_SERVER_ID + ", ?, ?, ?, ?)";
 
+    public static final String INSERT_STATEMENT_WITH_IDS = Insert.values(TABLE_NAME, USER_ID, SERVER_ID, DATE, MIN_PING, MAX_PING, AVG_PING);
+
     private PingTable() {
         /* Static information class */
     }
@@ -0,0 +1,109 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database.sql.tables;
+
+import com.djrapitops.plan.storage.database.DBType;
+import com.djrapitops.plan.storage.database.sql.building.CreateTableBuilder;
+import com.djrapitops.plan.storage.database.sql.building.Sql;
+
+import static com.djrapitops.plan.storage.database.sql.building.Sql.*;
+
+/**
+ * Table information about 'plan_player_totals'.
+ * <p>
+ * Contains lifetime totals of each player on each server, so that players tables and player pages do not need to
+ * group over all sessions and kills of the player. Active playtime is {@link #PLAYTIME} - {@link #AFK_TIME}.
+ * There is only one row per {@link #USER_ID} and {@link #SERVER_ID}, enforced by {@link #UNIQUE_INDEX}.
+ * <p>
+ * Rows are updated whenever sessions are stored or removed, and rebuilt from plan_sessions and plan_kills by
+ * {@link com.djrapitops.plan.storage.database.transactions.init.RebuildPlayerTotalsTransaction}.
+ *
+ * @author AuroraLS3
+ */
+public class PlayerTotalsTable {
+
+    public static final String TABLE_NAME = "plan_player_totals";
+
+    public static final String ID = "id";
+    public static final String USER_ID = "user_id";
+    public static final String SERVER_ID = "server_id";
+    public static final String SESSION_COUNT = "session_count";
+    public static final String PLAYTIME = "playtime";
+    public static final String AFK_TIME = "afk_time";
+    public static final String MOB_KILLS = "mob_kills";
+    public static final String PLAYER_KILLS = "player_kills";
+    public static final String DEATHS = "deaths";
+    public static final String FIRST_SEEN = "first_seen";
+    public static final String LAST_SEEN = "last_seen";
+
+    public static final String UNIQUE_INDEX = "plan_player_totals_user_server_unique";
+
+    public static final String INSERT_STATEMENT = INSERT_INTO + TABLE_NAME + " ("
+            + USER_ID + ','
+            + SERVER_ID + ','
+            + SESSION_COUNT + ','
+            + PLAYTIME + ','
+            + AFK_TIME + ','
+            + MOB_KILLS + ','
+            + PLAYER_KILLS + ','
+            + DEATHS + ','
+            + FIRST_SEEN + ','
+            + LAST_SEEN
+            + ") VALUES (" + UsersTable.SELECT_USER_ID + ", " + ServerTable.SELECT_SERVER_ID + ", ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    public static final String ADD_STATEMENT = "UPDATE " + TABLE_NAME + " SET "
+            + SESSION_COUNT + '=' + SESSION_COUNT + "+?,"
+            + PLAYTIME + '=' + PLAYTIME + "+?,"
+            + AFK_TIME + '=' + AFK_TIME + "+?,"
+            + MOB_KILLS + '=' + MOB_KILLS + "+?,"
+            + PLAYER_KILLS + '=' + PLAYER_KILLS + "+?,"
+            + DEATHS + '=' + DEATHS + "+?,"
+            + FIRST_SEEN + "= CASE WHEN " + FIRST_SEEN + "<=? THEN " + FIRST_SEEN + " ELSE ? END,"
+            + LAST_SEEN + "= CASE WHEN " + LAST_SEEN + ">=? THEN " + LAST_SEEN + " ELSE ? END"
+            + WHERE + USER_ID + '=' + UsersTable.SELECT_USER_ID
+            + AND + SERVER_ID + '=' + ServerTable.SELECT_SERVER_ID;
+
+    /**
+     * Recalculates {@link UsersTable#LAST_SEEN} from the totals, append a WHERE clause to limit the updated users.
+     */
+    public static final String UPDATE_USERS_LAST_SEEN_STATEMENT = UPDATE + UsersTable.TABLE_NAME + SET +
+            UsersTable.LAST_SEEN + "=COALESCE((" + SELECT + max("t." + LAST_SEEN) +
+            FROM + TABLE_NAME + " t" +
+            WHERE + "t." + USER_ID + '=' + UsersTable.TABLE_NAME + '.' + UsersTable.ID + "),0)";
+
+    private PlayerTotalsTable() {
+        /* Static information class */
+    }
+
+    public static String createTableSQL(DBType dbType) {
+        return CreateTableBuilder.create(TABLE_NAME, dbType)
+                .column(ID, Sql.INT).primaryKey()
+                .column(USER_ID, Sql.INT).notNull()
+                .column(SERVER_ID, Sql.INT).notNull()
+                .column(SESSION_COUNT, Sql.INT).notNull()
+                .column(PLAYTIME, Sql.LONG).notNull()
+                .column(AFK_TIME, Sql.LONG).notNull()
+                .column(MOB_KILLS, Sql.INT).notNull()
+                .column(PLAYER_KILLS, Sql.INT).notNull()
+                .column(DEATHS, Sql.INT).notNull()
+                .column(FIRST_SEEN, Sql.LONG).notNull()
+                .column(LAST_SEEN, Sql.LONG).notNull()
+                .foreignKey(USER_ID, UsersTable.TABLE_NAME, UsersTable.ID)
+                .foreignKey(SERVER_ID, ServerTable.TABLE_NAME, ServerTable.ID)
+                .toString();
+    }
+}
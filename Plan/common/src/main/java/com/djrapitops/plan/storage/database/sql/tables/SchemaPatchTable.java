@@ -0,0 +1,55 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database.sql.tables;
+
+import com.djrapitops.plan.storage.database.DBType;
+import com.djrapitops.plan.storage.database.sql.building.CreateTableBuilder;
+import com.djrapitops.plan.storage.database.sql.building.Insert;
+import com.djrapitops.plan.storage.database.sql.building.Sql;
+
+/**
+ * Represents plan_schema_patches table.
+ * <p>
+ * Ledger of {@link com.djrapitops.plan.storage.database.transactions.patches.Patch}es that have been applied to the
+ * schema, so that they don't need to be checked on every enable. Removing rows causes the patches to be checked again.
+ *
+ * @author AuroraLS3
+ */
+public class SchemaPatchTable {
+
+    public static final String TABLE_NAME = "plan_schema_patches";
+
+    public static final String ID = "id";
+    public static final String PATCH_NAME = "patch_name";
+    public static final String APPLIED = "applied";
+
+    public static final int MAX_NAME_LENGTH = 100;
+
+    public static final String INSERT_STATEMENT = Insert.values(TABLE_NAME, PATCH_NAME, APPLIED);
+
+    private SchemaPatchTable() {
+        /* Static information class */
+    }
+
+    public static String createTableSQL(DBType dbType) {
+        return CreateTableBuilder.create(TABLE_NAME, dbType)
+                .column(ID, Sql.INT).primaryKey()
+                .column(PATCH_NAME, Sql.varchar(MAX_NAME_LENGTH)).notNull().unique()
+                .column(APPLIED, Sql.LONG).notNull()
+                .toString();
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database.sql.tables;
+
+import com.djrapitops.plan.storage.database.DBType;
+import com.djrapitops.plan.storage.database.sql.building.CreateTableBuilder;
+import com.djrapitops.plan.storage.database.sql.building.Sql;
+
+import static com.djrapitops.plan.storage.database.sql.building.Sql.INSERT_INTO;
+
+/**
+ * Table information about 'plan_server_events'.
+ * <p>
+ * Contains the dates when Plan was enabled and disabled on each server. Starts are recorded with the time the server
+ * JVM started, so plugin reloads do not count as restarts. Servers that crash do not record a stop.
+ * <p>
+ * Events before this table existed are derived from gaps in plan_tps by
+ * {@link com.djrapitops.plan.storage.database.transactions.patches.ServerEventsBackfillPatch}.
+ *
+ * @author AuroraLS3
+ */
+public class ServerEventTable {
+
+    public static final String TABLE_NAME = "plan_server_events";
+
+    public static final String ID = "id";
+    public static final String SERVER_ID = "server_id";
+    public static final String DATE = "date";
+    public static final String EVENT_TYPE = "event_type";
+
+    public static final String START = "start";
+    public static final String STOP = "stop";
+
+    public static final String INSERT_STATEMENT = INSERT_INTO + TABLE_NAME + " ("
+            + SERVER_ID + ','
+            + DATE + ','
+            + EVENT_TYPE
+            + ") VALUES (" + ServerTable.SELECT_SERVER_ID + ", ?, ?)";
+
+    private ServerEventTable() {
+        /* Static information class */
+    }
+
+    public static String createTableSQL(DBType dbType) {
+        return CreateTableBuilder.create(TABLE_NAME, dbType)
+                .column(ID, Sql.INT).primaryKey()
+                .column(SERVER_ID, Sql.INT).notNull()
+                .column(DATE, Sql.LONG).notNull()
+                .column(EVENT_TYPE, Sql.varchar(10)).notNull()
+                .foreignKey(SERVER_ID, ServerTable.TABLE_NAME, ServerTable.ID)
+                .toString();
+    }
+}
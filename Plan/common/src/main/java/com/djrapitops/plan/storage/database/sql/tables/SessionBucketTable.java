@@ -0,0 +1,114 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database.sql.tables;
+
+import com.djrapitops.plan.storage.database.DBType;
+import com.djrapitops.plan.storage.database.sql.building.CreateTableBuilder;
+import com.djrapitops.plan.storage.database.sql.building.Sql;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.djrapitops.plan.storage.database.sql.building.Sql.*;
+
+/**
+ * Table information about 'plan_session_buckets'.
+ * <p>
+ * Contains number of sessions and their total playtime per server, grouped by the {@link #BUCKET} the session started
+ * in. Buckets start at {@link #DATE} (UTC). All timezone offsets are multiples of 15 minutes, so the buckets can be
+ * summed into days of any timezone.
+ * <p>
+ * There is only one row per {@link #SERVER_ID} and {@link #DATE}, enforced by {@link #UNIQUE_INDEX}.
+ * <p>
+ * Only values that can be summed from buckets into days are stored. Unique and new players can not be summed, a
+ * player with sessions in two buckets would be counted twice. Peak concurrent players depends on sessions that
+ * continue over bucket boundaries, and is already stored as the maximum players online of
+ * {@link TPSRollupTable#HOURLY_TABLE_NAME}. AFK time is left out because nothing groups it by day, range totals of
+ * AFK time clip sessions to the range which buckets of session starts can not do.
+ * <p>
+ * Rows are updated whenever sessions are stored or removed, and rebuilt from plan_sessions by
+ * {@link com.djrapitops.plan.storage.database.transactions.init.RebuildSessionBucketsTransaction}.
+ *
+ * @author AuroraLS3
+ */
+public class SessionBucketTable {
+
+    public static final String TABLE_NAME = "plan_session_buckets";
+
+    public static final long BUCKET = TimeUnit.MINUTES.toMillis(15);
+
+    public static final String ID = "id";
+    public static final String SERVER_ID = "server_id";
+    public static final String DATE = "date";
+    public static final String SESSION_COUNT = "session_count";
+    public static final String PLAYTIME = "playtime";
+
+    public static final String UNIQUE_INDEX = "plan_session_buckets_server_date_unique";
+
+    public static final String INSERT_STATEMENT = INSERT_INTO + TABLE_NAME + " ("
+            + SERVER_ID + ','
+            + DATE + ','
+            + SESSION_COUNT + ','
+            + PLAYTIME
+            + ") VALUES (" + ServerTable.SELECT_SERVER_ID + ", ?, ?, ?)";
+
+    public static final String ADD_STATEMENT = "UPDATE " + TABLE_NAME + " SET "
+            + SESSION_COUNT + '=' + SESSION_COUNT + "+?,"
+            + PLAYTIME + '=' + PLAYTIME + "+?"
+            + WHERE + SERVER_ID + '=' + ServerTable.SELECT_SERVER_ID
+            + AND + DATE + "=?";
+
+    public static final String SUBTRACT_STATEMENT = "UPDATE " + TABLE_NAME + " SET "
+            + SESSION_COUNT + '=' + SESSION_COUNT + "-?,"
+            + PLAYTIME + '=' + PLAYTIME + "-?"
+            + WHERE + SERVER_ID + "=?"
+            + AND + DATE + "=?";
+
+    private SessionBucketTable() {
+        /* Static information class */
+    }
+
+    /**
+     * Get the start of the bucket an epoch ms falls in.
+     *
+     * @param epochMs Epoch ms.
+     * @return Start of the bucket (UTC).
+     */
+    public static long bucketOf(long epochMs) {
+        return epochMs - Math.floorMod(epochMs, BUCKET);
+    }
+
+    /**
+     * Get sql expression for the start of the bucket a column value falls in.
+     *
+     * @param column Column with epoch ms values.
+     * @return Sql expression.
+     */
+    public static String bucketOf(String column) {
+        return column + '-' + column + '%' + BUCKET;
+    }
+
+    public static String createTableSQL(DBType dbType) {
+        return CreateTableBuilder.create(TABLE_NAME, dbType)
+                .column(ID, Sql.INT).primaryKey()
+                .column(SERVER_ID, Sql.INT).notNull()
+                .column(DATE, Sql.LONG).notNull()
+                .column(SESSION_COUNT, Sql.INT).notNull()
+                .column(PLAYTIME, Sql.LONG).notNull()
+                .foreignKey(SERVER_ID, ServerTable.TABLE_NAME, ServerTable.ID)
+                .toString();
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database.sql.tables;
+
+import com.djrapitops.plan.storage.database.DBType;
+import com.djrapitops.plan.storage.database.queries.objects.lookup.ServerIdentifiable;
+import com.djrapitops.plan.storage.database.sql.building.CreateTableBuilder;
+import com.djrapitops.plan.storage.database.sql.building.Insert;
+import com.djrapitops.plan.storage.database.sql.building.Sql;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Table information about 'plan_tps_hourly' and 'plan_tps_daily'.
+ * <p>
+ * Both tables contain {@link TPSTable} samples rolled up into buckets starting at {@link #DATE} (UTC).
+ * Minimum, maximum and average of each value are calculated from valid samples only, so they are null if the bucket
+ * had no valid samples for that value. {@link #SAMPLES} is the total number of samples in the bucket, and
+ * {@link #countOf(String)} the number of valid samples of each value, which averages are weighted by.
+ * <p>
+ * Rollups are not removed by the time series data cleaning, so they keep history after raw samples are removed.
+ *
+ * @author AuroraLS3
+ */
+public class TPSRollupTable {
+
+    public static final String HOURLY_TABLE_NAME = "plan_tps_hourly";
+    public static final String DAILY_TABLE_NAME = "plan_tps_daily";
+
+    public static final long HOUR = TimeUnit.HOURS.toMillis(1);
+    public static final long DAY = TimeUnit.DAYS.toMillis(1);
+
+    public static final String ID = "id";
+    public static final String SERVER_ID = "server_id";
+    public static final String DATE = "date";
+    public static final String SAMPLES = "samples";
+
+    /**
+     * {@link TPSTable} columns that are rolled up.
+     */
+    private static final String[] ROLLED_UP_COLUMNS = {
+            TPSTable.TPS,
+            TPSTable.PLAYERS_ONLINE,
+            TPSTable.CPU_USAGE,
+            TPSTable.RAM_USAGE,
+            TPSTable.ENTITIES,
+            TPSTable.CHUNKS,
+            TPSTable.FREE_DISK,
+            TPSTable.MSPT_AVERAGE
+    };
+
+    private TPSRollupTable() {
+        /* Static information class */
+    }
+
+    public static String minOf(String column) {
+        return "min_" + column;
+    }
+
+    public static String maxOf(String column) {
+        return "max_" + column;
+    }
+
+    public static String avgOf(String column) {
+        return "avg_" + column;
+    }
+
+    public static String countOf(String column) {
+        return "count_" + column;
+    }
+
+    /**
+     * Get the sql condition that a raw {@link TPSTable} value has to pass to be included in the rollup.
+     *
+     * @param column Column in {@link TPSTable}.
+     * @return Condition, same one that TPS average queries use.
+     */
+    public static String validValue(String column) {
+        return column + ">=0";
+    }
+
+    public static String[] getRolledUpColumns() {
+        return ROLLED_UP_COLUMNS.clone();
+    }
+
+    /**
+     * Get the columns that hold rolled up values.
+     *
+     * @return min, max, avg and count columns of each rolled up column, in that order.
+     */
+    public static List<String> getValueColumns() {
+        List<String> columns = new ArrayList<>();
+        for (String column : ROLLED_UP_COLUMNS) {
+            columns.add(minOf(column));
+            columns.add(maxOf(column));
+            columns.add(avgOf(column));
+            columns.add(countOf(column));
+        }
+        return columns;
+    }
+
+    public static String createHourlyTableSQL(DBType dbType) {
+        return createTableSQL(HOURLY_TABLE_NAME, dbType);
+    }
+
+    public static String createDailyTableSQL(DBType dbType) {
+        return createTableSQL(DAILY_TABLE_NAME, dbType);
+    }
+
+    private static String createTableSQL(String tableName, DBType dbType) {
+        CreateTableBuilder builder = CreateTableBuilder.create(tableName, dbType)
+                .column(ID, Sql.INT).primaryKey()
+                .column(SERVER_ID, Sql.INT).notNull()
+                .column(DATE, Sql.LONG).notNull()
+                .column(SAMPLES, Sql.INT).notNull();
+        for (String column : ROLLED_UP_COLUMNS) {
+            String type = getType(column);
+            builder.column(minOf(column), type) // Nullable
+                    .column(maxOf(column), type) // Nullable
+                    .column(avgOf(column), Sql.DOUBLE) // Nullable
+                    .column(countOf(column), Sql.INT).notNull().defaultValue("0");
+        }
+        return builder.foreignKey(SERVER_ID, ServerTable.TABLE_NAME, ServerTable.ID)
+                .toString();
+    }
+
+    private static String getType(String column) {
+        switch (column) {
+            case TPSTable.PLAYERS_ONLINE:
+            case TPSTable.ENTITIES:
+            case TPSTable.CHUNKS:
+                return Sql.INT;
+            case TPSTable.RAM_USAGE:
+            case TPSTable.FREE_DISK:
+                return Sql.LONG;
+            default:
+                return Sql.DOUBLE;
+        }
+    }
+
+    public static class Row implements ServerIdentifiable {
+        private int id;
+        private int serverId;
+        private long date;
+        private int samples;
+        private Object[] values; // In order of getValueColumns()
+
+        public static Row extract(ResultSet set) throws SQLException {
+            Row row = new Row();
+            row.id = set.getInt(ID);
+            row.serverId = set.getInt(SERVER_ID);
+            row.date = set.getLong(DATE);
+            row.samples = set.getInt(SAMPLES);
+            List<String> valueColumns = getValueColumns();
+            row.values = new Object[valueColumns.size()];
+            for (int i = 0; i < row.values.length; i++) {
+                row.values[i] = set.getObject(valueColumns.get(i));
+            }
+            return row;
+        }
+
+        public static String insertStatement(String tableName) {
+            List<String> columns = new ArrayList<>(List.of(SERVER_ID, DATE, SAMPLES));
+            columns.addAll(getValueColumns());
+            return Insert.values(tableName, columns.toArray(new String[0]));
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public void insert(PreparedStatement statement) throws SQLException {
+            statement.setInt(1, serverId);
+            statement.setLong(2, date);
+            statement.setInt(3, samples);
+            for (int i = 0; i < values.length; i++) {
+                statement.setObject(i + 4, values[i]);
+            }
+        }
+
+        @Override
+        public int getServerId() {
+            return serverId;
+        }
+
+        @Override
+        public void setServerId(int serverId) {
+            this.serverId = serverId;
+        }
+    }
+}
@@ -70,6 +70,10 @@ public class TPSTable {
             + ServerTable.SELECT_SERVER_ID + ','
             + "?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
 
+    public static final String INSERT_STATEMENT_WITH_SERVER_ID = Insert.values(TABLE_NAME, SERVER_ID, DATE, TPS, PLAYERS_ONLINE,
+            CPU_USAGE, RAM_USAGE, ENTITIES, CHUNKS, FREE_DISK, MSPT_AVERAGE, MSPT_95TH_PERCENTILE,
+            MSPT_JITTER_AVERAGE, MSPT_JITTER_MAX);
+
     private TPSTable() {
         /* Static information class */
     }
@@ -32,6 +32,7 @@ import static com.djrapitops.plan.storage.database.sql.building.Sql.*;
  * {@link com.djrapitops.plan.storage.database.transactions.patches.Version10Patch}
  * {@link com.djrapitops.plan.storage.database.transactions.patches.RegisterDateMinimizationPatch}
  * {@link com.djrapitops.plan.storage.database.transactions.patches.UsersTableNameLengthPatch}
+ * {@link com.djrapitops.plan.storage.database.transactions.patches.UsersLastSeenPatch}
  *
  * @author AuroraLS3
  */
@@ -44,12 +45,20 @@ public class UsersTable {
     public static final String REGISTERED = "registered";
     public static final String USER_NAME = "name";
     public static final String TIMES_KICKED = "times_kicked";
+    /**
+     * Last seen on any server, kept up to date from {@link PlayerTotalsTable} for sorting the players of the network.
+     */
+    public static final String LAST_SEEN = "last_seen";
 
     public static final String INSERT_STATEMENT = Insert.values(TABLE_NAME, USER_UUID, USER_NAME, REGISTERED, TIMES_KICKED);
     public static final String UPDATE_MERGE_STATEMENT = "UPDATE " + TABLE_NAME + " SET " +
             TIMES_KICKED + "=" + TIMES_KICKED + "+?," +
             REGISTERED + "= CASE WHEN " + REGISTERED + "<=? THEN " + REGISTERED + " ELSE ? END" +
             WHERE + ID + "=?";
+    public static final String UPDATE_LAST_SEEN_STATEMENT = UPDATE + TABLE_NAME + SET +
+            LAST_SEEN + "=?" +
+            WHERE + USER_UUID + "=?" +
+            AND + LAST_SEEN + "<?";
     public static final String SELECT_USER_ID = '(' + SELECT + TABLE_NAME + '.' + ID +
             FROM + TABLE_NAME +
             WHERE + TABLE_NAME + '.' + USER_UUID + "=?" + LIMIT + "1)";
@@ -65,6 +74,7 @@ public class UsersTable {
                 .column(REGISTERED, Sql.LONG).notNull()
                 .column(USER_NAME, Sql.varchar(36)).notNull()
                 .column(TIMES_KICKED, Sql.INT).notNull().defaultValue("0")
+                .column(LAST_SEEN, Sql.LONG).notNull().defaultValue("0")
                 .toString();
     }
 }
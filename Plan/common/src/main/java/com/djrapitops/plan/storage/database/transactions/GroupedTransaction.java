@@ -0,0 +1,64 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database.transactions;
+
+import com.djrapitops.plan.storage.database.SQLDB;
+
+import java.util.List;
+
+/**
+ * Executes multiple small transactions inside a single physical database transaction.
+ * <p>
+ * If any of the transactions fails the whole group is rolled back and the exception is thrown,
+ * so that the caller can execute the transactions one by one to isolate the failure.
+ *
+ * @author AuroraLS3
+ * @see Transaction#canBeGroupCommitted()
+ */
+public class GroupedTransaction extends Transaction {
+
+    private final List<Transaction> transactions;
+
+    public GroupedTransaction(List<Transaction> transactions) {
+        this.transactions = transactions;
+    }
+
+    @Override
+    public void executeTransaction(SQLDB db) {
+        super.executeTransaction(db);
+        for (Transaction transaction : transactions) {
+            transaction.success = true;
+        }
+    }
+
+    @Override
+    protected void performOperations() {
+        try {
+            for (Transaction transaction : transactions) {
+                executeOther(transaction);
+            }
+        } catch (RuntimeException failure) {
+            rollbackTransaction();
+            throw failure;
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "GroupedTransaction (" + transactions.size() + ")";
+    }
+}
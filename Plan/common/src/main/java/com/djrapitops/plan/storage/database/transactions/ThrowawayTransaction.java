@@ -31,4 +31,9 @@ public abstract class ThrowawayTransaction extends Transaction {
     protected boolean shouldBeExecuted() {
         return getDBState() != Database.State.CLOSING && dbIsNotUnderHeavyLoad();
     }
+
+    @Override
+    public boolean canBeGroupCommitted() {
+        return true;
+    }
 }
\ No newline at end of file
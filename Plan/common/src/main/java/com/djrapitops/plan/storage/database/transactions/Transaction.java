@@ -21,10 +21,13 @@ import com.djrapitops.plan.identification.ServerUUID;
 import com.djrapitops.plan.settings.locale.lang.PluginLang;
 import com.djrapitops.plan.storage.database.DBType;
 import com.djrapitops.plan.storage.database.Database;
+import com.djrapitops.plan.storage.database.IdentityCache;
 import com.djrapitops.plan.storage.database.SQLDB;
 import com.djrapitops.plan.storage.database.queries.Query;
 import com.djrapitops.plan.storage.database.queries.QueryAPIQuery;
 import com.djrapitops.plan.storage.database.queries.QueryStatement;
+import com.djrapitops.plan.storage.database.queries.objects.ServerQueries;
+import com.djrapitops.plan.storage.database.queries.objects.UserIdentifierQueries;
 import com.djrapitops.plan.storage.database.queries.schema.MySQLSchemaQueries;
 import com.djrapitops.plan.storage.database.queries.schema.SQLiteSchemaQueries;
 import com.djrapitops.plan.storage.database.transactions.patches.Patch;
@@ -32,8 +35,13 @@ import com.djrapitops.plan.utilities.logging.ErrorContext;
 import net.playeranalytics.plugin.scheduling.TimeAmount;
 
 import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 /**
  * Represents a database transaction.
@@ -52,6 +60,7 @@ public abstract class Transaction {
     private SQLDB db;
     private Connection connection;
     private Savepoint savepoint;
+    private final List<Consumer<IdentityCache>> identityCacheUpdates = new ArrayList<>();
 
     protected Transaction() {
         success = false;
@@ -76,6 +85,7 @@ public abstract class Transaction {
             }
         }
 
+        identityCacheUpdates.clear();
         try {
             initializeConnection(db);
             if (shouldBeExecuted()) {
@@ -85,6 +95,7 @@ public abstract class Transaction {
                 }
                 performOperations();
                 if (connection != null) connection.commit();
+                applyIdentityCacheUpdates();
             }
             success = true;
         } catch (SQLException statementFail) {
@@ -130,7 +141,7 @@ public abstract class Transaction {
                 .build());
     }
 
-    private String rollbackTransaction() {
+    String rollbackTransaction() {
         String rollbackStatusMsg = ", Transaction was rolled back.";
         boolean hasNoSavePoints = !SUPPORTS_SAVE_POINTS.get();
         if (hasNoSavePoints) {
@@ -151,6 +162,7 @@ public abstract class Transaction {
     protected void commitMidTransaction() {
         try {
             connection.commit();
+            applyIdentityCacheUpdates();
             initializeTransaction();
         } catch (SQLException e) {
             manageFailure(e);
@@ -265,11 +277,131 @@ public abstract class Transaction {
         if (transaction.shouldBeExecuted()) {
             transaction.performOperations();
         }
+        identityCacheUpdates.addAll(transaction.identityCacheUpdates);
+        transaction.identityCacheUpdates.clear();
         transaction.connection = null;
         transaction.dbType = null;
         transaction.db = null;
     }
 
+    /**
+     * Execute another transaction so that if it fails, only its own changes are rolled back.
+     * <p>
+     * Changes of the other transaction are rolled back to a save point, and this transaction can continue. If save
+     * points are not supported, or the database rolled back the whole transaction because of a deadlock, the
+     * failure fails this transaction like {@link #executeOther(Transaction)} does.
+     *
+     * @param transaction Transaction to execute.
+     * @return Failure of the other transaction, or empty if it succeeded.
+     */
+    protected Optional<DBOpException> executeOtherIsolated(Transaction transaction) {
+        if (!SUPPORTS_SAVE_POINTS.get()) {
+            executeOther(transaction);
+            return Optional.empty();
+        }
+        Savepoint beforeOther;
+        try {
+            beforeOther = connection.setSavepoint();
+        } catch (SQLException e) {
+            throw new DBOpException(getClass().getSimpleName() + " save point creation failed: " + e.getMessage(), e);
+        }
+        try {
+            executeOther(transaction);
+        } catch (DBOpException failed) {
+            if (isRolledBackByDatabase(failed)) throw failed;
+            try {
+                connection.rollback(beforeOther);
+            } catch (SQLException rollbackFail) {
+                failed.addSuppressed(rollbackFail);
+                throw failed;
+            }
+            return Optional.of(failed);
+        }
+        try {
+            connection.releaseSavepoint(beforeOther);
+        } catch (SQLException ignore) {
+            // Save point is released when the transaction ends
+        }
+        return Optional.empty();
+    }
+
+    private static boolean isRolledBackByDatabase(DBOpException failed) {
+        Throwable cause = failed.getCause();
+        return cause instanceof SQLTransactionRollbackException
+                || cause instanceof SQLException && ((SQLException) cause).getErrorCode() == 1213;
+    }
+
+    /**
+     * Find the plan_servers id of a server, using the in-memory {@link IdentityCache} when possible.
+     *
+     * @param serverUUID UUID of the Plan server.
+     * @return Optional id, empty if the server has not been registered.
+     */
+    protected Optional<Integer> getServerId(ServerUUID serverUUID) {
+        Optional<Integer> cached = db.getIdentityCache().getServerId(serverUUID);
+        if (cached.isPresent()) return cached;
+
+        Optional<Integer> found = query(ServerQueries.fetchServerId(serverUUID));
+        found.ifPresent(serverId -> updateIdentityCacheAfterCommit(cache -> cache.cacheServerId(serverUUID, serverId)));
+        return found;
+    }
+
+    /**
+     * Find the plan_users id of a player, using the in-memory {@link IdentityCache} when possible.
+     *
+     * @param playerUUID UUID of the player.
+     * @return Optional id, empty if the player has not been registered.
+     */
+    protected Optional<Integer> getUserId(UUID playerUUID) {
+        Optional<Integer> cached = db.getIdentityCache().getUserId(playerUUID);
+        if (cached.isPresent()) return cached;
+
+        Optional<Integer> found = query(UserIdentifierQueries.fetchUserId(playerUUID));
+        found.ifPresent(userId -> updateIdentityCacheAfterCommit(cache -> cache.cacheUserId(playerUUID, userId)));
+        return found;
+    }
+
+    /**
+     * Update the {@link IdentityCache} once this transaction has been committed.
+     * <p>
+     * Ids looked up or removed inside a transaction are not visible to other transactions until commit,
+     * so the cache is only modified after a successful commit. Invalidations are also applied immediately.
+     *
+     * @param update Modification to the cache.
+     */
+    protected void updateIdentityCacheAfterCommit(Consumer<IdentityCache> update) {
+        identityCacheUpdates.add(update);
+    }
+
+    /**
+     * Remove ids from the {@link IdentityCache} now and again after this transaction has been committed.
+     *
+     * @param invalidation Removal from the cache.
+     */
+    protected void invalidateIdentityCache(Consumer<IdentityCache> invalidation) {
+        invalidation.accept(db.getIdentityCache());
+        updateIdentityCacheAfterCommit(invalidation);
+    }
+
+    /**
+     * Run an action once this transaction has been committed.
+     * <p>
+     * The action is not run if the transaction fails or is rolled back.
+     *
+     * @param action Action to run after commit.
+     */
+    protected void runAfterCommit(Runnable action) {
+        identityCacheUpdates.add(cache -> action.run());
+    }
+
+    private void applyIdentityCacheUpdates() {
+        IdentityCache identityCache = db.getIdentityCache();
+        for (Consumer<IdentityCache> update : identityCacheUpdates) {
+            update.accept(identityCache);
+        }
+        identityCacheUpdates.clear();
+    }
+
     protected Database.State getDBState() {
         return db.getState();
     }
@@ -291,6 +423,29 @@ public abstract class Transaction {
         return !db.isUnderHeavyLoad() && !db.shouldDropUnimportantTransactions();
     }
 
+    /**
+     * Override this method to allow committing this transaction together with other transactions queued close together.
+     * <p>
+     * Grouped transactions are executed in submission order on the same connection and committed once.
+     * If the group fails, each transaction is executed again on its own.
+     *
+     * @return true if the transaction is small and can be executed again if its group fails.
+     */
+    public boolean canBeGroupCommitted() {
+        return false;
+    }
+
+    /**
+     * Override this method to execute the transaction in a different lane than {@link TransactionLane#GENERAL}.
+     * <p>
+     * Only transactions in the same lane are guaranteed to be executed in the order they were submitted.
+     *
+     * @return Lane this transaction should be executed in.
+     */
+    public TransactionLane getLane() {
+        return TransactionLane.GENERAL;
+    }
+
     public String getName() {
         String simpleName = getClass().getSimpleName();
         return simpleName.isEmpty() ? getClass().getName() : simpleName;
@@ -0,0 +1,56 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database.transactions;
+
+/**
+ * Independent queues that {@link Transaction}s are executed in.
+ * <p>
+ * Transactions in the same lane are executed in the order they were submitted.
+ * Transactions in different lanes may be executed concurrently if the database supports concurrent connections (MySQL).
+ * While the database is patching all transactions are executed in {@link #GENERAL} lane.
+ *
+ * @author AuroraLS3
+ */
+public enum TransactionLane {
+
+    /**
+     * Players, sessions, servers, web users and everything else that does not declare a lane.
+     */
+    GENERAL,
+    /**
+     * Periodically sampled data such as TPS and ping.
+     */
+    SAMPLING,
+    /**
+     * Extension providers, icons and values.
+     * <p>
+     * Ordering matters in this lane, since icon and provider ids are resolved before values are stored.
+     */
+    EXTENSIONS,
+    /**
+     * Web access log.
+     */
+    WEB,
+    /**
+     * Periodic removal of old data.
+     */
+    CLEANUP;
+
+    public String getLowercaseName() {
+        return name().toLowerCase();
+    }
+}
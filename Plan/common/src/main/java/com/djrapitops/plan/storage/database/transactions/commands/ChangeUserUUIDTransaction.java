@@ -48,6 +48,10 @@ public class ChangeUserUUIDTransaction extends Transaction {
 
     @Override
     protected void performOperations() {
+        invalidateIdentityCache(cache -> {
+            cache.invalidateUser(oldUUID);
+            cache.invalidateUser(newUUID);
+        });
         execute(updateUUID(ExtensionGroupsTable.TABLE_NAME, ExtensionGroupsTable.USER_UUID));
         execute(updateUUID(ExtensionPlayerTableValueTable.TABLE_NAME, ExtensionPlayerTableValueTable.USER_UUID));
         execute(updateUUID(NicknamesTable.TABLE_NAME, NicknamesTable.USER_UUID));
@@ -20,6 +20,7 @@ import com.djrapitops.plan.storage.database.queries.objects.BaseUserQueries;
 import com.djrapitops.plan.storage.database.sql.tables.*;
 import com.djrapitops.plan.storage.database.transactions.ExecStatement;
 import com.djrapitops.plan.storage.database.transactions.Executable;
+import com.djrapitops.plan.storage.database.transactions.init.RebuildPlayerTotalsTransaction;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
@@ -53,11 +54,15 @@ public class CombineUserTransaction extends ChangeUserUUIDTransaction {
         execute(updateUserId(SessionsTable.TABLE_NAME, SessionsTable.USER_ID, oldId, newId));
         execute(updateUserId(WorldTimesTable.TABLE_NAME, WorldTimesTable.USER_ID, oldId, newId));
 
+        execute(DELETE_FROM + PlayerTotalsTable.TABLE_NAME + WHERE + PlayerTotalsTable.USER_ID + "=" + oldId);
+        execute(ActivitySnapshotTable.DELETE_ALL_STATEMENT);
+
         execute(updateUserInfo(newId, oldId));
         execute(DELETE_FROM + UserInfoTable.TABLE_NAME + WHERE + UserInfoTable.USER_ID + "=" + oldId);
         execute(DELETE_FROM + UsersTable.TABLE_NAME + WHERE + UsersTable.ID + "=" + oldId);
 
         super.performOperations(); // Change UUID fields to match where user_id is not used
+        executeOther(new RebuildPlayerTotalsTransaction(newUUID));
     }
 
     private Executable updateUserInfo(Integer newId, Integer oldId) {
@@ -41,6 +41,10 @@ public class RemoveEverythingTransaction extends Patch {
         clearTable(KillsTable.TABLE_NAME);
         clearTable(WorldTimesTable.TABLE_NAME);
         clearTable(SessionsTable.TABLE_NAME);
+        clearTable(SessionBucketTable.TABLE_NAME);
+        clearTable(ActivitySnapshotTable.TABLE_NAME);
+        clearTable(PlayerTotalsTable.TABLE_NAME);
+        clearTable(ServerEventTable.TABLE_NAME);
         clearTable(JoinAddressTable.TABLE_NAME);
         clearTable(AllowlistBounceTable.TABLE_NAME);
         clearTable(PluginVersionTable.TABLE_NAME);
@@ -49,6 +53,8 @@ public class RemoveEverythingTransaction extends Patch {
         clearTable(UserInfoTable.TABLE_NAME);
         clearTable(UsersTable.TABLE_NAME);
         clearTable(TPSTable.TABLE_NAME);
+        clearTable(TPSRollupTable.HOURLY_TABLE_NAME);
+        clearTable(TPSRollupTable.DAILY_TABLE_NAME);
         clearTable(WebGroupToPermissionTable.TABLE_NAME);
         clearTable(WebPermissionTable.TABLE_NAME);
         clearTable(WebGroupTable.TABLE_NAME);
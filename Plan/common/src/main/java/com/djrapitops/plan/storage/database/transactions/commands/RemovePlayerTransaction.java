@@ -17,15 +17,20 @@
 package com.djrapitops.plan.storage.database.transactions.commands;
 
 import com.djrapitops.plan.storage.database.queries.PlayerFetchQueries;
+import com.djrapitops.plan.storage.database.queries.QueryStatement;
 import com.djrapitops.plan.storage.database.sql.tables.*;
 import com.djrapitops.plan.storage.database.sql.tables.extension.ExtensionGroupsTable;
 import com.djrapitops.plan.storage.database.sql.tables.extension.ExtensionPlayerTableValueTable;
 import com.djrapitops.plan.storage.database.sql.tables.extension.ExtensionPlayerValueTable;
+import com.djrapitops.plan.storage.database.transactions.ExecBatchStatement;
 import com.djrapitops.plan.storage.database.transactions.ExecStatement;
 import com.djrapitops.plan.storage.database.transactions.ThrowawayTransaction;
 
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 import static com.djrapitops.plan.storage.database.sql.building.Sql.*;
@@ -43,6 +48,11 @@ public class RemovePlayerTransaction extends ThrowawayTransaction {
         this.playerUUID = playerUUID;
     }
 
+    @Override
+    public boolean canBeGroupCommitted() {
+        return false;
+    }
+
     @Override
     protected boolean shouldBeExecuted() {
         return playerUUID != null;
@@ -50,13 +60,17 @@ public class RemovePlayerTransaction extends ThrowawayTransaction {
 
     @Override
     protected void performOperations() {
+        invalidateIdentityCache(cache -> cache.invalidateUser(playerUUID));
         query(PlayerFetchQueries.playerUserName(playerUUID)).ifPresent(this::deleteWebUser);
 
         deleteFromUserIdTable(GeoInfoTable.TABLE_NAME);
         deleteFromTable(NicknamesTable.TABLE_NAME);
+        subtractKillsFromKillerTotals();
         deleteFromKillsTable();
         deleteFromUserIdTable(WorldTimesTable.TABLE_NAME);
+        subtractSessionsFromBuckets();
         deleteFromUserIdTable(SessionsTable.TABLE_NAME);
+        deleteFromUserIdTable(PlayerTotalsTable.TABLE_NAME);
         deleteFromUserIdTable(PingTable.TABLE_NAME);
         deleteFromUserIdTable(UserInfoTable.TABLE_NAME);
         deleteFromTable(UsersTable.TABLE_NAME);
@@ -88,6 +102,75 @@ public class RemovePlayerTransaction extends ThrowawayTransaction {
         });
     }
 
+    private void subtractSessionsFromBuckets() {
+        String bucket = SessionBucketTable.bucketOf(SessionsTable.SESSION_START);
+        String sql = SELECT + SessionsTable.SERVER_ID + ',' +
+                bucket + " as bucket," +
+                "COUNT(1) as session_count," +
+                "SUM(" + SessionsTable.SESSION_END + '-' + SessionsTable.SESSION_START + ") as playtime" +
+                FROM + SessionsTable.TABLE_NAME +
+                WHERE + SessionsTable.USER_ID + "=" + UsersTable.SELECT_USER_ID +
+                GROUP_BY + SessionsTable.SERVER_ID + ',' + bucket;
+        List<long[]> buckets = query(new QueryStatement<>(sql) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setString(1, playerUUID.toString());
+            }
+
+            @Override
+            public List<long[]> processResults(ResultSet set) throws SQLException {
+                List<long[]> rows = new ArrayList<>();
+                while (set.next()) {
+                    rows.add(new long[]{
+                            set.getInt(SessionsTable.SERVER_ID),
+                            set.getLong("bucket"),
+                            set.getLong("session_count"),
+                            set.getLong("playtime")
+                    });
+                }
+                return rows;
+            }
+        });
+        if (buckets.isEmpty()) return;
+
+        execute(new ExecBatchStatement(SessionBucketTable.SUBTRACT_STATEMENT) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                for (long[] row : buckets) {
+                    statement.setLong(1, row[2]);
+                    statement.setLong(2, row[3]);
+                    statement.setInt(3, (int) row[0]);
+                    statement.setLong(4, row[1]);
+                    statement.addBatch();
+                }
+            }
+        });
+    }
+
+    private void subtractKillsFromKillerTotals() {
+        String killsOfTotalsRow = SELECT + "COUNT(1)" +
+                FROM + KillsTable.TABLE_NAME + " k" +
+                INNER_JOIN + UsersTable.TABLE_NAME + " ku on ku." + UsersTable.USER_UUID + "=k." + KillsTable.KILLER_UUID +
+                INNER_JOIN + ServerTable.TABLE_NAME + " kse on kse." + ServerTable.SERVER_UUID + "=k." + KillsTable.SERVER_UUID +
+                WHERE + "k." + KillsTable.VICTIM_UUID + "=?" +
+                AND + "ku." + UsersTable.ID + '=' + PlayerTotalsTable.TABLE_NAME + '.' + PlayerTotalsTable.USER_ID +
+                AND + "kse." + ServerTable.ID + '=' + PlayerTotalsTable.TABLE_NAME + '.' + PlayerTotalsTable.SERVER_ID;
+        String killerIds = SELECT + "ku." + UsersTable.ID +
+                FROM + KillsTable.TABLE_NAME + " k" +
+                INNER_JOIN + UsersTable.TABLE_NAME + " ku on ku." + UsersTable.USER_UUID + "=k." + KillsTable.KILLER_UUID +
+                WHERE + "k." + KillsTable.VICTIM_UUID + "=?";
+        String sql = "UPDATE " + PlayerTotalsTable.TABLE_NAME + " SET " +
+                PlayerTotalsTable.PLAYER_KILLS + '=' + PlayerTotalsTable.PLAYER_KILLS + "-(" + killsOfTotalsRow + ')' +
+                WHERE + PlayerTotalsTable.USER_ID + " IN (" + killerIds + ')';
+        execute(new ExecStatement(sql) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setString(1, playerUUID.toString());
+                statement.setString(2, playerUUID.toString());
+            }
+        });
+    }
+
     private void deleteFromKillsTable() {
         String sql = DELETE_FROM + KillsTable.TABLE_NAME +
                 WHERE + KillsTable.KILLER_UUID + "=?" +
@@ -36,8 +36,14 @@ public class RemoveServerTransaction extends ThrowawayTransaction {
 
     public RemoveServerTransaction(ServerUUID serverUUID) {this.serverUUID = serverUUID;}
 
+    @Override
+    public boolean canBeGroupCommitted() {
+        return false;
+    }
+
     @Override
     protected void performOperations() {
+        invalidateIdentityCache(cache -> cache.invalidateServer(serverUUID));
         deleteExtensionTables();
 
         deleteFromServerTable(NicknamesTable.TABLE_NAME);
@@ -46,10 +52,18 @@ public class RemoveServerTransaction extends ThrowawayTransaction {
         deleteFromServerTable(WorldTable.TABLE_NAME);
 
         deleteFromServerIdTable(SessionsTable.TABLE_NAME);
+        deleteFromServerIdTable(SessionBucketTable.TABLE_NAME);
+        deleteFromServerIdTable(ActivitySnapshotTable.TABLE_NAME);
+        execute(ActivitySnapshotTable.DELETE_NETWORK_STATEMENT);
+        deleteFromServerIdTable(PlayerTotalsTable.TABLE_NAME);
+        execute(PlayerTotalsTable.UPDATE_USERS_LAST_SEEN_STATEMENT);
+        deleteFromServerIdTable(ServerEventTable.TABLE_NAME);
         deleteFromServerIdTable(PluginVersionTable.TABLE_NAME);
         deleteFromServerIdTable(AllowlistBounceTable.TABLE_NAME);
         deleteFromServerIdTable(UserInfoTable.TABLE_NAME);
         deleteFromServerIdTable(TPSTable.TABLE_NAME);
+        deleteFromServerIdTable(TPSRollupTable.HOURLY_TABLE_NAME);
+        deleteFromServerIdTable(TPSRollupTable.DAILY_TABLE_NAME);
         deleteFromServerIdTable(PingTable.TABLE_NAME);
         deleteServer();
     }
@@ -40,6 +40,11 @@ public class SetServerAsUninstalledTransaction extends ThrowawayTransaction {
         this.serverUUID = serverUUID;
     }
 
+    @Override
+    public boolean canBeGroupCommitted() {
+        return false;
+    }
+
     @Override
     protected void performOperations() {
         execute(updateServerAsUninstalled());
@@ -21,13 +21,14 @@ import com.djrapitops.plan.exceptions.database.DBOpException;
 import com.djrapitops.plan.gathering.domain.Ping;
 import com.djrapitops.plan.identification.ServerUUID;
 import com.djrapitops.plan.storage.database.queries.DataStoreQueries;
-import com.djrapitops.plan.storage.database.queries.PlayerFetchQueries;
 import com.djrapitops.plan.storage.database.transactions.Transaction;
+import com.djrapitops.plan.storage.database.transactions.TransactionLane;
 import com.djrapitops.plan.utilities.Predicates;
 import com.djrapitops.plan.utilities.analysis.Median;
 import com.djrapitops.plan.utilities.java.Lists;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -47,20 +48,25 @@ public class PingStoreTransaction extends Transaction {
         this.pingList = pingList;
     }
 
+    @Override
+    public TransactionLane getLane() {
+        return TransactionLane.SAMPLING;
+    }
+
     @Override
     protected void performOperations() {
         Ping ping = calculateAggregatePing();
 
         DBOpException userInsertError = null;
-        if (Boolean.FALSE.equals(query(PlayerFetchQueries.isPlayerRegistered(playerUUID)))) {
+        if (getUserId(playerUUID).isEmpty()) {
             userInsertError = tryToRegisterUser(ping.getDate());
         }
 
         try {
-            execute(DataStoreQueries.storePing(playerUUID, serverUUID, ping));
+            storePing(ping);
         } catch (DBOpException failed) {
             if (userInsertError != null) failed.addSuppressed(userInsertError);
-            if (failed.isUserIdConstraintViolation() || failed.isDuplicateKeyViolation()) {
+            if (failed.isUserIdConstraintViolation() || failed.isServerIdConstraintViolation() || failed.isDuplicateKeyViolation()) {
                 retry(ping, failed);
             } else {
                 throw failed;
@@ -68,7 +74,22 @@ public class PingStoreTransaction extends Transaction {
         }
     }
 
+    private void storePing(Ping ping) {
+        Optional<Integer> userId = getUserId(playerUUID);
+        Optional<Integer> serverId = getServerId(serverUUID);
+        if (userId.isPresent() && serverId.isPresent()) {
+            execute(DataStoreQueries.storePing(userId.get(), serverId.get(), ping));
+        } else {
+            execute(DataStoreQueries.storePing(playerUUID, serverUUID, ping));
+        }
+    }
+
     private void retry(Ping ping, DBOpException failed) {
+        // Cached ids might have been removed by another server sharing the database.
+        invalidateIdentityCache(cache -> {
+            cache.invalidateUser(playerUUID);
+            cache.invalidateServer(serverUUID);
+        });
         DBOpException userInsertError = null;
         try {
             userInsertError = tryToRegisterUser(ping.getDate());
@@ -0,0 +1,94 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database.transactions.events;
+
+import com.djrapitops.plan.delivery.domain.mutators.ActivityIndex;
+import com.djrapitops.plan.identification.ServerUUID;
+import com.djrapitops.plan.storage.database.sql.tables.ActivitySnapshotTable;
+import com.djrapitops.plan.storage.database.transactions.ExecBatchStatement;
+import com.djrapitops.plan.storage.database.transactions.ExecStatement;
+import com.djrapitops.plan.storage.database.transactions.ThrowawayTransaction;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Map;
+
+import static com.djrapitops.plan.storage.database.sql.building.Sql.*;
+
+/**
+ * Transaction to store activity group counts of a week.
+ * <p>
+ * Replaces the existing snapshot of the same week, and removes snapshots calculated with a different threshold, since
+ * they are no longer used.
+ *
+ * @author AuroraLS3
+ * @see ActivitySnapshotTable
+ */
+public class StoreActivitySnapshotTransaction extends ThrowawayTransaction {
+
+    private final ServerUUID serverUUID;
+    private final long date;
+    private final long threshold;
+    private final Map<String, Integer> activityGroups;
+
+    /**
+     * Create the transaction.
+     *
+     * @param serverUUID     UUID of the Plan server, null for the whole network.
+     * @param date           Start of the week, see {@link ActivitySnapshotTable#weekOf(long)}.
+     * @param threshold      Active playtime threshold the counts were calculated with.
+     * @param activityGroups Map of activity group : player count
+     */
+    public StoreActivitySnapshotTransaction(ServerUUID serverUUID, long date, long threshold, Map<String, Integer> activityGroups) {
+        this.serverUUID = serverUUID;
+        this.date = date;
+        this.threshold = threshold;
+        this.activityGroups = activityGroups;
+    }
+
+    @Override
+    protected void performOperations() {
+        boolean network = serverUUID == null;
+        String deleteSnapshot = DELETE_FROM + ActivitySnapshotTable.TABLE_NAME +
+                WHERE + ActivitySnapshotTable.serverCondition(network) +
+                AND + '(' + ActivitySnapshotTable.DATE + "=?" + OR + ActivitySnapshotTable.THRESHOLD + "!=?)";
+        execute(new ExecStatement(deleteSnapshot) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                int index = 1;
+                if (!network) statement.setString(index++, serverUUID.toString());
+                statement.setLong(index, date);
+                statement.setLong(index + 1, threshold);
+            }
+        });
+
+        execute(new ExecBatchStatement(ActivitySnapshotTable.INSERT_STATEMENT) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                // All groups are stored so that weeks without players are not mistaken for missing snapshots.
+                for (String group : ActivityIndex.getDefaultGroups()) {
+                    statement.setString(1, network ? null : serverUUID.toString());
+                    statement.setLong(2, date);
+                    statement.setLong(3, threshold);
+                    statement.setString(4, group);
+                    statement.setInt(5, activityGroups.getOrDefault(group, 0));
+                    statement.addBatch();
+                }
+            }
+        });
+    }
+}
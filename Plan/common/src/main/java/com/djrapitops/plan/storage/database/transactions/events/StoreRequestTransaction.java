@@ -22,6 +22,7 @@ import com.djrapitops.plan.delivery.webserver.http.InternalRequest;
 import com.djrapitops.plan.storage.database.sql.tables.AccessLogTable;
 import com.djrapitops.plan.storage.database.transactions.ExecBatchStatement;
 import com.djrapitops.plan.storage.database.transactions.ThrowawayTransaction;
+import com.djrapitops.plan.storage.database.transactions.TransactionLane;
 import org.apache.commons.lang3.StringUtils;
 
 import java.sql.PreparedStatement;
@@ -45,6 +46,11 @@ public class StoreRequestTransaction extends ThrowawayTransaction {
         return StringUtils.truncate(uri, 65000);
     }
 
+    @Override
+    public TransactionLane getLane() {
+        return TransactionLane.WEB;
+    }
+
     @Override
     protected void performOperations() {
         execute(new ExecBatchStatement(AccessLogTable.INSERT_STATEMENT) {
@@ -0,0 +1,78 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database.transactions.events;
+
+import com.djrapitops.plan.identification.ServerUUID;
+import com.djrapitops.plan.storage.database.queries.objects.ServerQueries;
+import com.djrapitops.plan.storage.database.sql.tables.ServerEventTable;
+import com.djrapitops.plan.storage.database.transactions.ExecStatement;
+import com.djrapitops.plan.storage.database.transactions.Transaction;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Optional;
+
+import static com.djrapitops.plan.storage.database.sql.building.Sql.*;
+
+/**
+ * Records that a server was started.
+ * <p>
+ * Stops recorded after the start date were plugin reloads, so they are removed and the start is only stored once.
+ *
+ * @author AuroraLS3
+ */
+public class StoreServerStartTransaction extends Transaction {
+
+    private final ServerUUID serverUUID;
+    private final long startTime;
+
+    public StoreServerStartTransaction(ServerUUID serverUUID, long startTime) {
+        this.serverUUID = serverUUID;
+        this.startTime = startTime;
+    }
+
+    @Override
+    protected void performOperations() {
+        Optional<Integer> serverId = getServerId(serverUUID);
+        if (serverId.isEmpty()) return;
+
+        String deleteReloadStops = DELETE_FROM + ServerEventTable.TABLE_NAME +
+                WHERE + ServerEventTable.SERVER_ID + "=?" +
+                AND + ServerEventTable.EVENT_TYPE + "=?" +
+                AND + ServerEventTable.DATE + ">=?";
+        execute(new ExecStatement(deleteReloadStops) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setInt(1, serverId.get());
+                statement.setString(2, ServerEventTable.STOP);
+                statement.setLong(3, startTime);
+            }
+        });
+
+        Optional<Long> latestStart = query(ServerQueries.fetchLatestServerStartTime(serverUUID));
+        if (latestStart.isPresent() && latestStart.get() == startTime) return;
+
+        execute(new ExecStatement(ServerEventTable.INSERT_STATEMENT) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setString(1, serverUUID.toString());
+                statement.setLong(2, startTime);
+                statement.setString(3, ServerEventTable.START);
+            }
+        });
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database.transactions.events;
+
+import com.djrapitops.plan.identification.ServerUUID;
+import com.djrapitops.plan.storage.database.sql.tables.ServerEventTable;
+import com.djrapitops.plan.storage.database.transactions.ExecStatement;
+import com.djrapitops.plan.storage.database.transactions.Transaction;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Records that a server was stopped.
+ *
+ * @author AuroraLS3
+ */
+public class StoreServerStopTransaction extends Transaction {
+
+    private final ServerUUID serverUUID;
+    private final long stopTime;
+
+    public StoreServerStopTransaction(ServerUUID serverUUID, long stopTime) {
+        this.serverUUID = serverUUID;
+        this.stopTime = stopTime;
+    }
+
+    @Override
+    protected void performOperations() {
+        if (getServerId(serverUUID).isEmpty()) return;
+
+        execute(new ExecStatement(ServerEventTable.INSERT_STATEMENT) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setString(1, serverUUID.toString());
+                statement.setLong(2, stopTime);
+                statement.setString(3, ServerEventTable.STOP);
+            }
+        });
+    }
+}
@@ -21,9 +21,9 @@ import com.djrapitops.plan.exceptions.database.DBOpException;
 import com.djrapitops.plan.gathering.domain.FinishedSession;
 import com.djrapitops.plan.gathering.domain.event.JoinAddress;
 import com.djrapitops.plan.storage.database.queries.DataStoreQueries;
-import com.djrapitops.plan.storage.database.queries.PlayerFetchQueries;
 import com.djrapitops.plan.storage.database.transactions.Transaction;
 
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -41,13 +41,13 @@ public class StoreSessionTransaction extends Transaction {
 
     @Override
     protected void performOperations() {
-        if (Boolean.FALSE.equals(query(PlayerFetchQueries.isPlayerRegistered(session.getPlayerUUID())))) {
+        if (getUserId(session.getPlayerUUID()).isEmpty()) {
             registerPlayer();
         }
         try {
             storeSession();
         } catch (DBOpException failed) {
-            if (failed.isUserIdConstraintViolation()) {
+            if (failed.isUserIdConstraintViolation() || failed.isServerIdConstraintViolation()) {
                 retry(failed);
             } else {
                 throw failed;
@@ -57,7 +57,13 @@ public class StoreSessionTransaction extends Transaction {
 
     private void storeSession() {
         storeJoinAddressIfPresent();
-        execute(DataStoreQueries.storeSession(session));
+        Optional<Integer> userId = getUserId(session.getPlayerUUID());
+        Optional<Integer> serverId = getServerId(session.getServerUUID());
+        if (userId.isPresent() && serverId.isPresent()) {
+            execute(DataStoreQueries.storeSession(session, userId.get(), serverId.get()));
+        } else {
+            execute(DataStoreQueries.storeSession(session));
+        }
     }
 
     private void storeJoinAddressIfPresent() {
@@ -68,6 +74,11 @@ public class StoreSessionTransaction extends Transaction {
     }
 
     private void retry(DBOpException failed) {
+        // Cached ids might have been removed by another server sharing the database.
+        invalidateIdentityCache(cache -> {
+            cache.invalidateUser(session.getPlayerUUID());
+            cache.invalidateServer(session.getServerUUID());
+        });
         try {
             registerPlayer();
             storeSession();
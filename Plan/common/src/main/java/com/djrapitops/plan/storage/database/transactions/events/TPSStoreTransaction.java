@@ -16,13 +16,16 @@
  */
 package com.djrapitops.plan.storage.database.transactions.events;
 
+import com.djrapitops.plan.exceptions.database.DBOpException;
 import com.djrapitops.plan.gathering.domain.TPS;
 import com.djrapitops.plan.identification.ServerUUID;
 import com.djrapitops.plan.storage.database.queries.DataStoreQueries;
 import com.djrapitops.plan.storage.database.queries.objects.TPSQueries;
 import com.djrapitops.plan.storage.database.transactions.Transaction;
+import com.djrapitops.plan.storage.database.transactions.TransactionLane;
 import net.playeranalytics.plugin.server.PluginLogger;
 
+import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -54,6 +57,11 @@ public class TPSStoreTransaction extends Transaction {
         TPSStoreTransaction.lastStorageCheck = lastStorageCheck;
     }
 
+    @Override
+    public TransactionLane getLane() {
+        return TransactionLane.SAMPLING;
+    }
+
     @Override
     protected void performOperations() {
         long now = System.currentTimeMillis();
@@ -62,7 +70,23 @@ public class TPSStoreTransaction extends Transaction {
             TPSStoreTransaction.setLastStorageCheck(now);
         }
 
-        execute(DataStoreQueries.storeTPS(serverUUID, tps));
+        storeTPS();
+    }
+
+    private void storeTPS() {
+        Optional<Integer> serverId = getServerId(serverUUID);
+        if (serverId.isEmpty()) {
+            execute(DataStoreQueries.storeTPS(serverUUID, tps));
+            return;
+        }
+        try {
+            execute(DataStoreQueries.storeTPS(serverId.get(), tps));
+        } catch (DBOpException failed) {
+            if (!failed.isServerIdConstraintViolation()) throw failed;
+            // Cached id was removed by another server sharing the database.
+            invalidateIdentityCache(cache -> cache.invalidateServer(serverUUID));
+            execute(DataStoreQueries.storeTPS(serverUUID, tps));
+        }
     }
 
     private void performDuplicateServerUUIDServerCheck(long now) {
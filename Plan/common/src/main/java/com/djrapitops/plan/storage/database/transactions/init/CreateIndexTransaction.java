@@ -57,6 +57,16 @@ public class CreateIndexTransaction extends Transaction {
         createIndex(PingTable.TABLE_NAME, "plan_ping_date_index", PingTable.DATE);
         createIndex(TPSTable.TABLE_NAME, "plan_tps_date_index", TPSTable.DATE);
         createIndex(TPSTable.TABLE_NAME, "plan_tps_server_date_index", TPSTable.SERVER_ID, TPSTable.DATE);
+        createIndex(TPSRollupTable.HOURLY_TABLE_NAME, "plan_tps_hourly_server_date_index", TPSRollupTable.SERVER_ID, TPSRollupTable.DATE);
+        createIndex(TPSRollupTable.DAILY_TABLE_NAME, "plan_tps_daily_server_date_index", TPSRollupTable.SERVER_ID, TPSRollupTable.DATE);
+        // Replaced by unique index
+        dropIndex(SessionBucketTable.TABLE_NAME, "plan_session_buckets_server_date_index");
+        createIndex(ActivitySnapshotTable.TABLE_NAME, "plan_activity_snapshots_server_date_index", ActivitySnapshotTable.SERVER_ID, ActivitySnapshotTable.DATE);
+        // Replaced by unique index
+        dropIndex(PlayerTotalsTable.TABLE_NAME, "plan_player_totals_user_server_index");
+        createIndex(PlayerTotalsTable.TABLE_NAME, "plan_player_totals_server_user_index", PlayerTotalsTable.SERVER_ID, PlayerTotalsTable.USER_ID);
+        createIndex(UsersTable.TABLE_NAME, "plan_users_last_seen_index", UsersTable.LAST_SEEN, UsersTable.ID);
+        createIndex(ServerEventTable.TABLE_NAME, "plan_server_events_server_date_index", ServerEventTable.SERVER_ID, ServerEventTable.DATE);
 
         createIndex(SessionsTable.TABLE_NAME, "plan_session_join_address_index", SessionsTable.JOIN_ADDRESS_ID);
 
@@ -40,6 +40,8 @@ public class CreateTablesTransaction extends OperationCriticalTransaction {
                 KillsTable.TABLE_NAME,
                 PingTable.TABLE_NAME,
                 TPSTable.TABLE_NAME,
+                TPSRollupTable.HOURLY_TABLE_NAME,
+                TPSRollupTable.DAILY_TABLE_NAME,
                 JoinAddressTable.TABLE_NAME,
                 WorldTable.TABLE_NAME,
                 WorldTimesTable.TABLE_NAME,
@@ -72,6 +74,12 @@ public class CreateTablesTransaction extends OperationCriticalTransaction {
         execute(KillsTable.createTableSQL(dbType));
         execute(PingTable.createTableSQL(dbType));
         execute(TPSTable.createTableSQL(dbType));
+        execute(TPSRollupTable.createHourlyTableSQL(dbType));
+        execute(TPSRollupTable.createDailyTableSQL(dbType));
+        execute(SessionBucketTable.createTableSQL(dbType));
+        execute(ActivitySnapshotTable.createTableSQL(dbType));
+        execute(PlayerTotalsTable.createTableSQL(dbType));
+        execute(ServerEventTable.createTableSQL(dbType));
         execute(WorldTable.createTableSQL(dbType));
         execute(WorldTimesTable.createTableSQL(dbType));
         execute(CookieTable.createTableSQL(dbType));
@@ -86,6 +94,7 @@ public class CreateTablesTransaction extends OperationCriticalTransaction {
         execute(PluginVersionTable.createTableSQL(dbType));
         execute(AllowlistBounceTable.createTableSQL(dbType));
         execute(RegistrationTable.createTableSql(dbType));
+        execute(SchemaPatchTable.createTableSQL(dbType));
 
         // DataExtension tables
         execute(ExtensionIconTable.createTableSQL(dbType));
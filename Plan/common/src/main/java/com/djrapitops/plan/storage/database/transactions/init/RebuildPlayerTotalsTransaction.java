@@ -0,0 +1,130 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database.transactions.init;
+
+import com.djrapitops.plan.storage.database.sql.tables.*;
+import com.djrapitops.plan.storage.database.transactions.ExecStatement;
+import com.djrapitops.plan.storage.database.transactions.Transaction;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.UUID;
+
+import static com.djrapitops.plan.storage.database.sql.building.Sql.*;
+
+/**
+ * Transaction that recalculates rows of {@link PlayerTotalsTable} from plan_sessions and plan_kills, and
+ * {@link UsersTable#LAST_SEEN} from the totals.
+ * <p>
+ * Used when the totals can not be kept up to date as sessions are stored, like when sessions are copied from
+ * another database or users are combined.
+ *
+ * @author AuroraLS3
+ */
+public class RebuildPlayerTotalsTransaction extends Transaction {
+
+    private final UUID playerUUID;
+
+    /**
+     * Rebuild totals of all players.
+     */
+    public RebuildPlayerTotalsTransaction() {
+        this(null);
+    }
+
+    /**
+     * Rebuild totals of a single player.
+     *
+     * @param playerUUID UUID of the player, null rebuilds totals of all players.
+     */
+    public RebuildPlayerTotalsTransaction(UUID playerUUID) {
+        this.playerUUID = playerUUID;
+    }
+
+    @Override
+    protected void performOperations() {
+        if (playerUUID == null) {
+            execute(DELETE_FROM + PlayerTotalsTable.TABLE_NAME);
+        } else {
+            execute(new ExecStatement(DELETE_FROM + PlayerTotalsTable.TABLE_NAME +
+                    WHERE + PlayerTotalsTable.USER_ID + '=' + UsersTable.SELECT_USER_ID) {
+                @Override
+                public void prepare(PreparedStatement statement) throws SQLException {
+                    statement.setString(1, playerUUID.toString());
+                }
+            });
+        }
+
+        String selectKillCounts = SELECT + "ku." + UsersTable.ID + " as user_id," +
+                "kse." + ServerTable.ID + " as server_id," +
+                "COUNT(1) as kill_count" +
+                FROM + KillsTable.TABLE_NAME + " k" +
+                INNER_JOIN + UsersTable.TABLE_NAME + " ku on ku." + UsersTable.USER_UUID + "=k." + KillsTable.KILLER_UUID +
+                INNER_JOIN + ServerTable.TABLE_NAME + " kse on kse." + ServerTable.SERVER_UUID + "=k." + KillsTable.SERVER_UUID +
+                (playerUUID != null ? WHERE + "k." + KillsTable.KILLER_UUID + "=?" : "") +
+                GROUP_BY + "ku." + UsersTable.ID + ",kse." + ServerTable.ID;
+
+        String sql = INSERT_INTO + PlayerTotalsTable.TABLE_NAME + " (" +
+                PlayerTotalsTable.USER_ID + ',' +
+                PlayerTotalsTable.SERVER_ID + ',' +
+                PlayerTotalsTable.SESSION_COUNT + ',' +
+                PlayerTotalsTable.PLAYTIME + ',' +
+                PlayerTotalsTable.AFK_TIME + ',' +
+                PlayerTotalsTable.MOB_KILLS + ',' +
+                PlayerTotalsTable.PLAYER_KILLS + ',' +
+                PlayerTotalsTable.DEATHS + ',' +
+                PlayerTotalsTable.FIRST_SEEN + ',' +
+                PlayerTotalsTable.LAST_SEEN + ") " +
+                SELECT + "s." + SessionsTable.USER_ID + ',' +
+                "s." + SessionsTable.SERVER_ID + ',' +
+                "COUNT(1)," +
+                sum("s." + SessionsTable.SESSION_END + "-s." + SessionsTable.SESSION_START) + ',' +
+                sum("s." + SessionsTable.AFK_TIME) + ',' +
+                sum("s." + SessionsTable.MOB_KILLS) + ',' +
+                "COALESCE(" + max("k.kill_count") + ",0)," +
+                sum("s." + SessionsTable.DEATHS) + ',' +
+                min("s." + SessionsTable.SESSION_START) + ',' +
+                max("s." + SessionsTable.SESSION_END) +
+                FROM + SessionsTable.TABLE_NAME + " s" +
+                LEFT_JOIN + '(' + selectKillCounts + ") k on k.user_id=s." + SessionsTable.USER_ID +
+                AND + "k.server_id=s." + SessionsTable.SERVER_ID +
+                (playerUUID != null ? WHERE + "s." + SessionsTable.USER_ID + '=' + UsersTable.SELECT_USER_ID : "") +
+                GROUP_BY + "s." + SessionsTable.USER_ID + ",s." + SessionsTable.SERVER_ID;
+
+        execute(new ExecStatement(sql) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                if (playerUUID != null) {
+                    statement.setString(1, playerUUID.toString());
+                    statement.setString(2, playerUUID.toString());
+                }
+            }
+        });
+
+        if (playerUUID == null) {
+            execute(PlayerTotalsTable.UPDATE_USERS_LAST_SEEN_STATEMENT);
+        } else {
+            execute(new ExecStatement(PlayerTotalsTable.UPDATE_USERS_LAST_SEEN_STATEMENT +
+                    WHERE + UsersTable.USER_UUID + "=?") {
+                @Override
+                public void prepare(PreparedStatement statement) throws SQLException {
+                    statement.setString(1, playerUUID.toString());
+                }
+            });
+        }
+    }
+}
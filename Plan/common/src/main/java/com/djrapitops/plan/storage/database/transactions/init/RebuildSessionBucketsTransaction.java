@@ -0,0 +1,52 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database.transactions.init;
+
+import com.djrapitops.plan.storage.database.sql.tables.SessionBucketTable;
+import com.djrapitops.plan.storage.database.sql.tables.SessionsTable;
+import com.djrapitops.plan.storage.database.transactions.Transaction;
+
+import static com.djrapitops.plan.storage.database.sql.building.Sql.*;
+
+/**
+ * Transaction that recalculates all rows of {@link SessionBucketTable} from plan_sessions.
+ * <p>
+ * Used when the buckets can not be kept up to date as sessions are stored, like when sessions are copied from
+ * another database.
+ *
+ * @author AuroraLS3
+ */
+public class RebuildSessionBucketsTransaction extends Transaction {
+
+    @Override
+    protected void performOperations() {
+        execute(DELETE_FROM + SessionBucketTable.TABLE_NAME);
+
+        String bucket = SessionBucketTable.bucketOf(SessionsTable.SESSION_START);
+        execute(INSERT_INTO + SessionBucketTable.TABLE_NAME + " (" +
+                SessionBucketTable.SERVER_ID + ',' +
+                SessionBucketTable.DATE + ',' +
+                SessionBucketTable.SESSION_COUNT + ',' +
+                SessionBucketTable.PLAYTIME + ") " +
+                SELECT + SessionsTable.SERVER_ID + ',' +
+                bucket + ',' +
+                "COUNT(1)," +
+                sum(SessionsTable.SESSION_END + '-' + SessionsTable.SESSION_START) +
+                FROM + SessionsTable.TABLE_NAME +
+                GROUP_BY + SessionsTable.SERVER_ID + ',' + bucket);
+    }
+}
@@ -49,6 +49,11 @@ public class RemoveDuplicateUserInfoTransaction extends ThrowawayTransaction {
                     "u1." + UserInfoTable.SERVER_ID + "=u2." + UserInfoTable.SERVER_ID + AND +
                     "u1." + UserInfoTable.ID + "<u2." + UserInfoTable.ID;
 
+    @Override
+    public boolean canBeGroupCommitted() {
+        return false;
+    }
+
     @Override
     protected void performOperations() {
         Collection<Integer> duplicateIDs = getDuplicates();
@@ -26,6 +26,7 @@ import com.djrapitops.plan.storage.database.sql.tables.TPSTable;
 import com.djrapitops.plan.storage.database.transactions.ExecStatement;
 import com.djrapitops.plan.storage.database.transactions.Executable;
 import com.djrapitops.plan.storage.database.transactions.ThrowawayTransaction;
+import com.djrapitops.plan.storage.database.transactions.TransactionLane;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
@@ -54,6 +55,16 @@ public class RemoveOldSampledDataTransaction extends ThrowawayTransaction {
         this.deletePingOlderThanMs = deletePingOlderThanMs;
     }
 
+    @Override
+    public TransactionLane getLane() {
+        return TransactionLane.CLEANUP;
+    }
+
+    @Override
+    public boolean canBeGroupCommitted() {
+        return false;
+    }
+
     @Override
     protected void performOperations() {
         Optional<Integer> allTimePeak = query(TPSQueries.fetchAllTimePeakPlayerCount(serverUUID)).map(DateObj::getValue);
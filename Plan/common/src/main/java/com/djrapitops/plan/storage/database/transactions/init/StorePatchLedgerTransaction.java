@@ -0,0 +1,63 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database.transactions.init;
+
+import com.djrapitops.plan.storage.database.sql.tables.SchemaPatchTable;
+import com.djrapitops.plan.storage.database.transactions.ExecBatchStatement;
+import com.djrapitops.plan.storage.database.transactions.Transaction;
+import com.djrapitops.plan.storage.database.transactions.patches.PatchLedger;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Records patches that were found applied into the patch ledger, so they are not checked again on next enable.
+ *
+ * @author AuroraLS3
+ */
+public class StorePatchLedgerTransaction extends Transaction {
+
+    private final PatchLedger ledger;
+    private List<String> patchNames;
+
+    public StorePatchLedgerTransaction(PatchLedger ledger) {
+        this.ledger = ledger;
+    }
+
+    @Override
+    protected boolean shouldBeExecuted() {
+        patchNames = ledger.getPatchesToRecord();
+        return !patchNames.isEmpty();
+    }
+
+    @Override
+    protected void performOperations() {
+        long now = System.currentTimeMillis();
+        execute(new ExecBatchStatement(SchemaPatchTable.INSERT_STATEMENT) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                for (String patchName : patchNames) {
+                    statement.setString(1, patchName);
+                    statement.setLong(2, now);
+                    statement.addBatch();
+                }
+            }
+        });
+        ledger.markRecorded(patchNames);
+    }
+}
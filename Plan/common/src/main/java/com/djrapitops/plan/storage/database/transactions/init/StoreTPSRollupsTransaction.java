@@ -0,0 +1,150 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database.transactions.init;
+
+import com.djrapitops.plan.identification.ServerUUID;
+import com.djrapitops.plan.storage.database.queries.objects.TPSQueries;
+import com.djrapitops.plan.storage.database.sql.tables.TPSRollupTable;
+import com.djrapitops.plan.storage.database.sql.tables.TPSTable;
+import com.djrapitops.plan.storage.database.transactions.ExecStatement;
+import com.djrapitops.plan.storage.database.transactions.Executable;
+import com.djrapitops.plan.storage.database.transactions.Transaction;
+import com.djrapitops.plan.storage.database.transactions.TransactionLane;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Optional;
+
+import static com.djrapitops.plan.storage.database.sql.building.Sql.*;
+
+/**
+ * Transaction that rolls up TPS samples of a server into hourly and daily rollups.
+ * <p>
+ * Only complete hours (and days) after the last rolled up bucket are rolled up, so each run only reads the samples
+ * that have been stored since the previous run. Needs to run before old samples are removed, so it is not thrown
+ * away under load like other cleanup transactions.
+ *
+ * @author AuroraLS3
+ * @see TPSRollupTable
+ */
+public class StoreTPSRollupsTransaction extends Transaction {
+
+    private final ServerUUID serverUUID;
+    private final long now;
+
+    public StoreTPSRollupsTransaction(ServerUUID serverUUID) {
+        this(serverUUID, System.currentTimeMillis());
+    }
+
+    public StoreTPSRollupsTransaction(ServerUUID serverUUID, long now) {
+        this.serverUUID = serverUUID;
+        this.now = now;
+    }
+
+    @Override
+    public TransactionLane getLane() {
+        return TransactionLane.CLEANUP;
+    }
+
+    @Override
+    protected void performOperations() {
+        Optional<Integer> serverId = getServerId(serverUUID);
+        if (serverId.isEmpty()) return;
+
+        long hourlyFrom = query(TPSQueries.fetchLastRollupDate(TPSRollupTable.HOURLY_TABLE_NAME, serverUUID))
+                .map(lastRollup -> lastRollup + TPSRollupTable.HOUR)
+                .orElse(0L);
+        long hourlyTo = now - Math.floorMod(now, TPSRollupTable.HOUR);
+        if (hourlyFrom < hourlyTo) {
+            execute(rollupHours(serverId.get(), hourlyFrom, hourlyTo));
+        }
+
+        long dailyFrom = query(TPSQueries.fetchLastRollupDate(TPSRollupTable.DAILY_TABLE_NAME, serverUUID))
+                .map(lastRollup -> lastRollup + TPSRollupTable.DAY)
+                .orElse(0L);
+        long dailyTo = now - Math.floorMod(now, TPSRollupTable.DAY);
+        if (dailyFrom < dailyTo) {
+            execute(rollupDays(serverId.get(), dailyFrom, dailyTo));
+        }
+    }
+
+    private Executable rollupHours(int serverId, long from, long to) {
+        String bucket = TPSTable.DATE + '-' + TPSTable.DATE + '%' + TPSRollupTable.HOUR;
+        StringBuilder select = new StringBuilder(SELECT)
+                .append(TPSTable.SERVER_ID).append(',')
+                .append(bucket).append(',')
+                .append("COUNT(1)");
+        for (String column : TPSRollupTable.getRolledUpColumns()) {
+            String validValue = "CASE WHEN " + TPSRollupTable.validValue(column) + " THEN " + column + " END";
+            select.append(',').append(min(validValue))
+                    .append(',').append(max(validValue))
+                    .append(',').append(avg(validValue))
+                    .append(',').append(sum("CASE WHEN " + TPSRollupTable.validValue(column) + " THEN 1 ELSE 0 END"));
+        }
+        select.append(FROM).append(TPSTable.TABLE_NAME)
+                .append(WHERE).append(TPSTable.SERVER_ID).append("=?")
+                .append(AND).append(TPSTable.DATE).append(">=?")
+                .append(AND).append(TPSTable.DATE).append("<?")
+                .append(GROUP_BY).append(TPSTable.SERVER_ID).append(',').append(bucket);
+
+        return insertRollups(TPSRollupTable.HOURLY_TABLE_NAME, select.toString(), serverId, from, to);
+    }
+
+    private Executable rollupDays(int serverId, long from, long to) {
+        String bucket = TPSRollupTable.DATE + '-' + TPSRollupTable.DATE + '%' + TPSRollupTable.DAY;
+        StringBuilder select = new StringBuilder(SELECT)
+                .append(TPSRollupTable.SERVER_ID).append(',')
+                .append(bucket).append(',')
+                .append(sum(TPSRollupTable.SAMPLES));
+        for (String column : TPSRollupTable.getRolledUpColumns()) {
+            String average = TPSRollupTable.avgOf(column);
+            String count = TPSRollupTable.countOf(column);
+            select.append(',').append(min(TPSRollupTable.minOf(column)))
+                    .append(',').append(max(TPSRollupTable.maxOf(column)))
+                    // Averages are weighted by the valid sample counts of the hours, null if there were none
+                    .append(',').append(sum(average + '*' + count))
+                    .append('/').append(sum("CASE WHEN " + count + ">0 THEN " + count + " END"))
+                    .append(',').append(sum(count));
+        }
+        select.append(FROM).append(TPSRollupTable.HOURLY_TABLE_NAME)
+                .append(WHERE).append(TPSRollupTable.SERVER_ID).append("=?")
+                .append(AND).append(TPSRollupTable.DATE).append(">=?")
+                .append(AND).append(TPSRollupTable.DATE).append("<?")
+                .append(GROUP_BY).append(TPSRollupTable.SERVER_ID).append(',').append(bucket);
+
+        return insertRollups(TPSRollupTable.DAILY_TABLE_NAME, select.toString(), serverId, from, to);
+    }
+
+    private Executable insertRollups(String rollupTable, String select, int serverId, long from, long to) {
+        StringBuilder columns = new StringBuilder()
+                .append(TPSRollupTable.SERVER_ID).append(',')
+                .append(TPSRollupTable.DATE).append(',')
+                .append(TPSRollupTable.SAMPLES);
+        for (String column : TPSRollupTable.getValueColumns()) {
+            columns.append(',').append(column);
+        }
+        String sql = INSERT_INTO + rollupTable + " (" + columns + ") " + select;
+        return new ExecStatement(sql) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setInt(1, serverId);
+                statement.setLong(2, from);
+                statement.setLong(3, to);
+            }
+        };
+    }
+}
@@ -46,6 +46,12 @@ public class CorrectWrongCharacterEncodingPatch extends Patch {
         this.config = config;
     }
 
+    @Override
+    public boolean canBeSkippedOnceApplied() {
+        // Tables created later might use the wrong encoding
+        return false;
+    }
+
     @Override
     public boolean hasBeenApplied() {
         if (dbType != DBType.MYSQL) return true;
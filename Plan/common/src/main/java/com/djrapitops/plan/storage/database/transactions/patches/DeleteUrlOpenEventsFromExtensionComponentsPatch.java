@@ -30,6 +30,12 @@ public class DeleteUrlOpenEventsFromExtensionComponentsPatch extends Patch {
             "javascript", "clickEvent", "hoverEvent", "open_url", "copy_to_clipboard", "\"action\"", "&#", "\\"
     };
 
+    @Override
+    public boolean canBeSkippedOnceApplied() {
+        // Extensions can store components again
+        return false;
+    }
+
     @Override
     public boolean hasBeenApplied() {
         for (String invalidString : invalidStrings) {
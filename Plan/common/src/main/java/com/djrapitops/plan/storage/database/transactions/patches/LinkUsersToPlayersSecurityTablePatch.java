@@ -39,6 +39,12 @@ import static com.djrapitops.plan.storage.database.sql.building.Sql.*;
  */
 public class LinkUsersToPlayersSecurityTablePatch extends Patch {
 
+    @Override
+    public boolean canBeSkippedOnceApplied() {
+        // Web users can be registered without a linked player
+        return false;
+    }
+
     @Override
     public boolean hasBeenApplied() {
         String sql = SELECT + "COUNT(1) as c" + FROM + SecurityTable.TABLE_NAME +
@@ -18,6 +18,8 @@ package com.djrapitops.plan.storage.database.transactions.patches;
 
 import com.djrapitops.plan.exceptions.database.DBOpException;
 import com.djrapitops.plan.storage.database.DBType;
+import com.djrapitops.plan.storage.database.IdentityCache;
+import com.djrapitops.plan.storage.database.queries.QueryAllStatement;
 import com.djrapitops.plan.storage.database.queries.QueryStatement;
 import com.djrapitops.plan.storage.database.queries.schema.MySQLSchemaQueries;
 import com.djrapitops.plan.storage.database.queries.schema.SQLiteSchemaQueries;
@@ -35,6 +37,7 @@ public abstract class Patch extends OperationCriticalTransaction {
     private static final String ALTER_TABLE = "ALTER TABLE ";
     private boolean appliedPreviously = false;
     private boolean appliedNow = false;
+    private PatchLedger ledger;
 
     public abstract boolean hasBeenApplied();
 
@@ -49,8 +52,30 @@ public abstract class Patch extends OperationCriticalTransaction {
         return appliedNow;
     }
 
+    /**
+     * Override this method if the patch corrects data that can become incorrect again after the patch has been applied.
+     *
+     * @return false if {@link #hasBeenApplied()} should be checked on every enable even if the patch is in the ledger.
+     */
+    public boolean canBeSkippedOnceApplied() {
+        return true;
+    }
+
+    /**
+     * Skip checking {@link #hasBeenApplied()} if the given ledger has recorded this patch as applied.
+     *
+     * @param ledger Ledger of applied patches.
+     */
+    public void useLedger(PatchLedger ledger) {
+        this.ledger = ledger;
+    }
+
     @Override
     protected boolean shouldBeExecuted() {
+        if (ledger != null && ledger.isRecordedAsApplied(this)) {
+            appliedPreviously = true;
+            return false;
+        }
         boolean hasBeenApplied = hasBeenApplied();
         if (hasBeenApplied) appliedPreviously = true;
         return !hasBeenApplied;
@@ -61,6 +86,8 @@ public abstract class Patch extends OperationCriticalTransaction {
         if (dbType == DBType.MYSQL) disableForeignKeyChecks();
         applyPatch();
         appliedNow = true;
+        // Patches may recreate or clear tables, ids of servers and users might change.
+        invalidateIdentityCache(IdentityCache::invalidateAll);
         if (dbType == DBType.MYSQL) enableForeignKeyChecks();
     }
 
@@ -83,6 +110,17 @@ public abstract class Patch extends OperationCriticalTransaction {
         }
     }
 
+    protected boolean hasIndex(String tableName, String indexName) {
+        switch (dbType) {
+            case MYSQL:
+                return query(MySQLSchemaQueries.doesIndexExist(indexName, tableName));
+            case SQLITE:
+                return query(SQLiteSchemaQueries.doesIndexExist(indexName));
+            default:
+                throw new IllegalStateException("Unsupported Database Type: " + dbType.getName());
+        }
+    }
+
     protected void addColumn(String tableName, String columnInfo) {
         execute(ALTER_TABLE + tableName + " ADD " + (dbType.supportsMySQLQueries() ? "" : "COLUMN ") + columnInfo);
     }
@@ -151,6 +189,16 @@ public abstract class Patch extends OperationCriticalTransaction {
         });
     }
 
+    protected boolean hasAnyRows(String tableName) {
+        String sql = SELECT + '1' + FROM + tableName + LIMIT + '1';
+        return query(new QueryAllStatement<>(sql) {
+            @Override
+            public Boolean processResults(ResultSet set) throws SQLException {
+                return set.next();
+            }
+        });
+    }
+
     protected int columnVarcharLength(String table, String column) {
         return dbType == DBType.SQLITE ? Integer.MAX_VALUE : query(MySQLSchemaQueries.columnVarcharLength(table, column));
     }
@@ -0,0 +1,87 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database.transactions.patches;
+
+import com.djrapitops.plan.storage.database.sql.tables.SchemaPatchTable;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Keeps track of which patches have been recorded in {@link SchemaPatchTable}.
+ * <p>
+ * Patches are applied in order, so the ledger is only trusted for the patches before the first one that is missing
+ * from it. If the ledger is missing or has gaps, the rest of the patches check the schema like before.
+ *
+ * @author AuroraLS3
+ */
+public class PatchLedger {
+
+    private final Patch[] patches;
+    private final Set<String> recorded;
+    private final Set<String> trusted;
+    private volatile boolean loaded;
+
+    public PatchLedger(Patch[] patches) {
+        this.patches = patches;
+        recorded = new HashSet<>();
+        trusted = new HashSet<>();
+        loaded = false;
+    }
+
+    public synchronized void load(Set<String> recordedPatchNames) {
+        recorded.addAll(recordedPatchNames);
+        for (Patch patch : patches) {
+            if (!patch.canBeSkippedOnceApplied()) continue;
+
+            String patchName = patch.getName();
+            if (!recorded.contains(patchName)) break;
+            trusted.add(patchName);
+        }
+        loaded = true;
+    }
+
+    public synchronized boolean isRecordedAsApplied(Patch patch) {
+        return loaded && patch.canBeSkippedOnceApplied() && trusted.contains(patch.getName());
+    }
+
+    /**
+     * Get names of the patches that have been found applied but are not in the ledger yet.
+     *
+     * @return Patch names to store, empty if the ledger could not be loaded.
+     */
+    public synchronized List<String> getPatchesToRecord() {
+        List<String> toRecord = new ArrayList<>();
+        if (!loaded) return toRecord;
+
+        for (Patch patch : patches) {
+            String patchName = patch.getName();
+            if (patch.canBeSkippedOnceApplied()
+                    && patch.wasSuccessful() && patch.isApplied()
+                    && !recorded.contains(patchName)) {
+                toRecord.add(patchName);
+            }
+        }
+        return toRecord;
+    }
+
+    public synchronized void markRecorded(List<String> patchNames) {
+        recorded.addAll(patchNames);
+    }
+}
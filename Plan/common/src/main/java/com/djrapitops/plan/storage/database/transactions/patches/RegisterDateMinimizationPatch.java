@@ -44,6 +44,12 @@ public class RegisterDateMinimizationPatch extends Patch {
 
     private Map<UUID, Long> registerDates;
 
+    @Override
+    public boolean canBeSkippedOnceApplied() {
+        // Register dates can be stored out of order by different servers
+        return false;
+    }
+
     @Override
     public boolean hasBeenApplied() {
         registerDates = query(fetchSmallestServerRegisterDates());
@@ -0,0 +1,119 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database.transactions.patches;
+
+import com.djrapitops.plan.storage.database.queries.Query;
+import com.djrapitops.plan.storage.database.queries.QueryAllStatement;
+import com.djrapitops.plan.storage.database.sql.tables.ServerEventTable;
+import com.djrapitops.plan.storage.database.sql.tables.TPSTable;
+import com.djrapitops.plan.storage.database.transactions.ExecBatchStatement;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.djrapitops.plan.storage.database.sql.building.Sql.*;
+
+/**
+ * Fills {@link ServerEventTable} with starts and stops derived from gaps in existing TPS data.
+ * <p>
+ * Also used when copying a database, as the events are not copied.
+ *
+ * @author AuroraLS3
+ */
+public class ServerEventsBackfillPatch extends Patch {
+
+    private static final long DATA_GAP_THRESHOLD = TimeUnit.MINUTES.toMillis(3);
+
+    @Override
+    public boolean hasBeenApplied() {
+        return !hasAnyRows(TPSTable.TABLE_NAME) || hasAnyRows(ServerEventTable.TABLE_NAME);
+    }
+
+    @Override
+    protected void applyPatch() {
+        List<Event> events = query(deriveEventsFromTPSData(System.currentTimeMillis()));
+        if (events.isEmpty()) return;
+
+        String sql = INSERT_INTO + ServerEventTable.TABLE_NAME + " (" +
+                ServerEventTable.SERVER_ID + ',' +
+                ServerEventTable.DATE + ',' +
+                ServerEventTable.EVENT_TYPE +
+                ") VALUES (?, ?, ?)";
+        execute(new ExecBatchStatement(sql) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                for (Event event : events) {
+                    statement.setInt(1, event.serverId);
+                    statement.setLong(2, event.date);
+                    statement.setString(3, event.type);
+                    statement.addBatch();
+                }
+            }
+        });
+    }
+
+    private Query<List<Event>> deriveEventsFromTPSData(long now) {
+        String sql = SELECT + TPSTable.SERVER_ID + ',' + TPSTable.DATE +
+                FROM + TPSTable.TABLE_NAME +
+                ORDER_BY + TPSTable.SERVER_ID + ',' + TPSTable.DATE;
+        return new QueryAllStatement<>(sql, 10000) {
+            @Override
+            public List<Event> processResults(ResultSet set) throws SQLException {
+                List<Event> events = new ArrayList<>();
+                int previousServerId = -1;
+                long previousDate = 0;
+                while (set.next()) {
+                    int serverId = set.getInt(TPSTable.SERVER_ID);
+                    long date = set.getLong(TPSTable.DATE);
+                    if (serverId != previousServerId) {
+                        addStopIfOffline(events, previousServerId, previousDate, now);
+                        events.add(new Event(serverId, date, ServerEventTable.START));
+                    } else if (date - previousDate > DATA_GAP_THRESHOLD) {
+                        events.add(new Event(serverId, previousDate, ServerEventTable.STOP));
+                        events.add(new Event(serverId, date, ServerEventTable.START));
+                    }
+                    previousServerId = serverId;
+                    previousDate = date;
+                }
+                addStopIfOffline(events, previousServerId, previousDate, now);
+                return events;
+            }
+        };
+    }
+
+    private static void addStopIfOffline(List<Event> events, int serverId, long lastDate, long now) {
+        if (serverId != -1 && now - lastDate > DATA_GAP_THRESHOLD) {
+            events.add(new Event(serverId, lastDate, ServerEventTable.STOP));
+        }
+    }
+
+    private static class Event {
+        private final int serverId;
+        private final long date;
+        private final String type;
+
+        private Event(int serverId, long date, String type) {
+            this.serverId = serverId;
+            this.date = date;
+            this.type = type;
+        }
+    }
+}
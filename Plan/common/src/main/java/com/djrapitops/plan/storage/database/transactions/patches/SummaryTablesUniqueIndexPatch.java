@@ -0,0 +1,82 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database.transactions.patches;
+
+import com.djrapitops.plan.storage.database.DBType;
+import com.djrapitops.plan.storage.database.queries.QueryAllStatement;
+import com.djrapitops.plan.storage.database.sql.tables.PlayerTotalsTable;
+import com.djrapitops.plan.storage.database.sql.tables.SessionBucketTable;
+import com.djrapitops.plan.storage.database.transactions.init.RebuildPlayerTotalsTransaction;
+import com.djrapitops.plan.storage.database.transactions.init.RebuildSessionBucketsTransaction;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static com.djrapitops.plan.storage.database.sql.building.Sql.*;
+
+/**
+ * Adds unique indexes to {@link SessionBucketTable} and {@link PlayerTotalsTable}.
+ * <p>
+ * Without them concurrent transactions could both insert a row for the same key. Tables with duplicate rows are
+ * rebuilt before the index is created, which merges the duplicates.
+ *
+ * @author AuroraLS3
+ */
+public class SummaryTablesUniqueIndexPatch extends Patch {
+
+    @Override
+    public boolean hasBeenApplied() {
+        return hasIndex(SessionBucketTable.TABLE_NAME, SessionBucketTable.UNIQUE_INDEX)
+                && hasIndex(PlayerTotalsTable.TABLE_NAME, PlayerTotalsTable.UNIQUE_INDEX);
+    }
+
+    @Override
+    protected void applyPatch() {
+        String bucketKey = SessionBucketTable.SERVER_ID + ',' + SessionBucketTable.DATE;
+        if (!hasIndex(SessionBucketTable.TABLE_NAME, SessionBucketTable.UNIQUE_INDEX)) {
+            if (hasDuplicates(SessionBucketTable.TABLE_NAME, bucketKey)) {
+                executeOther(new RebuildSessionBucketsTransaction());
+            }
+            createUniqueIndex(SessionBucketTable.TABLE_NAME, SessionBucketTable.UNIQUE_INDEX, bucketKey);
+        }
+
+        String totalsKey = PlayerTotalsTable.USER_ID + ',' + PlayerTotalsTable.SERVER_ID;
+        if (!hasIndex(PlayerTotalsTable.TABLE_NAME, PlayerTotalsTable.UNIQUE_INDEX)) {
+            if (hasDuplicates(PlayerTotalsTable.TABLE_NAME, totalsKey)) {
+                executeOther(new RebuildPlayerTotalsTransaction());
+            }
+            createUniqueIndex(PlayerTotalsTable.TABLE_NAME, PlayerTotalsTable.UNIQUE_INDEX, totalsKey);
+        }
+    }
+
+    private boolean hasDuplicates(String tableName, String keyColumns) {
+        String sql = SELECT + '1' + FROM + tableName +
+                GROUP_BY + keyColumns +
+                " HAVING COUNT(1)>1" + LIMIT + '1';
+        return query(new QueryAllStatement<>(sql) {
+            @Override
+            public Boolean processResults(ResultSet set) throws SQLException {
+                return set.next();
+            }
+        });
+    }
+
+    private void createUniqueIndex(String tableName, String indexName, String columns) {
+        execute("CREATE UNIQUE INDEX " + (dbType == DBType.SQLITE ? "IF NOT EXISTS " : "") +
+                indexName + " ON " + tableName + " (" + columns + ')');
+    }
+}
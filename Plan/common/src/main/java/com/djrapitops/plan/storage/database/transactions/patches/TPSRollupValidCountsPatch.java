@@ -0,0 +1,65 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database.transactions.patches;
+
+import com.djrapitops.plan.storage.database.sql.building.Sql;
+import com.djrapitops.plan.storage.database.sql.tables.TPSRollupTable;
+
+import java.util.StringJoiner;
+
+/**
+ * Adds valid sample count columns to plan_tps_hourly and plan_tps_daily tables.
+ * <p>
+ * Rollups stored before the counts existed only know the total number of samples, so it is used as the count of
+ * values that have an average.
+ *
+ * @author AuroraLS3
+ */
+public class TPSRollupValidCountsPatch extends Patch {
+
+    @Override
+    public boolean hasBeenApplied() {
+        return hasCountColumns(TPSRollupTable.HOURLY_TABLE_NAME) && hasCountColumns(TPSRollupTable.DAILY_TABLE_NAME);
+    }
+
+    private boolean hasCountColumns(String tableName) {
+        for (String column : TPSRollupTable.getRolledUpColumns()) {
+            if (!hasColumn(tableName, TPSRollupTable.countOf(column))) return false;
+        }
+        return true;
+    }
+
+    @Override
+    protected void applyPatch() {
+        addCountColumns(TPSRollupTable.HOURLY_TABLE_NAME);
+        addCountColumns(TPSRollupTable.DAILY_TABLE_NAME);
+    }
+
+    private void addCountColumns(String tableName) {
+        StringJoiner counts = new StringJoiner(",");
+        for (String column : TPSRollupTable.getRolledUpColumns()) {
+            String count = TPSRollupTable.countOf(column);
+            if (hasColumn(tableName, count)) continue;
+            addColumn(tableName, count + ' ' + Sql.INT + " NOT NULL DEFAULT 0");
+            counts.add(count + "=CASE WHEN " + TPSRollupTable.avgOf(column) + Sql.IS_NOT_NULL +
+                    " THEN " + TPSRollupTable.SAMPLES + " ELSE 0 END");
+        }
+        if (counts.length() > 0) {
+            execute("UPDATE " + tableName + " SET " + counts);
+        }
+    }
+}
@@ -38,6 +38,12 @@ public class UpdateMissingWebPermissionsPatch extends Patch {
 
     private List<String> missingPermissions;
 
+    @Override
+    public boolean canBeSkippedOnceApplied() {
+        // New permissions are added in new versions
+        return false;
+    }
+
     @Override
     public boolean hasBeenApplied() {
         List<String> defaultPermissions = Arrays.stream(WebPermission.nonDeprecatedValues())
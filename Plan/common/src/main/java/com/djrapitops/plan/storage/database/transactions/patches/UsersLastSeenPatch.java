@@ -0,0 +1,43 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database.transactions.patches;
+
+import com.djrapitops.plan.storage.database.sql.tables.PlayerTotalsTable;
+import com.djrapitops.plan.storage.database.sql.tables.UsersTable;
+
+/**
+ * Adds last_seen field to the users table and fills it from {@link PlayerTotalsTable}.
+ * <p>
+ * Applied before {@link PlayerTotalsPatch}, which fills the field while rebuilding the totals of older databases.
+ *
+ * @author AuroraLS3
+ */
+public class UsersLastSeenPatch extends Patch {
+
+    @Override
+    public boolean hasBeenApplied() {
+        return hasColumn(UsersTable.TABLE_NAME, UsersTable.LAST_SEEN);
+    }
+
+    @Override
+    protected void applyPatch() {
+        addColumn(UsersTable.TABLE_NAME,
+                UsersTable.LAST_SEEN + " bigint NOT NULL DEFAULT 0"
+        );
+        execute(PlayerTotalsTable.UPDATE_USERS_LAST_SEEN_STATEMENT);
+    }
+}
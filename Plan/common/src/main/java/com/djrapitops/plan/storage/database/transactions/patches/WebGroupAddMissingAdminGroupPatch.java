@@ -30,6 +30,12 @@ import java.util.stream.Collectors;
  */
 public class WebGroupAddMissingAdminGroupPatch extends Patch {
 
+    @Override
+    public boolean canBeSkippedOnceApplied() {
+        // Groups can be edited by users
+        return false;
+    }
+
     @Override
     public boolean hasBeenApplied() {
         return !query(WebUserQueries.fetchGroupNamesWithPermission(WebPermission.MANAGE_GROUPS.getPermission())).isEmpty();
@@ -31,6 +31,12 @@ import java.util.stream.Collectors;
  */
 public class WebGroupDefaultGroupsPatch extends Patch {
 
+    @Override
+    public boolean canBeSkippedOnceApplied() {
+        // Groups can be edited by users
+        return false;
+    }
+
     @Override
     public boolean hasBeenApplied() {
         return query(WebUserQueries.fetchGroupId("no_access")).isPresent();
@@ -53,9 +53,14 @@ public class PublicHtmlFiles {
     }
 
     public Optional<Resource> findPublicHtmlResource(@Untrusted String resourceName) {
+        return findPublicHtmlFile(resourceName)
+                .map(found -> new FileResource(resourceName, found.toFile()));
+    }
+
+    public Optional<Path> findPublicHtmlFile(@Untrusted String resourceName) {
         Path publicHtmlDirectory = config.getResourceSettings().getPublicHtmlDirectory();
         return attemptToFind(publicHtmlDirectory, resourceName)
-                .map(found -> new FileResource(resourceName, found));
+                .map(File::toPath);
     }
 
     private Optional<File> attemptToFind(Path from, @Untrusted String resourceName) {
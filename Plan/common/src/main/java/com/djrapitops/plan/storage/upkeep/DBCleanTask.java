@@ -38,6 +38,7 @@ import com.djrapitops.plan.storage.database.transactions.init.RemoveDuplicateUse
 import com.djrapitops.plan.storage.database.transactions.init.RemoveOldAccessLogTransaction;
 import com.djrapitops.plan.storage.database.transactions.init.RemoveOldExtensionsTransaction;
 import com.djrapitops.plan.storage.database.transactions.init.RemoveOldSampledDataTransaction;
+import com.djrapitops.plan.storage.database.transactions.init.StoreTPSRollupsTransaction;
 import com.djrapitops.plan.utilities.logging.ErrorLogger;
 import net.playeranalytics.plugin.scheduling.PluginRunnable;
 import net.playeranalytics.plugin.scheduling.RunnableFactory;
@@ -105,6 +106,7 @@ public class DBCleanTask extends TaskSystem.Task {
             if (database.getState() != Database.State.CLOSED) {
                 database.executeInTransaction(RegistrationTable.DELETE_EXPIRED, System.currentTimeMillis());
                 database.executeTransaction(new RemoveOldAccessLogTransaction(TimeUnit.DAYS.toMillis(config.get(WebserverSettings.REMOVE_ACCESS_LOG_AFTER_DAYS))));
+                database.executeTransaction(new StoreTPSRollupsTransaction(serverInfo.getServerUUID()));
                 database.executeTransaction(new RemoveOldSampledDataTransaction(
                         serverInfo.getServerUUID(),
                         config.get(TimeSettings.DELETE_TPS_DATA_AFTER),
@@ -0,0 +1,89 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.utilities;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Utility for compressing and decompressing bytes with gzip.
+ *
+ * @author AuroraLS3
+ */
+public class GzipUtil {
+
+    /**
+     * Hides public constructor.
+     */
+    private GzipUtil() {
+    }
+
+    /**
+     * Compress bytes with gzip.
+     *
+     * @param bytes Bytes to compress.
+     * @return Compressed bytes.
+     * @throws UncheckedIOException If compression fails.
+     */
+    public static byte[] compress(byte[] bytes) {
+        try (ByteArrayOutputStream bufferStream = new ByteArrayOutputStream();
+             GZIPOutputStream gzipStream = new GZIPOutputStream(bufferStream)
+        ) {
+            gzipStream.write(bytes);
+            gzipStream.finish();
+            return bufferStream.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not compress with gzip", e);
+        }
+    }
+
+    /**
+     * Compress contents of a file with gzip, without reading the whole file in memory.
+     *
+     * @param file File to compress.
+     * @return Compressed bytes.
+     * @throws IOException If the file can not be read.
+     */
+    public static byte[] compress(Path file) throws IOException {
+        ByteArrayOutputStream bufferStream = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzipStream = new GZIPOutputStream(bufferStream)) {
+            Files.copy(file, gzipStream);
+        }
+        return bufferStream.toByteArray();
+    }
+
+    /**
+     * Decompress bytes compressed with gzip.
+     *
+     * @param gzipped Compressed bytes.
+     * @return Decompressed bytes.
+     * @throws UncheckedIOException If the bytes are not valid gzip.
+     */
+    public static byte[] decompress(byte[] gzipped) {
+        try (GZIPInputStream gzipStream = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+            return gzipStream.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not decompress gzip", e);
+        }
+    }
+}
@@ -18,11 +18,12 @@ package com.djrapitops.plan.utilities;
 
 import com.djrapitops.plan.storage.database.SQLDB;
 import com.djrapitops.plan.utilities.java.ThrowableUtils;
-import org.jetbrains.annotations.NotNull;
 
-import java.util.*;
+import java.util.Arrays;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -30,44 +31,44 @@ public class SemaphoreAccessCounter {
 
     private final AtomicInteger accessCounter;
     private final Object lockObject;
-    private final Collection<String> holds = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    private final Map<Thread, Hold> holds = new ConcurrentHashMap<>();
+    private final BooleanSupplier captureStackTraces;
 
     public SemaphoreAccessCounter() {
+        this(() -> false);
+    }
+
+    /**
+     * Create a new counter.
+     *
+     * @param captureStackTraces Should the whole stack be captured for accesses, eg. in dev mode. Otherwise, only the
+     *                           transaction origin captured by {@link SQLDB} is used to describe what is accessing.
+     */
+    public SemaphoreAccessCounter(BooleanSupplier captureStackTraces) {
         accessCounter = new AtomicInteger(0);
         lockObject = new Object();
+        this.captureStackTraces = captureStackTraces;
     }
 
-    @NotNull
-    private static String getAccessingThing() {
-        boolean previousWasAccess = false;
-        List<StackTraceElement> accessors = new ArrayList<>();
-        StackTraceElement[] stackTrace = Thread.currentThread().getStackTrace();
+    private StackTraceElement[] getAccessingThing() {
         StackTraceElement[] origin = SQLDB.getTransactionOrigin().get();
-        StackTraceElement[] callSite = ThrowableUtils.combineStackTrace(origin, stackTrace);
-
-        for (StackTraceElement e : callSite) {
-            if (previousWasAccess) {
-                accessors.add(e);
-                previousWasAccess = false;
-            }
-            String call = e.getClassName() + "." + e.getMethodName();
-            if ("com.djrapitops.plan.storage.database.SQLDB.query".equals(call)
-                    || "com.djrapitops.plan.storage.database.SQLDB.executeTransaction".equals(call)) {
-                previousWasAccess = true;
-            }
+        if (captureStackTraces.getAsBoolean()) {
+            return ThrowableUtils.combineStackTrace(origin, Thread.currentThread().getStackTrace());
         }
-        if (accessors.isEmpty()) accessors.addAll(Arrays.asList(callSite));
-        return accessors.toString();
+        return origin;
     }
 
     public void enter() {
         accessCounter.incrementAndGet();
-        holds.add(getAccessingThing());
+        // Only the thread itself modifies its hold
+        holds.computeIfAbsent(Thread.currentThread(), thread -> new Hold(getAccessingThing())).count++;
     }
 
     public void exit() {
         synchronized (lockObject) {
-            holds.remove(getAccessingThing());
+            Thread thread = Thread.currentThread();
+            Hold hold = holds.get(thread);
+            if (hold != null && --hold.count <= 0) holds.remove(thread);
 
             int value = accessCounter.decrementAndGet();
             if (value == 0) {
@@ -95,9 +96,20 @@ public class SemaphoreAccessCounter {
 
         if (logger.isLoggable(Level.INFO) && !holds.isEmpty()) {
             logger.log(Level.INFO, "Waiting for these connections to finish:");
-            for (String hold : holds) {
-                logger.log(Level.INFO, hold);
+            for (Map.Entry<Thread, Hold> hold : holds.entrySet()) {
+                StackTraceElement[] accessor = hold.getValue().accessor;
+                logger.log(Level.INFO, hold.getKey().getName() + ": "
+                        + (accessor != null ? Arrays.toString(accessor) : "unknown origin, enable dev mode to see it"));
             }
         }
     }
+
+    private static class Hold {
+        private final StackTraceElement[] accessor;
+        private int count;
+
+        Hold(StackTraceElement[] accessor) {
+            this.accessor = accessor;
+        }
+    }
 }
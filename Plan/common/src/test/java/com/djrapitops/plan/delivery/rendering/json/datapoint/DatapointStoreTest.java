@@ -0,0 +1,66 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.rendering.json.datapoint;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.EnumSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DatapointStoreTest {
+
+    private DatapointStore underTest;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new DatapointStore(Collections.emptySet());
+    }
+
+    @Test
+    void lastModifiedStaysSameWhenNothingChanges() {
+        long lastModified = underTest.getLastModified(EnumSet.of(DatapointCacheKey.SESSION));
+
+        assertEquals(lastModified, underTest.getLastModified(EnumSet.of(DatapointCacheKey.SESSION)));
+    }
+
+    @Test
+    void lastModifiedChangesWhenCleared() throws InterruptedException {
+        long lastModified = underTest.getLastModified(EnumSet.of(DatapointCacheKey.SESSION));
+        Thread.sleep(5);
+        underTest.clearLastModified(DatapointCacheKey.SESSION);
+
+        assertTrue(lastModified < underTest.getLastModified(EnumSet.of(DatapointCacheKey.SESSION)));
+    }
+
+    @Test
+    void newestOfKeysIsLastModified() throws InterruptedException {
+        long sessionLastModified = underTest.getLastModified(EnumSet.of(DatapointCacheKey.SESSION));
+        Thread.sleep(5);
+        long tpsLastModified = underTest.getLastModified(EnumSet.of(DatapointCacheKey.TPS));
+
+        assertTrue(sessionLastModified < tpsLastModified);
+        assertEquals(tpsLastModified, underTest.getLastModified(EnumSet.of(DatapointCacheKey.SESSION, DatapointCacheKey.TPS)));
+    }
+
+    @Test
+    void noKeysHasNoLastModified() {
+        assertEquals(0L, underTest.getLastModified(EnumSet.noneOf(DatapointCacheKey.class)));
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.web.resolver;
+
+import com.djrapitops.plan.utilities.GzipUtil;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for content given to {@link ResponseBuilder} in other forms than bytes.
+ *
+ * @author AuroraLS3
+ */
+class ResponseTest {
+
+    @Test
+    void gzippedContentIsDecompressedWhenBytesAreNeeded() {
+        byte[] gzipped = GzipUtil.compress("{\"data\":1}".getBytes(StandardCharsets.UTF_8));
+        Response response = Response.builder()
+                .setMimeType(MimeType.JSON)
+                .setGzippedContent(gzipped, StandardCharsets.UTF_8)
+                .build();
+
+        assertArrayEquals(gzipped, response.getGzippedBytes().orElseThrow(AssertionError::new));
+        assertEquals("{\"data\":1}", response.getAsString());
+        assertEquals("application/json; charset=utf-8", response.getHeaders().get("Content-Type"));
+        assertNull(response.getHeaders().get("Content-Length"));
+    }
+
+    @Test
+    void streamedJsonIsWrittenWhenBytesAreNeeded() {
+        Response response = Response.builder()
+                .setStreamedJSONContent(Collections.singletonMap("data", 1))
+                .build();
+
+        assertTrue(response.getStreamedContent().isPresent());
+        assertEquals("{\"data\":1}", response.getAsString());
+        assertNull(response.getHeaders().get("Content-Length"));
+    }
+
+    @Test
+    void streamedJsonStringIsNotSerializedAgain() {
+        Response response = Response.builder()
+                .setStreamedJSONContent("{\"data\":1}")
+                .build();
+
+        assertEquals("{\"data\":1}", response.getAsString());
+    }
+
+    @Test
+    void bytesReplaceStreamedContent() {
+        Response response = Response.builder()
+                .setMimeType(MimeType.JSON)
+                .setStreamedContent(out -> out.write(1))
+                .setContent("{}")
+                .build();
+
+        assertFalse(response.getStreamedContent().isPresent());
+        assertEquals("{}", response.getAsString());
+    }
+
+    @Test
+    void streamedContentRequiresMimeType() {
+        ResponseBuilder builder = Response.builder()
+                .setStreamedContent(out -> out.write(1));
+        assertThrows(ResponseBuilder.InvalidResponseException.class, builder::build);
+    }
+}
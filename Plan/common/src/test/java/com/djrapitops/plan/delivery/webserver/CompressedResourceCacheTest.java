@@ -0,0 +1,121 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver;
+
+import com.djrapitops.plan.delivery.web.resource.WebResource;
+import com.djrapitops.plan.storage.file.PublicHtmlFiles;
+import com.djrapitops.plan.utilities.GzipUtil;
+import com.djrapitops.plan.utilities.logging.ErrorLogger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CompressedResourceCacheTest {
+
+    private CompressedResourceCache underTest;
+
+    @BeforeEach
+    void setUp() {
+        PublicHtmlFiles publicHtmlFiles = mock(PublicHtmlFiles.class);
+        when(publicHtmlFiles.findPublicHtmlFile(anyString())).thenReturn(Optional.empty());
+        underTest = new CompressedResourceCache(publicHtmlFiles, mock(ErrorLogger.class));
+    }
+
+    private static WebResource resource(String content, long lastModified) {
+        return WebResource.create(() -> new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), lastModified);
+    }
+
+    private static String decompress(CompressedResourceCache.CompressedResource resource) {
+        return new String(GzipUtil.decompress(resource.getGzippedContent()), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void resourceIsCompressedOnce() {
+        WebResource resource = resource("content", 1000L);
+
+        CompressedResourceCache.CompressedResource first = underTest.getOrCompress("static/file-abcd1234.js", resource, UnaryOperator.identity());
+        CompressedResourceCache.CompressedResource second = underTest.getOrCompress("static/file-abcd1234.js", resource, contents -> fail("Compressed again"));
+
+        assertSame(first, second);
+        assertEquals("content", decompress(first));
+        assertFalse(first.isContentModified());
+    }
+
+    @Test
+    void modifiedFileIsCompressedAgain() {
+        WebResource original = resource("content", 1000L);
+        WebResource modified = resource("new content", 2000L);
+
+        underTest.getOrCompress("static/file.css", original, UnaryOperator.identity());
+        CompressedResourceCache.CompressedResource compressed = underTest.getOrCompress("static/file.css", modified, UnaryOperator.identity());
+
+        assertEquals("new content", decompress(compressed));
+    }
+
+    @Test
+    void modifiedContentIsCompressed() {
+        WebResource resource = resource("PLACEHOLDER", 1000L);
+
+        CompressedResourceCache.CompressedResource compressed = underTest.getOrCompress("static/file.js", resource, contents -> "replaced");
+
+        assertEquals("replaced", decompress(compressed));
+        assertTrue(compressed.isContentModified());
+    }
+
+    @Test
+    void concurrentRequestsCompressResourceOnce() throws Exception {
+        WebResource resource = resource("content", 1000L);
+        AtomicInteger compressions = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        UnaryOperator<String> countCompressions = contents -> {
+            compressions.incrementAndGet();
+            return contents;
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<CompressedResourceCache.CompressedResource>> requests = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                requests.add(executor.submit(() -> {
+                    start.await();
+                    return underTest.getOrCompress("static/file-abcd1234.js", resource, countCompressions);
+                }));
+            }
+            start.countDown();
+            for (Future<CompressedResourceCache.CompressedResource> request : requests) {
+                assertEquals("content", decompress(request.get(10, TimeUnit.SECONDS)));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, compressions.get());
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver.cache;
+
+import com.djrapitops.plan.settings.config.PlanConfig;
+import com.djrapitops.plan.settings.config.paths.WebserverSettings;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class JSONMemoryStorageShimTest {
+
+    private JSONStorage underlyingStorage;
+    private JSONMemoryStorageShim underTest;
+
+    @BeforeEach
+    void setUp() {
+        PlanConfig config = mock(PlanConfig.class);
+        when(config.get(WebserverSettings.INVALIDATE_MEMORY_CACHE)).thenReturn(TimeUnit.MINUTES.toMillis(5L));
+        underlyingStorage = mock(JSONStorage.class);
+        when(underlyingStorage.storeJson(anyString(), anyString(), anyLong()))
+                .thenAnswer(invocation -> new JSONStorage.StoredJSON(invocation.getArgument(1), invocation.getArgument(2)));
+
+        underTest = new JSONMemoryStorageShim(config, underlyingStorage);
+    }
+
+    @Test
+    void storedJsonIsCompressed() {
+        JSONStorage.StoredJSON stored = underTest.storeJson("Identifier", "{\"data\":1}", 1000L);
+
+        assertTrue(stored.getGzippedJson().isPresent());
+        assertEquals("{\"data\":1}", stored.getJson());
+        assertEquals(stored.getGzippedJson().get().length, stored.getSize());
+    }
+
+    @Test
+    void newestJsonIsFetchedFromMemory() {
+        underTest.storeJson("Identifier", "{\"data\":1}", 1000L);
+        JSONStorage.StoredJSON newest = underTest.storeJson("Identifier", "{\"data\":2}", 2000L);
+
+        assertEquals(Optional.of(newest), underTest.fetchJSON("Identifier"));
+        assertEquals(Optional.of(newest), underTest.fetchExactJson("Identifier", 2000L));
+        assertEquals(Optional.of(newest), underTest.fetchJsonMadeBefore("Identifier", 3000L));
+        assertEquals(Optional.of(newest), underTest.fetchJsonMadeAfter("Identifier", 1000L));
+        assertEquals(Optional.of(2000L), underTest.getTimestamp("Identifier"));
+        verify(underlyingStorage, never()).fetchJSON(anyString());
+        verify(underlyingStorage, never()).fetchExactJson(anyString(), anyLong());
+        verify(underlyingStorage, never()).fetchJsonMadeBefore(anyString(), anyLong());
+        verify(underlyingStorage, never()).fetchJsonMadeAfter(anyString(), anyLong());
+    }
+
+    @Test
+    void olderJsonIsFetchedFromUnderlyingStorage() {
+        JSONStorage.StoredJSON older = new JSONStorage.StoredJSON("{\"data\":1}", 1000L);
+        when(underlyingStorage.fetchJsonMadeBefore("Identifier", 2000L)).thenReturn(Optional.of(older));
+        JSONStorage.StoredJSON newest = underTest.storeJson("Identifier", "{\"data\":2}", 2000L);
+
+        assertEquals(Optional.of(older), underTest.fetchJsonMadeBefore("Identifier", 2000L));
+        // Older json does not replace the newest in memory
+        assertEquals(Optional.of(newest), underTest.fetchJSON("Identifier"));
+    }
+
+    @Test
+    void invalidatedJsonIsRemovedFromMemory() {
+        underTest.storeJson("Identifier", "{\"data\":1}", 1000L);
+        underTest.invalidateOlder("Identifier", 2000L);
+
+        assertNull(underTest.getCache().getIfPresent("Identifier"));
+        verify(underlyingStorage).invalidateOlder("Identifier", 2000L);
+    }
+}
@@ -28,24 +28,24 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.Collections;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.when;
 
 class JSONStorageTest {
 
     private JSONStorage UNDER_TEST;
+    private PlanFiles files;
     private Path tempDir;
 
     @BeforeEach
     void setUp(@TempDir Path tempDir) {
-        PlanFiles files = Mockito.mock(PlanFiles.class);
+        files = Mockito.mock(PlanFiles.class);
         this.tempDir = tempDir;
         when(files.getJSONStorageDirectory()).thenReturn(this.tempDir);
 
@@ -67,7 +67,7 @@ class JSONStorageTest {
         File file = findTheFile().orElseThrow(AssertionError::new);
         assertEquals("Identifier-" + stored.timestamp + ".json", file.getName());
         try (Stream<String> lines = Files.lines(file.toPath())) {
-            List<String> expected = Collections.singletonList(stored.json);
+            List<String> expected = Collections.singletonList(stored.getJson());
             List<String> result = lines.toList();
             assertEquals(expected, result);
         }
@@ -80,7 +80,7 @@ class JSONStorageTest {
         File file = findTheFile().orElseThrow(AssertionError::new);
         assertEquals("Identifier-" + stored.timestamp + ".json", file.getName());
         try (Stream<String> lines = Files.lines(file.toPath())) {
-            List<String> expected = Collections.singletonList(stored.json);
+            List<String> expected = Collections.singletonList(stored.getJson());
             List<String> result = lines.toList();
             assertEquals(expected, result);
         }
@@ -95,7 +95,7 @@ class JSONStorageTest {
         assertEquals(timestamp, stored.timestamp);
         assertEquals("Identifier-" + timestamp + ".json", file.getName());
         try (Stream<String> lines = Files.lines(file.toPath())) {
-            List<String> expected = Collections.singletonList(stored.json);
+            List<String> expected = Collections.singletonList(stored.getJson());
             List<String> result = lines.toList();
             assertEquals(expected, result);
         }
@@ -110,18 +110,39 @@ class JSONStorageTest {
         assertEquals(timestamp, stored.timestamp);
         assertEquals("Identifier-" + timestamp + ".json", file.getName());
         try (Stream<String> lines = Files.lines(file.toPath())) {
-            List<String> expected = Collections.singletonList(stored.json);
+            List<String> expected = Collections.singletonList(stored.getJson());
             List<String> result = lines.toList();
             assertEquals(expected, result);
         }
     }
 
+    @Test
+    void objectIsStreamedWithTimestampFields() throws IOException {
+        long timestamp = 1000L;
+        JSONStorage.StoredJSON stored = UNDER_TEST.storeJson("Identifier", new TestObject("data"), timestamp);
+
+        assertTrue(stored.getGzippedJson().isPresent());
+        String expected = "{\"timestamp\":1000,\"timestamp_f\":\"1000\",\"value\":\"data\"}";
+        assertEquals(expected, stored.getJson());
+        File file = findTheFile().orElseThrow(AssertionError::new);
+        assertEquals(expected, Files.readString(file.toPath()));
+    }
+
+    @Test
+    void mapIsStreamedWithTimestampFields() {
+        Map<String, Object> json = new HashMap<>();
+        json.put("value", "data");
+        JSONStorage.StoredJSON stored = UNDER_TEST.storeJson("Identifier", json, 1000L);
+
+        assertEquals("{\"timestamp\":1000,\"timestamp_f\":\"1000\",\"value\":\"data\"}", stored.getJson());
+    }
+
     @Test
     void anythingStartingWithIsFetched() throws IOException {
         assertFalse(UNDER_TEST.fetchJSON("Identifier").isPresent());
         stringDataIsStoredWithTimestamp();
         JSONStorage.StoredJSON found = UNDER_TEST.fetchJSON("Identifier").orElseThrow(AssertionError::new);
-        assertEquals("data", found.json);
+        assertEquals("data", found.getJson());
     }
 
     @Test
@@ -175,4 +196,59 @@ class JSONStorageTest {
         UNDER_TEST.storeJson(DataID.SESSIONS_OVERVIEW.of(ServerUUID.randomUUID()), Collections.singletonList("data"), timestamp);
         assertFalse(UNDER_TEST.fetchJsonMadeBefore(DataID.SESSIONS_OVERVIEW.name(), timestamp + TimeUnit.DAYS.toMillis(1L)).isPresent());
     }
-}
\ No newline at end of file
+
+    @Test
+    void newestIsFetched() {
+        long timestamp = System.currentTimeMillis();
+        UNDER_TEST.storeJson("Identifier", Collections.singletonList("old"), timestamp - 1000L);
+        JSONStorage.StoredJSON newest = UNDER_TEST.storeJson("Identifier", Collections.singletonList("new"), timestamp);
+        UNDER_TEST.storeJson("Identifier", Collections.singletonList("older"), timestamp - 2000L);
+
+        assertEquals(newest, UNDER_TEST.fetchJSON("Identifier").orElseThrow(AssertionError::new));
+        assertEquals(Optional.of(timestamp), UNDER_TEST.getTimestamp("Identifier"));
+    }
+
+    @Test
+    void filesStoredBeforeStartAreFetched() {
+        long timestamp = System.currentTimeMillis();
+        String identifier = DataID.SESSIONS_OVERVIEW.of(ServerUUID.randomUUID());
+        JSONStorage.StoredJSON stored = UNDER_TEST.storeJson(identifier, Collections.singletonList("data"), timestamp);
+
+        JSONStorage restarted = new JSONFileStorage(files, value -> Long.toString(value), new TestPluginLogger());
+        assertEquals(stored, restarted.fetchJsonMadeBefore(identifier, timestamp + 1L).orElseThrow(AssertionError::new));
+        assertEquals(stored, restarted.fetchExactJson(identifier, timestamp).orElseThrow(AssertionError::new));
+    }
+
+    @Test
+    void invalidatedFilesAreDeletedAndNotFetched() {
+        long timestamp = System.currentTimeMillis();
+        UNDER_TEST.storeJson("Identifier", Collections.singletonList("old"), timestamp - 1000L);
+        JSONStorage.StoredJSON newest = UNDER_TEST.storeJson("Identifier", Collections.singletonList("new"), timestamp);
+
+        UNDER_TEST.invalidateOlder("Identifier", timestamp);
+
+        assertFalse(UNDER_TEST.fetchExactJson("Identifier", timestamp - 1000L).isPresent());
+        assertFalse(UNDER_TEST.fetchJsonMadeBefore("Identifier", timestamp).isPresent());
+        assertEquals(newest, UNDER_TEST.fetchJSON("Identifier").orElseThrow(AssertionError::new));
+        assertFalse(Files.exists(tempDir.resolve("Identifier-" + (timestamp - 1000L) + ".json")));
+        assertTrue(Files.exists(tempDir.resolve("Identifier-" + timestamp + ".json")));
+    }
+
+    @Test
+    void fileRemovedFromDiskIsNotFetched() throws IOException {
+        long timestamp = System.currentTimeMillis();
+        UNDER_TEST.storeJson("Identifier", Collections.singletonList("data"), timestamp);
+        Files.delete(tempDir.resolve("Identifier-" + timestamp + ".json"));
+
+        assertFalse(UNDER_TEST.fetchJSON("Identifier").isPresent());
+        assertFalse(UNDER_TEST.getTimestamp("Identifier").isPresent());
+    }
+
+    static class TestObject {
+        final String value;
+
+        TestObject(String value) {
+            this.value = value;
+        }
+    }
+}
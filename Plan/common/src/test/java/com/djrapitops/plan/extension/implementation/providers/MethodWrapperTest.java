@@ -0,0 +1,147 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.extension.implementation.providers;
+
+import com.djrapitops.plan.exceptions.DataExtensionMethodCallException;
+import com.djrapitops.plan.extension.DataExtension;
+import com.djrapitops.plan.extension.Group;
+import com.djrapitops.plan.extension.NotReadyException;
+import com.djrapitops.plan.extension.annotation.PluginInfo;
+import com.djrapitops.plan.identification.ServerUUID;
+import com.djrapitops.plan.utilities.dev.Benchmark;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link MethodWrapper}.
+ *
+ * @author AuroraLS3
+ */
+class MethodWrapperTest {
+
+    private static final ServerUUID SERVER_UUID = ServerUUID.randomUUID();
+    private static final UUID PLAYER_UUID = UUID.randomUUID();
+
+    @PluginInfo(name = "Extension")
+    static class Extension implements DataExtension {
+        public long serverValue() {
+            return 5L;
+        }
+
+        public String playerName(String playerName) {
+            return playerName;
+        }
+
+        public String playerUUID(UUID playerUUID) {
+            return playerUUID.toString();
+        }
+
+        public boolean isInGroup(Group group) {
+            return "group".equals(group.getGroupName());
+        }
+
+        public String notReady(UUID playerUUID) {
+            throw new NotReadyException();
+        }
+
+        public String errors(UUID playerUUID) {
+            throw new IllegalStateException("Test");
+        }
+    }
+
+    private static <T> MethodWrapper<T> wrap(String methodName, Class<T> returnType, Class<?>... parameterTypes) throws NoSuchMethodException {
+        Method method = Extension.class.getMethod(methodName, parameterTypes);
+        method.setAccessible(true); // Done by ExtensionExtractor
+        return new MethodWrapper<>(method, returnType);
+    }
+
+    @Test
+    void serverMethodIsCalled() throws NoSuchMethodException {
+        Long result = wrap("serverValue", Long.class)
+                .callMethod(new Extension(), Parameters.server(SERVER_UUID));
+        assertEquals(5L, result);
+    }
+
+    @Test
+    void playerMethodsAreCalledWithCorrectParameter() throws NoSuchMethodException {
+        Parameters parameters = Parameters.player(SERVER_UUID, PLAYER_UUID, "Name");
+        Extension extension = new Extension();
+
+        assertEquals("Name", wrap("playerName", String.class, String.class).callMethod(extension, parameters));
+        assertEquals(PLAYER_UUID.toString(), wrap("playerUUID", String.class, UUID.class).callMethod(extension, parameters));
+    }
+
+    @Test
+    void groupMethodIsCalled() throws NoSuchMethodException {
+        Boolean result = wrap("isInGroup", Boolean.class, Group.class)
+                .callMethod(new Extension(), Parameters.group(SERVER_UUID, "group"));
+        assertTrue(result);
+    }
+
+    @Test
+    void notReadyMethodReturnsNull() throws NoSuchMethodException {
+        String result = wrap("notReady", String.class, UUID.class)
+                .callMethod(new Extension(), Parameters.player(SERVER_UUID, PLAYER_UUID, "Name"));
+        assertNull(result);
+    }
+
+    @Test
+    void methodErrorIsWrapped() throws NoSuchMethodException {
+        MethodWrapper<String> wrapper = wrap("errors", String.class, UUID.class);
+        Extension extension = new Extension();
+        Parameters parameters = Parameters.player(SERVER_UUID, PLAYER_UUID, "Name");
+
+        DataExtensionMethodCallException failure = assertThrows(DataExtensionMethodCallException.class,
+                () -> wrapper.callMethod(extension, parameters));
+        assertEquals("Extension.errors errored: java.lang.IllegalStateException: Test", failure.getMessage());
+        assertEquals("errors", failure.getMethodName().orElse(null));
+    }
+
+    @Test
+    void handleGivesSameResultAsReflection() throws ReflectiveOperationException {
+        Method method = Extension.class.getMethod("playerUUID", UUID.class);
+        method.setAccessible(true);
+        Extension extension = new Extension();
+        Parameters parameters = Parameters.player(SERVER_UUID, PLAYER_UUID, "Name");
+        int calls = 100_000;
+
+        // Previous way of calling providers, for comparing the time it takes
+        Object expected = method.invoke(extension, PLAYER_UUID);
+        Benchmark.bench(() -> {
+            for (int i = 0; i < calls; i++) {
+                try {
+                    method.invoke(extension, PLAYER_UUID);
+                } catch (ReflectiveOperationException e) {
+                    fail(e);
+                }
+            }
+        });
+
+        MethodWrapper<String> wrapper = new MethodWrapper<>(method, String.class);
+        Benchmark.bench(() -> {
+            for (int i = 0; i < calls; i++) {
+                wrapper.callMethod(extension, parameters);
+            }
+        });
+
+        assertEquals(expected, wrapper.callMethod(extension, parameters));
+    }
+}
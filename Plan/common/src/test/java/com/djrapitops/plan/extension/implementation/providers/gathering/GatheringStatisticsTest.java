@@ -0,0 +1,102 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.extension.implementation.providers.gathering;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the circuit breaker in {@link GatheringStatistics}.
+ *
+ * @author AuroraLS3
+ */
+class GatheringStatisticsTest {
+
+    private static final long DURATION = TimeUnit.MILLISECONDS.toNanos(5);
+
+    @Test
+    void extensionIsNotSkippedAfterSuccessfulGathering() {
+        GatheringStatistics statistics = new GatheringStatistics("Test");
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 10; i++) {
+            statistics.finished(DURATION, false, now);
+        }
+        assertFalse(statistics.isBackingOff(now));
+        assertEquals(10, statistics.getGatherCount());
+        assertEquals(5, statistics.getAverageGatherMs());
+    }
+
+    @Test
+    void extensionIsSkippedAfterTimingOutRepeatedly() {
+        GatheringStatistics statistics = new GatheringStatistics("Test");
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < GatheringStatistics.FAILURES_BEFORE_BACKING_OFF - 1; i++) {
+            statistics.timedOut(DURATION, now);
+            assertFalse(statistics.isBackingOff(now));
+        }
+        statistics.timedOut(DURATION, now);
+
+        assertTrue(statistics.isBackingOff(now));
+        assertTrue(statistics.isBackingOff(now + GatheringStatistics.INITIAL_BACKOFF_MS - 1));
+        assertFalse(statistics.isBackingOff(now + GatheringStatistics.INITIAL_BACKOFF_MS));
+        assertEquals(2, statistics.getSkippedCount());
+    }
+
+    @Test
+    void extensionIsSkippedAfterErroringRepeatedly() {
+        GatheringStatistics statistics = new GatheringStatistics("Test");
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < GatheringStatistics.FAILURES_BEFORE_BACKING_OFF; i++) {
+            statistics.errored();
+            statistics.finished(DURATION, true, now);
+        }
+        assertTrue(statistics.isBackingOff(now));
+    }
+
+    @Test
+    void backoffDoublesUntilGatheringSucceeds() {
+        GatheringStatistics statistics = new GatheringStatistics("Test");
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < GatheringStatistics.FAILURES_BEFORE_BACKING_OFF; i++) {
+            statistics.timedOut(DURATION, now);
+        }
+        long retryAt = now + GatheringStatistics.INITIAL_BACKOFF_MS;
+        statistics.timedOut(DURATION, retryAt);
+        assertEquals(retryAt + GatheringStatistics.INITIAL_BACKOFF_MS * 2, statistics.getBackingOffUntil());
+
+        long secondRetryAt = statistics.getBackingOffUntil();
+        statistics.finished(DURATION, false, secondRetryAt);
+        statistics.timedOut(DURATION, secondRetryAt);
+        assertFalse(statistics.isBackingOff(secondRetryAt));
+    }
+
+    @Test
+    void extensionIsSkippedUntilTimedOutPassReturns() {
+        GatheringStatistics statistics = new GatheringStatistics("Test");
+        long now = System.currentTimeMillis();
+        statistics.timedOut(DURATION, now);
+        assertTrue(statistics.isBackingOff(now));
+        assertEquals(1, statistics.getHungPassCount());
+
+        statistics.timedOutPassReturned();
+        assertFalse(statistics.isBackingOff(now));
+        assertEquals(0, statistics.getHungPassCount());
+    }
+}
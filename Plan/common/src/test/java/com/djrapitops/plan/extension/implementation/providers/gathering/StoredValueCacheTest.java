@@ -0,0 +1,99 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.extension.implementation.providers.gathering;
+
+import com.djrapitops.plan.extension.icon.Icon;
+import com.djrapitops.plan.extension.implementation.ProviderInformation;
+import com.djrapitops.plan.extension.table.Table;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link StoredValueCache}.
+ *
+ * @author AuroraLS3
+ */
+class StoredValueCacheTest {
+
+    private static final StoredValueCache.Key KEY = new StoredValueCache.Key(UUID.randomUUID(), "value");
+
+    private static ProviderInformation information(String text) {
+        return ProviderInformation.builder("Test").setName("value").setText(text).build();
+    }
+
+    private static void store(StoredValueCache cache, ProviderInformation information, Object value) {
+        cache.remember(Collections.singletonMap(KEY, new StoredValueCache.StoredValue(information, value)));
+    }
+
+    @Test
+    void sameValueIsStored() {
+        StoredValueCache cache = new StoredValueCache();
+        store(cache, information("Value"), 5L);
+
+        assertTrue(cache.isStored(KEY, information("Value"), 5L));
+        assertFalse(cache.isStored(KEY, information("Value"), 6L));
+        assertFalse(cache.isStored(new StoredValueCache.Key(null, "value"), information("Value"), 5L));
+    }
+
+    @Test
+    void changedProviderIsNotStored() {
+        StoredValueCache cache = new StoredValueCache();
+        store(cache, information("Value"), 5L);
+
+        assertFalse(cache.isStored(KEY, information("Changed text"), 5L));
+    }
+
+    @Test
+    void groupsAreComparedByContents() {
+        StoredValueCache cache = new StoredValueCache();
+        store(cache, information("Groups"), new String[]{"a", "b"});
+
+        assertTrue(cache.isStored(KEY, information("Groups"), new String[]{"a", "b"}));
+        assertFalse(cache.isStored(KEY, information("Groups"), new String[]{"a"}));
+    }
+
+    @Test
+    void tablesAreComparedByAllColumns() {
+        StoredValueCache cache = new StoredValueCache();
+        store(cache, information("Table"), table("a", "b"));
+
+        assertTrue(cache.isStored(KEY, information("Table"), table("a", "b")));
+        assertFalse(cache.isStored(KEY, information("Table"), table("a", "c")));
+    }
+
+    private static Table table(Object... row) {
+        return Table.builder()
+                .columnOne("One", Icon.called("circle").build())
+                .columnTwo("Two", Icon.called("circle").build())
+                .addRow(row)
+                .build();
+    }
+
+    @Test
+    void forgottenValuesAreNotStored() {
+        StoredValueCache cache = new StoredValueCache();
+        store(cache, information("Value"), 5L);
+        cache.forgetProviders(Collections.singleton("value"));
+
+        assertFalse(cache.isStored(KEY, information("Value"), 5L));
+    }
+}
@@ -35,7 +35,9 @@ import com.djrapitops.plan.storage.database.queries.ServerAggregateQueries;
 import com.djrapitops.plan.storage.database.queries.containers.ContainerFetchQueries;
 import com.djrapitops.plan.storage.database.queries.objects.*;
 import com.djrapitops.plan.storage.database.queries.objects.playertable.NetworkTablePlayersQuery;
+import com.djrapitops.plan.storage.database.queries.objects.playertable.PlayersTablePageQuery;
 import com.djrapitops.plan.storage.database.queries.objects.playertable.ServerTablePlayersQuery;
+import com.djrapitops.plan.storage.database.queries.schema.SchemaPatchQueries;
 import com.djrapitops.plan.storage.database.sql.building.Sql;
 import com.djrapitops.plan.storage.database.sql.tables.*;
 import com.djrapitops.plan.storage.database.transactions.StoreServerInformationTransaction;
@@ -45,6 +47,7 @@ import com.djrapitops.plan.storage.database.transactions.commands.RemoveServerTr
 import com.djrapitops.plan.storage.database.transactions.events.*;
 import com.djrapitops.plan.storage.database.transactions.init.CreateIndexTransaction;
 import com.djrapitops.plan.storage.database.transactions.patches.BadFabricJoinAddressValuePatch;
+import com.djrapitops.plan.storage.database.transactions.patches.Patch;
 import com.djrapitops.plan.storage.database.transactions.patches.RegisterDateMinimizationPatch;
 import com.djrapitops.plan.storage.upkeep.DBCleanTask;
 import org.junit.jupiter.api.Disabled;
@@ -338,6 +341,15 @@ public interface DatabaseTest extends DatabaseTestPreparer {
         assertTrue(testedPatch.isApplied());
     }
 
+    @Test
+    default void appliedPatchesAreRecordedInPatchLedger() {
+        Set<String> recorded = db().query(SchemaPatchQueries.fetchAppliedPatchNames());
+
+        for (Patch patch : ((SQLDB) db()).patches()) {
+            assertEquals(patch.canBeSkippedOnceApplied(), recorded.contains(patch.getName()), patch.getName());
+        }
+    }
+
     @Test
     default void serverTablePlayersQueryQueriesAtLeastOnePlayer() {
         db().executeTransaction(new StoreWorldNameTransaction(serverUUID(), worlds[0]));
@@ -367,6 +379,59 @@ public interface DatabaseTest extends DatabaseTestPreparer {
         assertEquals(1, result.size(), () -> "Incorrect query result: " + result);
     }
 
+    @Test
+    default void playersTablePageQueryPagesThroughPlayersOfServer() {
+        db().executeTransaction(new StoreServerPlayerTransaction(playerUUID, RandomData::randomTime,
+                TestConstants.PLAYER_ONE_NAME, serverUUID(), TestConstants.GET_PLAYER_HOSTNAME));
+        db().executeTransaction(new StoreServerPlayerTransaction(player2UUID, RandomData::randomTime,
+                TestConstants.PLAYER_TWO_NAME, serverUUID(), TestConstants.GET_PLAYER_HOSTNAME));
+
+        PlayersTablePageQuery.Page first = db().query(new PlayersTablePageQuery(serverUUID(), PlayersTablePageQuery.Sort.NAME, false, null, null, 1));
+        assertEquals(2, first.getPlayerCount());
+        assertEquals(1, first.getPlayerUUIDs().size());
+        assertTrue(first.getNextCursor().isPresent());
+
+        PlayersTablePageQuery.Page second = db().query(new PlayersTablePageQuery(serverUUID(), PlayersTablePageQuery.Sort.NAME, false, null, first.getNextCursor().get(), 1));
+        assertEquals(1, second.getPlayerUUIDs().size());
+        assertFalse(second.getNextCursor().isPresent());
+        assertEquals(Set.of(playerUUID, player2UUID), Set.of(first.getPlayerUUIDs().get(0), second.getPlayerUUIDs().get(0)));
+    }
+
+    @Test
+    default void playersTablePageQuerySearchesPlayersOfNetwork() {
+        db().executeTransaction(new StoreServerPlayerTransaction(playerUUID, RandomData::randomTime,
+                TestConstants.PLAYER_ONE_NAME, serverUUID(), TestConstants.GET_PLAYER_HOSTNAME));
+        db().executeTransaction(new StoreServerPlayerTransaction(player2UUID, RandomData::randomTime,
+                TestConstants.PLAYER_TWO_NAME, serverUUID(), TestConstants.GET_PLAYER_HOSTNAME));
+        db().executeTransaction(new StoreSessionTransaction(RandomData.randomSession(serverUUID(), worlds, playerUUID, player2UUID)));
+
+        PlayersTablePageQuery.Page result = db().query(new PlayersTablePageQuery(null, PlayersTablePageQuery.Sort.ACTIVE_PLAYTIME, true, TestConstants.PLAYER_ONE_NAME, null, 10));
+        assertEquals(1, result.getPlayerCount());
+        assertEquals(List.of(playerUUID), result.getPlayerUUIDs());
+        assertFalse(result.getNextCursor().isPresent());
+    }
+
+    @Test
+    default void playersTablePageQuerySortsNetworkByLastSeen() {
+        db().executeTransaction(new StoreServerPlayerTransaction(playerUUID, RandomData::randomTime,
+                TestConstants.PLAYER_ONE_NAME, serverUUID(), TestConstants.GET_PLAYER_HOSTNAME));
+        db().executeTransaction(new StoreServerPlayerTransaction(player2UUID, RandomData::randomTime,
+                TestConstants.PLAYER_TWO_NAME, serverUUID(), TestConstants.GET_PLAYER_HOSTNAME));
+        db().executeTransaction(new StoreSessionTransaction(RandomData.randomSession(serverUUID(), worlds, player2UUID, playerUUID)));
+
+        PlayersTablePageQuery.Page result = db().query(new PlayersTablePageQuery(null, PlayersTablePageQuery.Sort.LAST_SEEN, true, null, null, 10));
+        assertEquals(List.of(player2UUID, playerUUID), result.getPlayerUUIDs());
+    }
+
+    @Test
+    default void playersTablePageQuerySearchEscapesWildcards() {
+        db().executeTransaction(new StoreServerPlayerTransaction(playerUUID, RandomData::randomTime,
+                TestConstants.PLAYER_ONE_NAME, serverUUID(), TestConstants.GET_PLAYER_HOSTNAME));
+
+        PlayersTablePageQuery.Page result = db().query(new PlayersTablePageQuery(null, PlayersTablePageQuery.Sort.NAME, false, "%", null, 10));
+        assertEquals(0, result.getPlayerCount());
+    }
+
     @Test
     @DisplayName("BadFabricJoinAddressValuePatch removes join addresses of one server from sessions")
     default void badFabricJoinAddressPatchRemovesJoinAddressesOfOneServer() throws ExecutionException, InterruptedException {
@@ -50,6 +50,7 @@ public interface DatabaseTestAggregate extends
         BadJoinAddressDataCorrectionPatchTest,
         AfterBadJoinAddressDataCorrectionPatchTest,
         PlayerRetentionQueriesTest,
-        PluginMetadataQueriesTest {
+        PluginMetadataQueriesTest,
+        TransactionExecutionTest {
     /* Collects all query tests together so its easier to implement database tests */
 }
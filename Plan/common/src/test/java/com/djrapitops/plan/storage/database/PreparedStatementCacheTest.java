@@ -0,0 +1,120 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class PreparedStatementCacheTest {
+
+    private static final String SQL = "SELECT 1";
+
+    private Connection connection;
+    private Connection underTest;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        connection = Mockito.mock(Connection.class);
+        when(connection.prepareStatement(anyString())).thenAnswer(invocation -> Mockito.mock(PreparedStatement.class));
+        underTest = PreparedStatementCache.wrap(connection);
+    }
+
+    @Test
+    void statementIsPreparedOnlyOnce() throws SQLException {
+        for (int i = 0; i < 5; i++) {
+            try (PreparedStatement statement = underTest.prepareStatement(SQL)) {
+                statement.executeQuery();
+            }
+        }
+        verify(connection, times(1)).prepareStatement(SQL);
+    }
+
+    @Test
+    void statementInUseIsNotGivenTwice() throws SQLException {
+        try (PreparedStatement first = underTest.prepareStatement(SQL);
+             PreparedStatement second = underTest.prepareStatement(SQL)) {
+            first.executeQuery();
+            second.executeQuery();
+        }
+        verify(connection, times(2)).prepareStatement(SQL);
+    }
+
+    @Test
+    void closingTwiceDoesNotCloseCachedStatement() throws SQLException {
+        PreparedStatement statement = underTest.prepareStatement(SQL);
+        statement.close();
+        statement.close();
+        assertTrue(statement.isClosed());
+
+        try (PreparedStatement reused = underTest.prepareStatement(SQL)) {
+            assertFalse(reused.isClosed());
+        }
+        verify(connection, times(1)).prepareStatement(SQL);
+    }
+
+    @Test
+    void cachedStatementsAreClosedWithConnection() throws SQLException {
+        PreparedStatement[] prepared = new PreparedStatement[1];
+        when(connection.prepareStatement(SQL)).thenAnswer(invocation -> {
+            prepared[0] = Mockito.mock(PreparedStatement.class);
+            return prepared[0];
+        });
+        underTest.prepareStatement(SQL).close();
+        underTest.close();
+
+        verify(prepared[0]).close();
+        verify(connection).close();
+    }
+
+    @Test
+    void reusedStatementIsResetOnCheckout() throws SQLException {
+        PreparedStatement[] prepared = new PreparedStatement[1];
+        when(connection.prepareStatement(SQL)).thenAnswer(invocation -> {
+            prepared[0] = Mockito.mock(PreparedStatement.class);
+            return prepared[0];
+        });
+        underTest.prepareStatement(SQL).close();
+        verify(prepared[0], never()).clearParameters();
+
+        underTest.prepareStatement(SQL).close();
+        verify(prepared[0]).clearParameters();
+        verify(prepared[0]).clearBatch();
+    }
+
+    @Test
+    void statementThatFailsResetIsPreparedAgain() throws SQLException {
+        PreparedStatement broken = Mockito.mock(PreparedStatement.class);
+        doThrow(new SQLException("Bad state")).when(broken).clearBatch();
+        when(connection.prepareStatement(SQL)).thenReturn(broken).thenAnswer(invocation -> Mockito.mock(PreparedStatement.class));
+
+        underTest.prepareStatement(SQL).close();
+        underTest.prepareStatement(SQL).close();
+
+        verify(broken).close();
+        verify(connection, times(2)).prepareStatement(SQL);
+    }
+}
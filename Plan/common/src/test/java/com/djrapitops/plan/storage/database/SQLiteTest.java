@@ -22,16 +22,27 @@ import com.djrapitops.plan.extension.ExtensionSvc;
 import com.djrapitops.plan.identification.Server;
 import com.djrapitops.plan.identification.ServerInfo;
 import com.djrapitops.plan.identification.ServerUUID;
+import com.djrapitops.plan.processing.processors.move.DatabaseCopyProcessor;
 import com.djrapitops.plan.settings.config.PlanConfig;
+import com.djrapitops.plan.settings.locale.Locale;
+import com.djrapitops.plan.gathering.domain.FinishedSession;
 import com.djrapitops.plan.storage.database.queries.ExtensionsDatabaseTest;
+import com.djrapitops.plan.storage.database.queries.QueryStatement;
 import com.djrapitops.plan.storage.database.queries.filter.QueryFilters;
+import com.djrapitops.plan.storage.database.queries.objects.lookup.LookupTableQueries;
+import com.djrapitops.plan.storage.database.queries.objects.SessionQueries;
+import com.djrapitops.plan.storage.database.transactions.Executable;
 import com.djrapitops.plan.storage.database.transactions.StoreServerInformationTransaction;
 import com.djrapitops.plan.storage.database.transactions.commands.RemoveEverythingTransaction;
+import com.djrapitops.plan.storage.database.transactions.events.StoreSessionTransaction;
 import com.djrapitops.plan.storage.database.transactions.init.CreateTablesTransaction;
 import com.djrapitops.plan.storage.database.transactions.patches.Patch;
+import com.djrapitops.plan.utilities.dev.Benchmark;
+import com.google.common.util.concurrent.MoreExecutors;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.io.TempDir;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -41,9 +52,14 @@ import utilities.TestConstants;
 import utilities.TestErrorLogger;
 
 import java.io.File;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.concurrent.*;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * Tests for SQLite Database.
@@ -102,6 +118,75 @@ public class SQLiteTest implements DatabaseTest, DatabaseTestAggregate {
         assertEquals(serverUUID(), ((SQLDB) db()).getServerUUIDSupplier().get());
     }
 
+    @Test
+    void sessionIsSavedWhileQueryIsInProgress() throws Exception {
+        prepareForSessionSave();
+        CountDownLatch queryInProgress = new CountDownLatch(1);
+        CountDownLatch sessionSaved = new CountDownLatch(1);
+
+        ExecutorService reader = Executors.newSingleThreadExecutor();
+        try {
+            // Simulates a slow page load that keeps its read connection busy
+            Future<Boolean> query = reader.submit(() -> db().query(new QueryStatement<Boolean>("SELECT COUNT(1) FROM plan_sessions") {
+                @Override
+                public void prepare(PreparedStatement statement) {
+                    // No parameters
+                }
+
+                @Override
+                public Boolean processResults(ResultSet set) {
+                    queryInProgress.countDown();
+                    try {
+                        return sessionSaved.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return false;
+                    }
+                }
+            }));
+            assertTrue(queryInProgress.await(10, TimeUnit.SECONDS));
+
+            FinishedSession session = RandomData.randomSession(serverUUID(), worlds, playerUUID, player2UUID);
+            db().executeTransaction(new StoreSessionTransaction(session)).get(10, TimeUnit.SECONDS);
+            sessionSaved.countDown();
+
+            assertTrue(query.get(10, TimeUnit.SECONDS));
+            assertEquals(1, db().query(SessionQueries.fetchAllSessions()).size());
+        } finally {
+            reader.shutdownNow();
+        }
+    }
+
+    @Test
+    void backupWithVacuumIntoHasSameContents() throws Exception {
+        saveDataForBackup(db(), serverUUID());
+        db().executeInTransaction(Executable.empty()).join();
+
+        File backupFile = new File(dataFolder(), "vacuum-backup.db");
+        Files.deleteIfExists(backupFile.toPath());
+        Benchmark.bench(() -> ((SQLiteDB) db()).backupTo(backupFile));
+
+        // Row by row copy of the same data, for comparing the time it takes
+        File copiedFile = Files.createTempFile(dataFolder().toPath(), "backup-", ".db").toFile();
+        copiedFile.deleteOnExit();
+        SQLiteDB copied = dbSystem().getSqLiteFactory().usingFile(copiedFile);
+        copied.setTransactionExecutorServiceProvider(MoreExecutors::newDirectExecutorService);
+        SQLiteDB backup = dbSystem().getSqLiteFactory().usingFile(backupFile);
+        try {
+            copied.init();
+            Benchmark.bench(() -> new DatabaseCopyProcessor(new Locale(), new TestErrorLogger(), db(), copied, message -> {},
+                    DatabaseCopyProcessor.Strategy.CLEAR_DESTINATION_DATABASE).run());
+
+            backup.init();
+            assertEquals(db().query(LookupTableQueries.tableCounts()), backup.query(LookupTableQueries.tableCounts()));
+            assertEquals(db().query(SessionQueries.fetchAllSessions()), backup.query(SessionQueries.fetchAllSessions()));
+        } finally {
+            copied.close();
+            backup.close();
+            Files.deleteIfExists(backupFile.toPath());
+        }
+    }
+
     @Override
     public Database db() {
         return database;
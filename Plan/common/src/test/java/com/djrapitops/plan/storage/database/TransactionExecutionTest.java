@@ -0,0 +1,210 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database;
+
+import com.djrapitops.plan.settings.config.paths.PluginSettings;
+import com.djrapitops.plan.storage.database.queries.LargeFetchQueries;
+import com.djrapitops.plan.storage.database.transactions.ThrowawayTransaction;
+import com.djrapitops.plan.storage.database.transactions.Transaction;
+import com.djrapitops.plan.storage.database.transactions.TransactionLane;
+import com.djrapitops.plan.storage.database.transactions.events.StoreWorldNameTransaction;
+import com.google.common.util.concurrent.MoreExecutors;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import utilities.TestErrorLogger;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for executing transactions in lanes and committing them in groups.
+ *
+ * @author AuroraLS3
+ */
+public interface TransactionExecutionTest extends DatabaseTestPreparer {
+
+    @Test
+    default void failingTransactionInGroupDoesNotRollBackOthers() throws Throwable {
+        withTransactionExecutors(() -> {
+            TestErrorLogger.throwErrors(false);
+            try {
+                CountDownLatch blocking = new CountDownLatch(1);
+                // Keeps the lane busy, so that the next transactions are queued into the same group
+                CompletableFuture<?> blocker = db().executeTransaction(inLane(TransactionLane.GENERAL, false, () -> {
+                    try {
+                        blocking.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }));
+                List<CompletableFuture<?>> grouped = List.of(
+                        db().executeTransaction(storeWorldInGroup("GroupedWorld1")),
+                        db().executeTransaction(failingTransaction()),
+                        db().executeTransaction(storeWorldInGroup("GroupedWorld2"))
+                );
+                blocking.countDown();
+                blocker.get(10, TimeUnit.SECONDS);
+                for (CompletableFuture<?> future : grouped) {
+                    future.get(10, TimeUnit.SECONDS);
+                }
+
+                assertEquals(1, TestErrorLogger.getCaught().size(), () -> "Expected only the failing transaction to fail: " + TestErrorLogger.getCaught());
+            } finally {
+                TestErrorLogger.throwErrors(true);
+            }
+        });
+
+        Collection<String> worldNames = db().query(LargeFetchQueries.fetchAllWorldNames())
+                .getOrDefault(serverUUID(), Collections.emptyList());
+        assertTrue(worldNames.containsAll(List.of("GroupedWorld1", "GroupedWorld2")), () -> "World names: " + worldNames);
+    }
+
+    @Test
+    default void transactionsOfEachLaneAreExecutedInOrder() throws Throwable {
+        int transactionsPerLane = 10;
+        Map<TransactionLane, Long> executedBefore = executedCounts();
+        Map<TransactionLane, List<Integer>> executionOrder = new EnumMap<>(TransactionLane.class);
+
+        withTransactionExecutors(() -> {
+            List<CompletableFuture<?>> futures = new ArrayList<>();
+            for (TransactionLane lane : TransactionLane.values()) {
+                List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+                executionOrder.put(lane, order);
+                for (int i = 0; i < transactionsPerLane; i++) {
+                    int number = i;
+                    // Every other transaction can be grouped, so that groups are sealed in between
+                    futures.add(db().executeTransaction(inLane(lane, i % 2 == 0, () -> order.add(number))));
+                }
+            }
+            for (CompletableFuture<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        });
+
+        List<Integer> expected = IntStream.range(0, transactionsPerLane).boxed().collect(Collectors.toList());
+        Map<TransactionLane, Long> executedAfter = executedCounts();
+        for (TransactionLane lane : TransactionLane.values()) {
+            assertEquals(expected, executionOrder.get(lane), () -> "Order of lane " + lane);
+            long executed = executedAfter.get(lane) - executedBefore.get(lane);
+            assertTrue(executed >= transactionsPerLane, () -> "Lane " + lane + " executed only " + executed);
+        }
+    }
+
+    @Test
+    default void transactionOriginIsCapturedOutsideDatabasePackage() throws Exception {
+        AtomicReference<StackTraceElement[]> origin = new AtomicReference<>();
+        db().executeTransaction(inLane(TransactionLane.GENERAL, false,
+                () -> origin.set(SQLDB.getTransactionOrigin().get()))).get();
+
+        assertNotNull(origin.get());
+        assertTrue(origin.get().length > 0);
+        for (StackTraceElement frame : origin.get()) {
+            assertFalse(frame.getClassName().startsWith("com.djrapitops.plan.storage.database."), frame::toString);
+        }
+    }
+
+    @Test
+    default void originOfFailedTransactionIsReportedInDevMode() throws Exception {
+        config().set(PluginSettings.DEV_MODE, true);
+        TestErrorLogger.throwErrors(false);
+        try {
+            db().executeTransaction(failingTransaction()).get();
+
+            Throwable rootCause = TestErrorLogger.getLatest().orElseThrow(AssertionError::new);
+            while (rootCause.getCause() != null) rootCause = rootCause.getCause();
+            assertTrue(Arrays.stream(rootCause.getStackTrace())
+                    .anyMatch(frame -> "originOfFailedTransactionIsReportedInDevMode".equals(frame.getMethodName())));
+        } finally {
+            TestErrorLogger.throwErrors(true);
+            config().set(PluginSettings.DEV_MODE, false);
+        }
+    }
+
+    private Map<TransactionLane, Long> executedCounts() {
+        Map<TransactionLane, Long> counts = new EnumMap<>(TransactionLane.class);
+        for (TransactionLaneStatistics statistics : db().getTransactionLaneStatistics()) {
+            counts.put(statistics.getLane(), statistics.getExecutedCount());
+        }
+        return counts;
+    }
+
+    /**
+     * Execute transactions on separate threads like outside tests, instead of the direct executor of the tests.
+     */
+    private void withTransactionExecutors(Executable test) throws Throwable {
+        SQLDB database = (SQLDB) db();
+        database.close();
+        database.setTransactionExecutorServiceProvider(Executors::newSingleThreadExecutor);
+        database.init();
+        try {
+            Awaitility.await().atMost(10, TimeUnit.SECONDS).until(() -> database.getState() == Database.State.OPEN);
+            test.execute();
+        } finally {
+            database.close();
+            database.setTransactionExecutorServiceProvider(MoreExecutors::newDirectExecutorService);
+            database.init();
+            Awaitility.await().atMost(10, TimeUnit.SECONDS).until(() -> database.getState() == Database.State.OPEN);
+        }
+    }
+
+    private static Transaction inLane(TransactionLane lane, boolean canBeGrouped, Runnable operations) {
+        return new Transaction() {
+            @Override
+            protected void performOperations() {
+                operations.run();
+            }
+
+            @Override
+            public TransactionLane getLane() {
+                return lane;
+            }
+
+            @Override
+            public boolean canBeGroupCommitted() {
+                return canBeGrouped;
+            }
+        };
+    }
+
+    private Transaction storeWorldInGroup(String worldName) {
+        StoreWorldNameTransaction storeWorld = new StoreWorldNameTransaction(serverUUID(), worldName);
+        return new ThrowawayTransaction() {
+            @Override
+            protected void performOperations() {
+                executeOther(storeWorld);
+            }
+        };
+    }
+
+    private static Transaction failingTransaction() {
+        return new ThrowawayTransaction() {
+            @Override
+            protected void performOperations() {
+                execute("INSERT INTO plan_missing_table (id) VALUES (1)");
+            }
+        };
+    }
+}
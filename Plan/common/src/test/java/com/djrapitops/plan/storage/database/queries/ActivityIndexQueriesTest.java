@@ -22,12 +22,15 @@ import com.djrapitops.plan.delivery.domain.mutators.SessionsMutator;
 import com.djrapitops.plan.gathering.domain.FinishedSession;
 import com.djrapitops.plan.storage.database.DatabaseTestPreparer;
 import com.djrapitops.plan.storage.database.queries.analysis.ActivityIndexQueries;
+import com.djrapitops.plan.storage.database.queries.analysis.ActivitySnapshotQueries;
 import com.djrapitops.plan.storage.database.queries.analysis.MultiServerActivityIndexQueries;
 import com.djrapitops.plan.storage.database.queries.objects.SessionQueries;
 import com.djrapitops.plan.storage.database.queries.objects.playertable.NetworkTablePlayersQuery;
 import com.djrapitops.plan.storage.database.queries.objects.playertable.ServerTablePlayersQuery;
+import com.djrapitops.plan.storage.database.sql.tables.ActivitySnapshotTable;
 import com.djrapitops.plan.storage.database.sql.tables.SessionsTable;
 import com.djrapitops.plan.storage.database.sql.tables.UsersTable;
+import com.djrapitops.plan.storage.database.transactions.events.StoreActivitySnapshotTransaction;
 import com.djrapitops.plan.storage.database.transactions.events.StoreServerPlayerTransaction;
 import com.djrapitops.plan.storage.database.transactions.events.StoreSessionTransaction;
 import com.djrapitops.plan.storage.database.transactions.events.StoreWorldNameTransaction;
@@ -39,9 +42,7 @@ import utilities.TestConstants;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.Collection;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 
@@ -273,4 +274,24 @@ public interface ActivityIndexQueriesTest extends DatabaseTestPreparer {
         Integer result = db().query(ActivityIndexQueries.fetchRegularPlayerCount(System.currentTimeMillis(), serverUUID(), playtimeThreshold));
         assertEquals(expected, result);
     }
-}
\ No newline at end of file
+
+    @Test
+    default void activitySnapshotsAreStoredForServerAndNetwork() {
+        storeSessions(_ -> true);
+
+        long playtimeThreshold = TimeUnit.HOURS.toMillis(5L);
+        long week = ActivitySnapshotTable.weekOf(System.currentTimeMillis()) - ActivitySnapshotTable.WEEK;
+        Map<String, Integer> serverGroups = db().query(ActivityIndexQueries.fetchActivityIndexGroupingsOn(week, serverUUID(), playtimeThreshold));
+        db().executeTransaction(new StoreActivitySnapshotTransaction(serverUUID(), week, playtimeThreshold, serverGroups));
+        db().executeTransaction(new StoreActivitySnapshotTransaction(null, week, playtimeThreshold, Map.of()));
+
+        Map<String, Integer> expected = new HashMap<>();
+        for (String group : ActivityIndex.getDefaultGroups()) {
+            expected.put(group, serverGroups.getOrDefault(group, 0));
+        }
+        assertEquals(Map.of(week, expected), db().query(ActivitySnapshotQueries.fetchActivityGroupSnapshots(week, week, serverUUID(), playtimeThreshold)));
+        assertEquals(0, db().query(ActivitySnapshotQueries.fetchActivityGroupSnapshots(week, week, null, playtimeThreshold))
+                .get(week).get(ActivityIndex.getDefaultGroups()[0]));
+        assertTrue(db().query(ActivitySnapshotQueries.fetchActivityGroupSnapshots(week, week, serverUUID(), playtimeThreshold + 1L)).isEmpty());
+    }
+}
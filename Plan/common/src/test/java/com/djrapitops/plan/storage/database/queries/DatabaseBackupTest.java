@@ -28,6 +28,7 @@ import com.djrapitops.plan.identification.Server;
 import com.djrapitops.plan.identification.ServerUUID;
 import com.djrapitops.plan.processing.processors.move.DatabaseCopyProcessor;
 import com.djrapitops.plan.settings.locale.Locale;
+import com.djrapitops.plan.settings.locale.lang.CommandLang;
 import com.djrapitops.plan.storage.database.Database;
 import com.djrapitops.plan.storage.database.DatabaseTestPreparer;
 import com.djrapitops.plan.storage.database.SQLiteDB;
@@ -39,6 +40,7 @@ import com.djrapitops.plan.storage.database.transactions.StoreServerInformationT
 import com.djrapitops.plan.storage.database.transactions.commands.RemoveEverythingTransaction;
 import com.djrapitops.plan.storage.database.transactions.commands.StoreWebUserTransaction;
 import com.djrapitops.plan.storage.database.transactions.events.*;
+import com.djrapitops.plan.storage.database.transactions.init.StoreTPSRollupsTransaction;
 import com.djrapitops.plan.storage.database.transactions.patches.WebGroupDefaultGroupsPatch;
 import com.djrapitops.plan.storage.database.transactions.webuser.StoreWebGroupTransaction;
 import com.djrapitops.plan.storage.database.transactions.webuser.StoreWebUserPreferencesTransaction;
@@ -57,9 +59,11 @@ import java.io.File;
 import java.nio.file.Files;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public interface DatabaseBackupTest extends DatabaseTestPreparer {
 
@@ -85,6 +89,7 @@ public interface DatabaseBackupTest extends DatabaseTestPreparer {
         for (TPS tps : expected) {
             db.executeInTransaction(DataStoreQueries.storeTPS(serverUUID, tps));
         }
+        db.executeTransaction(new StoreTPSRollupsTransaction(serverUUID)).join();
 
         db.executeTransaction(new PingStoreTransaction(
                 playerUUID, serverUUID,
@@ -202,6 +207,98 @@ public interface DatabaseBackupTest extends DatabaseTestPreparer {
         }
     }
 
+    @Test
+    default void interruptedBackupIsContinued() throws Exception {
+        File tempFile = Files.createTempFile(dataFolder().toPath(), "backup-", ".db").toFile();
+        tempFile.deleteOnExit();
+        SQLiteDB backup = dbSystem().getSqLiteFactory().usingFile(tempFile);
+        backup.setTransactionExecutorServiceProvider(MoreExecutors::newDirectExecutorService);
+        try {
+            backup.init();
+            Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> db().getState() == Database.State.OPEN);
+            Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> backup.getState() == Database.State.OPEN);
+
+            saveDataForBackup(db(), serverUUID());
+
+            List<String> feedback = new ArrayList<>();
+            copyInterruptedAtPing(db(), backup, feedback);
+            assertEquals(0, backup.query(LookupTableQueries.tableCounts()).get(PingTable.TABLE_NAME));
+
+            new DatabaseCopyProcessor(new Locale(), new TestErrorLogger(), db(), backup, feedback::add, DatabaseCopyProcessor.Strategy.CLEAR_DESTINATION_DATABASE)
+                    .run();
+
+            for (String s : feedback) {
+                System.out.println(s);
+            }
+
+            assertTrue(feedback.contains(new Locale().getString(CommandLang.DB_COPY_RESUME, db().getType().getName())));
+            assertSame(db(), backup);
+        } finally {
+            backup.close();
+        }
+    }
+
+    @Test
+    default void interruptedBackupIsNotContinuedFromAnotherSource() throws Exception {
+        File tempFile = Files.createTempFile(dataFolder().toPath(), "backup-", ".db").toFile();
+        tempFile.deleteOnExit();
+        File otherSourceFile = Files.createTempFile(dataFolder().toPath(), "other-", ".db").toFile();
+        otherSourceFile.deleteOnExit();
+        SQLiteDB backup = dbSystem().getSqLiteFactory().usingFile(tempFile);
+        backup.setTransactionExecutorServiceProvider(MoreExecutors::newDirectExecutorService);
+        SQLiteDB otherSource = dbSystem().getSqLiteFactory().usingFile(otherSourceFile);
+        otherSource.setTransactionExecutorServiceProvider(MoreExecutors::newDirectExecutorService);
+        try {
+            backup.init();
+            otherSource.init();
+            Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> db().getState() == Database.State.OPEN);
+            Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> backup.getState() == Database.State.OPEN);
+            Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> otherSource.getState() == Database.State.OPEN);
+
+            saveDataForBackup(db(), serverUUID());
+            saveDataForBackup(otherSource, TestConstants.SERVER_TWO_UUID);
+
+            List<String> feedback = new ArrayList<>();
+            copyInterruptedAtPing(db(), backup, feedback);
+            Map<String, Integer> interruptedCounts = backup.query(LookupTableQueries.tableCounts());
+
+            new DatabaseCopyProcessor(new Locale(), new TestErrorLogger(), otherSource, backup, feedback::add, DatabaseCopyProcessor.Strategy.CLEAR_DESTINATION_DATABASE)
+                    .run();
+
+            assertTrue(feedback.contains(new Locale().getString(CommandLang.DB_COPY_RESUME_MISMATCH)));
+            assertEquals(interruptedCounts, backup.query(LookupTableQueries.tableCounts()));
+
+            new DatabaseCopyProcessor(new Locale(), new TestErrorLogger(), otherSource, backup, feedback::add,
+                    DatabaseCopyProcessor.Strategy.CLEAR_DESTINATION_DATABASE, DatabaseCopyProcessor.Strategy.START_FRESH)
+                    .run();
+
+            for (String s : feedback) {
+                System.out.println(s);
+            }
+
+            assertSame(otherSource, backup);
+        } finally {
+            backup.close();
+            otherSource.close();
+        }
+    }
+
+    private static void copyInterruptedAtPing(Database from, Database to, List<String> feedback) {
+        String interruptAt = new Locale().getString(CommandLang.DB_COPY_TABLE, PingTable.TABLE_NAME);
+        Consumer<String> interruptingFeedback = message -> {
+            feedback.add(message);
+            if (interruptAt.equals(message)) throw new IllegalStateException("Copy interrupted by test");
+        };
+        try {
+            TestErrorLogger.throwErrors(false);
+            new DatabaseCopyProcessor(new Locale(), new TestErrorLogger(), from, to, interruptingFeedback, DatabaseCopyProcessor.Strategy.CLEAR_DESTINATION_DATABASE)
+                    .run();
+        } finally {
+            TestErrorLogger.throwErrors(true);
+        }
+        assertTrue(feedback.contains(new Locale().getString(CommandLang.DB_COPY_RESUMABLE)));
+    }
+
     @Test // This test can regress intentionally if merging rules are ignored for new tables.
     default void databaseMerge() throws Exception {
         File tempFile = Files.createTempFile(dataFolder().toPath(), "backup-", ".db").toFile();
@@ -250,6 +347,8 @@ public interface DatabaseBackupTest extends DatabaseTestPreparer {
             expected.put(KillsTable.TABLE_NAME, beforeBackupTo.get(KillsTable.TABLE_NAME) + beforeBackupFrom.get(KillsTable.TABLE_NAME));
             expected.put(WorldTimesTable.TABLE_NAME, beforeBackupTo.get(WorldTimesTable.TABLE_NAME) + beforeBackupFrom.get(WorldTimesTable.TABLE_NAME));
             expected.put(TPSTable.TABLE_NAME, beforeBackupTo.get(TPSTable.TABLE_NAME) + beforeBackupFrom.get(TPSTable.TABLE_NAME));
+            expected.put(TPSRollupTable.HOURLY_TABLE_NAME, beforeBackupTo.get(TPSRollupTable.HOURLY_TABLE_NAME) + beforeBackupFrom.get(TPSRollupTable.HOURLY_TABLE_NAME));
+            expected.put(TPSRollupTable.DAILY_TABLE_NAME, beforeBackupTo.get(TPSRollupTable.DAILY_TABLE_NAME) + beforeBackupFrom.get(TPSRollupTable.DAILY_TABLE_NAME));
             expected.put(PingTable.TABLE_NAME, beforeBackupTo.get(PingTable.TABLE_NAME) + beforeBackupFrom.get(PingTable.TABLE_NAME));
             expected.put(PluginVersionTable.TABLE_NAME, beforeBackupTo.get(PluginVersionTable.TABLE_NAME) + beforeBackupFrom.get(PluginVersionTable.TABLE_NAME));
             expected.put(AllowlistBounceTable.TABLE_NAME, beforeBackupTo.get(AllowlistBounceTable.TABLE_NAME) + beforeBackupFrom.get(AllowlistBounceTable.TABLE_NAME));
@@ -31,12 +31,15 @@ import com.djrapitops.plan.extension.implementation.results.*;
 import com.djrapitops.plan.extension.implementation.storage.queries.ExtensionPlayerDataQuery;
 import com.djrapitops.plan.extension.implementation.storage.queries.ExtensionServerDataQuery;
 import com.djrapitops.plan.extension.implementation.storage.queries.ExtensionServerTableDataQuery;
+import com.djrapitops.plan.extension.implementation.storage.transactions.results.StoreGatheredResultsTransaction;
 import com.djrapitops.plan.extension.table.Table;
 import com.djrapitops.plan.gathering.domain.ActiveSession;
 import com.djrapitops.plan.gathering.domain.WorldTimes;
 import com.djrapitops.plan.identification.ServerUUID;
 import com.djrapitops.plan.settings.config.ExtensionSettings;
 import com.djrapitops.plan.storage.database.DatabaseTestPreparer;
+import com.djrapitops.plan.storage.database.transactions.ThrowawayTransaction;
+import com.djrapitops.plan.storage.database.transactions.Transaction;
 import com.djrapitops.plan.storage.database.transactions.commands.RemoveEverythingTransaction;
 import com.djrapitops.plan.storage.database.transactions.events.PlayerRegisterTransaction;
 import com.djrapitops.plan.storage.database.transactions.events.StoreSessionTransaction;
@@ -52,6 +55,7 @@ import utilities.RandomData;
 import utilities.TestConstants;
 import utilities.TestErrorLogger;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -463,6 +467,26 @@ public interface ExtensionsDatabaseTest extends DatabaseTestPreparer {
         assertEquals(5, TestErrorLogger.getCaught().size(), () -> "Not all exceptions got logged, logged exceptions: " + TestErrorLogger.getCaught().toString());
     }
 
+    @Test
+    default void failingValueDoesNotPreventStoringOtherValues() {
+        Transaction failing = new ThrowawayTransaction() {
+            @Override
+            protected void performOperations() {
+                execute("INSERT INTO plan_missing_table (id) VALUES (1)");
+            }
+        };
+        StoreGatheredResultsTransaction transaction = new StoreGatheredResultsTransaction(List.of(
+                failing,
+                new StoreWorldNameTransaction(serverUUID(), "StoredDespiteFailure")
+        ));
+        executeTransactions(transaction);
+
+        assertFalse(transaction.wereResultsStored());
+        assertEquals(1, transaction.getFailures().size());
+        Collection<String> worldNames = db().query(LargeFetchQueries.fetchAllWorldNames()).get(serverUUID());
+        assertTrue(worldNames.contains("StoredDespiteFailure"));
+    }
+
     @Test
     default void clickEventsNotAllowed() {
         ExtensionSvc extensionService = extensionService();
@@ -37,7 +37,10 @@ import com.djrapitops.plan.storage.database.transactions.ExecStatement;
 import com.djrapitops.plan.storage.database.transactions.StoreServerInformationTransaction;
 import com.djrapitops.plan.storage.database.transactions.Transaction;
 import com.djrapitops.plan.storage.database.transactions.commands.RemoveEverythingTransaction;
+import com.djrapitops.plan.storage.database.transactions.commands.RemovePlayerTransaction;
 import com.djrapitops.plan.storage.database.transactions.events.*;
+import com.djrapitops.plan.storage.database.transactions.init.RebuildPlayerTotalsTransaction;
+import com.djrapitops.plan.storage.database.transactions.init.RebuildSessionBucketsTransaction;
 import com.djrapitops.plan.utilities.java.Maps;
 import net.playeranalytics.plugin.scheduling.TimeAmount;
 import org.junit.jupiter.api.*;
@@ -99,6 +102,29 @@ public interface SessionQueriesTest extends DatabaseTestPreparer {
         assertEquals(session, savedSessions.get(0));
     }
 
+    @Test
+    default void sessionIsStoredForPlayerRemovedAfterPreviousSession() {
+        db().executeTransaction(new StoreWorldNameTransaction(serverUUID(), worlds[0]));
+        db().executeTransaction(new StoreWorldNameTransaction(serverUUID(), worlds[1]));
+        db().executeTransaction(new StoreServerPlayerTransaction(player2UUID, RandomData::randomTime,
+                TestConstants.PLAYER_TWO_NAME, serverUUID(), TestConstants.GET_PLAYER_HOSTNAME));
+
+        db().executeTransaction(new StoreSessionTransaction(RandomData.randomSession(serverUUID(), worlds, playerUUID, player2UUID)));
+        // Removal should invalidate the cached user id of the player
+        db().executeTransaction(new RemovePlayerTransaction(playerUUID));
+
+        FinishedSession session = RandomData.randomSession(serverUUID(), worlds, playerUUID, player2UUID);
+        db().executeTransaction(new StoreSessionTransaction(session));
+
+        Map<ServerUUID, List<FinishedSession>> sessions = db().query(SessionQueries.fetchSessionsOfPlayer(playerUUID));
+        List<FinishedSession> savedSessions = sessions.get(serverUUID());
+
+        assertNotNull(savedSessions);
+        assertEquals(1, savedSessions.size());
+
+        assertEquals(session, savedSessions.get(0));
+    }
+
     @Test
     default void shutdownDataPreservationTransactionOutOfOrderDoesNotFailDueToMissingMainUser() {
         db().executeTransaction(new StoreWorldNameTransaction(serverUUID(), worlds[0]));
@@ -310,6 +336,60 @@ public interface SessionQueriesTest extends DatabaseTestPreparer {
         assertFalse(result.isEmpty());
     }
 
+    @Test
+    default void sessionCountAndPlaytimePerDayMatchStoredSessions() {
+        prepareForSessionSave();
+        List<FinishedSession> sessions = RandomData.randomSessions(serverUUID(), worlds, playerUUID, player2UUID);
+        sessions.forEach(session -> db().executeTransaction(new StoreSessionTransaction(session)));
+        db().executeTransaction(new StoreSessionTransaction(RandomData.randomSession(serverUUID(), worlds, player2UUID, playerUUID)));
+        db().executeTransaction(new RemovePlayerTransaction(player2UUID));
+
+        long before = System.currentTimeMillis() + 1L;
+        long after = before - TimeUnit.DAYS.toMillis(30L) - TimeUnit.MINUTES.toMillis(7L);
+        long day = TimeUnit.DAYS.toMillis(1L);
+        long expectedCount = sessions.stream()
+                .filter(session -> session.getStart() >= after && session.getStart() < before)
+                .count();
+        Map<Long, Long> expectedPlaytimePerDay = new TreeMap<>();
+        for (FinishedSession session : sessions) {
+            if (session.getStart() < after) continue;
+            expectedPlaytimePerDay.merge(session.getStart() - Math.floorMod(session.getStart(), day), session.getLength(), Long::sum);
+        }
+
+        assertEquals(expectedCount, db().query(SessionQueries.sessionCount(after, before, serverUUID())));
+        assertEquals(expectedPlaytimePerDay, db().query(SessionQueries.playtimePerDay(after, before, 0L, serverUUID())));
+
+        db().executeTransaction(new RebuildSessionBucketsTransaction()).join();
+        assertEquals(expectedCount, db().query(SessionQueries.sessionCount(after, before)));
+        assertEquals(expectedPlaytimePerDay, db().query(SessionQueries.playtimePerDay(after, before, 0L)));
+    }
+
+    @Test
+    default void playerTotalsMatchStoredSessions() {
+        prepareForSessionSave();
+        List<FinishedSession> sessions = RandomData.randomSessions(serverUUID(), worlds, playerUUID, player2UUID);
+        sessions.forEach(session -> db().executeTransaction(new StoreSessionTransaction(session)));
+
+        SessionsMutator mutator = new SessionsMutator(sessions);
+        Map<ServerUUID, Long> expectedLastSeen = Map.of(serverUUID(), mutator.toLastSeen());
+        Map<ServerUUID, Integer> expectedPlayerKills = Map.of(serverUUID(), mutator.toPlayerKillCount());
+        Map<ServerUUID, Integer> expectedMobKills = Map.of(serverUUID(), mutator.toMobKillCount());
+        Map<ServerUUID, Integer> expectedDeaths = Map.of(serverUUID(), mutator.toDeathCount());
+
+        for (int i = 0; i < 2; i++) {
+            assertEquals(expectedLastSeen, db().query(PerServerAggregateQueries.lastSeenOnServers(playerUUID)));
+            assertEquals(expectedPlayerKills, db().query(PerServerAggregateQueries.playerKillCountOnServers(playerUUID)));
+            assertEquals(expectedMobKills, db().query(PerServerAggregateQueries.mobKillCountOnServers(playerUUID)));
+            assertEquals(expectedDeaths, db().query(PerServerAggregateQueries.totalDeathCountOnServers(playerUUID)));
+            assertEquals(mutator.toLastSeen(), db().query(SessionQueries.lastSeen(playerUUID)));
+
+            db().executeTransaction(new RebuildPlayerTotalsTransaction()).join();
+        }
+
+        db().executeTransaction(new RemovePlayerTransaction(player2UUID)).join();
+        assertEquals(Collections.emptyMap(), db().query(PerServerAggregateQueries.playerKillCountOnServers(playerUUID)));
+    }
+
     @Test
     default void averagePlaytimePerDay() {
         prepareForSessionSave();
@@ -22,9 +22,15 @@ import com.djrapitops.plan.gathering.domain.TPS;
 import com.djrapitops.plan.gathering.domain.builders.TPSBuilder;
 import com.djrapitops.plan.identification.ServerUUID;
 import com.djrapitops.plan.storage.database.DatabaseTestPreparer;
+import com.djrapitops.plan.storage.database.queries.objects.ServerQueries;
 import com.djrapitops.plan.storage.database.queries.objects.TPSQueries;
+import com.djrapitops.plan.storage.database.sql.tables.TPSRollupTable;
 import com.djrapitops.plan.storage.database.transactions.commands.RemoveEverythingTransaction;
+import com.djrapitops.plan.storage.database.transactions.events.StoreServerStartTransaction;
+import com.djrapitops.plan.storage.database.transactions.events.StoreServerStopTransaction;
 import com.djrapitops.plan.storage.database.transactions.events.TPSStoreTransaction;
+import com.djrapitops.plan.storage.database.transactions.init.StoreTPSRollupsTransaction;
+import com.djrapitops.plan.storage.database.transactions.patches.ServerEventsBackfillPatch;
 import com.djrapitops.plan.utilities.comparators.TPSComparator;
 import com.djrapitops.plan.utilities.java.Lists;
 import net.playeranalytics.plugin.server.PluginLogger;
@@ -33,6 +39,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import utilities.RandomData;
 
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
@@ -126,6 +133,60 @@ public interface TPSQueriesTest extends DatabaseTestPreparer {
         assertEquals((Long) (long) mutator.averageFreeDisk(), db().query(TPSQueries.averageFreeDisk(Long.MIN_VALUE, Long.MAX_VALUE, serverUUID())));
     }
 
+    @Test
+    default void tpsAveragesStaySameAfterRollup() {
+        long hour = TimeUnit.HOURS.toMillis(1);
+        long start = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(3);
+        start -= start % hour;
+        long minute = TimeUnit.MINUTES.toMillis(1);
+        List<TPS> tps = new ArrayList<>();
+        for (long date = start; date < start + 5 * hour; date += minute) {
+            // Most CPU samples of the second hour are invalid, so the hour has fewer valid samples than others
+            boolean sparseHour = date >= start + hour && date < start + 2 * hour;
+            double cpu = sparseHour
+                    ? (date % (10 * minute) == 0 ? RandomData.randomInt(90, 100) : -1)
+                    : RandomData.randomInt(0, 10);
+            TPS sample = new TPS(date, RandomData.randomInt(0, 20), RandomData.randomInt(0, 100),
+                    cpu, RandomData.randomInt(0, 10000),
+                    RandomData.randomInt(0, 10000), RandomData.randomInt(0, 10000), RandomData.randomInt(0, 10000));
+            sample.setMsptAverage((double) RandomData.randomInt(0, 50));
+            tps.add(sample);
+        }
+        execute(LargeStoreQueries.storeAllTPSData(Map.of(serverUUID(), tps)));
+
+        // Range starts and ends in the middle of an hour so both raw samples and rollups are used.
+        long after = start + hour / 2;
+        long before = start + 4 * hour + hour / 3;
+        List<ServerUUID> servers = List.of(serverUUID());
+        double[] expected = {
+                db().query(TPSQueries.averageTPS(after, before, servers)),
+                db().query(TPSQueries.averagePlayersOnline(after, before, servers, null)),
+                db().query(TPSQueries.averageCPU(after, before, servers, null)),
+                db().query(TPSQueries.averageRAM(after, before, servers)),
+                db().query(TPSQueries.averageEntities(after, before, servers, null)),
+                db().query(TPSQueries.averageChunks(after, before, servers, null)),
+                db().query(TPSQueries.averageMSPT(after, before, servers, null))
+        };
+
+        db().executeTransaction(new StoreTPSRollupsTransaction(serverUUID()));
+
+        assertEquals(Optional.of(start + 4 * hour), db().query(TPSQueries.fetchLastRollupDate(TPSRollupTable.HOURLY_TABLE_NAME, serverUUID())));
+        assertEquals(5, db().query(TPSQueries.fetchTPSRollupsOfServer(TPSRollupTable.HOURLY_TABLE_NAME, 0, Long.MAX_VALUE, serverUUID())).size());
+        assertFalse(db().query(TPSQueries.fetchTPSRollupsOfServer(TPSRollupTable.DAILY_TABLE_NAME, 0, Long.MAX_VALUE, serverUUID())).isEmpty());
+
+        double[] result = {
+                db().query(TPSQueries.averageTPS(after, before, servers)),
+                db().query(TPSQueries.averagePlayersOnline(after, before, servers, null)),
+                db().query(TPSQueries.averageCPU(after, before, servers, null)),
+                db().query(TPSQueries.averageRAM(after, before, servers)),
+                db().query(TPSQueries.averageEntities(after, before, servers, null)),
+                db().query(TPSQueries.averageChunks(after, before, servers, null)),
+                db().query(TPSQueries.averageMSPT(after, before, servers, null))
+        };
+        // Long averages are truncated, so they may differ by one.
+        assertArrayEquals(expected, result, 1.0);
+    }
+
     @RepeatedTest(5)
     default void occupiedCalculationMatches() {
         List<TPS> data = RandomData.randomDateOrderedTPS();
@@ -234,30 +295,28 @@ public interface TPSQueriesTest extends DatabaseTestPreparer {
     }
 
     @Test
-    default void serverStartDateIsFetched() {
-        List<TPS> tpsData = RandomData.randomTPS();
-        TPS stored = tpsData.get(0);
-        TPS stored2 = TPSBuilder.get().date(stored.getDate() + TimeUnit.MINUTES.toMillis(1L)).toTPS();
-        db().executeTransaction(new TPSStoreTransaction(serverUUID(), stored));
-        db().executeTransaction(new TPSStoreTransaction(serverUUID(), stored2));
-
-        Optional<Long> result = db().query(TPSQueries.fetchLatestServerStartTime(serverUUID(), TimeUnit.MINUTES.toMillis(3)));
-        assertTrue(result.isPresent());
-        assertEquals(stored.getDate(), result.get());
+    default void serverStartDateIsBackfilledFromTPSData() {
+        long now = System.currentTimeMillis();
+        long restart = now - TimeUnit.MINUTES.toMillis(3L);
+        db().executeTransaction(new TPSStoreTransaction(serverUUID(), TPSBuilder.get().date(now - TimeUnit.MINUTES.toMillis(10L)).toTPS()));
+        db().executeTransaction(new TPSStoreTransaction(serverUUID(), TPSBuilder.get().date(restart).toTPS()));
+        db().executeTransaction(new TPSStoreTransaction(serverUUID(), TPSBuilder.get().date(now - TimeUnit.MINUTES.toMillis(2L)).toTPS()));
+
+        db().executeTransaction(new ServerEventsBackfillPatch()).join();
+
+        assertEquals(Optional.of(restart), db().query(ServerQueries.fetchLatestServerStartTime(serverUUID())));
     }
 
     @Test
-    default void serverStartDateIsCorrect() {
-        List<TPS> tpsData = RandomData.randomTPS();
-        TPS stored = tpsData.get(0);
-        TPS stored2 = TPSBuilder.get().date(stored.getDate() + TimeUnit.MINUTES.toMillis(4L)).toTPS();
-        TPS stored3 = TPSBuilder.get().date(stored.getDate() + TimeUnit.MINUTES.toMillis(5L)).toTPS();
-        db().executeTransaction(new TPSStoreTransaction(serverUUID(), stored));
-        db().executeTransaction(new TPSStoreTransaction(serverUUID(), stored2));
-        db().executeTransaction(new TPSStoreTransaction(serverUUID(), stored3));
-
-        Optional<Long> result = db().query(TPSQueries.fetchLatestServerStartTime(serverUUID(), TimeUnit.MINUTES.toMillis(3)));
-        assertTrue(result.isPresent());
-        assertEquals(stored2.getDate(), result.get());
+    default void serverStartAndStopEventsAreStored() {
+        long enableTime = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(10L);
+        db().executeTransaction(new StoreServerStartTransaction(serverUUID(), enableTime));
+        // Plugin reload
+        db().executeTransaction(new StoreServerStopTransaction(serverUUID(), enableTime + 1000L));
+        db().executeTransaction(new StoreServerStartTransaction(serverUUID(), enableTime)).join();
+        assertEquals(Optional.of(enableTime), db().query(ServerQueries.fetchLatestServerStartTime(serverUUID())));
+
+        db().executeTransaction(new StoreServerStopTransaction(serverUUID(), enableTime + 2000L)).join();
+        assertEquals(Optional.empty(), db().query(ServerQueries.fetchLatestServerStartTime(serverUUID())));
     }
 }
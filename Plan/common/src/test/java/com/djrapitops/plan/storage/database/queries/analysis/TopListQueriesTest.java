@@ -25,6 +25,9 @@ import org.junit.jupiter.api.Test;
 import utilities.RandomData;
 import utilities.TestConstants;
 
+import java.util.List;
+import java.util.Optional;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 public interface TopListQueriesTest extends DatabaseTestPreparer {
@@ -73,4 +76,13 @@ public interface TopListQueriesTest extends DatabaseTestPreparer {
         assertEquals(expected, result);
     }
 
-}
\ No newline at end of file
+    @Test
+    default void topPlaytimeListQueryReturnsAllRanks() {
+        storeSessionForTopListQueries();
+
+        List<TopListQueries.TopListEntry<Long>> result = db().query(TopListQueries.fetchTop10PlaytimePlayersOn(serverUUID(), 0, System.currentTimeMillis()));
+        assertEquals(1, result.size());
+        assertEquals(TestConstants.PLAYER_ONE_NAME, result.get(0).getPlayerName());
+        assertEquals(Optional.empty(), db().query(TopListQueries.fetchNthTop10PlaytimePlayerOn(serverUUID(), 1, 0, System.currentTimeMillis())));
+    }
+}
@@ -0,0 +1,90 @@
+import {useTranslation} from "react-i18next";
+import {Card} from "react-bootstrap";
+import {FontAwesomeIcon as Fa} from "@fortawesome/react-fontawesome";
+import React, {useCallback, useEffect, useState} from "react";
+import {faUsers} from "@fortawesome/free-solid-svg-icons";
+import PlayerTable from "../../table/PlayerTable.jsx";
+import {fetchPlayersTablePage} from "../../../service/serverService.js";
+import {useNavigation} from "../../../hooks/navigationHook.tsx";
+import ErrorView from "../../../views/ErrorView.tsx";
+import {CardLoader} from "../../navigation/Loader.tsx";
+
+const SEARCH_DELAY_MS = 300;
+
+// Extension columns are kept when moving between pages, so that the column indexes of the table stay the same
+const combineDescriptors = (previous, descriptors) => {
+    if (!previous) return descriptors;
+    const names = previous.map(descriptor => descriptor.name);
+    return [...previous, ...descriptors.filter(descriptor => !names.includes(descriptor.name))];
+}
+
+/**
+ * Player list where filtering, sorting and pagination is done by the server, one page at a time.
+ */
+const PagedPlayerListCard = ({identifier, title}) => {
+    const {t} = useTranslation();
+    const {updateRequested} = useNavigation();
+
+    const [tableState, setTableState] = useState({
+        sortKey: 'lastSeen', sortReversed: false, filter: '', page: 0, pageSize: 10
+    });
+    const [search, setSearch] = useState('');
+    useEffect(() => {
+        const timeout = setTimeout(() => setSearch(tableState.filter.trim()), SEARCH_DELAY_MS);
+        return () => clearTimeout(timeout);
+    }, [tableState.filter]);
+
+    const {sortKey, sortReversed, pageSize} = tableState;
+    // Name is sorted alphabetically by default, others biggest first
+    const order = (sortKey === 'name') === sortReversed ? 'desc' : 'asc';
+    const query = JSON.stringify([identifier, pageSize, sortKey, order, search]);
+
+    // Cursors can only be used with the query they came from
+    const [cursors, setCursors] = useState({query, list: [null]});
+    const sameQuery = cursors.query === query;
+    const page = sameQuery && cursors.list[tableState.page] !== undefined ? tableState.page : 0;
+    const after = sameQuery ? cursors.list[page] : null;
+
+    const [data, setData] = useState(undefined);
+    const [loadingError, setLoadingError] = useState(undefined);
+    useEffect(() => {
+        let latest = true;
+        fetchPlayersTablePage(updateRequested, identifier, pageSize, sortKey, order, search, after)
+            .then(({data: json, error}) => {
+                if (!latest) return; // Another page was requested while this one was loading
+                if (json) {
+                    setCursors(previous => {
+                        const list = previous.query === query ? [...previous.list] : [null];
+                        list[page + 1] = json.nextCursor;
+                        return {query, list};
+                    });
+                    setData(previous => ({
+                        ...json,
+                        extensionDescriptors: combineDescriptors(previous?.extensionDescriptors, json.extensionDescriptors)
+                    }));
+                } else if (error) {
+                    setLoadingError(error);
+                }
+            });
+        return () => {
+            latest = false;
+        };
+    }, [updateRequested, identifier, pageSize, sortKey, order, search, after, query, page]);
+
+    const onStateChange = useCallback(state => setTableState(state), [setTableState]);
+
+    if (loadingError) return <ErrorView error={loadingError}/>
+
+    return (
+        <Card>
+            <Card.Header>
+                <h6 className="col-text">
+                    <Fa icon={faUsers} className="col-players-count"/> {title || t('html.label.playerList')}
+                </h6>
+            </Card.Header>
+            {data ? <PlayerTable data={data} onStateChange={onStateChange}/> : <CardLoader/>}
+        </Card>
+    )
+};
+
+export default PagedPlayerListCard;
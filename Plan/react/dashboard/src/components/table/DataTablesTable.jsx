@@ -137,6 +137,8 @@ const DataTablesTable = ({id, rowKeyFunction, options, className, colorClass, ex
     const {nightModeEnabled} = useTheme();
 
     const columns = options.columns;
+    // Data is already filtered, sorted and paginated by the server
+    const serverSide = options.serverSide;
     const [sortBy, setSortBy] = useState(options.order[0][0] || 0);
     const [sortReversed, setSortReversed] = useState(options.order[0][1] === 'asc');
     const [visibleColumnIndexes, setVisibleColumnIndexes] = useState(columns.map((_, i) => i));
@@ -184,6 +186,7 @@ const DataTablesTable = ({id, rowKeyFunction, options, className, colorClass, ex
         return sortReversed ? valB.localeCompare(valA) : valA.localeCompare(valB);
     }
     const changeSort = index => {
+        if (visibleColumns[index].orderable === false) return;
         setSortBy(index);
         setSortReversed(index === sortBy && !sortReversed);
     }
@@ -191,12 +194,12 @@ const DataTablesTable = ({id, rowKeyFunction, options, className, colorClass, ex
     const keys = visibleColumns.flatMap(column => [column.data._ || column.data, column.data.display]);
     const [filter, setFilter] = useState('');
     const filterWords = filter.split(' ').filter(Boolean);
-    const matchingData = options.data.filter(row => {
+    const matchingData = serverSide ? options.data : options.data.filter(row => {
         if (!filter) return true;
 
         return Boolean(keys.some(key => filterWords.some(word => String(row[key]).toLowerCase().includes(word))));
     });
-    matchingData.sort(sortingFunction);
+    if (!serverSide) matchingData.sort(sortingFunction);
 
     const [expandedRows, setExpandedRows] = useState([]);
     const toggleRow = useCallback(i => {
@@ -213,14 +216,21 @@ const DataTablesTable = ({id, rowKeyFunction, options, className, colorClass, ex
     }, [visibleColumnIndexes, columns, setExpandedRows]);
 
     const [page, setPage] = useState(0);
-    const maxPage = Math.ceil(matchingData.length / paginationCount);
+    // Server side pages can only be reached one after another
+    const maxPage = serverSide ? page + (serverSide.hasNextPage ? 2 : 1) : Math.ceil(matchingData.length / paginationCount);
 
-    const rows = matchingData.slice(page * paginationCount, Math.min(page * paginationCount + paginationCount, options.data.length));
+    const rows = serverSide ? matchingData : matchingData.slice(page * paginationCount, Math.min(page * paginationCount + paginationCount, options.data.length));
 
     useEffect(() => {
         setPage(0);
     }, [filter, paginationCount, sortBy, sortReversed]);
 
+    const onStateChange = serverSide?.onStateChange;
+    const sortKey = visibleColumns[sortBy]?.sortKey;
+    useEffect(() => {
+        if (onStateChange) onStateChange({sortKey, sortReversed, filter, page, pageSize: paginationCount});
+    }, [onStateChange, sortKey, sortReversed, filter, page, paginationCount]);
+
     if (!rowKeyFunction) {
         rowKeyFunction = (row, column) => {
             return JSON.stringify(row) + "-" + JSON.stringify(column?.data);
@@ -258,9 +268,9 @@ const DataTablesTable = ({id, rowKeyFunction, options, className, colorClass, ex
                 <VisibleColumnsSelector columns={columns} visibleColumnIndexes={visibleColumnIndexes}
                                         toggleColumn={toggleColumn}/>
             </div>}
-            <div className={"float-end dataTables_columns"}>
+            {!serverSide && <div className={"float-end dataTables_columns"}>
                 <ExportMenu matchingData={matchingData} columns={columns}/>
-            </div>
+            </div>}
             <table id={id}
                    className={classNames("datatable table table-bordered table-striped", nightModeEnabled && " table-dark", className)}
                    style={{width: "100%"}}>
@@ -268,10 +278,10 @@ const DataTablesTable = ({id, rowKeyFunction, options, className, colorClass, ex
                 <tr>
                     {visibleColumns.map((column, i) => <th key={JSON.stringify(column.data)}>
                         <button onClick={() => changeSort(i)}>
-                            {column.title} <span className={"float-end"}>
+                            {column.title} {column.orderable !== false && <span className={"float-end"}>
                         <SortIcon selected={i === sortBy}
                                   reversed={sortReversed}/>
-                        </span>
+                        </span>}
                         </button>
                     </th>)}
                 </tr>
@@ -336,7 +346,7 @@ const DataTablesTable = ({id, rowKeyFunction, options, className, colorClass, ex
                        defaults={"Showing {{n}} of {{m}} entries"}
                        values={{
                            n: `${page * paginationCount + 1}-${page * paginationCount + rows.length}`,
-                           m: matchingData.length
+                           m: serverSide ? serverSide.totalCount : matchingData.length
                        }}/>
             </p>
             <div className={"float-end"} style={{maxWidth: "60%"}}>
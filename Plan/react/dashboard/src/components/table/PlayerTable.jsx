@@ -33,7 +33,10 @@ const getActivityGroup = value => {
     }
 }
 
-const PlayerTable = ({data, orderBy}) => {
+// Columns that the server can sort pages with, keys are same as in the rows
+const serverSortKeys = ['name', 'activePlaytime', 'sessions', 'registered', 'lastSeen'];
+
+const PlayerTable = ({data, orderBy, onStateChange}) => {
     const {t} = useTranslation();
     const {formatPing} = usePingFormatter();
     const {formatDecimals} = useDecimalFormatter();
@@ -82,6 +85,14 @@ const PlayerTable = ({data, orderBy}) => {
                 data: {_: descriptor.name + "Value", display: descriptor.name}
             }
         }));
+        if (onStateChange) {
+            columns.forEach(column => {
+                const key = column.data._ || column.data;
+                column.sortKey = serverSortKeys.includes(key) ? key : undefined;
+                column.orderable = Boolean(column.sortKey);
+            });
+        }
+
         const regions = new Intl.DisplayNames([localeService.getIntlFriendlyLocale()], {type: 'region'});
 
         const rows = data.players.map(player => {
@@ -122,9 +133,14 @@ const PlayerTable = ({data, orderBy}) => {
             deferRender: true,
             columns: columns,
             data: rows,
-            order: [[orderBy === undefined ? 5 : orderBy, "desc"]]
+            order: [[orderBy === undefined ? 5 : orderBy, "desc"]],
+            serverSide: onStateChange ? {
+                totalCount: data.playerCount,
+                hasNextPage: Boolean(data.nextCursor),
+                onStateChange
+            } : undefined
         });
-    }, [data, orderBy, t, formatPing, formatDecimals]);
+    }, [data, orderBy, onStateChange, t, formatPing, formatDecimals]);
 
     const rowKeyFunction = useCallback((row, column) => {
         return row.uuid + "-" + (column ? JSON.stringify(column.data) : '');
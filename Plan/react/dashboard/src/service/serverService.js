@@ -95,6 +95,14 @@ const fetchPlayersTableNetwork = async (timestamp) => {
     return doGetRequest(url, timestamp);
 }
 
+export const fetchPlayersTablePage = async (timestamp, identifier, limit, sort, order, search, after) => {
+    const parameters = new URLSearchParams({limit, sort, order});
+    if (identifier) parameters.set('server', identifier);
+    if (search) parameters.set('search', search);
+    if (after) parameters.set('after', after);
+    return doGetRequest(`/v1/playersTable?${parameters}`, timestamp);
+}
+
 export const fetchAllowlistBounces = async (timestamp, identifier) => {
     let url = `/v1/gameAllowlistBounces?server=${identifier}`;
     if (staticSite) url = `/data/gameAllowlistBounces-${identifier}.json`;
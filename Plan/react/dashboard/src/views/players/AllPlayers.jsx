@@ -8,11 +8,14 @@ import LoadIn from "../../components/animation/LoadIn.tsx";
 import {CardLoader} from "../../components/navigation/Loader.tsx";
 import ExtendableRow from "../../components/layout/extension/ExtendableRow";
 import {useAuth} from "../../hooks/authenticationHook.tsx";
+import PagedPlayerListCard from "../../components/cards/common/PagedPlayerListCard";
+import {staticSite} from "../../service/backendConfiguration";
 
 const AllPlayers = () => {
     const {hasPermission} = useAuth();
     const seePlayers = hasPermission('page.network.players') || hasPermission('access.players')
-    const {data, loadingError} = useDataRequest(fetchPlayersTable, [null], seePlayers);
+    // Exported pages only have the whole table available
+    const {data, loadingError} = useDataRequest(fetchPlayersTable, [null], seePlayers && staticSite);
 
     if (loadingError) return <ErrorView error={loadingError}/>
 
@@ -20,7 +23,8 @@ const AllPlayers = () => {
         <LoadIn>
             {seePlayers && <ExtendableRow id={'row-player-list-0'}>
                 <Col md={12}>
-                    {data ? <PlayerListCard data={data}/> : <CardLoader/>}
+                    {!staticSite && <PagedPlayerListCard/>}
+                    {staticSite && (data ? <PlayerListCard data={data}/> : <CardLoader/>)}
                 </Col>
             </ExtendableRow>}
         </LoadIn>
@@ -8,13 +8,16 @@ import PlayerListCard from "../../components/cards/common/PlayerListCard";
 import LoadIn from "../../components/animation/LoadIn.tsx";
 import ExtendableRow from "../../components/layout/extension/ExtendableRow";
 import {useAuth} from "../../hooks/authenticationHook.tsx";
+import PagedPlayerListCard from "../../components/cards/common/PagedPlayerListCard";
+import {staticSite} from "../../service/backendConfiguration";
 
 const ServerPlayers = () => {
     const {hasPermission} = useAuth();
     const {identifier} = useParams();
 
     const seePlayers = hasPermission('page.server.players')
-    const {data, loadingError} = useDataRequest(fetchPlayersTable, [identifier], seePlayers);
+    // Exported pages only have the whole table available
+    const {data, loadingError} = useDataRequest(fetchPlayersTable, [identifier], seePlayers && staticSite);
 
     if (loadingError) return <ErrorView error={loadingError}/>
 
@@ -23,7 +26,7 @@ const ServerPlayers = () => {
             <section className="server-players">
                 {seePlayers && <ExtendableRow id={'row-server-players-0'}>
                     <Col md={12}>
-                        <PlayerListCard data={data}/>
+                        {staticSite ? <PlayerListCard data={data}/> : <PagedPlayerListCard identifier={identifier}/>}
                     </Col>
                 </ExtendableRow>}
             </section>